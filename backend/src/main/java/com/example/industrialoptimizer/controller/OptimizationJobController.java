@@ -0,0 +1,66 @@
+package com.example.industrialoptimizer.controller;
+
+import com.example.industrialoptimizer.dto.OptimizationJobDTO;
+import com.example.industrialoptimizer.dto.OptimizationJobRequest;
+import com.example.industrialoptimizer.service.OptimizationJob;
+import com.example.industrialoptimizer.service.OptimizationJobService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+
+/**
+ * Otimizações assíncronas: para cálculos exatos grandes, que não cabem num GET síncrono.
+ *
+ * - POST /api/optimizations {"strategy": "mip", "timeBudgetMs": 60000} -> 202 + Location
+ * - GET /api/optimizations/{id} -> estado e o resultado (final ou o melhor até agora)
+ * - DELETE /api/optimizations/{id} -> cancelamento cooperativo (202 com o estado atual)
+ */
+@RestController
+@RequestMapping("/api/optimizations")
+@CrossOrigin(origins = "*")
+public class OptimizationJobController {
+
+    private final OptimizationJobService jobs;
+
+    public OptimizationJobController(OptimizationJobService jobs) {
+        this.jobs = jobs;
+    }
+
+    @PostMapping
+    public ResponseEntity<OptimizationJobDTO> submit(@Valid @RequestBody(required = false) OptimizationJobRequest request) {
+        OptimizationJobRequest body = request != null ? request : new OptimizationJobRequest();
+        OptimizationJob job = jobs.submit(body.getStrategy(), body.getTimeBudgetMs());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/optimizations/" + job.getId()))
+                .body(OptimizationJobService.toDTO(job));
+    }
+
+    /**
+     * GET /api/optimizations - jobs ativos e guardados
+     */
+    @GetMapping
+    public OptimizationJobService.Stats getStats() {
+        return jobs.getStats();
+    }
+
+    @GetMapping("/{id}")
+    public OptimizationJobDTO getOne(@PathVariable String id) {
+        return OptimizationJobService.toDTO(find(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<OptimizationJobDTO> cancel(@PathVariable String id) {
+        OptimizationJob job = jobs.cancel(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Optimization job not found: " + id));
+        return ResponseEntity.accepted().body(OptimizationJobService.toDTO(job));
+    }
+
+    private OptimizationJob find(String id) {
+        return jobs.find(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Optimization job not found: " + id));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.industrialoptimizer.controller;
+
+import com.example.industrialoptimizer.dto.PlanEvaluationDTO;
+import com.example.industrialoptimizer.dto.PlanEvaluationRequest;
+import com.example.industrialoptimizer.service.CatalogSnapshot;
+import com.example.industrialoptimizer.service.CatalogSnapshotService;
+import com.example.industrialoptimizer.service.PlanEvaluationService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Avaliação de planos candidatos (ERP), sem alterar o catálogo.
+ *
+ * - POST /api/plans/evaluate {"maxViolations": 3, "plans": [{"name": "op-1", "quantities": {"2": 10}}]}
+ *   -> para cada plano, na ordem do pedido: viabilidade, insumos violados, custo, receita e lucro
+ */
+@RestController
+@RequestMapping("/api/plans")
+@CrossOrigin(origins = "*")
+public class PlanEvaluationController {
+
+    private final PlanEvaluationService evaluations;
+    private final CatalogSnapshotService catalog;
+
+    public PlanEvaluationController(PlanEvaluationService evaluations, CatalogSnapshotService catalog) {
+        this.evaluations = evaluations;
+        this.catalog = catalog;
+    }
+
+    /**
+     * Todos os planos usam a mesma versão do catálogo (X-Catalog-Version); planos inválidos
+     * voltam com o motivo em error, sem derrubar o lote.
+     */
+    @PostMapping("/evaluate")
+    public ResponseEntity<List<PlanEvaluationDTO>> evaluate(@Valid @RequestBody PlanEvaluationRequest request) {
+        CatalogSnapshot snapshot = catalog.current();
+        long start = System.nanoTime();
+        List<PlanEvaluationDTO> results = evaluations.evaluate(snapshot, request.getPlans(), request.getMaxViolations());
+        return ResponseEntity.ok()
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .header("Server-Timing", String.format(Locale.ROOT, "evaluate;dur=%.3f",
+                        (System.nanoTime() - start) / 1e6))
+                .body(results);
+    }
+}
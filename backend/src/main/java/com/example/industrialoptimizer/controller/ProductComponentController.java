@@ -0,0 +1,88 @@
+package com.example.industrialoptimizer.controller;
+
+import com.example.industrialoptimizer.dto.ProductComponentDTO;
+import com.example.industrialoptimizer.model.ProductComponent;
+import com.example.industrialoptimizer.service.CatalogSnapshot;
+import com.example.industrialoptimizer.service.CatalogSnapshotService;
+import com.example.industrialoptimizer.service.ProductComponentService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/product-components")
+@CrossOrigin(origins = "*")
+public class ProductComponentController {
+
+    private final ProductComponentService service;
+    private final CatalogSnapshotService catalog;
+
+    public ProductComponentController(ProductComponentService service, CatalogSnapshotService catalog) {
+        this.service = service;
+        this.catalog = catalog;
+    }
+
+    /**
+     * GET /api/product-components?productId=2
+     * Retorna as submontagens diretas de um produto, com o custo unitário de cada componente.
+     *
+     * @param productId ID do produto (obrigatório)
+     * @return Lista de submontagens (versão do catálogo em X-Catalog-Version)
+     */
+    @GetMapping
+    public ResponseEntity<List<ProductComponentDTO>> listByProduct(@RequestParam(required = true) Long productId) {
+        if (productId == null || productId <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "productId é obrigatório e deve ser maior que 0");
+        }
+        CatalogSnapshot snapshot = catalog.current();
+        return ResponseEntity.ok()
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .body(service.findByProductIdWithDetails(snapshot, productId));
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ProductComponent create(@RequestBody Map<String, Object> body) {
+        Long productId = longFrom(body.get("productId"));
+        Long componentId = longFrom(body.get("componentId"));
+        BigDecimal quantityNeeded = decimalFrom(body.get("quantityNeeded"));
+        return service.create(productId, componentId, quantityNeeded);
+    }
+
+    @PutMapping("/{productId}/{componentId}")
+    public ProductComponent update(@PathVariable Long productId,
+            @PathVariable Long componentId,
+            @RequestBody Map<String, Object> body) {
+        BigDecimal quantityNeeded = decimalFrom(body.get("quantityNeeded"));
+        return service.update(productId, componentId, quantityNeeded);
+    }
+
+    @DeleteMapping("/{productId}/{componentId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable Long productId, @PathVariable Long componentId) {
+        service.delete(productId, componentId);
+    }
+
+    private static Long longFrom(Object o) {
+        if (o == null)
+            return null;
+        if (o instanceof Number)
+            return ((Number) o).longValue();
+        return Long.parseLong(o.toString());
+    }
+
+    private static BigDecimal decimalFrom(Object o) {
+        if (o == null)
+            return BigDecimal.ZERO;
+        if (o instanceof BigDecimal)
+            return (BigDecimal) o;
+        if (o instanceof Number)
+            return BigDecimal.valueOf(((Number) o).doubleValue());
+        return new BigDecimal(o.toString());
+    }
+}
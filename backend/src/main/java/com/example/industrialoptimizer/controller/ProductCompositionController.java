@@ -2,8 +2,11 @@ package com.example.industrialoptimizer.controller;
 
 import com.example.industrialoptimizer.dto.ProductCompositionDTO;
 import com.example.industrialoptimizer.model.ProductComposition;
+import com.example.industrialoptimizer.service.CatalogSnapshot;
+import com.example.industrialoptimizer.service.CatalogSnapshotService;
 import com.example.industrialoptimizer.service.ProductCompositionService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -17,9 +20,11 @@ import java.util.Map;
 public class ProductCompositionController {
 
     private final ProductCompositionService service;
+    private final CatalogSnapshotService catalog;
 
-    public ProductCompositionController(ProductCompositionService service) {
+    public ProductCompositionController(ProductCompositionService service, CatalogSnapshotService catalog) {
         this.service = service;
+        this.catalog = catalog;
     }
 
     /**
@@ -27,17 +32,39 @@ public class ProductCompositionController {
      * Retorna todas as composições de um produto com detalhes da matéria-prima.
      * 
      * @param productId ID do produto (obrigatório)
-     * @return Lista de composições com informações da matéria-prima
+     * @return Lista de composições com informações da matéria-prima (versão do catálogo em X-Catalog-Version)
      */
     @GetMapping
-    public List<ProductCompositionDTO> listByProduct(@RequestParam(required = true) Long productId) {
+    public ResponseEntity<List<ProductCompositionDTO>> listByProduct(@RequestParam(required = true) Long productId) {
         if (productId == null || productId <= 0) {
             throw new ResponseStatusException(
                 org.springframework.http.HttpStatus.BAD_REQUEST,
                 "productId é obrigatório e deve ser maior que 0"
             );
         }
-        return service.findByProductIdWithDetails(productId);
+        CatalogSnapshot snapshot = catalog.current();
+        return ResponseEntity.ok()
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .body(service.findByProductIdWithDetails(snapshot, productId));
+    }
+
+    /**
+     * GET /api/product-compositions/flattened?productId=2
+     * Receita explodida: insumos por unidade somados por toda a estrutura (submontagens incluídas).
+     * Vazia para produtos inexistentes ou que não podem ser produzidos (ciclo, item inexistente).
+     *
+     * @param productId ID do produto (obrigatório)
+     * @return Lista de insumos por unidade (versão do catálogo em X-Catalog-Version)
+     */
+    @GetMapping("/flattened")
+    public ResponseEntity<List<ProductCompositionDTO>> flattenedByProduct(@RequestParam(required = true) Long productId) {
+        if (productId == null || productId <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "productId é obrigatório e deve ser maior que 0");
+        }
+        CatalogSnapshot snapshot = catalog.current();
+        return ResponseEntity.ok()
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .body(snapshot.getFlattenedCompositions(productId));
     }
 
     @PostMapping
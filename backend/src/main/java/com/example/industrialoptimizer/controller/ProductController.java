@@ -1,13 +1,39 @@
 package com.example.industrialoptimizer.controller;
 
+import com.example.industrialoptimizer.dto.PresolveReportDTO;
+import com.example.industrialoptimizer.dto.ProductionResultDTO;
+import com.example.industrialoptimizer.dto.ScenarioBatchRequest;
+import com.example.industrialoptimizer.dto.ScenarioResultDTO;
+import com.example.industrialoptimizer.dto.SensitivityReportDTO;
 import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.optimizer.MipSolution;
+import com.example.industrialoptimizer.service.CatalogSnapshot;
+import com.example.industrialoptimizer.service.CatalogSnapshotService;
+import com.example.industrialoptimizer.service.OptimizationResult;
+import com.example.industrialoptimizer.service.OptimizationResultCache;
+import com.example.industrialoptimizer.service.OptimizationStreamService;
+import com.example.industrialoptimizer.service.OptimizerMetrics;
+import com.example.industrialoptimizer.service.PhaseTimings;
+import com.example.industrialoptimizer.service.ProductionPlanMapper;
 import com.example.industrialoptimizer.service.ProductService;
 import com.example.industrialoptimizer.service.ProductionOptimizerService;
+import com.example.industrialoptimizer.service.ScenarioService;
+import com.example.industrialoptimizer.service.SensitivityAnalysisService;
+import com.example.industrialoptimizer.service.strategy.OptimizationStrategy;
+import com.example.industrialoptimizer.service.strategy.OptimizationStrategyRegistry;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/products")
@@ -15,35 +41,249 @@ import java.util.Map;
 public class ProductController {
 
     private final ProductService service;
-    private final ProductionOptimizerService optimizerService;
+    private final OptimizationStrategyRegistry strategies;
+    private final CatalogSnapshotService catalog;
+    private final OptimizationResultCache resultCache;
+    private final ScenarioService scenarios;
+    private final SensitivityAnalysisService sensitivity;
+    private final ProductionOptimizerService optimizer;
+    private final OptimizationStreamService streams;
+    private final OptimizerMetrics metrics;
 
-    // Construtor ÚNICO injetando os dois serviços ao mesmo tempo
-    public ProductController(ProductService service, ProductionOptimizerService optimizerService) {
+    // Teto do orçamento na rota síncrona; cálculos mais longos vão para /api/optimizations
+    @Value("${optimizer.mip.time-limit-ms:5000}")
+    private long maxTimeBudgetMs = 5_000;
+
+    // Construtor ÚNICO injetando o CRUD, os motores de otimização, a fotografia do catálogo, o cache e as análises
+    // (sensibilidade e presolve), o streaming anytime e as métricas
+    public ProductController(ProductService service, OptimizationStrategyRegistry strategies,
+            CatalogSnapshotService catalog, OptimizationResultCache resultCache, ScenarioService scenarios,
+            SensitivityAnalysisService sensitivity, ProductionOptimizerService optimizer,
+            OptimizationStreamService streams, OptimizerMetrics metrics) {
         this.service = service;
-        this.optimizerService = optimizerService;
+        this.strategies = strategies;
+        this.catalog = catalog;
+        this.resultCache = resultCache;
+        this.scenarios = scenarios;
+        this.sensitivity = sensitivity;
+        this.optimizer = optimizer;
+        this.streams = streams;
+        this.metrics = metrics;
     }
 
     // ==========================================
     // ROTA DE OTIMIZAÇÃO 
     // ==========================================
     
+    /**
+     * GET /api/products/suggest?strategy=greedy|lp|mip&timeBudgetMs=...
+     * - greedy (padrão): prioriza o maior lucro unitário
+     * - lp: programação linear, considera produtos que disputam os mesmos insumos
+     * - mip: otimização inteira (branch-and-bound paralelo)
+     *
+     * O corpo continua sendo Nome do Produto -> Quantidade. O motor usado vai no cabeçalho
+     * X-Optimizer-Strategy, o tempo de cada fase em Server-Timing e a versão do catálogo
+     * otimizado em X-Catalog-Version.
+     *
+     * Resultados ficam em cache por versão do catálogo, estratégia e orçamento: X-Cache
+     * indica HIT (plano reaproveitado; Server-Timing traz só a busca no cache), COALESCED
+     * (aguardou o mesmo cálculo já em andamento para outra requisição) ou MISS. Com o
+     * backlog do otimizador cheio a resposta é 503 com Retry-After. No modo mip, o gap de
+     * otimalidade, o limite superior e os nós explorados vão em X-Optimality-Gap,
+     * X-Optimizer-Bound e X-Optimizer-Nodes. O parâmetro antigo {@code mode} continua aceito.
+     * O orçamento é limitado a {@code optimizer.mip.time-limit-ms}; para cálculos mais longos
+     * use os jobs assíncronos em /api/optimizations.
+     *
+     * Nomes repetidos de produtos somam as quantidades neste formato; /suggest/plan traz o
+     * resultado por id.
+     *
+     * Cada cálculo (MISS) registra as fases e os contadores em /actuator/prometheus
+     * ({@link OptimizerMetrics}); toda resposta registra a montagem do corpo (serialize).
+     */
     @GetMapping("/suggest")
-    public Map<String, Integer> getSuggestedProduction() {
-        return optimizerService.calculateOptimalProduction();
+    public ResponseEntity<Map<String, Integer>> getSuggestedProduction(
+            @RequestParam(required = false) String strategy,
+            @RequestParam(required = false) String mode,
+            @RequestParam(defaultValue = "0") long timeBudgetMs) {
+        return suggest(strategy, mode, timeBudgetMs, (snapshot, result) -> result.getProduction());
+    }
+
+    /**
+     * GET /api/products/suggest/plan?strategy=...&timeBudgetMs=... - resultado estruturado
+     *
+     * O mesmo cálculo (e o mesmo cache e cabeçalhos) de /suggest, com os produtos por id
+     * (quantidade, lucro unitário e total) e o consumo e a sobra de cada insumo: tudo o que o
+     * dashboard precisa numa chamada.
+     */
+    @GetMapping("/suggest/plan")
+    public ResponseEntity<ProductionResultDTO> getSuggestedPlan(
+            @RequestParam(required = false) String strategy,
+            @RequestParam(defaultValue = "0") long timeBudgetMs) {
+        return suggest(strategy, null, timeBudgetMs, ProductionPlanMapper::toDTO);
+    }
+
+    // Cálculo em cache compartilhado por /suggest e /suggest/plan; body monta o corpo da resposta
+    private <T> ResponseEntity<T> suggest(String strategy, String mode, long timeBudgetMs,
+            BiFunction<CatalogSnapshot, OptimizationResult, T> body) {
+        if (timeBudgetMs < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "timeBudgetMs não pode ser negativo");
+        }
+        String name = strategy != null ? strategy : mode != null ? mode : "greedy";
+        OptimizationStrategy engine = strategies.get(name);
+        long budgetMs = Math.min(timeBudgetMs, maxTimeBudgetMs);
+        CatalogSnapshot snapshot = catalog.current();
+        long start = System.nanoTime();
+        OptimizationResultCache.Lookup lookup = resultCache.getOrCompute(snapshot.getVersion(), engine.getName(),
+                budgetMs, () -> {
+                    OptimizationResult computed = engine.optimize(snapshot.getMatrix(), budgetMs);
+                    metrics.recordRun(computed);
+                    return computed;
+                });
+        OptimizationResult result = lookup.result();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .header("X-Optimizer-Strategy", result.getStrategy())
+                .header("X-Cache", lookup.source().name())
+                .header("Server-Timing", lookup.hit()
+                        ? String.format(Locale.ROOT, "cache;dur=%.3f", (System.nanoTime() - start) / 1e6)
+                        : serverTiming(result.getTimings()));
+        MipSolution solution = result.getIntegerSolution();
+        if (solution != null) {
+            response.header("X-Optimality-Gap", String.valueOf(solution.getGap()))
+                    .header("X-Optimizer-Bound", String.valueOf(solution.getBestBound()))
+                    .header("X-Optimizer-Nodes", String.valueOf(solution.getNodes()));
+        }
+        return response.body(metrics.timeSerialize(result.getStrategy(), () -> body.apply(snapshot, result)));
+    }
+
+    /**
+     * GET /api/products/suggest/stream?timeBudgetMs=... - otimização anytime (Server-Sent Events)
+     *
+     * O plano guloso chega na hora; depois, cada plano melhor encontrado pelos modos lp e mip,
+     * com o lucro, o limite superior e o gap (evento "plan"). O evento "done" fecha o stream com
+     * o melhor plano e o status (OPTIMAL, LIMIT_REACHED ou CANCELLED); "error" indica falha no
+     * cálculo. O stream termina no orçamento (0 = {@code optimizer.mip.time-limit-ms}, até
+     * {@code optimizer.stream.max-time-budget-ms}), com o gap zerado ou quando o cliente
+     * desconecta. Backlog cheio: 503 + Retry-After antes de abrir o stream.
+     */
+    @GetMapping("/suggest/stream")
+    public ResponseEntity<SseEmitter> streamSuggestedProduction(@RequestParam(defaultValue = "0") long timeBudgetMs) {
+        CatalogSnapshot snapshot = catalog.current();
+        SseEmitter emitter = streams.open(snapshot, timeBudgetMs);
+        return ResponseEntity.ok()
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .header("Cache-Control", "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    /**
+     * POST /api/products/suggest/scenarios - cenários what-if em lote, sem alterar o catálogo.
+     *
+     * Cada cenário altera estoque (stock, stockDelta), custo de insumos (unitCost, unitCostFactor)
+     * e/ou preço de venda (salePrice); a resposta traz, na ordem do pedido, a produção sugerida e
+     * o lucro total de cada um. Todos usam a mesma versão do catálogo (X-Catalog-Version) e o lote
+     * inteiro ocupa uma vaga do backlog do otimizador (503 + Retry-After quando cheio).
+     */
+    @PostMapping("/suggest/scenarios")
+    public ResponseEntity<List<ScenarioResultDTO>> evaluateScenarios(@Valid @RequestBody ScenarioBatchRequest request) {
+        OptimizationStrategy engine = strategies.get(request.getStrategy());
+        long budgetMs = Math.min(request.getTimeBudgetMs(), maxTimeBudgetMs);
+        CatalogSnapshot snapshot = catalog.current();
+        long start = System.nanoTime();
+        List<ScenarioResultDTO> results = resultCache.runUncached(
+                () -> scenarios.evaluate(snapshot, engine, budgetMs, request.getScenarios()));
+        return ResponseEntity.ok()
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .header("X-Optimizer-Strategy", engine.getName())
+                .header("Server-Timing", String.format(Locale.ROOT, "scenarios;dur=%.3f",
+                        (System.nanoTime() - start) / 1e6))
+                .body(results);
+    }
+
+    /**
+     * GET /api/products/suggest/sensitivity - preços-sombra e faixas de sensibilidade
+     *
+     * Para cada insumo: se é o gargalo, quanto vale uma unidade a mais (preço-sombra) e as faixas
+     * de estoque e de preço unitário em que isso continua válido; para cada produto, a faixa de
+     * valor de venda em que o plano não muda. Tudo sai de uma resolução do modo lp, guardada até
+     * a próxima mudança no catálogo.
+     */
+    @GetMapping("/suggest/sensitivity")
+    public ResponseEntity<SensitivityReportDTO> getSensitivity() {
+        CatalogSnapshot snapshot = catalog.current();
+        long start = System.nanoTime();
+        SensitivityReportDTO report = sensitivity.analyze(snapshot);
+        return ResponseEntity.ok()
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(report.getCatalogVersion()))
+                .header("Server-Timing", String.format(Locale.ROOT, "sensitivity;dur=%.3f",
+                        (System.nanoTime() - start) / 1e6))
+                .body(report);
+    }
+
+    /**
+     * GET /api/products/suggest/presolve - o que o presolve tira do problema dos modos lp e mip
+     *
+     * Produtos sem receita, sem lucro, sem estoque para uma unidade ou dominados por outro
+     * produto, e os insumos que ficaram sem uso; com o tamanho do problema antes e depois.
+     */
+    @GetMapping("/suggest/presolve")
+    public ResponseEntity<PresolveReportDTO> getPresolve() {
+        CatalogSnapshot snapshot = catalog.current();
+        long start = System.nanoTime();
+        PresolveReportDTO report = optimizer.describePresolve(snapshot);
+        return ResponseEntity.ok()
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .header("Server-Timing", String.format(Locale.ROOT, "presolve;dur=%.3f",
+                        (System.nanoTime() - start) / 1e6))
+                .body(report);
+    }
+
+    /**
+     * GET /api/products/suggest/strategies - nomes aceitos em {@code strategy}
+     */
+    @GetMapping("/suggest/strategies")
+    public List<String> listStrategies() {
+        return strategies.getNames();
+    }
+
+    /**
+     * GET /api/products/suggest/cache - tamanho, capacidade e contadores do cache de resultados
+     */
+    @GetMapping("/suggest/cache")
+    public OptimizationResultCache.Stats getCacheStats() {
+        return resultCache.getStats();
+    }
+
+    // Formato W3C Server-Timing: "load;dur=1.204, solve;dur=35.870" (milissegundos)
+    private String serverTiming(PhaseTimings timings) {
+        return timings.getNanos().entrySet().stream()
+                .map(phase -> String.format(Locale.ROOT, "%s;dur=%.3f", phase.getKey(), phase.getValue() / 1e6))
+                .collect(Collectors.joining(", "));
     }
 
     // ==========================================
     // ROTAS DE CRUD (O Básico)
     // ==========================================
 
+    // Leituras servidas pela fotografia do catálogo; a versão vai em X-Catalog-Version
     @GetMapping
-    public List<Product> listAll() {
-        return service.getAll();
+    public ResponseEntity<List<Product>> listAll() {
+        CatalogSnapshot snapshot = catalog.current();
+        return ResponseEntity.ok()
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .body(snapshot.getProducts());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Product> getOne(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getById(id));
+        CatalogSnapshot snapshot = catalog.current();
+        Product product = snapshot.findProduct(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found: " + id));
+        return ResponseEntity.ok()
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .body(product);
     }
 
     @PostMapping
@@ -0,0 +1,51 @@
+package com.example.industrialoptimizer.controller;
+
+import com.example.industrialoptimizer.dto.ProductionOrderDTO;
+import com.example.industrialoptimizer.dto.TargetPlanDTO;
+import com.example.industrialoptimizer.service.CatalogSnapshot;
+import com.example.industrialoptimizer.service.ProductionOrderService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.Locale;
+
+/**
+ * Ordens de produção: confirma um plano e debita o estoque dos insumos (tudo ou nada).
+ *
+ * - POST /api/production-orders {"name": "op-17", "quantities": {"2": 10, "5": 4}}
+ *   -> 201 com o consumo de cada insumo; 409 se faltar estoque de algum (nada é debitado)
+ * - GET /api/production-orders/{id}
+ */
+@RestController
+@RequestMapping("/api/production-orders")
+@CrossOrigin(origins = "*")
+public class ProductionOrderController {
+
+    private final ProductionOrderService orders;
+
+    public ProductionOrderController(ProductionOrderService orders) {
+        this.orders = orders;
+    }
+
+    /**
+     * As receitas vêm da fotografia do catálogo cuja versão vai em X-Catalog-Version; o estoque
+     * debitado é o do banco no momento do commit.
+     */
+    @PostMapping
+    public ResponseEntity<ProductionOrderDTO> create(@Valid @RequestBody TargetPlanDTO plan) {
+        long start = System.nanoTime();
+        ProductionOrderDTO order = orders.create(plan);
+        return ResponseEntity.created(URI.create("/api/production-orders/" + order.getId()))
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(order.getCatalogVersion()))
+                .header("Server-Timing", String.format(Locale.ROOT, "order;dur=%.3f",
+                        (System.nanoTime() - start) / 1e6))
+                .body(order);
+    }
+
+    @GetMapping("/{id}")
+    public ProductionOrderDTO getById(@PathVariable Long id) {
+        return orders.getById(id);
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.industrialoptimizer.controller;
 
 import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.service.CatalogSnapshot;
+import com.example.industrialoptimizer.service.CatalogSnapshotService;
 import com.example.industrialoptimizer.service.RawMaterialService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -13,19 +17,30 @@ import java.util.List;
 public class RawMaterialController {
 
     private final RawMaterialService service;
+    private final CatalogSnapshotService catalog;
 
-    public RawMaterialController(RawMaterialService service) {
+    public RawMaterialController(RawMaterialService service, CatalogSnapshotService catalog) {
         this.service = service;
+        this.catalog = catalog;
     }
 
+    // Leituras servidas pela fotografia do catálogo; a versão vai em X-Catalog-Version
     @GetMapping
-    public List<RawMaterial> listAll() {
-        return service.getAll();
+    public ResponseEntity<List<RawMaterial>> listAll() {
+        CatalogSnapshot snapshot = catalog.current();
+        return ResponseEntity.ok()
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .body(snapshot.getRawMaterials());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<RawMaterial> getOne(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getById(id));
+        CatalogSnapshot snapshot = catalog.current();
+        RawMaterial material = snapshot.findRawMaterial(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Raw material not found: " + id));
+        return ResponseEntity.ok()
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .body(material);
     }
 
     @PostMapping
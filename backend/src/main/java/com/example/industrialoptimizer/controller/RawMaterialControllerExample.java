@@ -106,6 +106,7 @@ public class RawMaterialControllerExample {
                 .stockQuantity(rawMaterial.getStockQuantity())
                 .unitMeasure(rawMaterial.getUnitMeasure())
                 .unitCost(rawMaterial.getUnitCost())
+                .version(rawMaterial.getVersion())
                 .build();
 
         return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
@@ -128,6 +129,7 @@ public class RawMaterialControllerExample {
                         .stockQuantity(m.getStockQuantity())
                         .unitMeasure(m.getUnitMeasure())
                         .unitCost(m.getUnitCost())
+                        .version(m.getVersion())
                         .build())
                 .toList();
 
@@ -230,6 +232,21 @@ public class RawMaterialControllerExample {
      * }
      * 
      * Same validation flow as POST request.
+     *
+     * Optimistic Version
+     * ==================
+     *
+     * The body may carry the "version" returned by the last read:
+     * {
+     * "code": "MAT-001",
+     * ...
+     * "version": 3
+     * }
+     *
+     * If the material changed since then (e.g. a production order debited
+     * its stock), the response is 409 Conflict and nothing is written; read
+     * it again and resend. Without "version" the update overwrites the
+     * current values (last write wins), as before the field existed.
      */
     @PutMapping("/{id}")
     public ResponseEntity<RawMaterialDTO> updateRawMaterial(
@@ -247,6 +264,7 @@ public class RawMaterialControllerExample {
                 .stockQuantity(rawMaterial.getStockQuantity())
                 .unitMeasure(rawMaterial.getUnitMeasure())
                 .unitCost(rawMaterial.getUnitCost())
+                .version(rawMaterial.getVersion())
                 .build();
 
         return ResponseEntity.ok(responseDTO);
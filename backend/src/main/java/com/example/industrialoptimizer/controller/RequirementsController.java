@@ -0,0 +1,49 @@
+package com.example.industrialoptimizer.controller;
+
+import com.example.industrialoptimizer.dto.PlanRequirementsDTO;
+import com.example.industrialoptimizer.dto.RequirementsRequest;
+import com.example.industrialoptimizer.service.CatalogSnapshot;
+import com.example.industrialoptimizer.service.CatalogSnapshotService;
+import com.example.industrialoptimizer.service.RequirementsService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Necessidades de insumos (MRP): o inverso do /suggest.
+ *
+ * - POST /api/requirements {"plans": [{"name": "pedido 42", "quantities": {"2": 10, "5": 4}}]}
+ *   -> para cada plano, na ordem do pedido, o necessário de cada insumo, o estoque e a falta
+ */
+@RestController
+@RequestMapping("/api/requirements")
+@CrossOrigin(origins = "*")
+public class RequirementsController {
+
+    private final RequirementsService requirements;
+    private final CatalogSnapshotService catalog;
+
+    public RequirementsController(RequirementsService requirements, CatalogSnapshotService catalog) {
+        this.requirements = requirements;
+        this.catalog = catalog;
+    }
+
+    /**
+     * Todos os planos usam a mesma versão do catálogo (X-Catalog-Version); as receitas já vêm
+     * explodidas (submontagens incluídas) da fotografia.
+     */
+    @PostMapping
+    public ResponseEntity<List<PlanRequirementsDTO>> calculate(@Valid @RequestBody RequirementsRequest request) {
+        CatalogSnapshot snapshot = catalog.current();
+        long start = System.nanoTime();
+        List<PlanRequirementsDTO> results = requirements.calculate(snapshot, request.getPlans());
+        return ResponseEntity.ok()
+                .header(CatalogSnapshot.VERSION_HEADER, String.valueOf(snapshot.getVersion()))
+                .header("Server-Timing", String.format(Locale.ROOT, "requirements;dur=%.3f",
+                        (System.nanoTime() - start) / 1e6))
+                .body(results);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.industrialoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Consumo de um insumo por um plano de produção: estoque usado no cálculo, quanto o plano
+ * consome e quanto sobra (stockQuantity = consumed + remaining).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaterialConsumptionDTO {
+
+    private Long id;
+
+    private String code;
+
+    private String name;
+
+    private String unitMeasure;
+
+    private BigDecimal stockQuantity;
+
+    private BigDecimal consumed;
+
+    private BigDecimal remaining;
+}
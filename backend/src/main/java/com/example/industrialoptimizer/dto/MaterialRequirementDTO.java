@@ -0,0 +1,35 @@
+package com.example.industrialoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Necessidade de um insumo num plano de produção-alvo: quanto o plano exige, o estoque atual
+ * e a falta (required - stockQuantity, nunca negativa).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaterialRequirementDTO {
+
+    private Long id;
+
+    private String code;
+
+    private String name;
+
+    private String unitMeasure;
+
+    private BigDecimal stockQuantity;
+
+    private BigDecimal required;
+
+    private BigDecimal shortfall;
+
+    private BigDecimal cost;
+}
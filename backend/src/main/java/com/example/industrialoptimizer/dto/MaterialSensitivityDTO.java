@@ -0,0 +1,51 @@
+package com.example.industrialoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Sensibilidade de um insumo no plano contínuo (modo lp).
+ *
+ * - shadowPrice: lucro marginal de uma unidade a mais de estoque (0 quando sobra estoque)
+ * - binding: o estoque é o gargalo do plano (consumido por inteiro)
+ * - stockMin/stockMax: faixa de estoque em que o preço-sombra continua válido
+ * - unitCostMin/unitCostMax: faixa de preço unitário em que o plano não muda
+ *
+ * Limites nulos significam "sem limite".
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaterialSensitivityDTO {
+
+    private Long id;
+
+    private String code;
+
+    private String name;
+
+    private BigDecimal stockQuantity;
+
+    private BigDecimal consumed;
+
+    private BigDecimal slack;
+
+    private boolean binding;
+
+    private BigDecimal shadowPrice;
+
+    private BigDecimal stockMin;
+
+    private BigDecimal stockMax;
+
+    private BigDecimal unitCost;
+
+    private BigDecimal unitCostMin;
+
+    private BigDecimal unitCostMax;
+}
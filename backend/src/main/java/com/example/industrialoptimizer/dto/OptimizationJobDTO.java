@@ -0,0 +1,63 @@
+package com.example.industrialoptimizer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Estado de um job de otimização (GET /api/optimizations/{id}).
+ *
+ * - production: resultado final quando o job terminou com solução; enquanto roda, a
+ *   melhor solução encontrada até agora (bestSoFar = true)
+ * - totalProfit: lucro total do resultado final
+ * - objective, optimalityGap, bestBound, nodes: só para motores inteiros
+ * - timingsMs: tempo de cada fase do motor, em milissegundos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OptimizationJobDTO {
+
+    private String id;
+
+    private String strategy;
+
+    private String status;
+
+    private Long catalogVersion;
+
+    private Long timeBudgetMs;
+
+    private Boolean cancelRequested;
+
+    private Instant createdAt;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private Boolean bestSoFar;
+
+    private Map<String, Integer> production;
+
+    private Double totalProfit;
+
+    private Double objective;
+
+    private Double optimalityGap;
+
+    private Double bestBound;
+
+    private Long nodes;
+
+    private Map<String, Double> timingsMs;
+
+    private String error;
+}
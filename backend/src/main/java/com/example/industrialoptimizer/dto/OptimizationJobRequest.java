@@ -0,0 +1,21 @@
+package com.example.industrialoptimizer.dto;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Corpo de POST /api/optimizations: motor (greedy, lp, mip...) e orçamento de tempo.
+ * Sem estratégia, o job usa a otimização inteira exata ("mip").
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimizationJobRequest {
+
+    private String strategy = "mip";
+
+    @PositiveOrZero(message = "timeBudgetMs cannot be negative")
+    private long timeBudgetMs;
+}
@@ -0,0 +1,49 @@
+package com.example.industrialoptimizer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Um plano do streaming anytime (GET /api/products/suggest/stream).
+ *
+ * - Evento "plan": cada plano melhor que o anterior (sequence crescente); strategy diz qual
+ *   motor o encontrou (greedy, lp ou mip)
+ * - Evento "done": o melhor plano do stream, com o status final (OPTIMAL, LIMIT_REACHED ou
+ *   CANCELLED)
+ * - products/materials: o plano por id de produto e o consumo de cada insumo, como em
+ *   {@link ProductionResultDTO}
+ * - bestBound: limite superior do lucro inteiro conhecido até ali (ausente enquanto não há);
+ *   optimalityGap = (bestBound - totalProfit) / bestBound
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OptimizationProgressDTO {
+
+    private Long catalogVersion;
+
+    private Integer sequence;
+
+    private String strategy;
+
+    private List<PlannedProductDTO> products;
+
+    private List<MaterialConsumptionDTO> materials;
+
+    private Double totalProfit;
+
+    private Double bestBound;
+
+    private Double optimalityGap;
+
+    private Double elapsedMs;
+
+    private String status;
+}
@@ -0,0 +1,42 @@
+package com.example.industrialoptimizer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Avaliação de um plano candidato: se cabe no estoque atual, os primeiros insumos violados
+ * (na ordem do catálogo, até maxViolations; violationCount traz o total), o custo dos insumos, a
+ * receita e o lucro.
+ *
+ * Um plano inválido (produto desconhecido, que não pode ser produzido ou quantidade negativa)
+ * volta com feasible = false e o motivo em error, sem derrubar o lote.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PlanEvaluationDTO {
+
+    private String name;
+
+    private boolean feasible;
+
+    private Integer violationCount;
+
+    private List<MaterialRequirementDTO> violations;
+
+    private BigDecimal totalCost;
+
+    private BigDecimal totalRevenue;
+
+    private BigDecimal totalProfit;
+
+    private String error;
+}
@@ -0,0 +1,27 @@
+package com.example.industrialoptimizer.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Corpo de POST /api/plans/evaluate: planos candidatos (unidades por id de produto) avaliados
+ * sobre a mesma fotografia do catálogo, e quantos insumos violados listar em cada plano.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanEvaluationRequest {
+
+    @PositiveOrZero(message = "maxViolations cannot be negative")
+    private int maxViolations = 3;
+
+    @NotEmpty(message = "At least one plan is required")
+    @Valid
+    private List<TargetPlanDTO> plans;
+}
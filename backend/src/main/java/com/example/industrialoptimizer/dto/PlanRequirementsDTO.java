@@ -0,0 +1,29 @@
+package com.example.industrialoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Necessidades de insumos de um plano de produção-alvo: o plano cabe no estoque quando
+ * nenhum insumo tem falta (feasible). totalCost é o custo dos insumos necessários.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanRequirementsDTO {
+
+    private String name;
+
+    private boolean feasible;
+
+    private BigDecimal totalCost;
+
+    /** Só os insumos que o plano usa, em ordem de id. */
+    private List<MaterialRequirementDTO> materials;
+}
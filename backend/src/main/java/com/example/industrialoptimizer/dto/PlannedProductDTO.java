@@ -0,0 +1,31 @@
+package com.example.industrialoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Produto de um plano de produção: quantidade sugerida e lucro (preço de venda menos o custo
+ * dos insumos da receita, por unidade e no total).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlannedProductDTO {
+
+    private Long id;
+
+    private String code;
+
+    private String name;
+
+    private long quantity;
+
+    private BigDecimal unitProfit;
+
+    private BigDecimal totalProfit;
+}
@@ -0,0 +1,41 @@
+package com.example.industrialoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Relatório do presolve (GET /api/products/suggest/presolve): o tamanho do problema que os
+ * motores lp e mip recebem, antes e depois, e o que foi removido.
+ *
+ * - products/materials/nonZeros: produtos, insumos e itens de receita (before -> after)
+ * - removedProducts: cada produto fora do problema, com o motivo
+ * - removedMaterialIds: insumos que nenhum produto restante usa
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresolveReportDTO {
+
+    private Long catalogVersion;
+
+    private int productsBefore;
+
+    private int productsAfter;
+
+    private int materialsBefore;
+
+    private int materialsAfter;
+
+    private int nonZerosBefore;
+
+    private int nonZerosAfter;
+
+    private List<RemovedProductDTO> removedProducts;
+
+    private List<Long> removedMaterialIds;
+}
@@ -0,0 +1,38 @@
+package com.example.industrialoptimizer.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * DTO para ProductComponent (submontagem) com o código, o nome e o custo unitário do produto
+ * usado como componente (custo dos insumos da estrutura dele, já explodida).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductComponentDTO {
+
+    @JsonProperty("productId")
+    private Long productId;
+
+    @JsonProperty("componentId")
+    private Long componentId;
+
+    @JsonProperty("componentCode")
+    private String componentCode;
+
+    @JsonProperty("componentName")
+    private String componentName;
+
+    @JsonProperty("quantityNeeded")
+    private BigDecimal quantityNeeded;
+
+    @JsonProperty("componentUnitCost")
+    private BigDecimal componentUnitCost; // null se a estrutura do componente não pode ser explodida
+
+    @JsonProperty("totalCost")
+    private BigDecimal totalCost; // quantityNeeded * componentUnitCost
+}
@@ -0,0 +1,39 @@
+package com.example.industrialoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Sensibilidade de um produto no plano contínuo (modo lp).
+ *
+ * - quantity: quantidade no plano contínuo
+ * - reducedCost: quanto o lucro unitário precisa subir para o produto entrar no plano
+ *   (negativo para produtos fora do plano, 0 para os que estão nele)
+ * - saleValueMin/saleValueMax: faixa de valor de venda em que o plano não muda (nulo = sem limite)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSensitivityDTO {
+
+    private Long id;
+
+    private String code;
+
+    private String name;
+
+    private BigDecimal quantity;
+
+    private BigDecimal reducedCost;
+
+    private BigDecimal saleValue;
+
+    private BigDecimal saleValueMin;
+
+    private BigDecimal saleValueMax;
+}
@@ -0,0 +1,36 @@
+package com.example.industrialoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordem de produção confirmada: o plano e a baixa de cada insumo. Em materials,
+ * stockQuantity é o estoque logo antes da baixa e remaining o que sobrou logo depois.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductionOrderDTO {
+
+    private Long id;
+
+    private String name;
+
+    /** Versão do catálogo usada para explodir as receitas. */
+    private long catalogVersion;
+
+    private LocalDateTime createdAt;
+
+    /** Unidades por id de produto (só as linhas com unidades). */
+    private Map<Long, Long> quantities;
+
+    /** Só os insumos debitados, em ordem de id. */
+    private List<MaterialConsumptionDTO> materials;
+}
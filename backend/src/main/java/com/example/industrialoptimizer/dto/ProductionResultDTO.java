@@ -0,0 +1,41 @@
+package com.example.industrialoptimizer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Resultado estruturado da otimização (GET /api/products/suggest/plan): tudo o que o dashboard
+ * mostra numa única chamada.
+ *
+ * - products: produtos a fabricar, identificados pelo id (nomes repetidos não colidem), na
+ *   ordem de lucro unitário
+ * - materials: consumo e sobra de cada insumo no plano
+ * - optimalityGap/bestBound: só para o modo mip
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductionResultDTO {
+
+    private Long catalogVersion;
+
+    private String strategy;
+
+    private BigDecimal totalProfit;
+
+    private Double optimalityGap;
+
+    private Double bestBound;
+
+    private List<PlannedProductDTO> products;
+
+    private List<MaterialConsumptionDTO> materials;
+}
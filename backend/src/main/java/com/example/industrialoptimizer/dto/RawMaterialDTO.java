@@ -79,4 +79,12 @@ public class RawMaterialDTO {
      * Read-only field: Generated response only.
      */
     private Long id;
+
+    /**
+     * Optimistic version: returned on reads and optional on updates.
+     * An update carrying an older version (e.g. the stock was debited by a
+     * production order in the meantime) is rejected with 409 Conflict; an
+     * update without it overwrites the current values (last write wins).
+     */
+    private Long version;
 }
@@ -0,0 +1,31 @@
+package com.example.industrialoptimizer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Produto removido pelo presolve.
+ *
+ * - reason: EMPTY_RECIPE, UNPROFITABLE, BLOCKED ou DOMINATED
+ * - dominatedBy: id do produto que o substitui com vantagem (só em DOMINATED)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RemovedProductDTO {
+
+    private Long id;
+
+    private String code;
+
+    private String name;
+
+    private String reason;
+
+    private Long dominatedBy;
+}
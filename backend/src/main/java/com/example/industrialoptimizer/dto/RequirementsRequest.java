@@ -0,0 +1,23 @@
+package com.example.industrialoptimizer.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Corpo de POST /api/requirements: um ou mais planos de produção-alvo, calculados sobre a
+ * mesma fotografia do catálogo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequirementsRequest {
+
+    @NotEmpty(message = "At least one plan is required")
+    @Valid
+    private List<TargetPlanDTO> plans;
+}
@@ -0,0 +1,29 @@
+package com.example.industrialoptimizer.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Corpo de POST /api/products/suggest/scenarios: o motor, o orçamento de tempo de cada
+ * cenário e a lista de cenários avaliados sobre a mesma fotografia do catálogo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioBatchRequest {
+
+    private String strategy = "greedy";
+
+    @PositiveOrZero(message = "timeBudgetMs cannot be negative")
+    private long timeBudgetMs;
+
+    @NotEmpty(message = "At least one scenario is required")
+    @Valid
+    private List<ScenarioDTO> scenarios;
+}
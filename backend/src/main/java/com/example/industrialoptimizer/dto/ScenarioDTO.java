@@ -0,0 +1,40 @@
+package com.example.industrialoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Um cenário what-if: alterações sobre o catálogo atual, sem gravar nada no banco.
+ * As chaves são ids de insumo (stock, stockDelta, unitCost, unitCostFactor) ou de produto (salePrice).
+ *
+ * Exemplo: {"name": "+200 tábuas", "stockDelta": {"3": 200}}
+ *          {"name": "aço +20%", "unitCostFactor": {"5": 1.2}}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioDTO {
+
+    private String name;
+
+    /** Novo estoque do insumo. */
+    private Map<Long, BigDecimal> stock;
+
+    /** Soma ao estoque do insumo (negativo = perda); o resultado nunca fica abaixo de zero. */
+    private Map<Long, BigDecimal> stockDelta;
+
+    /** Novo preço unitário do insumo. */
+    private Map<Long, BigDecimal> unitCost;
+
+    /** Multiplica o preço unitário do insumo (1.2 = 20% mais caro). */
+    private Map<Long, BigDecimal> unitCostFactor;
+
+    /** Novo valor de venda do produto. */
+    private Map<Long, BigDecimal> salePrice;
+}
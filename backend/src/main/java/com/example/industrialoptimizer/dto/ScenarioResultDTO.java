@@ -0,0 +1,30 @@
+package com.example.industrialoptimizer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Plano de um cenário what-if: produção sugerida (Nome do Produto -> Quantidade) e o lucro
+ * total com os custos e preços do cenário. optimalityGap só aparece no motor "mip".
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScenarioResultDTO {
+
+    private String name;
+
+    private Map<String, Integer> production;
+
+    private BigDecimal totalProfit;
+
+    private Double optimalityGap;
+}
@@ -0,0 +1,31 @@
+package com.example.industrialoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Relatório de sensibilidade (GET /api/products/suggest/sensitivity): preços-sombra e faixas
+ * de estoque, custo e preço de venda em que o plano ótimo contínuo continua ótimo.
+ * Vem de uma única resolução do simplex; status diferente de OPTIMAL deixa as faixas nulas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SensitivityReportDTO {
+
+    private Long catalogVersion;
+
+    private String status;
+
+    private BigDecimal totalProfit;
+
+    private List<MaterialSensitivityDTO> materials;
+
+    private List<ProductSensitivityDTO> products;
+}
@@ -0,0 +1,26 @@
+package com.example.industrialoptimizer.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Plano de produção-alvo: unidades a produzir por id de produto (submontagens incluídas).
+ *
+ * Exemplo: {"name": "pedido 42", "quantities": {"2": 10, "5": 4}}
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TargetPlanDTO {
+
+    private String name;
+
+    @NotEmpty(message = "A plan needs at least one product quantity")
+    private Map<Long, Long> quantities;
+}
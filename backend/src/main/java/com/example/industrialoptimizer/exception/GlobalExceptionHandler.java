@@ -1,18 +1,24 @@
 package com.example.industrialoptimizer.exception;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 import org.springframework.web.servlet.mvc.support.DefaultHandlerExceptionResolver;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -23,6 +29,7 @@ import java.util.*;
  * 1. Validation Errors (Negative Value, Negative Stock, Required Fields)
  * 2. Duplicated Codes (DataIntegrityViolationException)
  * 3. Cascade Deletion Prevention (Custom exceptions)
+ * 4. Concurrent Modifications (optimistic version / row lock conflicts)
  */
 @Slf4j
 @RestControllerAdvice
@@ -184,6 +191,77 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handles concurrent writes to the same rows: a stale raw material update
+     * (its @Version moved because a production order debited the stock) or a
+     * row lock that could not be acquired in time.
+     *
+     * The request changed nothing and may simply be retried: 409 Conflict.
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyFailureException(
+            ConcurrencyFailureException ex,
+            WebRequest request) {
+
+        log.warn("Concurrent modification rejected: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Concurrent Modification")
+                .message("The record was changed by another request. Reload it and try again.")
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles ResponseStatusException thrown by services and controllers
+     * (e.g. 404 Not Found, 400 Bad Request for an invalid optimization mode).
+     * 
+     * Without this handler the generic Exception handler below would turn them
+     * into 500 Internal Server Error.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(
+            ResponseStatusException ex,
+            WebRequest request) {
+
+        log.warn("Request rejected with status {}: {}", ex.getStatusCode(), ex.getReason());
+
+        HttpStatus status = HttpStatus.valueOf(ex.getStatusCode().value());
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(ex.getReason())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        return new ResponseEntity<>(errorResponse, ex.getHeaders(), status);
+    }
+
+    /**
+     * The client went away in the middle of a streamed response (e.g. the SSE
+     * optimization stream): there is nobody left to write an error body to.
+     * I/O errors on any other response still go to the generic handler.
+     */
+    @ExceptionHandler({AsyncRequestNotUsableException.class, IOException.class})
+    public ResponseEntity<ErrorResponse> handleClientDisconnect(
+            Exception ex,
+            HttpServletResponse response,
+            WebRequest request) {
+
+        String contentType = response.getContentType();
+        if (ex instanceof AsyncRequestNotUsableException
+                || (contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE))) {
+            log.debug("Client disconnected from a streamed response: {}", ex.getMessage());
+            return null;
+        }
+        return handleGlobalException(ex, request);
+    }
+
     /**
      * Global exception handler for unexpected errors.
      */
@@ -0,0 +1,33 @@
+package com.example.industrialoptimizer.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * OptimizerBusyException: the optimizer backlog is full.
+ *
+ * Rendered by GlobalExceptionHandler as 503 Service Unavailable with a
+ * Retry-After header, so clients back off instead of piling more work onto
+ * the CPU while the CRUD endpoints stay responsive.
+ */
+public class OptimizerBusyException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public OptimizerBusyException(String reason, long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, reason);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return headers;
+    }
+}
@@ -30,6 +30,14 @@ public class Product {
     @Positive(message = "Sale value must be greater than zero")
     private BigDecimal saleValue;
 
+    /**
+     * false para submontagens que só entram na receita de outros produtos (ex.: almofada do
+     * assento): o otimizador não sugere vendê-las. Ausente no JSON = mantém o valor atual
+     * (true em produtos novos).
+     */
+    @Column(nullable = false)
+    private Boolean sellable;
+
     /**
      * Cascade Configuration for Product Deletion:
      * - CascadeType.ALL: When a Product is deleted, all ProductComposition entries
@@ -46,6 +54,14 @@ public class Product {
     @JsonIgnore
     private List<ProductComposition> compositions;
 
+    /**
+     * Submontagens usadas na receita (outros produtos), removidas junto com o produto.
+     * Um produto que é submontagem de outro não pode ser excluído (ProductService).
+     */
+    @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
+    private List<ProductComponent> components;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -79,6 +95,21 @@ public class Product {
         this.saleValue = saleValue;
     }
 
+    public Boolean getSellable() {
+        return sellable;
+    }
+
+    public void setSellable(Boolean sellable) {
+        this.sellable = sellable;
+    }
+
+    @PrePersist
+    void defaultSellable() {
+        if (sellable == null) {
+            sellable = true;
+        }
+    }
+
     public List<ProductComposition> getCompositions() {
         return compositions;
     }
@@ -86,4 +117,12 @@ public class Product {
     public void setCompositions(List<ProductComposition> compositions) {
         this.compositions = compositions;
     }
+
+    public List<ProductComponent> getComponents() {
+        return components;
+    }
+
+    public void setComponents(List<ProductComponent> components) {
+        this.components = components;
+    }
 }
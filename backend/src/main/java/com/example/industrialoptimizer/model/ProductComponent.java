@@ -0,0 +1,41 @@
+package com.example.industrialoptimizer.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Submontagem: quantas unidades de outro produto (component) entram em uma unidade do produto.
+ * Junto com as {@link ProductComposition} forma a estrutura multinível do produto (BOM).
+ *
+ * As associações são LAZY: a leitura do catálogo só usa os ids da chave.
+ */
+@Data
+@Entity
+@Table(name = "product_components")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class ProductComponent {
+
+    @EmbeddedId
+    private ProductComponentKey id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("productId")
+    @JoinColumn(name = "product_id")
+    private Product product;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("componentId")
+    @JoinColumn(name = "component_id")
+    private Product component;
+
+    @Column(name = "quantity_needed", precision = 15, scale = 3)
+    @PositiveOrZero(message = "A quantidade deve ser positiva")
+    private BigDecimal quantityNeeded;
+}
@@ -0,0 +1,22 @@
+package com.example.industrialoptimizer.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class ProductComponentKey implements Serializable {
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "component_id")
+    private Long componentId;
+}
@@ -0,0 +1,53 @@
+package com.example.industrialoptimizer.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordem de produção: um plano (unidades por produto) cuja baixa de estoque foi confirmada.
+ * Guarda a versão do catálogo usada para explodir as receitas e o consumo de cada insumo, com o
+ * estoque que sobrou logo depois da baixa.
+ */
+@Data
+@Entity
+@Table(name = "production_orders")
+public class ProductionOrder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "catalog_version", nullable = false)
+    private Long catalogVersion;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Unidades por id de produto
+    @ElementCollection
+    @CollectionTable(name = "production_order_lines", joinColumns = @JoinColumn(name = "order_id"))
+    @MapKeyColumn(name = "product_id")
+    @Column(name = "quantity", nullable = false)
+    private Map<Long, Long> quantities = new LinkedHashMap<>();
+
+    @ElementCollection
+    @CollectionTable(name = "production_order_materials", joinColumns = @JoinColumn(name = "order_id"))
+    @OrderBy("rawMaterialId")
+    private List<ProductionOrderMaterial> materials = new ArrayList<>();
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
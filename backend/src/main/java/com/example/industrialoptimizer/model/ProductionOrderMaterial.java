@@ -0,0 +1,28 @@
+package com.example.industrialoptimizer.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Baixa de um insumo numa {@link ProductionOrder}.
+ */
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductionOrderMaterial {
+
+    @Column(name = "raw_material_id", nullable = false)
+    private Long rawMaterialId;
+
+    @Column(name = "quantity", precision = 15, scale = 3, nullable = false)
+    private BigDecimal quantity;
+
+    @Column(name = "remaining_stock", precision = 15, scale = 3, nullable = false)
+    private BigDecimal remainingStock;
+}
@@ -37,6 +37,12 @@ public class RawMaterial {
     @PositiveOrZero(message = "Unit cost cannot be negative")
     private BigDecimal unitCost;
 
+    // Versão otimista: o PUT precisa trazer a versão lida (RawMaterialService), e uma edição
+    // baseada num estoque já debitado por uma ordem de produção falha (409) em vez de
+    // sobrescrever a baixa
+    @Version
+    private Long version;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -85,4 +91,12 @@ public class RawMaterial {
     public void setUnitCost(BigDecimal unitCost) {
         this.unitCost = unitCost;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
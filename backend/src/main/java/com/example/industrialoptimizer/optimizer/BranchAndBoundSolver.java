@@ -0,0 +1,262 @@
+package com.example.industrialoptimizer.optimizer;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAccumulator;
+
+/**
+ * BranchAndBoundSolver: otimização inteira do mix de produção (quantidades inteiras)
+ * por branch-and-bound sobre a relaxação linear do {@link RevisedSimplexSolver}.
+ *
+ * - Cada nó é uma {@link RecursiveAction}: as duas subárvores (x_j &lt;= floor e
+ *   x_j &gt;= ceil) são exploradas em paralelo pelo {@link ForkJoinPool} (work stealing).
+ * - A melhor solução (incumbente) é compartilhada sem locks via {@link AtomicReference}
+ *   com compare-and-set; os nós leem o seu lucro para podar.
+ * - Limites de nós e de tempo interrompem a busca: os nós não resolvidos entram no
+ *   limite superior (bestBound), de onde sai o gap de otimalidade reportado. A raiz é
+ *   resolvida mesmo com o tempo esgotado, para sempre haver a relaxação arredondada.
+ * - Em todo nó, a solução linear arredondada para baixo e completada de forma gulosa
+ *   alimenta a incumbente, o que acelera as podas.
+ * - Um {@link SolveListener} opcional recebe cada nova incumbente e pode cancelar a busca;
+ *   o cancelamento é tratado como um limite atingido.
+ */
+public class BranchAndBoundSolver {
+
+    private static final double INTEGRALITY_TOL = 1e-6;
+    private static final double FEAS_TOL = 1e-9;
+    private static final int MAX_DEPTH = 2_000;
+
+    private final RevisedSimplexSolver lpSolver = new RevisedSimplexSolver();
+
+    /**
+     * Resolve o problema inteiro.
+     *
+     * @param lp          problema (as quantidades de cada coluna devem ser inteiras)
+     * @param pool        pool onde as subárvores são exploradas
+     * @param nodeLimit   número máximo de nós (relaxações lineares) resolvidos
+     * @param timeLimitMs tempo máximo de busca
+     */
+    public MipSolution solve(PackingLp lp, ForkJoinPool pool, long nodeLimit, long timeLimitMs) {
+        return solve(lp, pool, nodeLimit, timeLimitMs, SolveListener.NONE);
+    }
+
+    /**
+     * Resolve o problema inteiro, informando o progresso ao {@code listener}.
+     */
+    public MipSolution solve(PackingLp lp, ForkJoinPool pool, long nodeLimit, long timeLimitMs,
+            SolveListener listener) {
+        long start = System.nanoTime();
+        Search search = new Search(lp, nodeLimit, start + timeLimitMs * 1_000_000L, listener);
+
+        double[] lower = new double[lp.cols()];
+        double[] upper = new double[lp.cols()];
+        for (int j = 0; j < lp.cols(); j++) {
+            upper[j] = Math.floor(lp.upper(j) + INTEGRALITY_TOL);
+        }
+        pool.invoke(search.new Node(lower, upper, Double.POSITIVE_INFINITY, 0));
+
+        Incumbent best = search.incumbent.get();
+        double bound = Math.max(best.objective, search.openBound.get());
+        MipSolution.Status status = search.limitReached ? MipSolution.Status.LIMIT_REACHED
+                : MipSolution.Status.OPTIMAL;
+        return new MipSolution(status, best.x, best.objective, status == MipSolution.Status.OPTIMAL
+                ? best.objective : bound, search.nodes.get(), System.nanoTime() - start, pool.getParallelism());
+    }
+
+    /**
+     * Arredonda uma solução contínua para baixo e completa com o guloso (maior lucro
+     * primeiro) dentro dos limites originais. O resultado é sempre viável.
+     */
+    static long[] roundAndFill(PackingLp lp, double[] x) {
+        int n = lp.cols();
+        long[] rounded = new long[n];
+        double[] residual = new double[lp.rows()];
+        for (int i = 0; i < lp.rows(); i++) {
+            residual[i] = lp.rhs(i);
+        }
+        for (int j = 0; j < n; j++) {
+            rounded[j] = (long) Math.floor(x[j] + INTEGRALITY_TOL);
+            if (rounded[j] > 0 && maxUnits(lp, j, residual) < rounded[j]) {
+                rounded[j] = maxUnits(lp, j, residual);
+            }
+            if (rounded[j] > 0) {
+                lp.addColumn(residual, j, -rounded[j]);
+            }
+        }
+
+        Integer[] order = new Integer[n];
+        for (int j = 0; j < n; j++) {
+            order[j] = j;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(lp.objective(b), lp.objective(a)));
+        for (int j : order) {
+            if (lp.objective(j) <= 0) {
+                break;
+            }
+            long extra = Math.min(maxUnits(lp, j, residual),
+                    (long) Math.floor(lp.upper(j) + INTEGRALITY_TOL) - rounded[j]);
+            if (extra > 0) {
+                rounded[j] += extra;
+                lp.addColumn(residual, j, -extra);
+            }
+        }
+        return rounded;
+    }
+
+    /**
+     * Quantas unidades inteiras da coluna cabem no estoque residual.
+     */
+    private static long maxUnits(PackingLp lp, int col, double[] residual) {
+        long max = Long.MAX_VALUE;
+        for (int k = lp.colStart(col); k < lp.colEnd(col); k++) {
+            double needed = lp.value(k);
+            if (needed <= 0) {
+                continue;
+            }
+            double available = residual[lp.rowIndex(k)];
+            max = Math.min(max, (long) Math.floor(available / needed + FEAS_TOL));
+        }
+        return max == Long.MAX_VALUE ? 0 : Math.max(0, max);
+    }
+
+    private static double objectiveOf(PackingLp lp, long[] x) {
+        double total = 0.0;
+        for (int j = 0; j < x.length; j++) {
+            total += lp.objective(j) * x[j];
+        }
+        return total;
+    }
+
+    /**
+     * Melhor solução inteira conhecida (imutável, trocada por CAS).
+     */
+    private record Incumbent(double objective, long[] x) {
+    }
+
+    /**
+     * Estado compartilhado por todos os nós de uma busca.
+     */
+    private final class Search {
+
+        private final PackingLp lp;
+        private final long nodeLimit;
+        private final long deadline;
+        private final SolveListener listener;
+        private final AtomicLong nodes = new AtomicLong();
+        private final AtomicReference<Incumbent> incumbent;
+        private final DoubleAccumulator openBound = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+        private volatile boolean limitReached;
+
+        Search(PackingLp lp, long nodeLimit, long deadline, SolveListener listener) {
+            this.lp = lp;
+            this.nodeLimit = nodeLimit;
+            this.deadline = deadline;
+            this.listener = listener;
+            this.incumbent = new AtomicReference<>(new Incumbent(0.0, new long[lp.cols()]));
+        }
+
+        void offer(long[] x) {
+            double objective = objectiveOf(lp, x);
+            Incumbent candidate = new Incumbent(objective, x);
+            Incumbent current = incumbent.get();
+            while (objective > current.objective + pruneTolerance(current.objective)) {
+                if (incumbent.compareAndSet(current, candidate)) {
+                    listener.onIncumbent(x, objective);
+                    return;
+                }
+                current = incumbent.get();
+            }
+        }
+
+        boolean prunable(double bound) {
+            double best = incumbent.get().objective;
+            return bound <= best + pruneTolerance(best);
+        }
+
+        private double pruneTolerance(double value) {
+            return 1e-9 * Math.max(1.0, Math.abs(value));
+        }
+
+        /**
+         * Um nó da árvore: limites de cada coluna e o limite superior herdado do pai.
+         */
+        private final class Node extends RecursiveAction {
+
+            private final double[] lower;
+            private final double[] upper;
+            private final double parentBound;
+            private final int depth;
+
+            Node(double[] lower, double[] upper, double parentBound, int depth) {
+                this.lower = lower;
+                this.upper = upper;
+                this.parentBound = parentBound;
+                this.depth = depth;
+            }
+
+            @Override
+            protected void compute() {
+                if (prunable(parentBound)) {
+                    return;
+                }
+                if (depth > MAX_DEPTH || (depth > 0 && System.nanoTime() > deadline) || listener.isCancelled()
+                        || nodes.incrementAndGet() > nodeLimit) {
+                    // Nó não explorado: continua aberto e entra no limite superior
+                    limitReached = true;
+                    openBound.accumulate(parentBound);
+                    return;
+                }
+
+                LpSolution relaxation = lpSolver.solve(lp, lower, upper);
+                if (relaxation.getStatus() == LpSolution.Status.INFEASIBLE) {
+                    return;
+                }
+                double bound = Math.min(parentBound, relaxation.getObjective());
+                if (!relaxation.isOptimal()) {
+                    // Relaxação não convergiu: não há limite confiável abaixo deste nó
+                    limitReached = true;
+                    openBound.accumulate(parentBound);
+                    return;
+                }
+                if (prunable(bound)) {
+                    return;
+                }
+
+                double[] x = relaxation.getX();
+                offer(roundAndFill(lp, x));
+
+                int branch = -1;
+                double mostFractional = INTEGRALITY_TOL;
+                for (int j = 0; j < x.length; j++) {
+                    double fraction = x[j] - Math.floor(x[j]);
+                    double distance = Math.min(fraction, 1.0 - fraction);
+                    if (distance > mostFractional) {
+                        mostFractional = distance;
+                        branch = j;
+                    }
+                }
+                if (branch < 0) {
+                    long[] integral = new long[x.length];
+                    for (int j = 0; j < x.length; j++) {
+                        integral[j] = Math.round(x[j]);
+                    }
+                    offer(integral);
+                    return;
+                }
+
+                double[] upLower = lower.clone();
+                upLower[branch] = Math.ceil(x[branch]);
+                double[] downUpper = upper.clone();
+                downUpper[branch] = Math.floor(x[branch]);
+
+                // invokeAll executa a primeira subárvore nesta thread e deixa a outra
+                // disponível para ser roubada por threads ociosas do pool
+                invokeAll(new Node(upLower, upper, bound, depth + 1),
+                        new Node(lower, downUpper, bound, depth + 1));
+            }
+        }
+    }
+}
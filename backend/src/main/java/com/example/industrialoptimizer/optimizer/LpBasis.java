@@ -0,0 +1,63 @@
+package com.example.industrialoptimizer.optimizer;
+
+import java.util.Arrays;
+
+/**
+ * LpBasis: estrutura da base final de uma resolução do {@link RevisedSimplexSolver}, para
+ * recomeçar a próxima de onde esta parou (warm start).
+ *
+ * - Guarda só quem é básico (produtos e folgas) e quais produtos ficaram no limite superior;
+ *   a fatoração é refeita sobre os dados novos.
+ * - Vale para qualquer problema com as mesmas colunas e linhas: estoque, lucros e limites
+ *   podem ter mudado. Com colunas ou linhas renumeradas, use {@link #remap}.
+ *
+ * Imutável.
+ */
+public final class LpBasis {
+
+    private final int[] basicColumns;
+    private final int[] basicSlacks;
+    private final int[] upperColumns;
+
+    LpBasis(int[] basicColumns, int[] basicSlacks, int[] upperColumns) {
+        this.basicColumns = basicColumns;
+        this.basicSlacks = basicSlacks;
+        this.upperColumns = upperColumns;
+    }
+
+    /**
+     * A mesma base num problema com colunas e linhas renumeradas (produtos reordenados,
+     * criados ou removidos). Colunas removidas saem da base; o solver completa as linhas que
+     * ficarem sem variável básica com as folgas.
+     *
+     * @param columnMap índice novo de cada coluna antiga (-1 = removida)
+     * @param rowMap    índice novo de cada linha antiga (-1 = removida)
+     */
+    public LpBasis remap(int[] columnMap, int[] rowMap) {
+        return new LpBasis(mapped(basicColumns, columnMap), mapped(basicSlacks, rowMap), mapped(upperColumns, columnMap));
+    }
+
+    private static int[] mapped(int[] indices, int[] map) {
+        int[] mapped = new int[indices.length];
+        int size = 0;
+        for (int index : indices) {
+            int target = index < map.length ? map[index] : -1;
+            if (target >= 0) {
+                mapped[size++] = target;
+            }
+        }
+        return size == mapped.length ? mapped : Arrays.copyOf(mapped, size);
+    }
+
+    int[] basicColumns() {
+        return basicColumns;
+    }
+
+    int[] basicSlacks() {
+        return basicSlacks;
+    }
+
+    int[] upperColumns() {
+        return upperColumns;
+    }
+}
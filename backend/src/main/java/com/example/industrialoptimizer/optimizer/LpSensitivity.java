@@ -0,0 +1,77 @@
+package com.example.industrialoptimizer.optimizer;
+
+import java.util.Arrays;
+
+/**
+ * LpSensitivity: análise de sensibilidade da base ótima do {@link RevisedSimplexSolver}.
+ *
+ * Todas as faixas são variações permitidas (deltas &gt;= 0, {@code +Infinity} = sem limite)
+ * a partir do valor atual, dentro das quais a mesma base continua ótima:
+ * - rhs: estoque de cada linha; dentro da faixa o preço-sombra vale e o lucro varia linearmente
+ * - objective: lucro unitário de cada coluna; dentro da faixa o plano não muda
+ * - rowCost: custo unitário do recurso de cada linha (cada coluna perde a_ij de lucro por
+ *   unidade de custo); dentro da faixa o plano não muda
+ *
+ * Se a solução não for ótima as faixas ficam indisponíveis (NaN).
+ */
+public final class LpSensitivity {
+
+    private final LpSolution solution;
+    private final double[] rhsDecrease;
+    private final double[] rhsIncrease;
+    private final double[] objectiveDecrease;
+    private final double[] objectiveIncrease;
+    private final double[] rowCostDecrease;
+    private final double[] rowCostIncrease;
+
+    LpSensitivity(LpSolution solution, double[] rhsDecrease, double[] rhsIncrease, double[] objectiveDecrease,
+            double[] objectiveIncrease, double[] rowCostDecrease, double[] rowCostIncrease) {
+        this.solution = solution;
+        this.rhsDecrease = rhsDecrease;
+        this.rhsIncrease = rhsIncrease;
+        this.objectiveDecrease = objectiveDecrease;
+        this.objectiveIncrease = objectiveIncrease;
+        this.rowCostDecrease = rowCostDecrease;
+        this.rowCostIncrease = rowCostIncrease;
+    }
+
+    static LpSensitivity unavailable(LpSolution solution) {
+        int m = solution.getDuals().length;
+        int n = solution.getX().length;
+        return new LpSensitivity(solution, nan(m), nan(m), nan(n), nan(n), nan(m), nan(m));
+    }
+
+    private static double[] nan(int size) {
+        double[] values = new double[size];
+        Arrays.fill(values, Double.NaN);
+        return values;
+    }
+
+    public LpSolution getSolution() {
+        return solution;
+    }
+
+    public double getRhsDecrease(int row) {
+        return rhsDecrease[row];
+    }
+
+    public double getRhsIncrease(int row) {
+        return rhsIncrease[row];
+    }
+
+    public double getObjectiveDecrease(int col) {
+        return objectiveDecrease[col];
+    }
+
+    public double getObjectiveIncrease(int col) {
+        return objectiveIncrease[col];
+    }
+
+    public double getRowCostDecrease(int row) {
+        return rowCostDecrease[row];
+    }
+
+    public double getRowCostIncrease(int row) {
+        return rowCostIncrease[row];
+    }
+}
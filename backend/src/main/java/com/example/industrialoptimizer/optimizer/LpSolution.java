@@ -0,0 +1,81 @@
+package com.example.industrialoptimizer.optimizer;
+
+/**
+ * LpSolution: resultado do {@link RevisedSimplexSolver}.
+ *
+ * - x: quantidade (contínua) de cada produto
+ * - duals: preço-sombra de cada insumo (lucro marginal de uma unidade a mais de estoque)
+ * - reducedCosts: custo reduzido de cada produto (c_j - y·A_j)
+ * - basis: base final, para recomeçar uma resolução parecida ({@link RevisedSimplexSolver#solve(PackingLp, LpBasis)})
+ */
+public final class LpSolution {
+
+    public enum Status {
+        OPTIMAL,
+        INFEASIBLE,
+        UNBOUNDED,
+        ITERATION_LIMIT
+    }
+
+    private final Status status;
+    private final double objective;
+    private final double[] x;
+    private final double[] duals;
+    private final double[] reducedCosts;
+    private final int iterations;
+    private final LpBasis basis;
+
+    LpSolution(Status status, double objective, double[] x, double[] duals, double[] reducedCosts, int iterations,
+            LpBasis basis) {
+        this.status = status;
+        this.objective = objective;
+        this.x = x;
+        this.duals = duals;
+        this.reducedCosts = reducedCosts;
+        this.iterations = iterations;
+        this.basis = basis;
+    }
+
+    static LpSolution infeasible() {
+        return new LpSolution(Status.INFEASIBLE, Double.NEGATIVE_INFINITY, null, null, null, 0, null);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isOptimal() {
+        return status == Status.OPTIMAL;
+    }
+
+    public double getObjective() {
+        return objective;
+    }
+
+    public double[] getX() {
+        return x;
+    }
+
+    public double getX(int col) {
+        return x[col];
+    }
+
+    public double[] getDuals() {
+        return duals;
+    }
+
+    public double[] getReducedCosts() {
+        return reducedCosts;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Base final, ou null se o problema foi descartado antes de iterar (inviável).
+     */
+    public LpBasis getBasis() {
+        return basis;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.industrialoptimizer.optimizer;
+
+import java.util.List;
+
+/**
+ * MipSolution: resultado do {@link BranchAndBoundSolver}.
+ *
+ * - x: quantidade inteira de cada produto (melhor solução encontrada)
+ * - objective: lucro total da melhor solução
+ * - bestBound: limite superior provado para o lucro (relaxação linear dos nós abertos)
+ * - gap: (bestBound - objective) / |bestBound|; zero quando a busca terminou sem limites
+ */
+public final class MipSolution {
+
+    public enum Status {
+        /** Busca completa: a solução é ótima. */
+        OPTIMAL,
+        /** Limite de nós ou de tempo atingido: a solução é viável, com gap reportado. */
+        LIMIT_REACHED
+    }
+
+    private final Status status;
+    private final long[] x;
+    private final double objective;
+    private final double bestBound;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final int parallelism;
+
+    MipSolution(Status status, long[] x, double objective, double bestBound, long nodes, long elapsedNanos,
+            int parallelism) {
+        this.status = status;
+        this.x = x;
+        this.objective = objective;
+        this.bestBound = bestBound;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Junta as soluções de subproblemas independentes (componentes sem insumos em comum):
+     * lucros, limites e nós se somam, e o resultado só é ótimo se todas as partes forem.
+     *
+     * @param cols         colunas do problema inteiro
+     * @param parts        solução de cada parte
+     * @param columns      índice, no problema inteiro, de cada coluna de cada parte
+     * @param elapsedNanos tempo total (as partes podem ter rodado em paralelo)
+     */
+    public static MipSolution merge(int cols, List<MipSolution> parts, List<int[]> columns, long elapsedNanos) {
+        long[] x = new long[cols];
+        double objective = 0.0;
+        double bestBound = 0.0;
+        long nodes = 0;
+        int parallelism = 1;
+        boolean optimal = true;
+        for (int i = 0; i < parts.size(); i++) {
+            MipSolution part = parts.get(i);
+            int[] map = columns.get(i);
+            for (int j = 0; j < map.length; j++) {
+                x[map[j]] = part.x[j];
+            }
+            objective += part.objective;
+            bestBound += part.bestBound;
+            nodes += part.nodes;
+            parallelism = Math.max(parallelism, part.parallelism);
+            optimal &= part.isOptimal();
+        }
+        return new MipSolution(optimal ? Status.OPTIMAL : Status.LIMIT_REACHED, x, objective,
+                optimal ? objective : bestBound, nodes, elapsedNanos, parallelism);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isOptimal() {
+        return status == Status.OPTIMAL;
+    }
+
+    public long[] getX() {
+        return x;
+    }
+
+    public long getX(int col) {
+        return x[col];
+    }
+
+    public double getObjective() {
+        return objective;
+    }
+
+    public double getBestBound() {
+        return bestBound;
+    }
+
+    /**
+     * Gap de otimalidade relativo, entre 0 (ótimo provado) e 1.
+     */
+    public double getGap() {
+        if (bestBound <= objective) {
+            return 0.0;
+        }
+        return (bestBound - objective) / Math.max(1e-9, Math.abs(bestBound));
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.industrialoptimizer.optimizer;
+
+import java.util.Arrays;
+
+/**
+ * PackingLp: programa linear de "empacotamento" na forma
+ *
+ * <pre>
+ *   max  c·x
+ *   s.a. A x &lt;= b
+ *        0 &lt;= x &lt;= u
+ * </pre>
+ *
+ * com A &gt;= 0 e b &gt;= 0. Cada coluna é a receita de um produto (consumo de cada
+ * insumo por unidade) e cada linha é o estoque de um insumo. As colunas são
+ * armazenadas de forma esparsa (CSC), pois uma receita usa poucos insumos; uma
+ * cópia por linhas (CSR) permite atualizar os custos reduzidos a partir de uma
+ * linha da inversa da base sem recalcular todos os produtos escalares.
+ *
+ * Como A e b são não negativos, x = 0 é sempre viável: o simplex primal pode
+ * partir da base de folgas sem fase 1.
+ */
+public final class PackingLp {
+
+    private final int rows;
+    private final int cols;
+    private final int[] colStart;
+    private final int[] rowIndex;
+    private final double[] value;
+    private final double[] rhs;
+    private final double[] objective;
+    private final double[] upper;
+    private final int[] rowStart;
+    private final int[] colIndex;
+    private final double[] rowValue;
+
+    private PackingLp(int rows, int cols, int[] colStart, int[] rowIndex, double[] value,
+            double[] rhs, double[] objective, double[] upper) {
+        this.rows = rows;
+        this.cols = cols;
+        this.colStart = colStart;
+        this.rowIndex = rowIndex;
+        this.value = value;
+        this.rhs = rhs;
+        this.objective = objective;
+        this.upper = upper;
+
+        // Transposição CSC -> CSR
+        this.rowStart = new int[rows + 1];
+        this.colIndex = new int[rowIndex.length];
+        this.rowValue = new double[rowIndex.length];
+        for (int k = 0; k < rowIndex.length; k++) {
+            rowStart[rowIndex[k] + 1]++;
+        }
+        for (int i = 0; i < rows; i++) {
+            rowStart[i + 1] += rowStart[i];
+        }
+        int[] next = Arrays.copyOf(rowStart, rows);
+        for (int j = 0; j < cols; j++) {
+            for (int k = colStart[j]; k < colStart[j + 1]; k++) {
+                int slot = next[rowIndex[k]]++;
+                colIndex[slot] = j;
+                rowValue[slot] = value[k];
+            }
+        }
+    }
+
+    /**
+     * Inicia a construção de um problema com o vetor de estoques (lado direito).
+     *
+     * @param rhs estoque disponível de cada insumo (linha)
+     * @return builder para adicionar as colunas (produtos)
+     */
+    public static Builder builder(double[] rhs) {
+        return new Builder(rhs);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int colStart(int col) {
+        return colStart[col];
+    }
+
+    public int colEnd(int col) {
+        return colStart[col + 1];
+    }
+
+    public int rowIndex(int k) {
+        return rowIndex[k];
+    }
+
+    public double value(int k) {
+        return value[k];
+    }
+
+    public double rhs(int row) {
+        return rhs[row];
+    }
+
+    public double objective(int col) {
+        return objective[col];
+    }
+
+    public double upper(int col) {
+        return upper[col];
+    }
+
+    public int rowStart(int row) {
+        return rowStart[row];
+    }
+
+    public int rowEnd(int row) {
+        return rowStart[row + 1];
+    }
+
+    public int colIndex(int k) {
+        return colIndex[k];
+    }
+
+    public double rowValue(int k) {
+        return rowValue[k];
+    }
+
+    /**
+     * Produto escalar y·A_col, usado no cálculo dos custos reduzidos.
+     */
+    double dot(double[] y, int col) {
+        double sum = 0.0;
+        for (int k = colStart[col]; k < colStart[col + 1]; k++) {
+            sum += y[rowIndex[k]] * value[k];
+        }
+        return sum;
+    }
+
+    /**
+     * Soma alpha * A_col no vetor denso informado.
+     */
+    void addColumn(double[] dense, int col, double alpha) {
+        for (int k = colStart[col]; k < colStart[col + 1]; k++) {
+            dense[rowIndex[k]] += alpha * value[k];
+        }
+    }
+
+    /**
+     * Builder: acumula colunas esparsas sem copiar os arrays a cada produto.
+     */
+    public static final class Builder {
+
+        private final double[] rhs;
+        private int cols;
+        private int nnz;
+        private int[] colStart = new int[16];
+        private int[] rowIndex = new int[64];
+        private double[] value = new double[64];
+        private double[] objective = new double[16];
+        private double[] upper = new double[16];
+
+        private Builder(double[] rhs) {
+            this.rhs = rhs.clone();
+        }
+
+        /**
+         * Adiciona uma coluna (produto).
+         *
+         * @param profit  lucro unitário (coeficiente da função objetivo)
+         * @param upperBound limite superior da quantidade produzida
+         * @param rows    linhas (insumos) usadas pela receita
+         * @param values  consumo por unidade em cada linha, na mesma ordem de {@code rows}
+         * @return o índice da coluna criada
+         */
+        public int addColumn(double profit, double upperBound, int[] rows, double[] values) {
+            if (cols + 2 > colStart.length) {
+                int capacity = colStart.length * 2;
+                colStart = Arrays.copyOf(colStart, capacity);
+                objective = Arrays.copyOf(objective, capacity);
+                upper = Arrays.copyOf(upper, capacity);
+            }
+            if (nnz + rows.length > rowIndex.length) {
+                int capacity = Math.max(rowIndex.length * 2, nnz + rows.length);
+                rowIndex = Arrays.copyOf(rowIndex, capacity);
+                value = Arrays.copyOf(value, capacity);
+            }
+            colStart[cols] = nnz;
+            for (int i = 0; i < rows.length; i++) {
+                rowIndex[nnz] = rows[i];
+                value[nnz] = values[i];
+                nnz++;
+            }
+            objective[cols] = profit;
+            upper[cols] = upperBound;
+            colStart[cols + 1] = nnz;
+            return cols++;
+        }
+
+        public PackingLp build() {
+            return new PackingLp(rhs.length, cols,
+                    Arrays.copyOf(colStart, cols + 1),
+                    Arrays.copyOf(rowIndex, nnz),
+                    Arrays.copyOf(value, nnz),
+                    rhs,
+                    Arrays.copyOf(objective, cols),
+                    Arrays.copyOf(upper, cols));
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.industrialoptimizer.optimizer;
+
+import java.util.Arrays;
+
+/**
+ * Presolve: remove da {@link RecipeMatrix} produtos e insumos que não podem aparecer num plano
+ * ótimo, antes dos motores lp e mip. O ótimo inteiro não muda e o problema encolhe; a
+ * relaxação linear (com os limites inteiros de cada produto) só pode ficar mais justa.
+ *
+ * Produtos removidos, na ordem em que as regras são testadas:
+ * - {@link Reason#EMPTY_RECIPE}: sem receita (nenhum insumo limita, nunca é sugerido)
+ * - {@link Reason#UNPROFITABLE}: lucro unitário &lt;= 0
+ * - {@link Reason#BLOCKED}: nem uma unidade cabe no estoque (ex.: um insumo com estoque zero)
+ * - {@link Reason#DOMINATED}: outro produto, antes na ordem de lucro (lucro &gt;= este), usa só
+ *   insumos desta receita e nenhum em quantidade maior. Trocar cada unidade deste por uma
+ *   daquele nunca consome mais estoque nem lucra menos. A busca por dominantes é limitada a
+ *   {@value #MAX_DOMINANCE_CANDIDATES} candidatos por produto.
+ *
+ * Insumos que nenhum produto restante usa também saem.
+ */
+public final class Presolve {
+
+    public enum Reason {
+        EMPTY_RECIPE,
+        UNPROFITABLE,
+        BLOCKED,
+        DOMINATED
+    }
+
+    static final int MAX_DOMINANCE_CANDIDATES = 256;
+
+    private final RecipeMatrix original;
+    private final RecipeMatrix matrix;
+    private final int[] products;
+    private final int[] materials;
+    private final Reason[] removed;
+    private final int[] dominatedBy;
+
+    private Presolve(RecipeMatrix original, RecipeMatrix matrix, int[] products, int[] materials, Reason[] removed,
+            int[] dominatedBy) {
+        this.original = original;
+        this.matrix = matrix;
+        this.products = products;
+        this.materials = materials;
+        this.removed = removed;
+        this.dominatedBy = dominatedBy;
+    }
+
+    /**
+     * Use {@link RecipeMatrix#presolve()}, que guarda o resultado junto com a matriz.
+     */
+    static Presolve of(RecipeMatrix original) {
+        int n = original.products();
+        int m = original.materials();
+        long[] stock = original.stockCopy();
+        Reason[] removed = new Reason[n];
+        int[] dominatedBy = new int[n];
+        Arrays.fill(dominatedBy, -1);
+
+        // Candidatos a dominante, agrupados pelo menor índice de insumo da receita
+        int[] bucketSize = new int[m];
+        int[] smallest = new int[n];
+        for (int p = 0; p < n; p++) {
+            int start = original.recipeStart(p);
+            int end = original.recipeEnd(p);
+            if (start == end) {
+                removed[p] = Reason.EMPTY_RECIPE;
+            } else if (original.profit(p) <= 0) {
+                removed[p] = Reason.UNPROFITABLE;
+            } else if (original.maxUnits(p, stock) == 0) {
+                removed[p] = Reason.BLOCKED;
+            }
+            if (removed[p] == null) {
+                int min = Integer.MAX_VALUE;
+                for (int k = start; k < end; k++) {
+                    min = Math.min(min, original.materialIndex(k));
+                }
+                smallest[p] = min;
+                bucketSize[min]++;
+            }
+        }
+        int[][] buckets = new int[m][];
+        for (int i = 0; i < m; i++) {
+            buckets[i] = new int[bucketSize[i]];
+        }
+        Arrays.fill(bucketSize, 0);
+        for (int p = 0; p < n; p++) {
+            if (removed[p] == null) {
+                buckets[smallest[p]][bucketSize[smallest[p]]++] = p;
+            }
+        }
+
+        long[] need = new long[m];
+        for (int q = 0; q < n; q++) {
+            if (removed[q] != null) {
+                continue;
+            }
+            for (int k = original.recipeStart(q); k < original.recipeEnd(q); k++) {
+                need[original.materialIndex(k)] = original.quantity(k);
+            }
+            int scanned = 0;
+            search:
+            for (int k = original.recipeStart(q); k < original.recipeEnd(q); k++) {
+                // Os buckets estão em ordem de índice: só produtos antes de q (lucro >= o de q)
+                for (int p : buckets[original.materialIndex(k)]) {
+                    if (p >= q || scanned++ >= MAX_DOMINANCE_CANDIDATES) {
+                        break;
+                    }
+                    if (covers(original, p, need)) {
+                        removed[q] = Reason.DOMINATED;
+                        dominatedBy[q] = p;
+                        break search;
+                    }
+                }
+            }
+            for (int k = original.recipeStart(q); k < original.recipeEnd(q); k++) {
+                need[original.materialIndex(k)] = 0;
+            }
+        }
+
+        int[] localIndex = new int[m];
+        Arrays.fill(localIndex, -1);
+        int keptProducts = 0;
+        for (int p = 0; p < n; p++) {
+            if (removed[p] == null) {
+                keptProducts++;
+                for (int k = original.recipeStart(p); k < original.recipeEnd(p); k++) {
+                    localIndex[original.materialIndex(k)] = 0;
+                }
+            }
+        }
+        if (keptProducts == n && Arrays.stream(localIndex).noneMatch(index -> index < 0)) {
+            return new Presolve(original, original, identity(n), identity(m), removed, dominatedBy);
+        }
+
+        int keptMaterials = 0;
+        for (int i = 0; i < m; i++) {
+            if (localIndex[i] == 0) {
+                localIndex[i] = keptMaterials++;
+            }
+        }
+        int[] materials = new int[keptMaterials];
+        long[] ids = new long[keptMaterials];
+        long[] keptStock = new long[keptMaterials];
+        for (int i = 0; i < m; i++) {
+            if (localIndex[i] >= 0) {
+                materials[localIndex[i]] = i;
+                ids[localIndex[i]] = original.materialId(i);
+                keptStock[localIndex[i]] = stock[i];
+            }
+        }
+        RecipeMatrix.Builder builder = RecipeMatrix.builder(ids, keptStock);
+        int[] products = new int[keptProducts];
+        int size = 0;
+        for (int p = 0; p < n; p++) {
+            if (removed[p] != null) {
+                continue;
+            }
+            int start = original.recipeStart(p);
+            int[] local = new int[original.recipeEnd(p) - start];
+            long[] quantities = new long[local.length];
+            for (int k = 0; k < local.length; k++) {
+                local[k] = localIndex[original.materialIndex(start + k)];
+                quantities[k] = original.quantity(start + k);
+            }
+            builder.addProduct(original.productId(p), original.name(p), original.profit(p), local, quantities);
+            products[size++] = p;
+        }
+        return new Presolve(original, builder.build(), products, materials, removed, dominatedBy);
+    }
+
+    // p usa só insumos marcados em need, nenhum em quantidade maior
+    private static boolean covers(RecipeMatrix matrix, int p, long[] need) {
+        for (int k = matrix.recipeStart(p); k < matrix.recipeEnd(p); k++) {
+            long required = need[matrix.materialIndex(k)];
+            if (required == 0 || matrix.quantity(k) > required) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] identity(int size) {
+        int[] all = new int[size];
+        for (int i = 0; i < size; i++) {
+            all[i] = i;
+        }
+        return all;
+    }
+
+    /**
+     * Matriz reduzida (a própria original quando nada foi removido).
+     */
+    public RecipeMatrix getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * Índice, na matriz original, de cada produto da matriz reduzida.
+     */
+    public int[] getProducts() {
+        return products;
+    }
+
+    /**
+     * Índice, na matriz original, de cada insumo da matriz reduzida.
+     */
+    public int[] getMaterials() {
+        return materials;
+    }
+
+    public RecipeMatrix getOriginal() {
+        return original;
+    }
+
+    /**
+     * Motivo da remoção do produto (índice da matriz original), ou null se ele foi mantido.
+     */
+    public Reason getReason(int product) {
+        return removed[product];
+    }
+
+    /**
+     * Produto (índice da matriz original) que domina este, ou -1.
+     */
+    public int getDominatedBy(int product) {
+        return dominatedBy[product];
+    }
+
+    public int getRemovedProducts() {
+        return original.products() - matrix.products();
+    }
+
+    public int getRemovedMaterials() {
+        return original.materials() - matrix.materials();
+    }
+}
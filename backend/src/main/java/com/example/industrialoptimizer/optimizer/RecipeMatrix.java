@@ -0,0 +1,443 @@
+package com.example.industrialoptimizer.optimizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * RecipeMatrix: catálogo "compilado" para os motores de otimização.
+ *
+ * - Uma linha por produto (CSR): índices densos dos insumos da receita e o consumo por unidade.
+ * - Quantidades e estoques em ponto fixo ({@code long} escalado por {@link #UNIT}), a mesma
+ *   escala do DECIMAL(15,3) do banco: a aritmética é exata, como no BigDecimal, mas sem
+ *   alocar objetos nem consultar HashMaps.
+ * - Os produtos ficam em ordem decrescente de lucro (a ordem do guloso).
+ *
+ * A matriz é imutável; quem simula consumo trabalha sobre uma cópia de {@link #stockCopy()}.
+ * Cenários what-if usam {@link #withOverlay}: outro estoque e outros lucros sobre as mesmas receitas.
+ * {@link #components()} separa famílias de produtos que não disputam insumos e
+ * {@link #presolve()} remove o que nunca entra num plano ótimo.
+ */
+public final class RecipeMatrix {
+
+    /** Casas decimais das quantidades e dos estoques (DECIMAL(15,3)). */
+    public static final int SCALE = 3;
+    public static final long UNIT = 1_000L;
+
+    private final int materials;
+    private final int products;
+    private final long[] materialIds;
+    private final long[] stock;
+    private final long[] productIds;
+    private final String[] names;
+    private final double[] profit;
+    // Início e fim da receita de cada produto em materialIndex/quantity. Separados (em vez do
+    // recipeStart[p + 1] clássico) para que uma matriz reordenada compartilhe as receitas
+    private final int[] recipeStart;
+    private final int[] recipeEnd;
+    private final int[] materialIndex;
+    private final long[] quantity;
+    // Calculado na primeira chamada de components(); corrida benigna (resultado determinístico)
+    private volatile List<Component> components;
+    private volatile Presolve presolve;
+
+    private RecipeMatrix(long[] materialIds, long[] stock, long[] productIds, String[] names, double[] profit,
+            int[] recipeStart, int[] recipeEnd, int[] materialIndex, long[] quantity) {
+        this.materials = stock.length;
+        this.products = productIds.length;
+        this.materialIds = materialIds;
+        this.stock = stock;
+        this.productIds = productIds;
+        this.names = names;
+        this.profit = profit;
+        this.recipeStart = recipeStart;
+        this.recipeEnd = recipeEnd;
+        this.materialIndex = materialIndex;
+        this.quantity = quantity;
+    }
+
+    /**
+     * @param materialIds id de cada insumo (índice denso -> id)
+     * @param stock       estoque de cada insumo, escalado por {@link #UNIT}
+     */
+    public static Builder builder(long[] materialIds, long[] stock) {
+        return new Builder(materialIds, stock);
+    }
+
+    public int materials() {
+        return materials;
+    }
+
+    public int products() {
+        return products;
+    }
+
+    public long materialId(int material) {
+        return materialIds[material];
+    }
+
+    public long stock(int material) {
+        return stock[material];
+    }
+
+    /**
+     * Cópia do estoque inicial, para simular consumo.
+     */
+    public long[] stockCopy() {
+        return stock.clone();
+    }
+
+    public long productId(int product) {
+        return productIds[product];
+    }
+
+    public String name(int product) {
+        return names[product];
+    }
+
+    public double profit(int product) {
+        return profit[product];
+    }
+
+    public int recipeStart(int product) {
+        return recipeStart[product];
+    }
+
+    public int recipeEnd(int product) {
+        return recipeEnd[product];
+    }
+
+    /**
+     * Total de linhas de receita (elementos não nulos da matriz).
+     */
+    public int nonZeros() {
+        int total = 0;
+        for (int p = 0; p < products; p++) {
+            total += recipeEnd[p] - recipeStart[p];
+        }
+        return total;
+    }
+
+    public int materialIndex(int k) {
+        return materialIndex[k];
+    }
+
+    public long quantity(int k) {
+        return quantity[k];
+    }
+
+    /**
+     * Quantas unidades inteiras do produto cabem no estoque: min(estoque / consumo) na receita,
+     * limitado a {@link Integer#MAX_VALUE}. Receita sem consumo (nenhum insumo limitante) retorna 0.
+     */
+    public long maxUnits(int product, long[] available) {
+        int start = recipeStart[product];
+        int end = recipeEnd[product];
+        if (start == end) {
+            return 0;
+        }
+        long max = Integer.MAX_VALUE;
+        for (int k = start; k < end; k++) {
+            max = Math.min(max, available[materialIndex[k]] / quantity[k]);
+        }
+        return max;
+    }
+
+    /**
+     * Debita {@code units} unidades do produto. Não estoura: units * consumo &lt;= estoque
+     * quando units &lt;= {@link #maxUnits}.
+     */
+    public void debit(int product, long units, long[] available) {
+        for (int k = recipeStart[product]; k < recipeEnd[product]; k++) {
+            available[materialIndex[k]] -= units * quantity[k];
+        }
+    }
+
+    /**
+     * Cenário what-if sobre esta matriz: as receitas (a maior parte da memória) são
+     * compartilhadas, não copiadas; só os vetores informados são trocados. Com lucros novos,
+     * os produtos são reordenados (ordenação estável) para manter a ordem do guloso.
+     *
+     * @param stock  estoque de cada insumo (escalado por {@link #UNIT}), ou null para manter o atual
+     * @param profit lucro unitário de cada produto, nos índices desta matriz, ou null para manter o atual
+     */
+    public RecipeMatrix withOverlay(long[] stock, double[] profit) {
+        if (stock != null && stock.length != materials) {
+            throw new IllegalArgumentException("Estoque com " + stock.length + " insumos, esperado " + materials);
+        }
+        if (profit != null && profit.length != products) {
+            throw new IllegalArgumentException("Lucro com " + profit.length + " produtos, esperado " + products);
+        }
+        long[] newStock = stock == null ? this.stock : stock.clone();
+        if (profit == null) {
+            return new RecipeMatrix(materialIds, newStock, productIds, names, this.profit, recipeStart, recipeEnd,
+                    materialIndex, quantity);
+        }
+
+        Integer[] order = new Integer[products];
+        for (int p = 0; p < products; p++) {
+            order[p] = p;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(profit[b], profit[a]));
+        long[] newIds = new long[products];
+        String[] newNames = new String[products];
+        double[] newProfit = new double[products];
+        int[] newStart = new int[products];
+        int[] newEnd = new int[products];
+        for (int i = 0; i < products; i++) {
+            int p = order[i];
+            newIds[i] = productIds[p];
+            newNames[i] = names[p];
+            newProfit[i] = profit[p];
+            newStart[i] = recipeStart[p];
+            newEnd[i] = recipeEnd[p];
+        }
+        return new RecipeMatrix(materialIds, newStock, newIds, newNames, newProfit, newStart, newEnd, materialIndex,
+                quantity);
+    }
+
+    /**
+     * Presolve desta matriz ({@link Presolve}), calculado na primeira chamada.
+     */
+    public Presolve presolve() {
+        Presolve result = presolve;
+        if (result == null) {
+            result = Presolve.of(this);
+            presolve = result;
+        }
+        return result;
+    }
+
+    /**
+     * Componentes conexos do grafo bipartido produto–insumo (receitas): famílias de produtos
+     * que não compartilham nenhum insumo, direta ou indiretamente. O ótimo do catálogo é a
+     * soma dos ótimos de cada componente, que podem ser resolvidos em paralelo.
+     *
+     * - Union-find sobre os insumos de cada receita: O(nnz).
+     * - Componentes na ordem do produto mais lucrativo de cada um; dentro de cada um, a ordem
+     *   de lucro é mantida.
+     * - Produtos sem receita (nunca produzidos) e insumos sem uso ficam de fora.
+     * - Com um só componente, devolve esta própria matriz.
+     */
+    public List<Component> components() {
+        List<Component> result = components;
+        if (result == null) {
+            result = split();
+            components = result;
+        }
+        return result;
+    }
+
+    private List<Component> split() {
+        int[] parent = new int[materials];
+        for (int m = 0; m < materials; m++) {
+            parent[m] = m;
+        }
+        for (int p = 0; p < products; p++) {
+            for (int k = recipeStart[p] + 1; k < recipeEnd[p]; k++) {
+                int a = root(parent, materialIndex[recipeStart[p]]);
+                int b = root(parent, materialIndex[k]);
+                if (a != b) {
+                    parent[Math.max(a, b)] = Math.min(a, b);
+                }
+            }
+        }
+
+        // Numera os componentes pela ordem do primeiro produto (o mais lucrativo) de cada um
+        int[] componentOfRoot = new int[materials];
+        Arrays.fill(componentOfRoot, -1);
+        int[] componentOfProduct = new int[products];
+        int count = 0;
+        for (int p = 0; p < products; p++) {
+            if (recipeStart[p] == recipeEnd[p]) {
+                componentOfProduct[p] = -1;
+                continue;
+            }
+            int r = root(parent, materialIndex[recipeStart[p]]);
+            if (componentOfRoot[r] < 0) {
+                componentOfRoot[r] = count++;
+            }
+            componentOfProduct[p] = componentOfRoot[r];
+        }
+        if (count <= 1) {
+            int[] all = new int[products];
+            for (int p = 0; p < products; p++) {
+                all[p] = p;
+            }
+            return List.of(new Component(this, all));
+        }
+
+        // Índice local de cada insumo e de cada produto dentro do seu componente
+        int[] localIndex = new int[materials];
+        int[] materialCount = new int[count];
+        for (int m = 0; m < materials; m++) {
+            int c = componentOfRoot[root(parent, m)];
+            localIndex[m] = c >= 0 ? materialCount[c]++ : -1;
+        }
+        long[][] ids = new long[count][];
+        long[][] componentStock = new long[count][];
+        for (int c = 0; c < count; c++) {
+            ids[c] = new long[materialCount[c]];
+            componentStock[c] = new long[materialCount[c]];
+        }
+        for (int m = 0; m < materials; m++) {
+            if (localIndex[m] >= 0) {
+                int c = componentOfRoot[root(parent, m)];
+                ids[c][localIndex[m]] = materialIds[m];
+                componentStock[c][localIndex[m]] = stock[m];
+            }
+        }
+        int[] productCount = new int[count];
+        for (int p = 0; p < products; p++) {
+            if (componentOfProduct[p] >= 0) {
+                productCount[componentOfProduct[p]]++;
+            }
+        }
+        int[][] members = new int[count][];
+        for (int c = 0; c < count; c++) {
+            members[c] = new int[productCount[c]];
+        }
+        Arrays.fill(productCount, 0);
+        for (int p = 0; p < products; p++) {
+            int c = componentOfProduct[p];
+            if (c >= 0) {
+                members[c][productCount[c]++] = p;
+            }
+        }
+
+        List<Component> result = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) {
+            Builder builder = new Builder(ids[c], componentStock[c]);
+            for (int p : members[c]) {
+                int start = recipeStart[p];
+                int[] local = new int[recipeEnd[p] - start];
+                for (int k = 0; k < local.length; k++) {
+                    local[k] = localIndex[materialIndex[start + k]];
+                }
+                builder.addProduct(productIds[p], names[p], profit[p], local,
+                        Arrays.copyOfRange(quantity, start, recipeEnd[p]));
+            }
+            result.add(new Component(builder.build(), members[c]));
+        }
+        return List.copyOf(result);
+    }
+
+    private static int root(int[] parent, int m) {
+        while (parent[m] != m) {
+            parent[m] = parent[parent[m]];
+            m = parent[m];
+        }
+        return m;
+    }
+
+    /**
+     * Um componente conexo: a submatriz só com os seus produtos e insumos.
+     *
+     * @param matrix   submatriz, com os produtos na mesma ordem relativa (lucro decrescente)
+     * @param products índice, na matriz original, de cada produto da submatriz
+     */
+    public record Component(RecipeMatrix matrix, int[] products) {
+    }
+
+    /**
+     * Programa linear equivalente (quantidades em unidades reais, limite superior de cada
+     * produto = o que cabe no estoque inteiro).
+     */
+    public PackingLp toPackingLp() {
+        return toPackingLp(true);
+    }
+
+    /**
+     * Programa linear só com as linhas de estoque (sem o limite superior inteiro de cada
+     * produto), usado na análise de sensibilidade: os limites inteiros dependem do estoque
+     * e mascarariam as faixas. Produtos sem receita ficam fixos em zero.
+     */
+    public PackingLp toContinuousPackingLp() {
+        return toPackingLp(false);
+    }
+
+    private PackingLp toPackingLp(boolean integerBounds) {
+        double[] rhs = new double[materials];
+        for (int m = 0; m < materials; m++) {
+            rhs[m] = (double) stock[m] / UNIT;
+        }
+        PackingLp.Builder builder = PackingLp.builder(rhs);
+        for (int p = 0; p < products; p++) {
+            int start = recipeStart[p];
+            int size = recipeEnd[p] - start;
+            double[] values = new double[size];
+            for (int k = 0; k < size; k++) {
+                values[k] = (double) quantity[start + k] / UNIT;
+            }
+            double upper = integerBounds ? maxUnits(p, stock) : size == 0 ? 0.0 : Double.POSITIVE_INFINITY;
+            builder.addColumn(profit[p], upper, Arrays.copyOfRange(materialIndex, start, start + size), values);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builder: os produtos devem ser adicionados em ordem decrescente de lucro.
+     */
+    public static final class Builder {
+
+        private final long[] materialIds;
+        private final long[] stock;
+        private int products;
+        private int nnz;
+        private long[] productIds = new long[16];
+        private String[] names = new String[16];
+        private double[] profit = new double[16];
+        private int[] recipeStart = new int[17];
+        private int[] materialIndex = new int[64];
+        private long[] quantity = new long[64];
+
+        private Builder(long[] materialIds, long[] stock) {
+            this.materialIds = materialIds.clone();
+            this.stock = stock.clone();
+        }
+
+        /**
+         * @param materials  índices densos dos insumos da receita
+         * @param quantities consumo por unidade (escalado por {@link #UNIT}, &gt; 0), na ordem de {@code materials}
+         * @return o índice do produto
+         */
+        public int addProduct(long id, String name, double unitProfit, int[] materials, long[] quantities) {
+            if (products + 1 == productIds.length) {
+                int capacity = productIds.length * 2;
+                productIds = Arrays.copyOf(productIds, capacity);
+                names = Arrays.copyOf(names, capacity);
+                profit = Arrays.copyOf(profit, capacity);
+                recipeStart = Arrays.copyOf(recipeStart, capacity + 1);
+            }
+            if (nnz + materials.length > materialIndex.length) {
+                int capacity = Math.max(materialIndex.length * 2, nnz + materials.length);
+                materialIndex = Arrays.copyOf(materialIndex, capacity);
+                quantity = Arrays.copyOf(quantity, capacity);
+            }
+            for (int i = 0; i < materials.length; i++) {
+                if (quantities[i] <= 0) {
+                    throw new IllegalArgumentException("Consumo deve ser positivo: " + quantities[i]);
+                }
+                materialIndex[nnz] = materials[i];
+                quantity[nnz] = quantities[i];
+                nnz++;
+            }
+            productIds[products] = id;
+            names[products] = name;
+            profit[products] = unitProfit;
+            recipeStart[products + 1] = nnz;
+            return products++;
+        }
+
+        public RecipeMatrix build() {
+            return new RecipeMatrix(materialIds, stock,
+                    Arrays.copyOf(productIds, products),
+                    Arrays.copyOf(names, products),
+                    Arrays.copyOf(profit, products),
+                    Arrays.copyOf(recipeStart, products),
+                    Arrays.copyOfRange(recipeStart, 1, products + 1),
+                    Arrays.copyOf(materialIndex, nnz),
+                    Arrays.copyOf(quantity, nnz));
+        }
+    }
+}
@@ -0,0 +1,946 @@
+package com.example.industrialoptimizer.optimizer;
+
+import java.util.Arrays;
+
+/**
+ * RevisedSimplexSolver: simplex primal revisado com variáveis limitadas para
+ * problemas {@link PackingLp}.
+ *
+ * Estratégia:
+ * 1. Base inicial = folgas (identidade), viável porque A &gt;= 0 e b &gt;= 0.
+ * 2. A inversa da base é mantida na forma produto (arquivo de etas): cada pivô
+ *    acrescenta um vetor eta esparso; FTRAN/BTRAN percorrem só esses vetores.
+ * 3. Custos reduzidos e preços-sombra são atualizados a cada pivô com a linha da
+ *    inversa (BTRAN de e_r) e a cópia por linhas de A, sem refazer y·A_j para todos
+ *    os produtos.
+ * 4. A cada {@value #REFACTOR_INTERVAL} pivôs a base é reinvertida e x_B, y e d são
+ *    recalculados do zero (limita o arquivo de etas e o erro numérico acumulado).
+ * 5. Limites superiores são tratados por "bound flipping", sem linhas extras.
+ * 6. Degenerescência: após muitos pivôs sem progresso, passa para a regra de Bland.
+ * 7. {@link #analyze} reaproveita a base ótima final para a análise de sensibilidade:
+ *    cada faixa custa um FTRAN ou BTRAN sobre a fatoração existente, sem re-resolver.
+ * 8. Warm start ({@link #solve(PackingLp, LpBasis)}): recomeça da base de uma resolução
+ *    anterior; o simplex dual repara o estoque alterado e o primal, os lucros alterados.
+ *
+ * A classe não guarda estado entre chamadas e pode ser usada por várias threads.
+ */
+public class RevisedSimplexSolver {
+
+    static final int REFACTOR_INTERVAL = 128;
+    private static final int DEGENERATE_LIMIT = 50;
+    private static final double PIVOT_TOL = 1e-9;
+    private static final double DUAL_TOL = 1e-9;
+    private static final double FEAS_TOL = 1e-9;
+    private static final double PRIMAL_TOL = 1e-7;
+    private static final double DROP_TOL = 1e-14;
+
+    /**
+     * Resolve o problema com os limites originais (0 &lt;= x &lt;= u).
+     */
+    public LpSolution solve(PackingLp lp) {
+        return solve(lp, null, null);
+    }
+
+    /**
+     * Resolve o problema com limites alternativos por coluna (usado pelo branch-and-bound).
+     *
+     * Limites inferiores são eliminados por translação (x = l + x'), o que preserva a
+     * forma de empacotamento: se b - A·l tiver alguma linha negativa, o problema é inviável.
+     *
+     * @param lp    problema
+     * @param lower limites inferiores (null = zero)
+     * @param upper limites superiores (null = os do próprio problema)
+     */
+    public LpSolution solve(PackingLp lp, double[] lower, double[] upper) {
+        int m = lp.rows();
+        int n = lp.cols();
+
+        double[] rhs = new double[m];
+        for (int i = 0; i < m; i++) {
+            rhs[i] = lp.rhs(i);
+        }
+        double[] ub = new double[n];
+        double shiftedObjective = 0.0;
+        for (int j = 0; j < n; j++) {
+            double l = lower != null ? lower[j] : 0.0;
+            double u = upper != null ? upper[j] : lp.upper(j);
+            if (u < l - FEAS_TOL) {
+                return LpSolution.infeasible();
+            }
+            ub[j] = Math.max(0.0, u - l);
+            if (l != 0.0) {
+                lp.addColumn(rhs, j, -l);
+                shiftedObjective += lp.objective(j) * l;
+            }
+        }
+        for (int i = 0; i < m; i++) {
+            if (rhs[i] < -FEAS_TOL * Math.max(1.0, Math.abs(lp.rhs(i)))) {
+                return LpSolution.infeasible();
+            }
+            rhs[i] = Math.max(0.0, rhs[i]);
+        }
+
+        Run run = new Run(lp, rhs, ub);
+        LpSolution.Status status = run.iterate(maxIterations(m, n));
+        return run.toSolution(status, lower, shiftedObjective);
+    }
+
+    /**
+     * Resolve o problema (limites originais) recomeçando da base de uma resolução anterior.
+     * Depois de mudanças pequenas, a base antiga está a poucos pivôs da nova ótima:
+     * - estoque (ou limites) mudou: os custos reduzidos continuam com o sinal certo, mas x_B
+     *   pode sair de [0, u]; o simplex dual devolve a viabilidade sem perder a otimalidade;
+     * - lucros mudaram: x_B continua viável e o simplex primal segue da base antiga;
+     * - ambos: durante a fase dual os custos reduzidos com o sinal errado são zerados
+     *   (deslocamento de custos) e recalculados com os lucros reais antes da fase primal.
+     * Se a fase dual não tiver como continuar, recomeça das folgas.
+     *
+     * @param start base anterior (índices deste problema), ou null para começar das folgas
+     */
+    public LpSolution solve(PackingLp lp, LpBasis start) {
+        if (start == null) {
+            return solve(lp);
+        }
+        double[] rhs = originalRhs(lp);
+        double[] ub = originalUpper(lp);
+        int limit = maxIterations(lp.rows(), lp.cols());
+
+        Run run = new Run(lp, rhs, ub);
+        run.load(start);
+        if (!run.restoreFeasibility(limit)) {
+            run = new Run(lp, rhs, ub);
+        }
+        LpSolution.Status status = run.iterate(limit);
+        return run.toSolution(status, null, 0.0);
+    }
+
+    /**
+     * Resolve o problema (limites originais) e calcula as faixas de sensibilidade da base ótima:
+     * quanto cada lado direito e cada coeficiente da função objetivo podem variar sem que a base
+     * deixe de ser ótima. Nenhuma faixa re-resolve o problema.
+     */
+    public LpSensitivity analyze(PackingLp lp) {
+        Run run = new Run(lp, originalRhs(lp), originalUpper(lp));
+        LpSolution.Status status = run.iterate(maxIterations(lp.rows(), lp.cols()));
+        if (status != LpSolution.Status.OPTIMAL) {
+            return LpSensitivity.unavailable(run.toSolution(status, null, 0.0));
+        }
+        // Fatoração, x_B, y e d recalculados do zero: as faixas não herdam o erro acumulado
+        run.reinvert();
+        return run.sensitivity(run.toSolution(status, null, 0.0));
+    }
+
+    private static int maxIterations(int m, int n) {
+        return Math.max(1000, 50 * (m + n));
+    }
+
+    private static double[] originalRhs(PackingLp lp) {
+        double[] rhs = new double[lp.rows()];
+        for (int i = 0; i < rhs.length; i++) {
+            rhs[i] = lp.rhs(i);
+        }
+        return rhs;
+    }
+
+    private static double[] originalUpper(PackingLp lp) {
+        double[] ub = new double[lp.cols()];
+        for (int j = 0; j < ub.length; j++) {
+            ub[j] = lp.upper(j);
+        }
+        return ub;
+    }
+
+    /**
+     * Estado de uma execução do simplex. Variáveis 0..n-1 são produtos e n..n+m-1 são folgas.
+     */
+    private static final class Run {
+
+        private final PackingLp lp;
+        private final int m;
+        private final int n;
+        private final double[] rhs;
+        private final double[] ub;
+
+        private final int[] head;
+        private final int[] pos;
+        private final boolean[] atUpper;
+        private double[] xB;
+
+        // Preços-sombra (por linha) e custos reduzidos (produtos e folgas)
+        private final double[] y;
+        private final double[] d;
+
+        // Arquivo de etas (forma produto da inversa)
+        private int etaCount;
+        private int factorEtas;
+        private int[] etaRow = new int[REFACTOR_INTERVAL + 1];
+        private double[] etaPivot = new double[REFACTOR_INTERVAL + 1];
+        private int[] etaStart = new int[REFACTOR_INTERVAL + 2];
+        private int[] etaIndex = new int[256];
+        private double[] etaValue = new double[256];
+
+        private final double[] alpha;
+        private final double[] rho;
+        private int iterations;
+
+        Run(PackingLp lp, double[] rhs, double[] ub) {
+            this.lp = lp;
+            this.m = lp.rows();
+            this.n = lp.cols();
+            this.rhs = rhs;
+            this.ub = ub;
+            this.head = new int[m];
+            this.pos = new int[n + m];
+            this.atUpper = new boolean[n];
+            this.alpha = new double[m];
+            this.rho = new double[m];
+            this.y = new double[m];
+            this.d = new double[n + m];
+            Arrays.fill(pos, 0, n, -1);
+            for (int i = 0; i < m; i++) {
+                head[i] = n + i;
+                pos[n + i] = i;
+            }
+            for (int j = 0; j < n; j++) {
+                d[j] = lp.objective(j);
+            }
+            this.xB = rhs.clone();
+        }
+
+        LpSolution.Status iterate(int maxIterations) {
+            int degenerate = 0;
+            while (iterations < maxIterations) {
+                if (etaCount - factorEtas >= REFACTOR_INTERVAL) {
+                    reinvert();
+                }
+
+                boolean bland = degenerate > DEGENERATE_LIMIT;
+                int q = price(bland);
+                if (q < 0) {
+                    return LpSolution.Status.OPTIMAL;
+                }
+                iterations++;
+
+                Arrays.fill(alpha, 0.0);
+                loadColumn(alpha, q);
+                ftran(alpha);
+
+                double dir = q < n && atUpper[q] ? -1.0 : 1.0;
+                double step = q < n ? ub[q] : Double.POSITIVE_INFINITY;
+                int leave = -1;
+                boolean leaveToUpper = false;
+                for (int r = 0; r < m; r++) {
+                    double a = dir * alpha[r];
+                    if (Math.abs(a) < PIVOT_TOL) {
+                        continue;
+                    }
+                    double ratio;
+                    boolean toUpper;
+                    if (a > 0) {
+                        ratio = Math.max(0.0, xB[r]) / a;
+                        toUpper = false;
+                    } else {
+                        int b = head[r];
+                        double upper = b < n ? ub[b] : Double.POSITIVE_INFINITY;
+                        if (upper == Double.POSITIVE_INFINITY) {
+                            continue;
+                        }
+                        ratio = Math.max(0.0, upper - xB[r]) / -a;
+                        toUpper = true;
+                    }
+                    if (ratio < step - 1e-12
+                            || (leave >= 0 && ratio <= step + 1e-12 && prefer(bland, r, leave))) {
+                        step = ratio;
+                        leave = r;
+                        leaveToUpper = toUpper;
+                    }
+                }
+
+                if (step == Double.POSITIVE_INFINITY) {
+                    return LpSolution.Status.UNBOUNDED;
+                }
+                degenerate = step <= 1e-12 ? degenerate + 1 : 0;
+
+                if (step > 0) {
+                    for (int r = 0; r < m; r++) {
+                        if (alpha[r] != 0.0) {
+                            xB[r] -= dir * step * alpha[r];
+                        }
+                    }
+                }
+
+                if (leave < 0) {
+                    // O próprio produto que entra atinge o limite oposto: só troca de limite
+                    atUpper[q] = !atUpper[q];
+                    continue;
+                }
+
+                double entering = (q < n && atUpper[q] ? ub[q] : 0.0) + dir * step;
+                rowOfInverse(leave);
+                updateDuals(q, leave);
+                pivot(q, leave, leaveToUpper, entering);
+            }
+            return LpSolution.Status.ITERATION_LIMIT;
+        }
+
+        /**
+         * Troca de base: q entra na linha r com valor {@code entering} e a básica da linha sai
+         * no limite inferior ou superior (requer alpha = B^-1 A_q).
+         */
+        private void pivot(int q, int r, boolean leaveToUpper, double entering) {
+            int b = head[r];
+            pos[b] = -1;
+            if (b < n) {
+                atUpper[b] = leaveToUpper;
+            }
+            if (q < n) {
+                atUpper[q] = false;
+            }
+            head[r] = q;
+            pos[q] = r;
+            xB[r] = entering;
+            appendEta(r, alpha, null, m);
+        }
+
+        // ==================== WARM START ====================
+
+        /**
+         * Carrega a estrutura de uma base anterior e refatora. Índices fora do problema e
+         * colunas repetidas são ignorados; linhas que ficarem sem básica recebem a própria folga.
+         */
+        void load(LpBasis basis) {
+            Arrays.fill(head, -1);
+            Arrays.fill(pos, -1);
+            int free = m;
+            for (int i : basis.basicSlacks()) {
+                if (i >= 0 && i < m && head[i] < 0) {
+                    head[i] = n + i;
+                    pos[n + i] = i;
+                    free--;
+                }
+            }
+            // Produtos básicos ocupam as posições livres; a linha de cada um é escolhida na reinversão
+            int r = 0;
+            for (int j : basis.basicColumns()) {
+                if (free == 0) {
+                    break;
+                }
+                if (j < 0 || j >= n || pos[j] >= 0) {
+                    continue;
+                }
+                while (head[r] >= 0) {
+                    r++;
+                }
+                head[r] = j;
+                pos[j] = r;
+                free--;
+            }
+            for (int j : basis.upperColumns()) {
+                if (j >= 0 && j < n && pos[j] < 0 && ub[j] < Double.POSITIVE_INFINITY) {
+                    atUpper[j] = true;
+                }
+            }
+            reinvert();
+        }
+
+        /**
+         * Fase dual do warm start: devolve x_B a [0, u] e recalcula os custos reduzidos com
+         * os lucros reais.
+         *
+         * @return false se o simplex dual não conseguiu (limite de iterações ou pivô instável)
+         */
+        boolean restoreFeasibility(int maxIterations) {
+            shiftCosts();
+            boolean feasible = dualIterate(maxIterations);
+            reinvert();
+            return feasible;
+        }
+
+        /**
+         * Simplex dual com limites: a básica mais fora de [0, u] sai da base no limite violado
+         * e entra a não básica da razão mínima |d_k| / |alpha_rk| (linha r de B^-1 A), o que
+         * mantém todos os custos reduzidos com o sinal certo.
+         */
+        private boolean dualIterate(int maxIterations) {
+            double[] row = new double[n];
+            while (iterations < maxIterations) {
+                if (etaCount - factorEtas >= REFACTOR_INTERVAL) {
+                    reinvert();
+                    shiftCosts();
+                }
+
+                int r = -1;
+                double worst = PRIMAL_TOL;
+                boolean toUpper = false;
+                for (int i = 0; i < m; i++) {
+                    int b = head[i];
+                    double upper = b < n ? ub[b] : Double.POSITIVE_INFINITY;
+                    if (-xB[i] > worst) {
+                        worst = -xB[i];
+                        r = i;
+                        toUpper = false;
+                    } else if (xB[i] - upper > worst) {
+                        worst = xB[i] - upper;
+                        r = i;
+                        toUpper = true;
+                    }
+                }
+                if (r < 0) {
+                    return true;
+                }
+                iterations++;
+
+                rowOfInverse(r);
+                Arrays.fill(row, 0.0);
+                for (int i = 0; i < m; i++) {
+                    double ri = rho[i];
+                    if (ri == 0.0) {
+                        continue;
+                    }
+                    for (int k = lp.rowStart(i); k < lp.rowEnd(i); k++) {
+                        row[lp.colIndex(k)] += ri * lp.rowValue(k);
+                    }
+                }
+
+                int q = -1;
+                double best = Double.POSITIVE_INFINITY;
+                double bestPivot = 0.0;
+                for (int k = 0; k < n + m; k++) {
+                    if (pos[k] >= 0 || (k < n && ub[k] <= 0.0)) {
+                        continue;
+                    }
+                    double a = k < n ? row[k] : rho[k - n];
+                    double score = d[k];
+                    if (k < n && atUpper[k]) {
+                        a = -a;
+                        score = -score;
+                    }
+                    // Mover k no sentido permitido deve levar x_B[r] para o limite violado
+                    double s = toUpper ? a : -a;
+                    if (s <= PIVOT_TOL) {
+                        continue;
+                    }
+                    double ratio = Math.max(0.0, -score) / s;
+                    if (ratio < best - 1e-12 || (ratio <= best + 1e-12 && s > bestPivot)) {
+                        best = ratio;
+                        bestPivot = s;
+                        q = k;
+                    }
+                }
+                if (q < 0) {
+                    return false;
+                }
+
+                Arrays.fill(alpha, 0.0);
+                loadColumn(alpha, q);
+                ftran(alpha);
+                if (Math.abs(alpha[r]) < PIVOT_TOL) {
+                    return false;
+                }
+                double t = (xB[r] - (toUpper ? ub[head[r]] : 0.0)) / alpha[r];
+                for (int i = 0; i < m; i++) {
+                    if (alpha[i] != 0.0) {
+                        xB[i] -= t * alpha[i];
+                    }
+                }
+                double entering = (q < n && atUpper[q] ? ub[q] : 0.0) + t;
+                updateDuals(q, r);
+                pivot(q, r, toUpper, entering);
+            }
+            return false;
+        }
+
+        // Zera os custos reduzidos com o sinal errado (equivale a deslocar o lucro dessas colunas)
+        private void shiftCosts() {
+            for (int k = 0; k < n + m; k++) {
+                if (pos[k] >= 0) {
+                    continue;
+                }
+                double score = k < n && atUpper[k] ? -d[k] : d[k];
+                if (score > 0.0) {
+                    d[k] = 0.0;
+                }
+            }
+        }
+
+        /**
+         * Escolha do candidato na razão mínima empatada: maior pivô (estabilidade)
+         * ou menor índice (regra de Bland, anti-ciclagem).
+         */
+        private boolean prefer(boolean bland, int candidate, int current) {
+            if (bland) {
+                return head[candidate] < head[current];
+            }
+            return Math.abs(alpha[candidate]) > Math.abs(alpha[current]);
+        }
+
+        /**
+         * Pricing de Dantzig (maior custo reduzido) ou de Bland (menor índice elegível).
+         */
+        private int price(boolean bland) {
+            int best = -1;
+            double bestScore = DUAL_TOL;
+            for (int j = 0; j < n + m; j++) {
+                if (pos[j] >= 0 || (j < n && ub[j] <= 0.0)) {
+                    continue;
+                }
+                double score = j < n && atUpper[j] ? -d[j] : d[j];
+                if (score > bestScore) {
+                    if (bland) {
+                        return j;
+                    }
+                    bestScore = score;
+                    best = j;
+                }
+            }
+            return best;
+        }
+
+        // rho = e_r·B^-1 (linha r da inversa)
+        private void rowOfInverse(int r) {
+            Arrays.fill(rho, 0.0);
+            rho[r] = 1.0;
+            btran(rho);
+        }
+
+        /**
+         * Atualização dos preços-sombra e custos reduzidos após o pivô (q entra, linha r), com
+         * rho = e_r·B^-1 já calculado: theta = d_q / alpha_r, y += theta·rho e
+         * d_j -= theta·(rho·A_j). O produto rho·A é feito pela cópia por linhas de A, visitando
+         * só as linhas em que rho é não nulo.
+         */
+        private void updateDuals(int q, int r) {
+            double theta = d[q] / alpha[r];
+            int leaving = head[r];
+            for (int i = 0; i < m; i++) {
+                double ri = rho[i];
+                if (ri == 0.0) {
+                    continue;
+                }
+                double delta = theta * ri;
+                y[i] += delta;
+                d[n + i] -= delta;
+                for (int k = lp.rowStart(i); k < lp.rowEnd(i); k++) {
+                    d[lp.colIndex(k)] -= delta * lp.rowValue(k);
+                }
+            }
+            d[q] = 0.0;
+            d[leaving] = -theta;
+        }
+
+        LpSolution toSolution(LpSolution.Status status, double[] lower, double shiftedObjective) {
+            double[] x = new double[n];
+            double objective = shiftedObjective;
+            for (int j = 0; j < n; j++) {
+                double value = valueOf(j);
+                x[j] = (lower != null ? lower[j] : 0.0) + value;
+                objective += lp.objective(j) * value;
+            }
+            double[] duals = freshDuals();
+            double[] reducedCosts = new double[n];
+            for (int j = 0; j < n; j++) {
+                reducedCosts[j] = lp.objective(j) - lp.dot(duals, j);
+            }
+            return new LpSolution(status, objective, x, duals, reducedCosts, iterations, basis());
+        }
+
+        private LpBasis basis() {
+            int[] basicColumns = new int[m];
+            int[] basicSlacks = new int[m];
+            int columns = 0;
+            int slacks = 0;
+            for (int r = 0; r < m; r++) {
+                if (head[r] < n) {
+                    basicColumns[columns++] = head[r];
+                } else {
+                    basicSlacks[slacks++] = head[r] - n;
+                }
+            }
+            int upper = 0;
+            for (int j = 0; j < n; j++) {
+                if (pos[j] < 0 && atUpper[j]) {
+                    upper++;
+                }
+            }
+            int[] upperColumns = new int[upper];
+            upper = 0;
+            for (int j = 0; j < n; j++) {
+                if (pos[j] < 0 && atUpper[j]) {
+                    upperColumns[upper++] = j;
+                }
+            }
+            return new LpBasis(Arrays.copyOf(basicColumns, columns), Arrays.copyOf(basicSlacks, slacks), upperColumns);
+        }
+
+        // ==================== ANÁLISE DE SENSIBILIDADE ====================
+
+        /**
+         * Faixas da base ótima atual (requer x_B, y e d recém-calculados).
+         */
+        LpSensitivity sensitivity(LpSolution solution) {
+            double[] rhsDecrease = new double[m];
+            double[] rhsIncrease = new double[m];
+            double[] column = new double[m];
+            for (int i = 0; i < m; i++) {
+                Arrays.fill(column, 0.0);
+                column[i] = 1.0;
+                ftran(column);
+                rhsRange(column, i, rhsDecrease, rhsIncrease);
+            }
+
+            double[] objectiveDecrease = new double[n];
+            double[] objectiveIncrease = new double[n];
+            double[] direction = new double[n];
+            double[] range = new double[2];
+            for (int j = 0; j < n; j++) {
+                direction[j] = 1.0;
+                objectiveRange(direction, range);
+                direction[j] = 0.0;
+                objectiveDecrease[j] = range[0];
+                objectiveIncrease[j] = range[1];
+            }
+
+            // Custo unitário do recurso i: cada produto perde a_ij de lucro por unidade de custo
+            double[] costDecrease = new double[m];
+            double[] costIncrease = new double[m];
+            for (int i = 0; i < m; i++) {
+                for (int k = lp.rowStart(i); k < lp.rowEnd(i); k++) {
+                    direction[lp.colIndex(k)] = -lp.rowValue(k);
+                }
+                objectiveRange(direction, range);
+                for (int k = lp.rowStart(i); k < lp.rowEnd(i); k++) {
+                    direction[lp.colIndex(k)] = 0.0;
+                }
+                costDecrease[i] = range[0];
+                costIncrease[i] = range[1];
+            }
+            return new LpSensitivity(solution, rhsDecrease, rhsIncrease, objectiveDecrease, objectiveIncrease,
+                    costDecrease, costIncrease);
+        }
+
+        /**
+         * Variação δ de b_i: x_B(δ) = x_B + δ·B^-1 e_i deve continuar entre 0 e o limite superior
+         * de cada variável básica; o estoque também não pode ficar negativo.
+         */
+        private void rhsRange(double[] column, int row, double[] decrease, double[] increase) {
+            double down = rhs[row];
+            double up = Double.POSITIVE_INFINITY;
+            for (int r = 0; r < m; r++) {
+                double a = column[r];
+                if (Math.abs(a) < PIVOT_TOL) {
+                    continue;
+                }
+                int b = head[r];
+                double upper = b < n ? ub[b] : Double.POSITIVE_INFINITY;
+                double x = Math.max(0.0, xB[r]);
+                if (a > 0) {
+                    down = Math.min(down, x / a);
+                    up = Math.min(up, Math.max(0.0, upper - x) / a);
+                } else {
+                    up = Math.min(up, x / -a);
+                    down = Math.min(down, Math.max(0.0, upper - x) / -a);
+                }
+            }
+            decrease[row] = down;
+            increase[row] = up;
+        }
+
+        /**
+         * Faixa de θ para c + θ·Δc com a base atual ainda ótima. Com w = Δc_B·B^-1, o custo
+         * reduzido de cada não básica muda para d_k + θ·(Δc_k - w·A_k); o sinal de d_k exigido
+         * (&lt;= 0 no limite inferior, &gt;= 0 no superior) dá a razão mínima de cada lado.
+         *
+         * @param range saída: [redução permitida, aumento permitido]
+         */
+        private void objectiveRange(double[] direction, double[] range) {
+            double[] w = new double[m];
+            boolean basic = false;
+            for (int r = 0; r < m; r++) {
+                int b = head[r];
+                if (b < n && direction[b] != 0.0) {
+                    w[r] = direction[b];
+                    basic = true;
+                }
+            }
+            double[] wA = new double[n];
+            if (basic) {
+                btran(w);
+                for (int i = 0; i < m; i++) {
+                    if (w[i] == 0.0) {
+                        continue;
+                    }
+                    for (int k = lp.rowStart(i); k < lp.rowEnd(i); k++) {
+                        wA[lp.colIndex(k)] += w[i] * lp.rowValue(k);
+                    }
+                }
+            }
+
+            double down = Double.POSITIVE_INFINITY;
+            double up = Double.POSITIVE_INFINITY;
+            for (int k = 0; k < n + m; k++) {
+                if (pos[k] >= 0 || (k < n && ub[k] <= 0.0)) {
+                    continue;
+                }
+                double g = k < n ? direction[k] - wA[k] : -w[k - n];
+                double dk = d[k];
+                if (k < n && atUpper[k]) {
+                    g = -g;
+                    dk = -dk;
+                }
+                // Precisa de dk + θ·g <= 0, com dk <= 0
+                if (g > DUAL_TOL) {
+                    up = Math.min(up, Math.max(0.0, -dk) / g);
+                } else if (g < -DUAL_TOL) {
+                    down = Math.min(down, Math.max(0.0, -dk) / -g);
+                }
+            }
+            range[0] = down;
+            range[1] = up;
+        }
+
+        double valueOf(int j) {
+            double v = pos[j] >= 0 ? xB[pos[j]] : (atUpper[j] ? ub[j] : 0.0);
+            return Math.min(ub[j], Math.max(0.0, v));
+        }
+
+        double[] freshDuals() {
+            double[] duals = new double[m];
+            computeDuals(duals);
+            return duals;
+        }
+
+        private void computeDuals(double[] target) {
+            for (int r = 0; r < m; r++) {
+                int b = head[r];
+                target[r] = b < n ? lp.objective(b) : 0.0;
+            }
+            btran(target);
+        }
+
+        private void loadColumn(double[] dense, int var) {
+            if (var < n) {
+                lp.addColumn(dense, var, 1.0);
+            } else {
+                dense[var - n] = 1.0;
+            }
+        }
+
+        // ==================== FORMA PRODUTO DA INVERSA ====================
+
+        private void ftran(double[] v) {
+            for (int e = 0; e < etaCount; e++) {
+                int r = etaRow[e];
+                double vr = v[r];
+                if (vr == 0.0) {
+                    continue;
+                }
+                vr /= etaPivot[e];
+                v[r] = vr;
+                for (int k = etaStart[e]; k < etaStart[e + 1]; k++) {
+                    v[etaIndex[k]] -= etaValue[k] * vr;
+                }
+            }
+        }
+
+        private void btran(double[] w) {
+            for (int e = etaCount - 1; e >= 0; e--) {
+                int r = etaRow[e];
+                double s = w[r];
+                for (int k = etaStart[e]; k < etaStart[e + 1]; k++) {
+                    s -= w[etaIndex[k]] * etaValue[k];
+                }
+                w[r] = s / etaPivot[e];
+            }
+        }
+
+        /**
+         * Acrescenta o vetor eta do pivô na posição r. Se {@code nonzeros} for informado,
+         * apenas essas posições de {@code column} são lidas.
+         */
+        private void appendEta(int r, double[] column, int[] nonzeros, int size) {
+            if (etaCount + 1 >= etaRow.length) {
+                int capacity = etaRow.length * 2;
+                etaRow = Arrays.copyOf(etaRow, capacity);
+                etaPivot = Arrays.copyOf(etaPivot, capacity);
+                etaStart = Arrays.copyOf(etaStart, capacity + 1);
+            }
+            int k = etaStart[etaCount];
+            if (k + size > etaIndex.length) {
+                int capacity = Math.max(etaIndex.length * 2, k + size);
+                etaIndex = Arrays.copyOf(etaIndex, capacity);
+                etaValue = Arrays.copyOf(etaValue, capacity);
+            }
+            for (int t = 0; t < size; t++) {
+                int i = nonzeros != null ? nonzeros[t] : t;
+                if (i != r && Math.abs(column[i]) > DROP_TOL) {
+                    etaIndex[k] = i;
+                    etaValue[k] = column[i];
+                    k++;
+                }
+            }
+            etaRow[etaCount] = r;
+            etaPivot[etaCount] = column[r];
+            etaCount++;
+            etaStart[etaCount] = k;
+        }
+
+        /**
+         * Reinversão: reconstrói o arquivo de etas a partir da identidade, pivotando
+         * apenas as colunas de produtos básicos (folgas básicas ficam na própria linha).
+         * Em seguida recalcula x_B = B^-1 (b - N x_N), y e os custos reduzidos.
+         */
+        void reinvert() {
+            etaCount = 0;
+            etaStart[0] = 0;
+
+            int count = 0;
+            int[] structural = new int[m];
+            int[] newHead = new int[m];
+            Arrays.fill(newHead, -1);
+            for (int r = 0; r < m; r++) {
+                int b = head[r];
+                if (b < 0) {
+                    continue; // posição livre (warm start): recebe a folga da linha no fim
+                }
+                if (b < n) {
+                    structural[count++] = b;
+                } else {
+                    newHead[b - n] = b;
+                }
+            }
+
+            // Colunas mais esparsas primeiro geram menos preenchimento
+            Integer[] order = new Integer[count];
+            for (int k = 0; k < count; k++) {
+                order[k] = structural[k];
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(lp.colEnd(a) - lp.colStart(a), lp.colEnd(b) - lp.colStart(b)));
+
+            // FTRAN hiperesparso: na reinversão cada eta pivota numa linha distinta, então
+            // basta aplicar, em ordem, os etas das linhas que a coluna realmente toca
+            // (fila de prioridade pelo índice do eta) em vez de percorrer o arquivo inteiro.
+            double[] v = alpha;
+            Arrays.fill(v, 0.0);
+            int[] touched = new int[m];
+            boolean[] marked = new boolean[m];
+            int[] etaOfRow = new int[m];
+            Arrays.fill(etaOfRow, -1);
+            int[] heap = new int[m];
+            for (int k = 0; k < count; k++) {
+                int j = order[k];
+                int size = 0;
+                int heapSize = 0;
+                for (int p = lp.colStart(j); p < lp.colEnd(j); p++) {
+                    int i = lp.rowIndex(p);
+                    v[i] = lp.value(p);
+                    marked[i] = true;
+                    touched[size++] = i;
+                    if (etaOfRow[i] >= 0) {
+                        heapSize = heapPush(heap, heapSize, etaOfRow[i]);
+                    }
+                }
+                while (heapSize > 0) {
+                    int e = heap[0];
+                    heapSize = heapPop(heap, heapSize);
+                    int r = etaRow[e];
+                    if (v[r] == 0.0) {
+                        continue;
+                    }
+                    double vr = v[r] / etaPivot[e];
+                    v[r] = vr;
+                    for (int p = etaStart[e]; p < etaStart[e + 1]; p++) {
+                        int i = etaIndex[p];
+                        if (!marked[i]) {
+                            marked[i] = true;
+                            touched[size++] = i;
+                            if (etaOfRow[i] > e) {
+                                heapSize = heapPush(heap, heapSize, etaOfRow[i]);
+                            }
+                        }
+                        v[i] -= etaValue[p] * vr;
+                    }
+                }
+
+                int best = -1;
+                for (int t = 0; t < size; t++) {
+                    int r = touched[t];
+                    if (newHead[r] < 0 && (best < 0 || Math.abs(v[r]) > Math.abs(v[best]))) {
+                        best = r;
+                    }
+                }
+                if (best < 0 || Math.abs(v[best]) < PIVOT_TOL) {
+                    // Coluna dependente: sai da base no limite inferior
+                    atUpper[j] = false;
+                } else {
+                    newHead[best] = j;
+                    etaOfRow[best] = etaCount;
+                    appendEta(best, v, touched, size);
+                }
+                for (int t = 0; t < size; t++) {
+                    v[touched[t]] = 0.0;
+                    marked[touched[t]] = false;
+                }
+            }
+
+            Arrays.fill(pos, -1);
+            for (int r = 0; r < m; r++) {
+                if (newHead[r] < 0) {
+                    newHead[r] = n + r;
+                }
+                head[r] = newHead[r];
+                pos[head[r]] = r;
+            }
+
+            double[] values = rhs.clone();
+            for (int j = 0; j < n; j++) {
+                if (pos[j] < 0 && atUpper[j]) {
+                    lp.addColumn(values, j, -ub[j]);
+                }
+            }
+            ftran(values);
+            xB = values;
+
+            computeDuals(y);
+            for (int j = 0; j < n; j++) {
+                d[j] = pos[j] >= 0 ? 0.0 : lp.objective(j) - lp.dot(y, j);
+            }
+            for (int i = 0; i < m; i++) {
+                d[n + i] = pos[n + i] >= 0 ? 0.0 : -y[i];
+            }
+            factorEtas = etaCount;
+        }
+
+        private static int heapPush(int[] heap, int size, int value) {
+            int i = size;
+            heap[i] = value;
+            while (i > 0 && heap[(i - 1) / 2] > heap[i]) {
+                int parent = (i - 1) / 2;
+                heap[i] = heap[parent];
+                heap[parent] = value;
+                i = parent;
+            }
+            return size + 1;
+        }
+
+        private static int heapPop(int[] heap, int size) {
+            int last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= last) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return size;
+        }
+    }
+}
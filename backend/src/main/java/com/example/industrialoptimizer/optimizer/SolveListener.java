@@ -0,0 +1,26 @@
+package com.example.industrialoptimizer.optimizer;
+
+/**
+ * SolveListener: canal entre um solver de longa duração e quem o acompanha.
+ *
+ * - {@link #isCancelled()} é consultado a cada nó da busca (cancelamento cooperativo).
+ * - {@link #onIncumbent} recebe cada nova melhor solução inteira (melhor até agora).
+ *
+ * As chamadas vêm das threads do solver; implementações devem ser thread-safe e rápidas.
+ */
+public interface SolveListener {
+
+    SolveListener NONE = new SolveListener() {
+    };
+
+    default boolean isCancelled() {
+        return false;
+    }
+
+    /**
+     * @param x         quantidade de cada coluna (não modificar)
+     * @param objective lucro da solução
+     */
+    default void onIncumbent(long[] x, double objective) {
+    }
+}
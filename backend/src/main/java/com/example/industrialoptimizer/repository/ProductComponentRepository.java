@@ -0,0 +1,15 @@
+package com.example.industrialoptimizer.repository;
+
+import com.example.industrialoptimizer.model.ProductComponent;
+import com.example.industrialoptimizer.model.ProductComponentKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductComponentRepository extends JpaRepository<ProductComponent, ProductComponentKey> {
+
+    /**
+     * Quantos produtos usam este como submontagem (bloqueia a exclusão do produto).
+     */
+    long countByComponentId(Long componentId);
+}
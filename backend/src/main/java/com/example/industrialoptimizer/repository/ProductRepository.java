@@ -2,6 +2,7 @@ package com.example.industrialoptimizer.repository;
 
 import com.example.industrialoptimizer.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -10,4 +11,12 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     // Busca todos os produtos ordenando do maior valor para o menor
     List<Product> findAllByOrderBySaleValueDesc();
-}
\ No newline at end of file
+
+    /**
+     * Leitura do catálogo para o otimizador: produtos, composições e insumos em UMA
+     * consulta (fetch join), em vez de findAll() + 1 consulta de composições por produto.
+     * O Hibernate 6 já remove os produtos repetidos pelo join.
+     */
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.compositions c LEFT JOIN FETCH c.rawMaterial ORDER BY p.id")
+    List<Product> findAllWithCompositions();
+}
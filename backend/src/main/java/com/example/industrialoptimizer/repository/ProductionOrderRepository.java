@@ -0,0 +1,9 @@
+package com.example.industrialoptimizer.repository;
+
+import com.example.industrialoptimizer.model.ProductionOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductionOrderRepository extends JpaRepository<ProductionOrder, Long> {
+}
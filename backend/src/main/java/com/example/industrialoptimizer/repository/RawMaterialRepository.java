@@ -1,13 +1,29 @@
 package com.example.industrialoptimizer.repository;
 
 import com.example.industrialoptimizer.model.RawMaterial;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long> {
     // O JpaRepository já provê métodos como:
     // .findAll() -> Listar todos os insumos
     // .findById() -> Achar um específico
     // .save() -> Atualizar o estoque
-}
\ No newline at end of file
+
+    /**
+     * SELECT ... FOR UPDATE dos insumos, sempre em ordem de id: duas transações que travam
+     * insumos em comum travam na mesma ordem e não entram em deadlock; as que não têm insumo em
+     * comum não esperam uma pela outra.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM RawMaterial m WHERE m.id IN :ids ORDER BY m.id")
+    List<RawMaterial> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,273 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComponent;
+import com.example.industrialoptimizer.model.ProductComposition;
+import com.example.industrialoptimizer.model.RawMaterial;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * BillOfMaterials: estrutura multinível do catálogo (produto -> submontagens -> insumos),
+ * explodida uma vez por versão do catálogo ({@link CatalogSnapshot}).
+ *
+ * - Ordem topológica (Kahn): cada submontagem vem antes dos produtos que a usam. Produtos que
+ *   não entram na ordem estão num ciclo ou dependem de um: ficam sem receita explodida.
+ * - Explosão memorizada na ordem topológica: a receita de um produto é a dele mais, para cada
+ *   submontagem, quantidade · receita já explodida da submontagem. Cada aresta é visitada uma
+ *   vez, então uma submontagem compartilhada por muitos produtos (ou por muitos caminhos numa
+ *   hierarquia profunda) é explodida uma única vez; o custo é O(arestas · insumos por receita),
+ *   sem a explosão exponencial de percorrer cada caminho.
+ * - Produtos com insumo ou submontagem inexistente também ficam sem receita explodida (não podem
+ *   ser produzidos), assim como quem os usa.
+ *
+ * É imutável e pode ser compartilhada entre threads.
+ */
+public final class BillOfMaterials {
+
+    // Quantidades explodidas com 9 casas: receitas profundas não fazem a escala crescer a cada
+    // nível; a matriz do otimizador arredonda para cima em 3 casas. Quantidades arredondam para
+    // cima (um consumo positivo minúsculo, ex.: 0,001 em quatro níveis, não vira zero), custos
+    // para o mais próximo
+    static final int EXPLODED_SCALE = 9;
+
+    private final Map<Long, Integer> indexOf;
+    private final Map<Long, List<Component>> components;
+    private final List<Long> order;
+    // Por índice na lista de produtos recebida (null: não pode ser produzido)
+    private final List<Map<Long, BigDecimal>> requirements;
+    private final BigDecimal[] unitCosts;
+    private final Set<Long> cyclic;
+
+    private BillOfMaterials(Map<Long, Integer> indexOf, Map<Long, List<Component>> components, List<Long> order,
+            List<Map<Long, BigDecimal>> requirements, BigDecimal[] unitCosts, Set<Long> cyclic) {
+        this.indexOf = indexOf;
+        this.components = components;
+        this.order = order;
+        this.requirements = requirements;
+        this.unitCosts = unitCosts;
+        this.cyclic = cyclic;
+    }
+
+    /**
+     * Monta e explode a estrutura.
+     *
+     * @param products   produtos com as receitas de insumos carregadas
+     * @param materials  insumos do catálogo (só a existência; o custo vem da receita)
+     * @param components linhas de submontagem (só os ids da chave e a quantidade são lidos)
+     */
+    public static BillOfMaterials of(List<Product> products, List<RawMaterial> materials,
+            List<ProductComponent> components) {
+        int n = products.size();
+        Map<Long, Integer> indexOf = new HashMap<>();
+        for (int j = 0; j < n; j++) {
+            if (products.get(j).getId() != null) {
+                indexOf.put(products.get(j).getId(), j);
+            }
+        }
+        Set<Long> materialIds = new HashSet<>();
+        materials.forEach(material -> materialIds.add(material.getId()));
+
+        // Arestas por produto (submontagens diretas) e o inverso (quem usa cada produto)
+        List<List<Component>> children = new ArrayList<>(n);
+        List<List<Integer>> parents = new ArrayList<>(n);
+        boolean[] broken = new boolean[n];
+        for (int j = 0; j < n; j++) {
+            children.add(new ArrayList<>());
+            parents.add(new ArrayList<>());
+        }
+        for (ProductComponent row : components) {
+            Integer parent = indexOf.get(row.getId().getProductId());
+            if (parent == null) {
+                continue;
+            }
+            Integer child = indexOf.get(row.getId().getComponentId());
+            if (child == null) {
+                broken[parent] = true;
+                continue;
+            }
+            BigDecimal quantity = row.getQuantityNeeded() != null ? row.getQuantityNeeded() : BigDecimal.ZERO;
+            children.get(parent).add(new Component(row.getId().getComponentId(), quantity));
+            parents.get(child).add(parent);
+        }
+
+        // Kahn: começa pelos produtos sem submontagens; um produto entra quando todas as suas saíram
+        int[] pending = new int[n];
+        ArrayDeque<Integer> ready = new ArrayDeque<>();
+        for (int j = 0; j < n; j++) {
+            pending[j] = children.get(j).size();
+            if (pending[j] == 0) {
+                ready.add(j);
+            }
+        }
+        List<Integer> sorted = new ArrayList<>(n);
+        while (!ready.isEmpty()) {
+            int j = ready.poll();
+            sorted.add(j);
+            for (int parent : parents.get(j)) {
+                if (--pending[parent] == 0) {
+                    ready.add(parent);
+                }
+            }
+        }
+
+        // Explosão na ordem topológica: as submontagens já estão prontas quando o produto chega
+        List<Map<Long, BigDecimal>> exploded = new ArrayList<>(Collections.nCopies(n, null));
+        BigDecimal[] cost = new BigDecimal[n];
+        List<Long> order = new ArrayList<>(sorted.size());
+        for (int j : sorted) {
+            Product product = products.get(j);
+            if (product.getId() != null) {
+                order.add(product.getId());
+            }
+            if (broken[j]) {
+                continue;
+            }
+            Map<Long, BigDecimal> recipe = new TreeMap<>();
+            BigDecimal total = BigDecimal.ZERO;
+            boolean valid = true;
+            for (ProductComposition line : product.getCompositions() == null ? List.<ProductComposition>of()
+                    : product.getCompositions()) {
+                if (line.getQuantityNeeded().signum() <= 0) {
+                    continue;
+                }
+                if (!materialIds.contains(line.getRawMaterial().getId())) {
+                    valid = false;
+                    break;
+                }
+                recipe.merge(line.getRawMaterial().getId(), line.getQuantityNeeded(), BigDecimal::add);
+                total = total.add(line.getQuantityNeeded().multiply(line.getRawMaterial().getUnitCost()));
+            }
+            for (Component component : children.get(j)) {
+                int child = indexOf.get(component.componentId());
+                if (!valid || exploded.get(child) == null) {
+                    valid = false;
+                    break;
+                }
+                if (component.quantity().signum() > 0) {
+                    exploded.get(child).forEach((material, quantity) -> recipe.merge(material,
+                            scaledUp(component.quantity().multiply(quantity)), BigDecimal::add));
+                    total = total.add(component.quantity().multiply(cost[child]));
+                }
+            }
+            if (valid) {
+                exploded.set(j, Collections.unmodifiableMap(recipe));
+                cost[j] = scaled(total);
+            }
+        }
+
+        Map<Long, List<Component>> componentsById = new HashMap<>();
+        Set<Long> cyclic = new LinkedHashSet<>();
+        for (int j = 0; j < n; j++) {
+            Long id = products.get(j).getId();
+            if (id == null) {
+                continue;
+            }
+            if (!children.get(j).isEmpty()) {
+                componentsById.put(id, List.copyOf(children.get(j)));
+            }
+            if (pending[j] > 0) {
+                cyclic.add(id);
+            }
+        }
+        return new BillOfMaterials(indexOf, componentsById, List.copyOf(order), Collections.unmodifiableList(exploded),
+                cost, Collections.unmodifiableSet(cyclic));
+    }
+
+    /**
+     * Insumos por unidade do produto, com as submontagens explodidas (id do insumo -> quantidade,
+     * em ordem de id); vazio se o produto não pode ser produzido (ciclo, insumo ou submontagem
+     * inexistente).
+     */
+    public Optional<Map<Long, BigDecimal>> getRequirements(Long productId) {
+        Integer index = indexOf.get(productId);
+        return index == null ? Optional.empty() : Optional.ofNullable(requirements.get(index));
+    }
+
+    /**
+     * Custo dos insumos de uma unidade do produto, submontagens incluídas.
+     */
+    public Optional<BigDecimal> getUnitCost(Long productId) {
+        Integer index = indexOf.get(productId);
+        return index == null ? Optional.empty() : Optional.ofNullable(unitCosts[index]);
+    }
+
+    /**
+     * Submontagens diretas do produto, na ordem em que foram lidas.
+     */
+    public List<Component> getComponents(Long productId) {
+        return components.getOrDefault(productId, List.of());
+    }
+
+    /**
+     * Ids em ordem topológica (submontagens antes de quem as usa); produtos em ciclo ficam de fora.
+     */
+    public List<Long> getTopologicalOrder() {
+        return order;
+    }
+
+    /**
+     * Produtos num ciclo de submontagens ou que dependem de um.
+     */
+    public Set<Long> getCyclicProducts() {
+        return cyclic;
+    }
+
+    /**
+     * true se {@code productId} usa {@code componentId}, direta ou indiretamente (ou se são o
+     * mesmo produto). Incluir productId como submontagem de componentId fecharia um ciclo.
+     */
+    public boolean dependsOn(Long productId, Long componentId) {
+        if (productId.equals(componentId)) {
+            return true;
+        }
+        Set<Long> visited = new HashSet<>();
+        ArrayDeque<Long> pending = new ArrayDeque<>(List.of(productId));
+        while (!pending.isEmpty()) {
+            for (Component component : getComponents(pending.poll())) {
+                if (component.componentId() == componentId) {
+                    return true;
+                }
+                if (visited.add(component.componentId())) {
+                    pending.add(component.componentId());
+                }
+            }
+        }
+        return false;
+    }
+
+    // CatalogCompiler: mesma lista de produtos usada em of(), inclusive produtos ainda sem id
+    Map<Long, BigDecimal> requirementsAt(int index) {
+        return requirements.get(index);
+    }
+
+    BigDecimal unitCostAt(int index) {
+        return unitCosts[index];
+    }
+
+    private static BigDecimal scaled(BigDecimal value) {
+        return value.scale() > EXPLODED_SCALE ? value.setScale(EXPLODED_SCALE, RoundingMode.HALF_UP) : value;
+    }
+
+    private static BigDecimal scaledUp(BigDecimal value) {
+        return value.scale() > EXPLODED_SCALE ? value.setScale(EXPLODED_SCALE, RoundingMode.CEILING) : value;
+    }
+
+    /**
+     * Submontagem direta: unidades do produto {@code componentId} por unidade do produto.
+     */
+    public record Component(long componentId, BigDecimal quantity) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CatalogCompiler: converte as entidades JPA (Product -> ProductComposition -> RawMaterial,
+ * com as submontagens já explodidas pela {@link BillOfMaterials}) em uma {@link RecipeMatrix}.
+ * É o único ponto do otimizador que percorre o grafo de entidades e faz contas em BigDecimal;
+ * os motores trabalham só com arrays primitivos.
+ */
+public final class CatalogCompiler {
+
+    private CatalogCompiler() {
+    }
+
+    /**
+     * Compila um catálogo sem submontagens (cada produto só com a própria receita de insumos).
+     */
+    public static RecipeMatrix compile(List<Product> products, List<RawMaterial> materials) {
+        return compile(products, materials, BillOfMaterials.of(products, materials, List.of()));
+    }
+
+    /**
+     * Compila o catálogo.
+     *
+     * - Insumos recebem índices densos na ordem da lista.
+     * - Produtos entram em ordem decrescente de lucro (ordenação estável: empates mantêm a
+     *   ordem do catálogo), a mesma ordem usada pelo guloso.
+     * - A receita de cada produto é a explodida pela {@link BillOfMaterials} (submontagens
+     *   convertidas em insumos); o lucro desconta o custo dos insumos de toda a estrutura.
+     * - Linhas de receita com quantidade zero são descartadas (nunca limitam a produção).
+     * - Produtos que a estrutura não consegue explodir (insumo ou submontagem inexistente, ciclo)
+     *   são descartados, assim como os marcados como não vendáveis (só existem como submontagem).
+     */
+    public static RecipeMatrix compile(List<Product> products, List<RawMaterial> materials, BillOfMaterials bom) {
+        // bom deve ter sido montada com esta mesma lista de produtos (consulta por índice)
+        Map<Long, Integer> indexOf = new HashMap<>();
+        long[] materialIds = new long[materials.size()];
+        long[] stock = new long[materials.size()];
+        for (RawMaterial material : materials) {
+            int index = indexOf.size();
+            indexOf.put(material.getId(), index);
+            materialIds[index] = material.getId();
+            // Estoque arredondado para baixo e consumo para cima: nunca sugere além do estoque
+            stock[index] = toFixed(material.getStockQuantity(), RoundingMode.FLOOR);
+        }
+
+        BigDecimal[] profits = new BigDecimal[products.size()];
+        List<Integer> order = new ArrayList<>(products.size());
+        for (int j = 0; j < products.size(); j++) {
+            Product product = products.get(j);
+            if (Boolean.FALSE.equals(product.getSellable()) || bom.unitCostAt(j) == null) {
+                continue;
+            }
+            // Lucro = Valor de Venda - custo dos insumos da estrutura explodida
+            profits[j] = product.getSaleValue().subtract(bom.unitCostAt(j));
+            order.add(j);
+        }
+        order.sort((a, b) -> profits[b].compareTo(profits[a]));
+
+        RecipeMatrix.Builder builder = RecipeMatrix.builder(materialIds, stock);
+        for (int j : order) {
+            Product product = products.get(j);
+            Map<Long, BigDecimal> recipe = bom.requirementsAt(j);
+            builder.addProduct(product.getId() == null ? -1 : product.getId(), product.getName(),
+                    profits[j].doubleValue(),
+                    recipe.keySet().stream().mapToInt(indexOf::get).toArray(),
+                    recipe.values().stream().mapToLong(quantity -> toFixed(quantity, RoundingMode.CEILING)).toArray());
+        }
+        return builder.build();
+    }
+
+    /**
+     * BigDecimal -> long escalado por {@link RecipeMatrix#UNIT}.
+     */
+    static long toFixed(BigDecimal value, RoundingMode rounding) {
+        return value.setScale(RecipeMatrix.SCALE, rounding).unscaledValue().longValueExact();
+    }
+}
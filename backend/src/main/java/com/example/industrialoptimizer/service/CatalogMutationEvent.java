@@ -0,0 +1,41 @@
+package com.example.industrialoptimizer.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma escrita no catálogo. Começa na escrita e termina quando a fotografia
+ * relida depois do commit é publicada: a duração é o tempo em que leituras e o /suggest
+ * ainda enxergam a versão anterior.
+ *
+ * newVersion é 0 quando a releitura falhou (a fotografia anterior continua publicada).
+ */
+@Name(CatalogMutationEvent.NAME)
+@Label("Catalog Mutation")
+@Category({"Industrial Optimizer", "Catalog"})
+@Description("Escrita no catálogo e a troca de versão da fotografia")
+@StackTrace(false)
+class CatalogMutationEvent extends Event {
+
+    static final String NAME = "com.example.industrialoptimizer.CatalogMutation";
+
+    @Label("Entity Type")
+    String entityType;
+
+    @Label("Entity Id")
+    @Description("Id da entidade; produto:insumo nas receitas")
+    String entityId;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Previous Version")
+    long previousVersion;
+
+    @Label("New Version")
+    long newVersion;
+}
@@ -0,0 +1,285 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.ProductComponentDTO;
+import com.example.industrialoptimizer.dto.ProductCompositionDTO;
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComponent;
+import com.example.industrialoptimizer.model.ProductComposition;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * CatalogSnapshot: fotografia imutável do catálogo (produtos, insumos, receitas, submontagens,
+ * a {@link BillOfMaterials} explodida e a {@link RecipeMatrix} já compilada), identificada por
+ * um número de versão. A explosão da estrutura acontece uma vez por versão.
+ *
+ * As entidades são cópias desligadas do JPA, criadas só para leitura: quem precisar
+ * alterar o catálogo busca a entidade gerenciada no repositório.
+ *
+ * Uma baixa de estoque não relê o catálogo: {@link #withStock} deriva uma fotografia nova
+ * trocando só o estoque dos insumos debitados, e a versão da leitura completa em que ela se
+ * apoia fica em {@link #getBaseVersion()}.
+ */
+public final class CatalogSnapshot {
+
+    /** Cabeçalho HTTP com a versão do catálogo usada para montar a resposta. */
+    public static final String VERSION_HEADER = "X-Catalog-Version";
+
+    private final long version;
+    private final long baseVersion;
+    private final List<Product> products;
+    private final Map<Long, Product> productsById;
+    private final List<RawMaterial> rawMaterials;
+    private final Map<Long, RawMaterial> rawMaterialsById;
+    private final Map<Long, List<ProductCompositionDTO>> compositionsByProduct;
+    private final Map<Long, List<ProductComponentDTO>> componentsByProduct;
+    private final BillOfMaterials billOfMaterials;
+    private final RecipeMatrix matrix;
+    // Montado na primeira chamada de getRequirementsIndex(); corrida benigna (resultado determinístico)
+    private volatile RequirementsIndex requirementsIndex;
+
+    private CatalogSnapshot(long version, long baseVersion, List<Product> products, List<RawMaterial> rawMaterials,
+            Map<Long, List<ProductCompositionDTO>> compositionsByProduct,
+            Map<Long, List<ProductComponentDTO>> componentsByProduct, BillOfMaterials billOfMaterials,
+            RecipeMatrix matrix) {
+        this.version = version;
+        this.baseVersion = baseVersion;
+        this.products = List.copyOf(products);
+        this.rawMaterials = List.copyOf(rawMaterials);
+        this.compositionsByProduct = Map.copyOf(compositionsByProduct);
+        this.componentsByProduct = Map.copyOf(componentsByProduct);
+        this.billOfMaterials = billOfMaterials;
+        this.matrix = matrix;
+
+        Map<Long, Product> byId = new HashMap<>();
+        products.forEach(product -> byId.put(product.getId(), product));
+        this.productsById = Map.copyOf(byId);
+        Map<Long, RawMaterial> materialsById = new HashMap<>();
+        rawMaterials.forEach(material -> materialsById.put(material.getId(), material));
+        this.rawMaterialsById = Map.copyOf(materialsById);
+    }
+
+    // Baixa de estoque: compartilha produtos, receitas e estrutura com a fotografia de origem
+    private CatalogSnapshot(CatalogSnapshot origin, long version, List<RawMaterial> rawMaterials,
+            Map<Long, RawMaterial> rawMaterialsById, RecipeMatrix matrix) {
+        this.version = version;
+        this.baseVersion = origin.baseVersion;
+        this.products = origin.products;
+        this.productsById = origin.productsById;
+        this.rawMaterials = rawMaterials;
+        this.rawMaterialsById = rawMaterialsById;
+        this.compositionsByProduct = origin.compositionsByProduct;
+        this.componentsByProduct = origin.componentsByProduct;
+        this.billOfMaterials = origin.billOfMaterials;
+        this.matrix = matrix;
+    }
+
+    /**
+     * Monta a fotografia de um catálogo sem submontagens.
+     * Público para os benchmarks, que montam catálogos sintéticos sem banco.
+     */
+    public static CatalogSnapshot of(long version, List<Product> products, List<RawMaterial> rawMaterials) {
+        return of(version, products, rawMaterials, List.of());
+    }
+
+    /**
+     * Monta a fotografia a partir das entidades lidas do banco (produtos com as receitas carregadas
+     * e as linhas de submontagem).
+     */
+    public static CatalogSnapshot of(long version, List<Product> products, List<RawMaterial> rawMaterials,
+            List<ProductComponent> components) {
+        BillOfMaterials bom = BillOfMaterials.of(products, rawMaterials, components);
+        List<Product> productCopies = new ArrayList<>(products.size());
+        Map<Long, Product> productsById = new HashMap<>();
+        Map<Long, List<ProductCompositionDTO>> compositions = new HashMap<>();
+        for (Product product : products) {
+            productCopies.add(copyOf(product));
+            productsById.put(product.getId(), product);
+            List<ProductComposition> recipe = product.getCompositions() == null ? List.of() : product.getCompositions();
+            compositions.put(product.getId(), recipe.stream()
+                    .sorted(Comparator.comparing(composition -> composition.getRawMaterial().getId()))
+                    .map(ProductCompositionService::toDTO)
+                    .toList());
+        }
+        Map<Long, List<ProductComponentDTO>> componentDTOs = new HashMap<>();
+        for (Product product : products) {
+            List<ProductComponentDTO> lines = bom.getComponents(product.getId()).stream()
+                    .sorted(Comparator.comparingLong(BillOfMaterials.Component::componentId))
+                    .map(component -> ProductComponentService.toDTO(product.getId(), component,
+                            productsById.get(component.componentId()), bom))
+                    .toList();
+            if (!lines.isEmpty()) {
+                componentDTOs.put(product.getId(), lines);
+            }
+        }
+        List<RawMaterial> materialCopies = rawMaterials.stream().map(CatalogSnapshot::copyOf).toList();
+        return new CatalogSnapshot(version, version, productCopies, materialCopies, compositions, componentDTOs, bom,
+                CatalogCompiler.compile(products, rawMaterials, bom));
+    }
+
+    /**
+     * Fotografia com o estoque dos insumos informados (entidades já confirmadas no banco) e o
+     * resto compartilhado com esta: receitas, estrutura e matriz não mudam, só o vetor de
+     * estoque. Um insumo só é trocado se a versão (@Version) informada for mais nova que a
+     * desta fotografia, então baixas aplicadas fora de ordem, ou sobre uma releitura que já as
+     * viu, não voltam o estoque para trás (sem insumo mais novo, só a versão muda). Insumos
+     * fora da fotografia são ignorados.
+     */
+    public CatalogSnapshot withStock(long newVersion, Collection<RawMaterial> changed) {
+        Map<Long, RawMaterial> newer = new HashMap<>();
+        for (RawMaterial material : changed) {
+            RawMaterial known = rawMaterialsById.get(material.getId());
+            if (known != null && versionOf(material) > versionOf(known)) {
+                newer.put(material.getId(), material);
+            }
+        }
+        if (newer.isEmpty()) {
+            CatalogSnapshot same = new CatalogSnapshot(this, newVersion, rawMaterials, rawMaterialsById, matrix);
+            same.requirementsIndex = requirementsIndex;
+            return same;
+        }
+        List<RawMaterial> materialCopies = new ArrayList<>(rawMaterials.size());
+        Map<Long, RawMaterial> materialsById = new HashMap<>(rawMaterialsById);
+        long[] stock = matrix.stockCopy();
+        for (int m = 0; m < rawMaterials.size(); m++) {
+            RawMaterial material = newer.get(rawMaterials.get(m).getId());
+            if (material == null) {
+                materialCopies.add(rawMaterials.get(m));
+                continue;
+            }
+            // A matriz e o índice de necessidades usam a ordem dos insumos da fotografia
+            RawMaterial copy = copyOf(rawMaterials.get(m));
+            copy.setStockQuantity(material.getStockQuantity());
+            copy.setVersion(material.getVersion());
+            materialCopies.add(copy);
+            materialsById.put(copy.getId(), copy);
+            stock[m] = CatalogCompiler.toFixed(material.getStockQuantity(), RoundingMode.FLOOR);
+        }
+        CatalogSnapshot patched = new CatalogSnapshot(this, newVersion, List.copyOf(materialCopies),
+                Map.copyOf(materialsById), matrix.withOverlay(stock, null));
+        RequirementsIndex index = requirementsIndex;
+        if (index != null) {
+            patched.requirementsIndex = index.withStock(stock);
+        }
+        return patched;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Versão da leitura completa do catálogo em que esta fotografia se apoia; difere de
+     * {@link #getVersion()} quando baixas de estoque foram aplicadas por cima dela.
+     */
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    public Optional<Product> findProduct(Long id) {
+        return Optional.ofNullable(productsById.get(id));
+    }
+
+    public List<RawMaterial> getRawMaterials() {
+        return rawMaterials;
+    }
+
+    public Optional<RawMaterial> findRawMaterial(Long id) {
+        return Optional.ofNullable(rawMaterialsById.get(id));
+    }
+
+    /**
+     * Receita do produto (ordenada pelo id do insumo), ou lista vazia.
+     */
+    public List<ProductCompositionDTO> getCompositions(Long productId) {
+        return compositionsByProduct.getOrDefault(productId, List.of());
+    }
+
+    /**
+     * Submontagens diretas do produto (ordenadas pelo id do componente), ou lista vazia.
+     */
+    public List<ProductComponentDTO> getComponents(Long productId) {
+        return componentsByProduct.getOrDefault(productId, List.of());
+    }
+
+    /**
+     * Receita explodida do produto: insumos por unidade somados por toda a estrutura
+     * (ordenados pelo id do insumo); vazia se o produto não existe ou não pode ser produzido.
+     */
+    public List<ProductCompositionDTO> getFlattenedCompositions(Long productId) {
+        return billOfMaterials.getRequirements(productId)
+                .map(requirements -> requirements.entrySet().stream()
+                        .map(entry -> flattened(productId, rawMaterialsById.get(entry.getKey()), entry.getValue()))
+                        .toList())
+                .orElse(List.of());
+    }
+
+    public BillOfMaterials getBillOfMaterials() {
+        return billOfMaterials;
+    }
+
+    /**
+     * Receitas explodidas de todos os produtos que podem ser produzidos, para o cálculo de
+     * necessidades de insumos (/api/requirements).
+     */
+    public RequirementsIndex getRequirementsIndex() {
+        RequirementsIndex index = requirementsIndex;
+        if (index == null) {
+            index = RequirementsIndex.of(products, rawMaterials, billOfMaterials);
+            requirementsIndex = index;
+        }
+        return index;
+    }
+
+    public RecipeMatrix getMatrix() {
+        return matrix;
+    }
+
+    private static ProductCompositionDTO flattened(Long productId, RawMaterial material, BigDecimal quantity) {
+        // Quantidades exatas voltam para a escala das receitas (3 casas)
+        BigDecimal stripped = quantity.stripTrailingZeros();
+        BigDecimal shown = stripped.scale() <= 3 ? quantity.setScale(3) : stripped;
+        return new ProductCompositionDTO(productId, material.getId(), material.getCode(), material.getName(),
+                material.getUnitMeasure(), material.getUnitCost(), shown, shown.multiply(material.getUnitCost()));
+    }
+
+    private static long versionOf(RawMaterial material) {
+        return material.getVersion() != null ? material.getVersion() : -1;
+    }
+
+    private static Product copyOf(Product product) {
+        Product copy = new Product();
+        copy.setId(product.getId());
+        copy.setCode(product.getCode());
+        copy.setName(product.getName());
+        copy.setSaleValue(product.getSaleValue());
+        copy.setSellable(product.getSellable());
+        return copy;
+    }
+
+    private static RawMaterial copyOf(RawMaterial material) {
+        RawMaterial copy = new RawMaterial();
+        copy.setId(material.getId());
+        copy.setCode(material.getCode());
+        copy.setName(material.getName());
+        copy.setStockQuantity(material.getStockQuantity());
+        copy.setUnitMeasure(material.getUnitMeasure());
+        copy.setUnitCost(material.getUnitCost());
+        copy.setVersion(material.getVersion());
+        return copy;
+    }
+}
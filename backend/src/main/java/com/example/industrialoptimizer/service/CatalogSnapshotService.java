@@ -0,0 +1,271 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComponent;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.repository.ProductComponentRepository;
+import com.example.industrialoptimizer.repository.ProductRepository;
+import com.example.industrialoptimizer.repository.RawMaterialRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * CatalogSnapshotService: publica a {@link CatalogSnapshot} atual.
+ *
+ * - Leituras (listagens, receitas, otimizador) pegam a fotografia com um simples
+ *   {@link AtomicReference#get()}, sem locks e sem ir ao banco.
+ * - Escritas no cadastro (ProductService, RawMaterialService, ProductCompositionService,
+ *   ProductComponentService) chamam {@link #refreshAfterCommit}: depois do commit o catálogo é
+ *   relido inteiro e a nova fotografia substitui a anterior (copy-on-write). Cada escrita vira
+ *   um evento JFR ({@link CatalogMutationEvent}) com a versão anterior e a publicada.
+ * - Baixas de estoque (ProductionOrderService) não releem nada: {@link #publishStock} troca só
+ *   o estoque dos insumos debitados na fotografia atual ({@link CatalogSnapshot#withStock}).
+ *   Ordens sobre insumos diferentes não esperam umas pelas outras nem por uma releitura.
+ * - Cada reconstrução recebe uma versão crescente; uma reconstrução lenta nunca
+ *   sobrescreve uma fotografia mais nova. Se a mais nova for só uma baixa sobre uma leitura
+ *   mais antiga, a reconstrução é publicada com o estoque mais novo de cada insumo (@Version).
+ * - As releituras pedidas por escritas simultâneas são agrupadas: no máximo uma em andamento
+ *   e uma na fila, e cada escrita espera uma releitura que começou depois do seu commit.
+ */
+@Slf4j
+@Service
+public class CatalogSnapshotService {
+
+    private final ProductRepository productRepository;
+    private final RawMaterialRepository rawMaterialRepository;
+    private final ProductComponentRepository componentRepository;
+    private final TransactionTemplate readTransaction;
+    private final OptimizerMetrics metrics;
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    // Releituras das escritas (refreshAfterCommit): a que está rodando e a próxima, ainda não iniciada
+    private final Object refreshLock = new Object();
+    private CompletableFuture<CatalogSnapshot> running;
+    private CompletableFuture<CatalogSnapshot> queued;
+
+    @Autowired
+    public CatalogSnapshotService(ProductRepository productRepository, RawMaterialRepository rawMaterialRepository,
+            ProductComponentRepository componentRepository, PlatformTransactionManager transactionManager,
+            OptimizerMetrics metrics) {
+        this.productRepository = productRepository;
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.componentRepository = componentRepository;
+        this.metrics = metrics;
+        // Transação própria: a releitura não enxerga o cache do EntityManager da requisição
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    // Testes de unidade: lê direto dos repositórios (mocks), sem transação e sem submontagens
+    CatalogSnapshotService(ProductRepository productRepository, RawMaterialRepository rawMaterialRepository) {
+        this.productRepository = productRepository;
+        this.rawMaterialRepository = rawMaterialRepository;
+        this.componentRepository = null;
+        this.readTransaction = null;
+        this.metrics = OptimizerMetrics.inMemory();
+    }
+
+    /**
+     * Fotografia atual; a primeira chamada carrega o catálogo.
+     */
+    public CatalogSnapshot current() {
+        CatalogSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+
+    /**
+     * Versão da fotografia atual, se a matriz for a dela; 0 para outras matrizes (cenários
+     * what-if ou uma fotografia já substituída).
+     */
+    public long versionOf(RecipeMatrix matrix) {
+        CatalogSnapshot snapshot = current.get();
+        return snapshot != null && snapshot.getMatrix() == matrix ? snapshot.getVersion() : 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        CatalogSnapshot snapshot = refresh();
+        log.info("Catalog snapshot v{} loaded: {} products, {} raw materials", snapshot.getVersion(),
+                snapshot.getProducts().size(), snapshot.getRawMaterials().size());
+    }
+
+    /**
+     * Relê o catálogo e publica a nova fotografia.
+     *
+     * @return a fotografia publicada (ou uma mais nova, se outra reconstrução terminou antes)
+     */
+    public CatalogSnapshot refresh() {
+        long version = versions.incrementAndGet();
+        CatalogSnapshot loaded = readTransaction != null ? readTransaction.execute(status -> load(version)) : load(version);
+        while (true) {
+            CatalogSnapshot previous = current.get();
+            if (previous != null && previous.getBaseVersion() >= version) {
+                return previous;
+            }
+            // Baixas publicadas depois desta leitura começar: o estoque delas não pode se perder
+            CatalogSnapshot next = previous != null && previous.getVersion() > version
+                    ? loaded.withStock(versions.incrementAndGet(), previous.getRawMaterials())
+                    : loaded;
+            if (current.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Publica o estoque de insumos já confirmados no banco (ex.: os debitados por uma ordem de
+     * produção) sobre a fotografia atual, sem reler o catálogo. Chamar depois do commit.
+     *
+     * @param entityType tipo da entidade, como em {@link #refreshAfterCommit} (evento JFR)
+     * @param entityId   id da entidade (evento JFR)
+     * @param operation  CREATE, UPDATE ou DELETE (evento JFR)
+     * @param materials  entidades com o estoque e a versão (@Version) gravados
+     * @return a fotografia publicada
+     */
+    public CatalogSnapshot publishStock(String entityType, Object entityId, String operation,
+            Collection<RawMaterial> materials) {
+        CatalogMutationEvent event = new CatalogMutationEvent();
+        event.begin();
+        event.entityType = entityType;
+        event.entityId = String.valueOf(entityId);
+        event.operation = operation;
+        CatalogSnapshot next;
+        while (true) {
+            CatalogSnapshot previous = current();
+            next = previous.withStock(versions.incrementAndGet(), materials);
+            if (current.compareAndSet(previous, next)) {
+                event.previousVersion = previous.getVersion();
+                break;
+            }
+        }
+        event.newVersion = next.getVersion();
+        event.commit();
+        return next;
+    }
+
+    /**
+     * Agenda a reconstrução para depois do commit da transação atual, ou reconstrói já
+     * quando não há transação (cada chamada ao repositório já fez o seu commit).
+     *
+     * @param entityType Product, RawMaterial, ProductComposition, ProductComponent ou ProductionOrder
+     * @param entityId   id da entidade alterada (produto:insumo nas receitas, produto:componente
+     *                   nas submontagens)
+     * @param operation  CREATE, UPDATE ou DELETE
+     */
+    public void refreshAfterCommit(String entityType, Object entityId, String operation) {
+        CatalogMutationEvent event = new CatalogMutationEvent();
+        event.begin();
+        event.entityType = entityType;
+        event.entityId = String.valueOf(entityId);
+        event.operation = operation;
+        CatalogSnapshot previous = current.get();
+        event.previousVersion = previous != null ? previous.getVersion() : 0;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshQuietly(event);
+                }
+            });
+        } else {
+            refreshQuietly(event);
+        }
+    }
+
+    // A escrita já foi confirmada: uma falha na releitura não deve virar erro para o cliente
+    private void refreshQuietly(CatalogMutationEvent event) {
+        try {
+            event.newVersion = refreshCoalesced().getVersion();
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild the catalog snapshot; serving version {}",
+                    current.get() != null ? current.get().getVersion() : 0, e);
+        }
+        event.commit();
+    }
+
+    /**
+     * Como {@link #refresh()}, mas dividindo a releitura com as escritas simultâneas. Com uma
+     * releitura em andamento (que pode ter começado antes do commit de quem chama), a chamada
+     * entra na próxima da fila; a primeira a entrar espera a atual terminar e roda a da fila
+     * para todas. N commits simultâneos custam duas releituras em vez de N.
+     */
+    private CatalogSnapshot refreshCoalesced() {
+        CompletableFuture<CatalogSnapshot> mine;
+        CompletableFuture<CatalogSnapshot> previous = null;
+        boolean shared = false;
+        synchronized (refreshLock) {
+            if (queued != null) {
+                mine = queued;
+                shared = true;
+            } else if (running != null) {
+                previous = running;
+                mine = queued = new CompletableFuture<>();
+            } else {
+                mine = running = new CompletableFuture<>();
+            }
+        }
+        if (shared) {
+            try {
+                return mine.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        if (previous != null) {
+            previous.exceptionally(e -> null).join();
+            synchronized (refreshLock) {
+                running = mine;
+                queued = null;
+            }
+        }
+        try {
+            CatalogSnapshot snapshot = refresh();
+            mine.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (refreshLock) {
+                if (running == mine) {
+                    running = null;
+                }
+            }
+        }
+    }
+
+    // read: consultas ao banco; compile: explosão da estrutura, cópias, lucro, ordenação e matriz
+    // (optimizer.catalog.phase)
+    private CatalogSnapshot load(long version) {
+        Catalog catalog = metrics.timeCatalog("read",
+                () -> new Catalog(productRepository.findAllWithCompositions(), rawMaterialRepository.findAll(),
+                        componentRepository != null ? componentRepository.findAll() : List.of()));
+        CatalogSnapshot snapshot = metrics.timeCatalog("compile",
+                () -> CatalogSnapshot.of(version, catalog.products(), catalog.materials(), catalog.components()));
+        if (!snapshot.getBillOfMaterials().getCyclicProducts().isEmpty()) {
+            log.warn("Catalog snapshot v{}: products {} are in (or depend on) a component cycle and cannot be produced",
+                    version, snapshot.getBillOfMaterials().getCyclicProducts());
+        }
+        return snapshot;
+    }
+
+    private record Catalog(List<Product> products, List<RawMaterial> materials, List<ProductComponent> components) {
+    }
+}
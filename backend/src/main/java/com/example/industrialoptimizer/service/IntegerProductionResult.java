@@ -0,0 +1,32 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.optimizer.MipSolution;
+
+import java.util.Map;
+
+/**
+ * Resultado do modo "mip": a produção sugerida (Nome do Produto -> Quantidade), o lucro
+ * total do plano final e as estatísticas da busca (lucro, limite superior, gap, nós explorados).
+ */
+public class IntegerProductionResult {
+
+    private final ProductionPlan plan;
+    private final MipSolution solution;
+
+    public IntegerProductionResult(ProductionPlan plan, MipSolution solution) {
+        this.plan = plan;
+        this.solution = solution;
+    }
+
+    public Map<String, Integer> getProduction() {
+        return plan.getProduction();
+    }
+
+    public ProductionPlan getPlan() {
+        return plan;
+    }
+
+    public MipSolution getSolution() {
+        return solution;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.optimizer.LpBasis;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * LpWarmStart: base ótima do modo lp guardada pelos ids de produtos e insumos.
+ *
+ * A próxima versão do catálogo pode ter reordenado os produtos (lucros mudaram), criado ou
+ * removido itens; {@link #basisFor} traduz a base para os índices da matriz nova. No caso
+ * comum (só estoque mudou) os ids estão na mesma ordem e a base é reaproveitada como está.
+ */
+final class LpWarmStart {
+
+    private final long[] productIds;
+    private final long[] materialIds;
+    private final LpBasis basis;
+
+    LpWarmStart(RecipeMatrix matrix, LpBasis basis) {
+        this.productIds = productIds(matrix);
+        this.materialIds = materialIds(matrix);
+        this.basis = basis;
+    }
+
+    LpBasis basisFor(RecipeMatrix matrix) {
+        long[] products = productIds(matrix);
+        long[] materials = materialIds(matrix);
+        if (Arrays.equals(products, productIds) && Arrays.equals(materials, materialIds)) {
+            return basis;
+        }
+        return basis.remap(indexMap(productIds, products), indexMap(materialIds, materials));
+    }
+
+    // Índice novo de cada id antigo (-1 = removido)
+    private static int[] indexMap(long[] previous, long[] current) {
+        Map<Long, Integer> index = new HashMap<>(current.length * 2);
+        for (int i = 0; i < current.length; i++) {
+            index.put(current[i], i);
+        }
+        int[] map = new int[previous.length];
+        for (int i = 0; i < previous.length; i++) {
+            map[i] = index.getOrDefault(previous[i], -1);
+        }
+        return map;
+    }
+
+    private static long[] productIds(RecipeMatrix matrix) {
+        long[] ids = new long[matrix.products()];
+        for (int p = 0; p < ids.length; p++) {
+            ids[p] = matrix.productId(p);
+        }
+        return ids;
+    }
+
+    private static long[] materialIds(RecipeMatrix matrix) {
+        long[] ids = new long[matrix.materials()];
+        for (int m = 0; m < ids.length; m++) {
+            ids[m] = matrix.materialId(m);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.optimizer.SolveListener;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * OptimizationJob: uma otimização assíncrona ({@code /api/optimizations}).
+ *
+ * - Fixa a fotografia do catálogo no momento da criação: o resultado corresponde a
+ *   {@link #getCatalogVersion()}, mesmo que o catálogo mude durante o cálculo.
+ * - É o {@link SolveListener} do próprio cálculo: guarda a melhor solução até agora
+ *   (motores que publicam incumbentes) e responde ao cancelamento cooperativo.
+ * - Estado lido por outras threads (consultas HTTP) fica em campos voláteis.
+ */
+public final class OptimizationJob implements SolveListener {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        CANCELLED,
+        FAILED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == CANCELLED || this == FAILED;
+        }
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String strategy;
+    private final long timeBudgetMs;
+    private final long catalogVersion;
+    private final Instant createdAt = Instant.now();
+    private volatile RecipeMatrix matrix;
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile Map<String, Integer> bestProduction;
+    private volatile double bestObjective = Double.NaN;
+    private volatile OptimizationResult result;
+    private volatile String error;
+
+    OptimizationJob(String strategy, long timeBudgetMs, CatalogSnapshot snapshot) {
+        this.strategy = strategy;
+        this.timeBudgetMs = timeBudgetMs;
+        this.catalogVersion = snapshot.getVersion();
+        this.matrix = snapshot.getMatrix();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelRequested;
+    }
+
+    @Override
+    public void onIncumbent(long[] x, double objective) {
+        RecipeMatrix current = matrix;
+        if (current == null) {
+            return;
+        }
+        Map<String, Integer> production = ProductionOptimizerService.toProductionMap(current, x);
+        synchronized (this) {
+            // Incumbentes de threads diferentes podem chegar fora de ordem
+            if (Double.isNaN(bestObjective) || objective > bestObjective) {
+                bestProduction = Collections.unmodifiableMap(production);
+                bestObjective = objective;
+            }
+        }
+    }
+
+    RecipeMatrix getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * Pede o cancelamento: um job na fila nem começa; um job rodando para no próximo ponto
+     * de verificação do motor e mantém a melhor solução encontrada. A thread do cálculo não é
+     * interrompida, para o motor devolver o que já tem.
+     */
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    void markRunning() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    synchronized void complete(OptimizationResult result) {
+        this.result = result;
+        finish(cancelRequested ? Status.CANCELLED : Status.SUCCEEDED);
+    }
+
+    synchronized void cancelled() {
+        finish(Status.CANCELLED);
+    }
+
+    synchronized void fail(String error) {
+        this.error = error;
+        finish(Status.FAILED);
+    }
+
+    private void finish(Status status) {
+        this.finishedAt = Instant.now();
+        this.status = status;
+        // A matriz só é necessária durante o cálculo; jobs guardados não a retêm
+        this.matrix = null;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public long getTimeBudgetMs() {
+        return timeBudgetMs;
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Melhor produção publicada pelo motor durante a busca, ou null se ainda não houver.
+     */
+    public Map<String, Integer> getBestProduction() {
+        return bestProduction;
+    }
+
+    public double getBestObjective() {
+        return bestObjective;
+    }
+
+    /**
+     * Resultado final (SUCCEEDED, ou CANCELLED depois que o motor parou com uma solução).
+     */
+    public OptimizationResult getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.OptimizationJobDTO;
+import com.example.industrialoptimizer.exception.OptimizerBusyException;
+import com.example.industrialoptimizer.optimizer.MipSolution;
+import com.example.industrialoptimizer.service.strategy.OptimizationStrategy;
+import com.example.industrialoptimizer.service.strategy.OptimizationStrategyRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * OptimizationJobService: otimizações assíncronas para cálculos que não cabem num GET síncrono.
+ *
+ * - Orquestração em virtual threads: cada job tem uma thread barata que só espera o cálculo
+ *   e registra o desfecho, sem ocupar threads de plataforma.
+ * - O cálculo roda num pool de CPU limitado ({@code optimizer.jobs.solver-threads}); jobs além
+ *   disso esperam na fila desse pool.
+ * - No máximo {@code optimizer.jobs.max-active} jobs na fila ou rodando; além disso a criação
+ *   é recusada com {@link OptimizerBusyException} (503 + Retry-After).
+ * - Jobs terminados ficam disponíveis para consulta até {@code optimizer.jobs.max-finished};
+ *   os mais antigos são descartados primeiro.
+ * - Qualquer motor registrado pode ser um tipo de job; o guloso é apenas o mais rápido.
+ */
+@Slf4j
+@Service
+public class OptimizationJobService {
+
+    private final OptimizationStrategyRegistry strategies;
+    private final CatalogSnapshotService catalog;
+    private final ExecutorService orchestrator = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService solverPool;
+    private final int maxActive;
+    private final int maxFinished;
+    private final long maxTimeBudgetMs;
+    private final long retryAfterSeconds;
+    private final Map<String, OptimizationJob> jobs = new HashMap<>();
+    private final ArrayDeque<String> finishedOrder = new ArrayDeque<>();
+    private int active;
+
+    @Autowired
+    public OptimizationJobService(OptimizationStrategyRegistry strategies, CatalogSnapshotService catalog,
+            @Value("${optimizer.jobs.solver-threads:0}") int solverThreads,
+            @Value("${optimizer.jobs.max-active:32}") int maxActive,
+            @Value("${optimizer.jobs.max-finished:100}") int maxFinished,
+            @Value("${optimizer.jobs.max-time-budget-ms:300000}") long maxTimeBudgetMs,
+            @Value("${optimizer.retry-after-seconds:1}") long retryAfterSeconds) {
+        int threads = solverThreads > 0 ? solverThreads : Runtime.getRuntime().availableProcessors();
+        this.strategies = strategies;
+        this.catalog = catalog;
+        this.solverPool = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("optimizer-job-", 0).daemon(true).factory());
+        this.maxActive = maxActive;
+        this.maxFinished = maxFinished;
+        this.maxTimeBudgetMs = maxTimeBudgetMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    OptimizationJobService(OptimizationStrategyRegistry strategies, CatalogSnapshotService catalog,
+            int maxActive, int maxFinished) {
+        this(strategies, catalog, 1, maxActive, maxFinished, 300_000, 1);
+    }
+
+    /**
+     * Cria e enfileira um job sobre a fotografia atual do catálogo.
+     *
+     * @param timeBudgetMs orçamento de tempo do motor; 0 usa o padrão dele
+     * @throws ResponseStatusException 400 para estratégia inválida ou orçamento fora do limite
+     * @throws OptimizerBusyException  quando já há {@code max-active} jobs pendentes
+     */
+    public OptimizationJob submit(String strategyName, long timeBudgetMs) {
+        if (timeBudgetMs < 0 || timeBudgetMs > maxTimeBudgetMs) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "timeBudgetMs deve estar entre 0 e " + maxTimeBudgetMs);
+        }
+        OptimizationStrategy engine = strategies.get(strategyName);
+        OptimizationJob job = new OptimizationJob(engine.getName(), timeBudgetMs, catalog.current());
+        synchronized (this) {
+            if (active >= maxActive) {
+                throw new OptimizerBusyException("Fila de otimizações cheia, tente novamente em instantes",
+                        retryAfterSeconds);
+            }
+            active++;
+            jobs.put(job.getId(), job);
+        }
+        orchestrator.execute(() -> orchestrate(job, engine));
+        return job;
+    }
+
+    public synchronized Optional<OptimizationJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Pede o cancelamento cooperativo; jobs já terminados não mudam.
+     */
+    public Optional<OptimizationJob> cancel(String id) {
+        Optional<OptimizationJob> job = find(id);
+        job.filter(j -> !j.getStatus().isFinished()).ifPresent(OptimizationJob::requestCancel);
+        return job;
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(active, finishedOrder.size(), maxActive, maxFinished);
+    }
+
+    /**
+     * Fotografia do job para a API: resultado final, ou a melhor solução até agora enquanto roda.
+     */
+    public static OptimizationJobDTO toDTO(OptimizationJob job) {
+        OptimizationJobDTO.OptimizationJobDTOBuilder dto = OptimizationJobDTO.builder()
+                .id(job.getId())
+                .strategy(job.getStrategy())
+                .status(job.getStatus().name())
+                .catalogVersion(job.getCatalogVersion())
+                .timeBudgetMs(job.getTimeBudgetMs())
+                .cancelRequested(job.isCancelRequested())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .error(job.getError());
+
+        OptimizationResult result = job.getResult();
+        if (result != null) {
+            Map<String, Double> timingsMs = new LinkedHashMap<>();
+            result.getTimings().getNanos().forEach((phase, nanos) -> timingsMs.put(phase, nanos / 1e6));
+            dto.bestSoFar(false).production(result.getProduction()).totalProfit(result.getTotalProfit())
+                    .timingsMs(timingsMs);
+            MipSolution solution = result.getIntegerSolution();
+            if (solution != null) {
+                dto.objective(solution.getObjective())
+                        .optimalityGap(solution.getGap())
+                        .bestBound(solution.getBestBound())
+                        .nodes(solution.getNodes());
+            }
+        } else if (job.getBestProduction() != null) {
+            dto.bestSoFar(true).production(job.getBestProduction()).objective(job.getBestObjective());
+        }
+        return dto.build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        synchronized (this) {
+            jobs.values().forEach(OptimizationJob::requestCancel);
+        }
+        solverPool.shutdownNow();
+        orchestrator.shutdownNow();
+    }
+
+    // Roda numa virtual thread: entrega o cálculo ao pool de CPU e espera o desfecho
+    private void orchestrate(OptimizationJob job, OptimizationStrategy engine) {
+        Runnable outcome;
+        try {
+            Future<OptimizationResult> execution = solverPool.submit(() -> {
+                if (job.isCancelled()) {
+                    throw new CancellationException();
+                }
+                job.markRunning();
+                return engine.optimize(job.getMatrix(), job.getTimeBudgetMs(), job);
+            });
+            OptimizationResult result = execution.get();
+            outcome = () -> job.complete(result);
+        } catch (CancellationException e) {
+            outcome = job::cancelled;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                outcome = job::cancelled;
+            } else {
+                log.warn("Job de otimização {} falhou", job.getId(), e.getCause());
+                outcome = () -> job.fail(String.valueOf(e.getCause().getMessage()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = job::cancelled;
+        } catch (RuntimeException e) {
+            // Pool encerrado (shutdown da aplicação)
+            outcome = () -> job.fail(String.valueOf(e.getMessage()));
+        }
+        finished(job, outcome);
+    }
+
+    // Libera a vaga antes de publicar o desfecho: quem vê o job terminado já pode criar outro
+    private synchronized void finished(OptimizationJob job, Runnable outcome) {
+        active--;
+        finishedOrder.addLast(job.getId());
+        while (finishedOrder.size() > maxFinished) {
+            jobs.remove(finishedOrder.removeFirst());
+        }
+        outcome.run();
+    }
+
+    /**
+     * Contadores expostos em {@code GET /api/optimizations}.
+     */
+    public record Stats(int active, int finished, int maxActive, int maxFinished) {
+    }
+}
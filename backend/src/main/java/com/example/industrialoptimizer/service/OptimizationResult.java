@@ -0,0 +1,70 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.optimizer.MipSolution;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Resultado de uma {@link com.example.industrialoptimizer.service.strategy.OptimizationStrategy}:
+ * o {@link ProductionPlan} calculado (unidades por produto e estoque restante por insumo, para o
+ * resultado estruturado da API), a produção sugerida (Nome do Produto -> Quantidade), o lucro
+ * total, o motor que o calculou e o tempo de cada fase. Motores inteiros também informam as
+ * estatísticas da busca.
+ *
+ * É imutável: o mesmo resultado pode ser servido a várias requisições pelo
+ * {@link OptimizationResultCache}.
+ */
+public class OptimizationResult {
+
+    private final String strategy;
+    private final ProductionPlan plan;
+    private final Map<String, Integer> production;
+    private final double totalProfit;
+    private final PhaseTimings timings;
+    private final MipSolution integerSolution;
+
+    public OptimizationResult(String strategy, ProductionPlan plan, PhaseTimings timings) {
+        this(strategy, plan, timings, null);
+    }
+
+    public OptimizationResult(String strategy, ProductionPlan plan, PhaseTimings timings,
+            MipSolution integerSolution) {
+        this.strategy = strategy;
+        this.plan = plan;
+        this.production = Collections.unmodifiableMap(plan.getProduction());
+        this.totalProfit = plan.getTotalProfit();
+        this.timings = timings;
+        this.integerSolution = integerSolution;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public ProductionPlan getPlan() {
+        return plan;
+    }
+
+    public Map<String, Integer> getProduction() {
+        return production;
+    }
+
+    /**
+     * Lucro total do plano (Σ quantidade · lucro unitário).
+     */
+    public double getTotalProfit() {
+        return totalProfit;
+    }
+
+    public PhaseTimings getTimings() {
+        return timings;
+    }
+
+    /**
+     * Estatísticas do branch-and-bound (gap, limite, nós), ou null para motores contínuos/heurísticos.
+     */
+    public MipSolution getIntegerSolution() {
+        return integerSolution;
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.exception.OptimizerBusyException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * OptimizationResultCache: resultados de otimização por (versão do catálogo, estratégia,
+ * orçamento de tempo).
+ *
+ * - Qualquer escrita no catálogo gera uma nova versão ({@link CatalogSnapshotService}), então
+ *   uma chave nunca devolve um plano calculado sobre dados antigos. Ao aparecer uma versão
+ *   nova, as entradas das versões anteriores são descartadas (invalidations).
+ * - Capacidade limitada com descarte LRU (evictions).
+ * - Uma consulta repetida sem mudança nos dados custa uma busca no mapa.
+ * - Single-flight: requisições simultâneas com a mesma chave esperam o mesmo cálculo em
+ *   andamento em vez de repetir o trabalho (coalesced).
+ * - Backlog limitado: no máximo {@code maxConcurrentRuns} cálculos rodando e
+ *   {@code maxQueuedRuns} esperando a vez; além disso a requisição é recusada na hora
+ *   com {@link OptimizerBusyException} (503 + Retry-After).
+ */
+@Component
+public class OptimizationResultCache {
+
+    private final int capacity;
+    private final long retryAfterSeconds;
+    private final Semaphore admission;
+    private final Semaphore running;
+    private final LinkedHashMap<Key, OptimizationResult> entries;
+    private final Map<Key, CompletableFuture<OptimizationResult>> inFlight = new HashMap<>();
+    private long latestVersion;
+    private long hits;
+    private long misses;
+    private long coalesced;
+    private long rejected;
+    private long evictions;
+    private long invalidations;
+
+    @Autowired
+    public OptimizationResultCache(@Value("${optimizer.cache.max-entries:256}") int capacity,
+            @Value("${optimizer.max-concurrent-runs:0}") int maxConcurrentRuns,
+            @Value("${optimizer.max-queued-runs:16}") int maxQueuedRuns,
+            @Value("${optimizer.retry-after-seconds:1}") long retryAfterSeconds) {
+        int concurrency = maxConcurrentRuns > 0 ? maxConcurrentRuns : Runtime.getRuntime().availableProcessors();
+        this.capacity = capacity;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.admission = new Semaphore(concurrency + maxQueuedRuns);
+        this.running = new Semaphore(concurrency, true);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, OptimizationResult> eldest) {
+                if (size() > OptimizationResultCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    OptimizationResultCache(int capacity) {
+        this(capacity, 0, 16, 1);
+    }
+
+    /**
+     * Devolve o resultado em cache, aguarda um cálculo idêntico em andamento ou calcula e guarda.
+     *
+     * @param catalogVersion versão da fotografia usada no cálculo
+     * @param compute        cálculo executado apenas por quem chegou primeiro
+     * @throws OptimizerBusyException quando o backlog de cálculos está cheio
+     */
+    public Lookup getOrCompute(long catalogVersion, String strategy, long timeBudgetMs,
+            Supplier<OptimizationResult> compute) {
+        Key key = new Key(catalogVersion, strategy, timeBudgetMs);
+        CompletableFuture<OptimizationResult> leader;
+        CompletableFuture<OptimizationResult> shared;
+        synchronized (this) {
+            OptimizationResult cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return new Lookup(cached, Source.HIT);
+            }
+            shared = inFlight.get(key);
+            if (shared != null) {
+                coalesced++;
+                leader = null;
+            } else if (!admission.tryAcquire()) {
+                rejected++;
+                throw new OptimizerBusyException("Otimizador sobrecarregado, tente novamente em instantes",
+                        retryAfterSeconds);
+            } else {
+                misses++;
+                leader = new CompletableFuture<>();
+                inFlight.put(key, leader);
+            }
+        }
+        if (leader == null) {
+            return new Lookup(await(shared), Source.COALESCED);
+        }
+
+        try {
+            OptimizationResult result = run(compute);
+            synchronized (this) {
+                inFlight.remove(key);
+                if (catalogVersion > latestVersion) {
+                    invalidateBefore(catalogVersion);
+                }
+                // Resultado de uma versão já substituída não entra no cache
+                if (catalogVersion == latestVersion) {
+                    entries.put(key, result);
+                }
+            }
+            leader.complete(result);
+            return new Lookup(result, Source.MISS);
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                inFlight.remove(key);
+            }
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            admission.release();
+        }
+    }
+
+    /**
+     * Executa um cálculo que não entra no cache (ex.: lote de cenários what-if) sob os mesmos
+     * limites de backlog dos cálculos em cache.
+     *
+     * @throws OptimizerBusyException quando o backlog de cálculos está cheio
+     */
+    public <T> T runUncached(Supplier<T> compute) {
+        if (!admission.tryAcquire()) {
+            synchronized (this) {
+                rejected++;
+            }
+            throw new OptimizerBusyException("Otimizador sobrecarregado, tente novamente em instantes",
+                    retryAfterSeconds);
+        }
+        try {
+            return run(compute);
+        } finally {
+            admission.release();
+        }
+    }
+
+    /**
+     * Como {@link #runUncached}, mas a vaga no backlog é reservada agora e o cálculo roda depois,
+     * em outra thread (ex.: streaming por SSE): quem chama recebe o 503 antes de abrir a resposta.
+     * O {@link Supplier} devolvido deve ser executado exatamente uma vez; a vaga é liberada ao fim.
+     *
+     * @throws OptimizerBusyException quando o backlog de cálculos está cheio
+     */
+    public <T> Supplier<T> reserveUncached(Supplier<T> compute) {
+        if (!admission.tryAcquire()) {
+            synchronized (this) {
+                rejected++;
+            }
+            throw new OptimizerBusyException("Otimizador sobrecarregado, tente novamente em instantes",
+                    retryAfterSeconds);
+        }
+        return () -> {
+            try {
+                return run(compute);
+            } finally {
+                admission.release();
+            }
+        };
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(entries.size(), capacity, inFlight.size(), hits, misses, coalesced, rejected, evictions,
+                invalidations);
+    }
+
+    // Espera a vez na fila (limitada pela admissão) e executa o cálculo
+    private <T> T run(Supplier<T> compute) {
+        running.acquireUninterruptibly();
+        try {
+            return compute.get();
+        } finally {
+            running.release();
+        }
+    }
+
+    // Espera o cálculo de outra requisição; a falha dele é repassada como está
+    private OptimizationResult await(CompletableFuture<OptimizationResult> shared) {
+        try {
+            return shared.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void invalidateBefore(long version) {
+        latestVersion = version;
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().catalogVersion() < version) {
+                keys.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    private record Key(long catalogVersion, String strategy, long timeBudgetMs) {
+    }
+
+    /**
+     * Origem do resultado: cache, cálculo compartilhado com outra requisição ou cálculo próprio.
+     */
+    public enum Source {
+        HIT,
+        COALESCED,
+        MISS
+    }
+
+    /**
+     * Resultado de uma consulta ao cache.
+     */
+    public record Lookup(OptimizationResult result, Source source) {
+
+        public boolean hit() {
+            return source == Source.HIT;
+        }
+    }
+
+    /**
+     * Contadores expostos em {@code GET /api/products/suggest/cache}.
+     */
+    public record Stats(int size, int capacity, int inFlight, long hits, long misses, long coalesced,
+            long rejected, long evictions, long invalidations) {
+    }
+}
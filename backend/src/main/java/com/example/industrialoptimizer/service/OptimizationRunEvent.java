@@ -0,0 +1,47 @@
+package com.example.industrialoptimizer.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma execução de motor no {@link ProductionOptimizerService}: o início e a
+ * duração vêm do próprio evento; a thread liga a execução à requisição ou ao job.
+ *
+ * catalogVersion é 0 quando a matriz não é a da fotografia atual (cenários what-if, benchmarks
+ * ou uma fotografia substituída durante o cálculo).
+ */
+@Name(OptimizationRunEvent.NAME)
+@Label("Optimization Run")
+@Category({"Industrial Optimizer", "Optimizer"})
+@Description("Execução de um motor de otimização sobre a matriz de receitas")
+@StackTrace(false)
+class OptimizationRunEvent extends Event {
+
+    static final String NAME = "com.example.industrialoptimizer.OptimizationRun";
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Catalog Version")
+    long catalogVersion;
+
+    @Label("Products")
+    int products;
+
+    @Label("Raw Materials")
+    int materials;
+
+    @Label("Units Produced")
+    long unitsProduced;
+
+    @Label("Total Profit")
+    double totalProfit;
+
+    @Label("Succeeded")
+    @Description("false quando o motor terminou com exceção")
+    boolean succeeded;
+}
@@ -0,0 +1,248 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.OptimizationProgressDTO;
+import com.example.industrialoptimizer.exception.ErrorResponse;
+import com.example.industrialoptimizer.exception.OptimizerBusyException;
+import com.example.industrialoptimizer.optimizer.MipSolution;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.optimizer.SolveListener;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * OptimizationStreamService: otimização anytime, com o melhor plano até agora enviado por SSE.
+ *
+ * 1. O plano guloso sai na hora (microssegundos).
+ * 2. O modo lp melhora o plano e traz o primeiro limite superior (a relaxação linear).
+ * 3. O branch-and-bound do modo mip envia cada incumbente melhor que o último plano e, ao
+ *    terminar, o plano final com o limite provado.
+ *
+ * Só planos melhores que o anterior viram evento. O stream para no orçamento de tempo, quando
+ * o gap chega a zero ou quando o cliente desconecta (cancelamento cooperativo da busca). A vaga
+ * no backlog do otimizador é reservada antes de abrir a resposta: backlog cheio ainda é 503.
+ */
+@Slf4j
+@Service
+public class OptimizationStreamService {
+
+    public static final String PLAN_EVENT = "plan";
+    public static final String DONE_EVENT = "done";
+    public static final String ERROR_EVENT = "error";
+
+    // Folga do SseEmitter além do orçamento: a raiz do branch-and-bound sempre é resolvida
+    private static final long EMITTER_GRACE_MS = 10_000;
+    private static final double GAP_TOL = 1e-9;
+
+    private final ProductionOptimizerService optimizer;
+    private final OptimizationResultCache backlog;
+    private final ExecutorService streams = Executors.newVirtualThreadPerTaskExecutor();
+    private final long defaultTimeBudgetMs;
+    private final long maxTimeBudgetMs;
+
+    @Autowired
+    public OptimizationStreamService(ProductionOptimizerService optimizer, OptimizationResultCache backlog,
+            @Value("${optimizer.mip.time-limit-ms:5000}") long defaultTimeBudgetMs,
+            @Value("${optimizer.stream.max-time-budget-ms:60000}") long maxTimeBudgetMs) {
+        this.optimizer = optimizer;
+        this.backlog = backlog;
+        this.defaultTimeBudgetMs = defaultTimeBudgetMs;
+        this.maxTimeBudgetMs = maxTimeBudgetMs;
+    }
+
+    /**
+     * Abre o stream sobre a fotografia informada; o cálculo roda numa virtual thread.
+     *
+     * @param timeBudgetMs orçamento total (guloso + lp + mip); 0 usa {@code optimizer.mip.time-limit-ms}
+     * @throws ResponseStatusException 400 para orçamento fora do limite
+     * @throws OptimizerBusyException  quando o backlog do otimizador está cheio
+     */
+    public SseEmitter open(CatalogSnapshot snapshot, long timeBudgetMs) {
+        if (timeBudgetMs < 0 || timeBudgetMs > maxTimeBudgetMs) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "timeBudgetMs deve estar entre 0 e " + maxTimeBudgetMs);
+        }
+        long budgetMs = timeBudgetMs > 0 ? timeBudgetMs : defaultTimeBudgetMs;
+        SseEmitter emitter = new SseEmitter(budgetMs + EMITTER_GRACE_MS);
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+
+        Supplier<OptimizationProgressDTO> task = backlog.reserveUncached(
+                () -> run(snapshot, budgetMs, closed::get, progress -> send(emitter, PLAN_EVENT, progress, closed)));
+        streams.execute(() -> {
+            try {
+                send(emitter, DONE_EVENT, task.get(), closed);
+                emitter.complete();
+            } catch (RuntimeException e) {
+                log.warn("Stream de otimização falhou", e);
+                send(emitter, ERROR_EVENT, ErrorResponse.builder()
+                        .timestamp(LocalDateTime.now())
+                        .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                        .error(HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase())
+                        .message(String.valueOf(e.getMessage()))
+                        .build(), closed);
+                emitter.complete();
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * Roda os motores em sequência dentro do orçamento, entregando a {@code sink} cada plano
+     * melhor que o anterior, e devolve o melhor plano com o status final.
+     *
+     * @param cancelled consultado entre os motores e a cada nó da busca (cliente desconectou)
+     */
+    OptimizationProgressDTO run(CatalogSnapshot snapshot, long budgetMs, BooleanSupplier cancelled,
+            Consumer<OptimizationProgressDTO> sink) {
+        long start = System.nanoTime();
+        long deadline = start + budgetMs * 1_000_000L;
+        RecipeMatrix matrix = snapshot.getMatrix();
+        Progress progress = new Progress(snapshot, start, sink);
+
+        progress.offer("greedy", optimizer.planOptimalProduction(matrix, new PhaseTimings()));
+        if (cancelled.getAsBoolean() || System.nanoTime() >= deadline) {
+            return progress.done(cancelled.getAsBoolean() ? "CANCELLED" : MipSolution.Status.LIMIT_REACHED.name());
+        }
+
+        ProductionPlan lp = optimizer.planLinearProgrammingProduction(matrix, new PhaseTimings());
+        progress.bound(lp.getBound());
+        progress.offer("lp", lp);
+        if (progress.isOptimal()) {
+            return progress.done(MipSolution.Status.OPTIMAL.name());
+        }
+        long remainingMs = (deadline - System.nanoTime()) / 1_000_000L;
+        if (cancelled.getAsBoolean() || remainingMs <= 0) {
+            return progress.done(cancelled.getAsBoolean() ? "CANCELLED" : MipSolution.Status.LIMIT_REACHED.name());
+        }
+
+        IntegerProductionResult mip = optimizer.calculateIntegerProduction(matrix, remainingMs, new PhaseTimings(),
+                new SolveListener() {
+                    @Override
+                    public boolean isCancelled() {
+                        return cancelled.getAsBoolean();
+                    }
+
+                    @Override
+                    public void onIncumbent(long[] x, double objective) {
+                        progress.offer("mip", objective, () -> ProductionOptimizerService.toPlan(matrix, x.clone()));
+                    }
+                });
+        progress.bound(mip.getSolution().getBestBound());
+        progress.offer("mip", mip.getPlan());
+        if (cancelled.getAsBoolean()) {
+            return progress.done("CANCELLED");
+        }
+        return progress.done(mip.getSolution().isOptimal() || progress.isOptimal()
+                ? MipSolution.Status.OPTIMAL.name()
+                : MipSolution.Status.LIMIT_REACHED.name());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        streams.shutdownNow();
+    }
+
+    // Envia um evento; falha de escrita = cliente desconectou, o que cancela a busca
+    private static void send(SseEmitter emitter, String event, Object data, AtomicBoolean closed) {
+        if (closed.get()) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            closed.set(true);
+        }
+    }
+
+    /**
+     * Melhor plano e melhor limite do stream. As incumbentes chegam das threads do solver.
+     */
+    private static final class Progress {
+
+        private final CatalogSnapshot snapshot;
+        private final long start;
+        private final Consumer<OptimizationProgressDTO> sink;
+        private OptimizationProgressDTO best;
+        private double bound = Double.POSITIVE_INFINITY;
+        private int sequence;
+
+        Progress(CatalogSnapshot snapshot, long start, Consumer<OptimizationProgressDTO> sink) {
+            this.snapshot = snapshot;
+            this.start = start;
+            this.sink = sink;
+        }
+
+        void offer(String strategy, ProductionPlan plan) {
+            offer(strategy, plan.getTotalProfit(), () -> plan);
+        }
+
+        // O plano só é montado se o lucro ainda não foi superado
+        synchronized void offer(String strategy, double totalProfit, Supplier<ProductionPlan> candidate) {
+            if (best != null && totalProfit <= best.getTotalProfit() + GAP_TOL) {
+                return;
+            }
+            ProductionPlan plan = candidate.get();
+            best = OptimizationProgressDTO.builder()
+                    .catalogVersion(snapshot.getVersion())
+                    .sequence(++sequence)
+                    .strategy(strategy)
+                    .products(ProductionPlanMapper.toProducts(snapshot, plan))
+                    .materials(ProductionPlanMapper.toMaterials(snapshot, plan))
+                    .totalProfit(totalProfit)
+                    .build();
+            sink.accept(withBound(best));
+        }
+
+        synchronized void bound(double value) {
+            if (!Double.isNaN(value)) {
+                bound = Math.min(bound, value);
+            }
+        }
+
+        synchronized boolean isOptimal() {
+            return best != null && best.getTotalProfit() >= bound - GAP_TOL * Math.max(1.0, Math.abs(bound));
+        }
+
+        synchronized OptimizationProgressDTO done(String status) {
+            OptimizationProgressDTO last = withBound(best);
+            last.setStatus(status);
+            return last;
+        }
+
+        private OptimizationProgressDTO withBound(OptimizationProgressDTO plan) {
+            OptimizationProgressDTO copy = OptimizationProgressDTO.builder()
+                    .catalogVersion(plan.getCatalogVersion())
+                    .sequence(plan.getSequence())
+                    .strategy(plan.getStrategy())
+                    .products(plan.getProducts())
+                    .materials(plan.getMaterials())
+                    .totalProfit(plan.getTotalProfit())
+                    .elapsedMs((System.nanoTime() - start) / 1e6)
+                    .build();
+            if (!Double.isInfinite(bound)) {
+                double known = Math.max(bound, plan.getTotalProfit());
+                copy.setBestBound(known);
+                copy.setOptimalityGap(known <= 0 ? 0.0 : (known - plan.getTotalProfit()) / known);
+            }
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.industrialoptimizer.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * OptimizerGauges: estado do cache de resultados e da fila de jobs, lido na hora da coleta
+ * (os mesmos contadores de {@code /api/products/suggest/cache} e {@code /api/optimizations}).
+ *
+ * - {@code optimizer.cache.size}, {@code optimizer.cache.in.flight}: planos guardados e cálculos em andamento
+ * - {@code optimizer.cache.requests} (result=hit|miss|coalesced|rejected)
+ * - {@code optimizer.jobs.active}: jobs assíncronos na fila ou rodando; {@code optimizer.jobs.finished}
+ */
+@Component
+public class OptimizerGauges implements MeterBinder {
+
+    private final OptimizationResultCache resultCache;
+    private final OptimizationJobService jobs;
+
+    public OptimizerGauges(OptimizationResultCache resultCache, OptimizationJobService jobs) {
+        this.resultCache = resultCache;
+        this.jobs = jobs;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("optimizer.cache.size", resultCache, cache -> cache.getStats().size())
+                .description("Resultados guardados no cache do /suggest")
+                .register(registry);
+        Gauge.builder("optimizer.cache.in.flight", resultCache, cache -> cache.getStats().inFlight())
+                .description("Cálculos do /suggest em andamento")
+                .register(registry);
+        cacheRequests(registry, "hit", OptimizationResultCache.Stats::hits);
+        cacheRequests(registry, "miss", OptimizationResultCache.Stats::misses);
+        cacheRequests(registry, "coalesced", OptimizationResultCache.Stats::coalesced);
+        cacheRequests(registry, "rejected", OptimizationResultCache.Stats::rejected);
+
+        Gauge.builder("optimizer.jobs.active", jobs, service -> service.getStats().active())
+                .description("Jobs de otimização na fila ou rodando")
+                .register(registry);
+        Gauge.builder("optimizer.jobs.finished", jobs, service -> service.getStats().finished())
+                .description("Jobs terminados guardados para consulta")
+                .register(registry);
+    }
+
+    private void cacheRequests(MeterRegistry registry, String result,
+            ToDoubleFunction<OptimizationResultCache.Stats> count) {
+        FunctionCounter.builder("optimizer.cache.requests", resultCache, cache -> count.applyAsDouble(cache.getStats()))
+                .description("Consultas ao cache do /suggest por desfecho")
+                .tag("result", result)
+                .register(registry);
+    }
+}
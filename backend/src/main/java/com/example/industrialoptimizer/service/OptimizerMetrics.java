@@ -0,0 +1,91 @@
+package com.example.industrialoptimizer.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * OptimizerMetrics: medidores Micrometer do caminho de otimização, expostos em
+ * {@code /actuator/prometheus}.
+ *
+ * - {@code optimizer.catalog.phase} (phase=read|compile): releitura do catálogo no banco e
+ *   compilação da fotografia (lucro de cada produto, ordenação por lucro e matriz de receitas)
+ * - {@code optimizer.phase} (strategy, phase): fases de cada cálculo, as mesmas do Server-Timing
+ *   (build, solve, round...), e serialize, a montagem do corpo da resposta a partir do plano
+ * - {@code optimizer.products.considered} e {@code optimizer.units.produced} (strategy):
+ *   produtos na matriz e unidades sugeridas, somados a cada cálculo (respostas do cache não contam)
+ *
+ * Os gauges do cache e da fila de jobs ficam em {@link OptimizerGauges}.
+ */
+@Component
+public class OptimizerMetrics {
+
+    private final MeterRegistry registry;
+
+    public OptimizerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Medidores em memória, para quem monta os serviços sem Spring (testes, benchmarks).
+     */
+    public static OptimizerMetrics inMemory() {
+        return new OptimizerMetrics(new SimpleMeterRegistry());
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Executa um passo da carga do catálogo e registra a duração na fase informada.
+     */
+    public <T> T timeCatalog(String phase, Supplier<T> step) {
+        return Timer.builder("optimizer.catalog.phase")
+                .description("Releitura e compilação da fotografia do catálogo")
+                .tag("phase", phase)
+                .register(registry)
+                .record(step);
+    }
+
+    /**
+     * Registra as fases e os contadores de um cálculo concluído.
+     */
+    public void recordRun(OptimizationResult result) {
+        String strategy = result.getStrategy();
+        result.getTimings().getNanos().forEach((phase, nanos) -> phase(strategy, phase).record(nanos,
+                TimeUnit.NANOSECONDS));
+
+        ProductionPlan plan = result.getPlan();
+        counter("optimizer.products.considered", "Produtos considerados pelos cálculos", strategy)
+                .increment(plan.getMatrix().products());
+        counter("optimizer.units.produced", "Unidades sugeridas pelos cálculos", strategy)
+                .increment(plan.getTotalUnits());
+    }
+
+    /**
+     * Monta o corpo da resposta registrando a duração na fase serialize da estratégia.
+     */
+    public <T> T timeSerialize(String strategy, Supplier<T> body) {
+        return phase(strategy, "serialize").record(body);
+    }
+
+    private Timer phase(String strategy, String phase) {
+        return Timer.builder("optimizer.phase")
+                .description("Duração de cada fase de um cálculo de otimização")
+                .tags("strategy", strategy, "phase", phase)
+                .register(registry);
+    }
+
+    private Counter counter(String name, String description, String strategy) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("strategy", strategy)
+                .register(registry);
+    }
+}
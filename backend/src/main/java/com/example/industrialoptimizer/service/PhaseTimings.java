@@ -0,0 +1,44 @@
+package com.example.industrialoptimizer.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * PhaseTimings: tempo gasto em cada fase de uma otimização (carga do catálogo,
+ * montagem do problema, solver, arredondamento...), na ordem em que as fases rodaram.
+ *
+ * Não é thread-safe: cada requisição usa a sua instância.
+ */
+public class PhaseTimings {
+
+    private final Map<String, Long> nanos = new LinkedHashMap<>();
+
+    /**
+     * Executa um passo e soma a sua duração na fase informada.
+     */
+    public <T> T time(String phase, Supplier<T> step) {
+        long start = System.nanoTime();
+        try {
+            return step.get();
+        } finally {
+            record(phase, System.nanoTime() - start);
+        }
+    }
+
+    public void record(String phase, long elapsedNanos) {
+        nanos.merge(phase, elapsedNanos, Long::sum);
+    }
+
+    /**
+     * Duração de cada fase em nanossegundos.
+     */
+    public Map<String, Long> getNanos() {
+        return Collections.unmodifiableMap(nanos);
+    }
+
+    public long getTotalNanos() {
+        return nanos.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
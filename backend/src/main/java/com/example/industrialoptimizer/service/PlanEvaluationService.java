@@ -0,0 +1,194 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.MaterialRequirementDTO;
+import com.example.industrialoptimizer.dto.PlanEvaluationDTO;
+import com.example.industrialoptimizer.dto.TargetPlanDTO;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * PlanEvaluationService: avalia planos de produção candidatos (vindos do ERP) contra o estoque
+ * atual, sem gravar nada: viabilidade, insumos violados, custo, receita e lucro.
+ *
+ * - Todos os planos de um lote usam a mesma fotografia imutável do catálogo e o mesmo
+ *   {@link RequirementsIndex} (receitas explodidas em ponto fixo, custo e preço por produto).
+ * - O lote é dividido em blocos de {@link #CHUNK} planos avaliados em paralelo num
+ *   {@link ForkJoinPool}; cada bloco reutiliza um vetor de consumo e zera só os insumos que
+ *   tocou, então um plano custa O(linhas da receita explodida), não O(insumos do catálogo).
+ * - A resposta mantém a ordem do pedido.
+ */
+@Service
+public class PlanEvaluationService {
+
+    static final int CHUNK = 256;
+
+    private final ForkJoinPool evaluationPool;
+
+    @Value("${optimizer.plans.max-batch:100000}")
+    private int maxBatch = 100_000;
+
+    /**
+     * @param parallelism threads de avaliação (0 = núcleos da CPU)
+     */
+    @Autowired
+    public PlanEvaluationService(@Value("${optimizer.plans.parallelism:0}") int parallelism) {
+        this.evaluationPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @throws ResponseStatusException 400 para lote grande demais
+     */
+    public List<PlanEvaluationDTO> evaluate(CatalogSnapshot snapshot, List<TargetPlanDTO> plans, int maxViolations) {
+        if (plans.size() > maxBatch) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Lote com " + plans.size() + " planos (máximo " + maxBatch + ")");
+        }
+        PlanEvaluationDTO[] results = new PlanEvaluationDTO[plans.size()];
+        int chunks = (plans.size() + CHUNK - 1) / CHUNK;
+        if (chunks <= 1) {
+            evaluateChunk(snapshot, plans, maxViolations, 0, results);
+        } else {
+            evaluationPool.submit(() -> IntStream.range(0, chunks)
+                    .parallel()
+                    .forEach(chunk -> evaluateChunk(snapshot, plans, maxViolations, chunk, results)))
+                    .join();
+        }
+        return Arrays.asList(results);
+    }
+
+    @PreDestroy
+    void shutdownEvaluationPool() {
+        evaluationPool.shutdownNow();
+    }
+
+    private static void evaluateChunk(CatalogSnapshot snapshot, List<TargetPlanDTO> plans, int maxViolations,
+            int chunk, PlanEvaluationDTO[] results) {
+        Evaluator evaluator = new Evaluator(snapshot, maxViolations);
+        int end = Math.min(plans.size(), (chunk + 1) * CHUNK);
+        for (int i = chunk * CHUNK; i < end; i++) {
+            TargetPlanDTO plan = plans.get(i);
+            results[i] = evaluator.evaluate(plan.getName() != null ? plan.getName() : "#" + (i + 1),
+                    plan.getQuantities());
+        }
+    }
+
+    /**
+     * Estado de um bloco (uma thread): vetor de consumo e a lista dos insumos tocados pelo plano atual.
+     */
+    private static final class Evaluator {
+
+        private final CatalogSnapshot snapshot;
+        private final RequirementsIndex index;
+        private final int maxViolations;
+        private final long[] required;
+        private final int[] touched;
+        private int touchedCount;
+
+        Evaluator(CatalogSnapshot snapshot, int maxViolations) {
+            this.snapshot = snapshot;
+            this.index = snapshot.getRequirementsIndex();
+            this.maxViolations = maxViolations;
+            this.required = new long[index.materials()];
+            this.touched = new int[index.materials()];
+        }
+
+        PlanEvaluationDTO evaluate(String name, Map<Long, Long> quantities) {
+            try {
+                BigDecimal cost = BigDecimal.ZERO;
+                BigDecimal revenue = BigDecimal.ZERO;
+                for (Map.Entry<Long, Long> line : quantities.entrySet()) {
+                    Long units = line.getValue();
+                    if (units == null || units < 0) {
+                        return invalid(name, "quantidade inválida para o produto " + line.getKey());
+                    }
+                    int row = index.row(line.getKey());
+                    if (row < 0) {
+                        return invalid(name, snapshot.findProduct(line.getKey()).isPresent()
+                                ? "o produto " + line.getKey() + " não pode ser produzido"
+                                : "produto desconhecido: " + line.getKey());
+                    }
+                    if (units == 0) {
+                        continue;
+                    }
+                    touchedCount = index.accumulate(row, units, required, touched, touchedCount);
+                    BigDecimal count = BigDecimal.valueOf(units);
+                    cost = cost.add(index.unitCost(row).multiply(count));
+                    revenue = revenue.add(index.saleValue(row).multiply(count));
+                }
+                return result(name, cost.setScale(2, RoundingMode.HALF_UP), revenue.setScale(2, RoundingMode.HALF_UP));
+            } catch (ArithmeticException e) {
+                return invalid(name, "quantidades grandes demais");
+            } finally {
+                for (int t = 0; t < touchedCount; t++) {
+                    required[touched[t]] = 0;
+                }
+                touchedCount = 0;
+            }
+        }
+
+        private PlanEvaluationDTO result(String name, BigDecimal cost, BigDecimal revenue) {
+            // Insumos violados em ordem de índice (= ordem do catálogo); só os violados viram DTO
+            int violationCount = 0;
+            int[] violated = null;
+            for (int t = 0; t < touchedCount; t++) {
+                int m = touched[t];
+                if (required[m] > index.stock(m)) {
+                    if (violated == null) {
+                        violated = new int[touchedCount];
+                    }
+                    violated[violationCount++] = m;
+                }
+            }
+            List<MaterialRequirementDTO> violations = new ArrayList<>(Math.min(violationCount, maxViolations));
+            if (violationCount > 0) {
+                Arrays.sort(violated, 0, violationCount);
+                for (int v = 0; v < Math.min(violationCount, maxViolations); v++) {
+                    violations.add(violation(violated[v]));
+                }
+            }
+            return PlanEvaluationDTO.builder()
+                    .name(name)
+                    .feasible(violationCount == 0)
+                    .violationCount(violationCount)
+                    .violations(violations)
+                    .totalCost(cost)
+                    .totalRevenue(revenue)
+                    .totalProfit(revenue.subtract(cost))
+                    .build();
+        }
+
+        private MaterialRequirementDTO violation(int m) {
+            RawMaterial material = snapshot.findRawMaterial(index.materialId(m)).orElseThrow();
+            BigDecimal quantity = BigDecimal.valueOf(required[m], RecipeMatrix.SCALE);
+            return MaterialRequirementDTO.builder()
+                    .id(material.getId())
+                    .code(material.getCode())
+                    .name(material.getName())
+                    .unitMeasure(material.getUnitMeasure())
+                    .stockQuantity(material.getStockQuantity())
+                    .required(quantity)
+                    .shortfall(BigDecimal.valueOf(required[m] - index.stock(m), RecipeMatrix.SCALE))
+                    .cost(quantity.multiply(material.getUnitCost()).setScale(2, RoundingMode.HALF_UP))
+                    .build();
+        }
+
+        private static PlanEvaluationDTO invalid(String name, String reason) {
+            return PlanEvaluationDTO.builder().name(name).feasible(false).error(reason).build();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.ProductComponentDTO;
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComponent;
+import com.example.industrialoptimizer.model.ProductComponentKey;
+import com.example.industrialoptimizer.repository.ProductComponentRepository;
+import com.example.industrialoptimizer.repository.ProductRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * ProductComponentService: submontagens (um produto usado na receita de outro).
+ *
+ * Inclusões que fechariam um ciclo (o componente já usa o produto, direta ou indiretamente)
+ * são recusadas com 409, consultando a estrutura da fotografia atual. Se duas inclusões
+ * concorrentes fecharem um ciclo mesmo assim, a {@link BillOfMaterials} deixa os produtos do
+ * ciclo fora do otimizador em vez de explodir a receita para sempre.
+ */
+@Service
+public class ProductComponentService {
+
+    private final ProductComponentRepository componentRepository;
+    private final ProductRepository productRepository;
+    private final CatalogSnapshotService catalog;
+
+    public ProductComponentService(ProductComponentRepository componentRepository,
+            ProductRepository productRepository,
+            CatalogSnapshotService catalog) {
+        this.componentRepository = componentRepository;
+        this.productRepository = productRepository;
+        this.catalog = catalog;
+    }
+
+    /**
+     * Submontagens diretas do produto, lidas da fotografia informada (sem ir ao banco).
+     */
+    public List<ProductComponentDTO> findByProductIdWithDetails(CatalogSnapshot snapshot, Long productId) {
+        return snapshot.getComponents(productId);
+    }
+
+    static ProductComponentDTO toDTO(Long productId, BillOfMaterials.Component line, Product component,
+            BillOfMaterials bom) {
+        BigDecimal unitCost = bom.getUnitCost(line.componentId()).orElse(null);
+        return new ProductComponentDTO(
+                productId,
+                line.componentId(),
+                component != null ? component.getCode() : null,
+                component != null ? component.getName() : null,
+                line.quantity(),
+                unitCost,
+                unitCost != null ? line.quantity().multiply(unitCost) : null);
+    }
+
+    public ProductComponent create(Long productId, Long componentId, BigDecimal quantityNeeded) {
+        if (productId == null || componentId == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "productId e componentId são obrigatórios.");
+        }
+        if (productId.equals(componentId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Um produto não pode ser componente de si mesmo.");
+        }
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Produto não encontrado: " + productId));
+        Product component = productRepository.findById(componentId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Componente não encontrado: " + componentId));
+
+        ProductComponentKey key = new ProductComponentKey(productId, componentId);
+        if (componentRepository.existsById(key)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Esta submontagem (produto + componente) já existe.");
+        }
+        if (catalog.current().getBillOfMaterials().dependsOn(componentId, productId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, String.format(
+                    "O produto %s já é usado na estrutura de %s: a submontagem criaria um ciclo.",
+                    product.getCode(), component.getCode()));
+        }
+
+        ProductComponent line = new ProductComponent();
+        line.setId(key);
+        line.setProduct(product);
+        line.setComponent(component);
+        line.setQuantityNeeded(quantityNeeded != null ? quantityNeeded : BigDecimal.ZERO);
+        ProductComponent saved = componentRepository.save(line);
+        catalog.refreshAfterCommit("ProductComponent", productId + ":" + componentId, "CREATE");
+        return saved;
+    }
+
+    public ProductComponent update(Long productId, Long componentId, BigDecimal quantityNeeded) {
+        ProductComponentKey key = new ProductComponentKey(productId, componentId);
+        ProductComponent line = componentRepository.findById(key)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Submontagem não encontrada."));
+        line.setQuantityNeeded(quantityNeeded != null ? quantityNeeded : BigDecimal.ZERO);
+        ProductComponent saved = componentRepository.save(line);
+        catalog.refreshAfterCommit("ProductComponent", productId + ":" + componentId, "UPDATE");
+        return saved;
+    }
+
+    public void delete(Long productId, Long componentId) {
+        ProductComponentKey key = new ProductComponentKey(productId, componentId);
+        if (!componentRepository.existsById(key)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Submontagem não encontrada.");
+        }
+        componentRepository.deleteById(key);
+        catalog.refreshAfterCommit("ProductComponent", productId + ":" + componentId, "DELETE");
+    }
+}
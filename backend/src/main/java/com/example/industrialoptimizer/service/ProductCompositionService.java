@@ -14,7 +14,6 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ProductCompositionService {
@@ -22,13 +21,16 @@ public class ProductCompositionService {
     private final ProductCompositionRepository compositionRepository;
     private final ProductRepository productRepository;
     private final RawMaterialRepository rawMaterialRepository;
+    private final CatalogSnapshotService catalog;
 
     public ProductCompositionService(ProductCompositionRepository compositionRepository,
             ProductRepository productRepository,
-            RawMaterialRepository rawMaterialRepository) {
+            RawMaterialRepository rawMaterialRepository,
+            CatalogSnapshotService catalog) {
         this.compositionRepository = compositionRepository;
         this.productRepository = productRepository;
         this.rawMaterialRepository = rawMaterialRepository;
+        this.catalog = catalog;
     }
 
     public List<ProductComposition> findByProductId(Long productId) {
@@ -41,17 +43,21 @@ public class ProductCompositionService {
      * Evita serialização circular ao incluir apenas os dados necessários.
      */
     public List<ProductCompositionDTO> findByProductIdWithDetails(Long productId) {
-        return compositionRepository.findByProductId(productId)
-                .stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return findByProductIdWithDetails(catalog.current(), productId);
+    }
+
+    /**
+     * Mesmo resultado, lido da fotografia informada (sem ir ao banco).
+     */
+    public List<ProductCompositionDTO> findByProductIdWithDetails(CatalogSnapshot snapshot, Long productId) {
+        return snapshot.getCompositions(productId);
     }
 
     /**
      * Converte ProductComposition para ProductCompositionDTO com detalhes da
      * matéria-prima.
      */
-    private ProductCompositionDTO mapToDTO(ProductComposition comp) {
+    static ProductCompositionDTO toDTO(ProductComposition comp) {
         // Defensive mapping: evita NullPointerException e mantém o contrato do DTO “achatado”.
         BigDecimal qty = comp.getQuantityNeeded() != null ? comp.getQuantityNeeded() : BigDecimal.ZERO;
         RawMaterial rm = comp.getRawMaterial();
@@ -87,7 +93,9 @@ public class ProductCompositionService {
         comp.setProduct(product);
         comp.setRawMaterial(rawMaterial);
         comp.setQuantityNeeded(quantityNeeded != null ? quantityNeeded : BigDecimal.ZERO);
-        return compositionRepository.save(comp);
+        ProductComposition saved = compositionRepository.save(comp);
+        catalog.refreshAfterCommit("ProductComposition", productId + ":" + rawMaterialId, "CREATE");
+        return saved;
     }
 
     public ProductComposition update(Long productId, Long rawMaterialId, BigDecimal quantityNeeded) {
@@ -95,7 +103,9 @@ public class ProductCompositionService {
         ProductComposition comp = compositionRepository.findById(key)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Composição não encontrada."));
         comp.setQuantityNeeded(quantityNeeded != null ? quantityNeeded : BigDecimal.ZERO);
-        return compositionRepository.save(comp);
+        ProductComposition saved = compositionRepository.save(comp);
+        catalog.refreshAfterCommit("ProductComposition", productId + ":" + rawMaterialId, "UPDATE");
+        return saved;
     }
 
     public void delete(Long productId, Long rawMaterialId) {
@@ -104,5 +114,6 @@ public class ProductCompositionService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Composição não encontrada.");
         }
         compositionRepository.deleteById(key);
+        catalog.refreshAfterCommit("ProductComposition", productId + ":" + rawMaterialId, "DELETE");
     }
 }
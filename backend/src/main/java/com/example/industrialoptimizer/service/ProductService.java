@@ -1,7 +1,9 @@
 package com.example.industrialoptimizer.service;
 
 import com.example.industrialoptimizer.dto.ProductDTO;
+import com.example.industrialoptimizer.exception.CascadeDeletionException;
 import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.repository.ProductComponentRepository;
 import com.example.industrialoptimizer.repository.ProductRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -15,13 +17,19 @@ import java.util.List;
 public class ProductService {
 
     private final ProductRepository repository;
+    private final ProductComponentRepository componentRepository;
+    private final CatalogSnapshotService catalog;
 
-    public ProductService(ProductRepository repository) {
+    public ProductService(ProductRepository repository, ProductComponentRepository componentRepository,
+            CatalogSnapshotService catalog) {
         this.repository = repository;
+        this.componentRepository = componentRepository;
+        this.catalog = catalog;
     }
 
+    // Leitura servida pela fotografia do catálogo (sem consulta ao banco)
     public List<Product> getAll() {
-        return repository.findAll();
+        return catalog.current().getProducts();
     }
 
     public List<Product> getAllProducts() {
@@ -38,7 +46,10 @@ public class ProductService {
     }
 
     public Product save(Product product) {
-        return repository.save(product);
+        String operation = product.getId() == null ? "CREATE" : "UPDATE";
+        Product saved = repository.save(product);
+        catalog.refreshAfterCommit("Product", saved.getId(), operation);
+        return saved;
     }
 
     public Product createProduct(ProductDTO productDTO) {
@@ -55,7 +66,10 @@ public class ProductService {
         existing.setCode(product.getCode());
         existing.setName(product.getName());
         existing.setSaleValue(product.getSaleValue());
-        return repository.save(existing);
+        if (product.getSellable() != null) {
+            existing.setSellable(product.getSellable());
+        }
+        return save(existing);
     }
 
     public Product updateProduct(Long id, ProductDTO productDTO) {
@@ -64,14 +78,22 @@ public class ProductService {
         existing.setCode(productDTO.getCode());
         existing.setName(productDTO.getName());
         existing.setSaleValue(productDTO.getSaleValue());
-        return repository.save(existing);
+        return save(existing);
     }
 
     public void delete(Long id) {
         if (!repository.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found: " + id);
         }
+        // Cascade Deletion Prevention: a product used as a component of another product stays
+        long assemblyCount = componentRepository.countByComponentId(id);
+        if (assemblyCount > 0) {
+            throw new CascadeDeletionException(String.format(
+                    "Cannot delete product %d: it is a component of %d other product(s). "
+                            + "Remove those product components first.", id, assemblyCount));
+        }
         repository.deleteById(id);
+        catalog.refreshAfterCommit("Product", id, "DELETE");
     }
 
     public void deleteProduct(Long id) {
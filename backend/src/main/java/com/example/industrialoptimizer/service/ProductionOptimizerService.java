@@ -1,93 +1,525 @@
 package com.example.industrialoptimizer.service;
 
+import com.example.industrialoptimizer.dto.PresolveReportDTO;
+import com.example.industrialoptimizer.dto.RemovedProductDTO;
 import com.example.industrialoptimizer.model.Product;
-import com.example.industrialoptimizer.model.ProductComposition;
-import com.example.industrialoptimizer.repository.ProductRepository;
-import com.example.industrialoptimizer.repository.RawMaterialRepository;
+import com.example.industrialoptimizer.optimizer.BranchAndBoundSolver;
+import com.example.industrialoptimizer.optimizer.LpSolution;
+import com.example.industrialoptimizer.optimizer.MipSolution;
+import com.example.industrialoptimizer.optimizer.PackingLp;
+import com.example.industrialoptimizer.optimizer.Presolve;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.optimizer.RevisedSimplexSolver;
+import com.example.industrialoptimizer.optimizer.SolveListener;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 @Service
 public class ProductionOptimizerService {
 
-    private final ProductRepository productRepository;
-    private final RawMaterialRepository rawMaterialRepository;
+    private static final double ROUNDING_TOL = 1e-6;
 
-    public ProductionOptimizerService(ProductRepository productRepository, RawMaterialRepository rawMaterialRepository) {
-        this.productRepository = productRepository;
-        this.rawMaterialRepository = rawMaterialRepository;
+    private final RevisedSimplexSolver simplexSolver = new RevisedSimplexSolver();
+    private final BranchAndBoundSolver mipSolver = new BranchAndBoundSolver();
+    // Componentes independentes do catálogo, subárvores do branch-and-bound e lotes de cenários
+    private final ForkJoinPool optimizerPool;
+    // Última base ótima do modo lp de cada componente (pelo id do primeiro insumo), da versão
+    // mais nova do catálogo já resolvida: a próxima resolução recomeça dela (warm start)
+    private final AtomicReference<LpWarmStarts> lpWarmStarts = new AtomicReference<>(LpWarmStarts.EMPTY);
+
+    @Value("${optimizer.mip.node-limit:100000}")
+    private long mipNodeLimit = 100_000;
+
+    @Value("${optimizer.mip.time-limit-ms:5000}")
+    private long mipTimeLimitMs = 5_000;
+
+    private final CatalogSnapshotService catalog;
+
+    @Autowired
+    public ProductionOptimizerService(CatalogSnapshotService catalog) {
+        this(catalog, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism threads do pool do otimizador. Público para os benchmarks, que medem a
+     *                    escala com o número de núcleos
+     */
+    public ProductionOptimizerService(CatalogSnapshotService catalog, int parallelism) {
+        this.catalog = catalog;
+        this.optimizerPool = new ForkJoinPool(parallelism);
     }
 
     public Map<String, Integer> calculateOptimalProduction() {
-        // 1. Busca TODOS os produtos 
-        List<Product> products = productRepository.findAll();
-
-        // 2. Ordena os produtos pelo LUCRO (Valor de Venda - Custo Total) de forma decrescente
-        products.sort((p1, p2) -> {
-            BigDecimal profit1 = calculateProfit(p1);
-            BigDecimal profit2 = calculateProfit(p2);
-            return profit2.compareTo(profit1); // Ordem decrescente (do maior lucro para o menor)
-        });
+        return calculateOptimalProduction(catalog.current().getMatrix(), new PhaseTimings());
+    }
 
-        // 3. Cria um mapa de estoque em memória para a simulação
-        Map<Long, BigDecimal> availableStock = new HashMap<>();
-        rawMaterialRepository.findAll().forEach(material -> 
-            availableStock.put(material.getId(), material.getStockQuantity())
-        );
+    public Map<String, Integer> calculateOptimalProduction(RecipeMatrix matrix, PhaseTimings timings) {
+        return planOptimalProduction(matrix, timings).getProduction();
+    }
 
-        // 4. Resultado: Nome do Produto -> Quantidade sugerida
-        Map<String, Integer> suggestedProduction = new LinkedHashMap<>();
+    /**
+     * Guloso sobre a matriz informada, com o tempo da fase solve registrado em {@code timings}.
+     *
+     * Os produtos já vêm da {@link RecipeMatrix} em ordem decrescente de lucro; para cada um,
+     * calcula de uma vez quantas unidades cabem no estoque e debita tudo numa única passada
+     * pela receita, em aritmética de ponto fixo.
+     */
+    public ProductionPlan planOptimalProduction(RecipeMatrix matrix, PhaseTimings timings) {
+        return recorded("greedy", matrix, () -> greedy(matrix, timings), plan -> plan);
+    }
 
-        // 5. Algoritmo de Otimização 
-        for (Product product : products) {
-            int count = 0;
-            boolean canProduce = true;
-
-            while (canProduce) {
-                // Verifica se há estoque para produzir UMA unidade
-                for (ProductComposition composition : product.getCompositions()) {
-                    BigDecimal stock = availableStock.get(composition.getRawMaterial().getId());
-                    if (stock == null || stock.compareTo(composition.getQuantityNeeded()) < 0) {
-                        canProduce = false;
-                        break;
-                    }
-                }
+    private ProductionPlan greedy(RecipeMatrix matrix, PhaseTimings timings) {
+        long start = System.nanoTime();
+        long[] stock = matrix.stockCopy();
+        long[] units = new long[matrix.products()];
+        for (int p = 0; p < matrix.products(); p++) {
+            units[p] = matrix.maxUnits(p, stock);
+            matrix.debit(p, units[p], stock);
+        }
+        timings.record("solve", System.nanoTime() - start);
 
-                // Se houver estoque, subtrai os insumos e incrementa a produção
-                if (canProduce) {
-                    for (ProductComposition composition : product.getCompositions()) {
-                        Long materialId = composition.getRawMaterial().getId();
-                        BigDecimal currentStock = availableStock.get(materialId);
-                        availableStock.put(materialId, currentStock.subtract(composition.getQuantityNeeded()));
-                    }
-                    count++;
+        return toPlan(matrix, units, stock);
+    }
+
+    /**
+     * Modo "lp": resolve a relaxação linear do mix de produção (simplex revisado),
+     * considerando que produtos disputam os mesmos insumos, e converte a solução
+     * contínua em quantidades inteiras.
+     *
+     * 1. Monta o problema max Σ lucro·x s.a. Σ quantidadeNecessária·x <= estoque.
+     * 2. Arredonda x para baixo, validando cada quantidade contra o estoque exato (ponto fixo).
+     * 3. Completa as sobras com a alocação gulosa, apenas para produtos com lucro positivo.
+     */
+    public Map<String, Integer> calculateLinearProgrammingProduction() {
+        return calculateLinearProgrammingProduction(catalog.current().getMatrix(), new PhaseTimings());
+    }
+
+    public Map<String, Integer> calculateLinearProgrammingProduction(RecipeMatrix matrix, PhaseTimings timings) {
+        return planLinearProgrammingProduction(matrix, timings).getProduction();
+    }
+
+    /**
+     * Modo "lp" sobre a matriz informada, com o tempo de cada fase (build, solve, round) registrado em {@code timings}.
+     *
+     * - O {@link RecipeMatrix#presolve() presolve} tira antes produtos que não entram num plano
+     *   ótimo (sem lucro, sem estoque ou dominados) e os insumos que ficaram sem uso.
+     * - Cada {@link RecipeMatrix#components() componente} (família de produtos sem insumos em
+     *   comum com as outras) é um programa linear à parte, resolvido em paralelo; o tempo da
+     *   fase solve acompanha o maior componente, não o catálogo.
+     * - O simplex recomeça da última base ótima do componente (de outra versão do catálogo):
+     *   depois de um ajuste de estoque ou de custo, o custo acompanha o tamanho da mudança.
+     *   Só as resoluções da fotografia atual guardam bases; cenários what-if as usam mas não as
+     *   substituem, e uma resolução de uma versão mais antiga que termina depois não apaga as
+     *   da mais nova.
+     * - O arredondamento é feito sobre a matriz inteira, como se fosse um único problema.
+     * - O lucro da relaxação (soma dos componentes) vai no plano como limite superior do lucro inteiro.
+     */
+    public ProductionPlan planLinearProgrammingProduction(RecipeMatrix matrix, PhaseTimings timings) {
+        return recorded("lp", matrix, () -> linearProgramming(matrix, timings), plan -> plan);
+    }
+
+    private ProductionPlan linearProgramming(RecipeMatrix matrix, PhaseTimings timings) {
+        Presolve presolve = matrix.presolve();
+        List<RecipeMatrix.Component> components = presolve.getMatrix().components();
+        List<PackingLp> lps = timings.time("build",
+                () -> perComponent(components.size(), i -> components.get(i).matrix().toPackingLp()));
+        Map<Long, LpWarmStart> previous = lpWarmStarts.get().byComponent();
+        List<LpSolution> solutions = timings.time("solve", () -> perComponent(components.size(), i -> {
+            LpWarmStart start = previous.get(warmStartKey(components.get(i).matrix()));
+            return simplexSolver.solve(lps.get(i), start != null ? start.basisFor(components.get(i).matrix()) : null);
+        }));
+
+        double[] quantities = new double[matrix.products()];
+        List<int[]> columns = columns(presolve, components);
+        Map<Long, LpWarmStart> next = new HashMap<>();
+        for (int i = 0; i < components.size(); i++) {
+            RecipeMatrix.Component component = components.get(i);
+            LpSolution solution = solutions.get(i);
+            if (solution.isOptimal()) {
+                next.put(warmStartKey(component.matrix()), new LpWarmStart(component.matrix(), solution.getBasis()));
+            }
+            int[] products = columns.get(i);
+            for (int k = 0; k < products.length; k++) {
+                quantities[products[k]] = solution.getX(k);
+            }
+        }
+        long version = warmStartVersion(matrix);
+        if (version >= 0) {
+            lpWarmStarts.updateAndGet(stored -> stored.merge(version, next, matrix));
+        }
+        double bound = solutions.stream().allMatch(LpSolution::isOptimal)
+                ? solutions.stream().mapToDouble(LpSolution::getObjective).sum()
+                : Double.NaN;
+        return timings.time("round", () -> toIntegerProduction(matrix, quantities)).withBound(bound);
+    }
+
+    private static long warmStartKey(RecipeMatrix component) {
+        return component.materials() > 0 ? component.materialId(0) : -1L;
+    }
+
+    /**
+     * Esquece as bases guardadas do modo lp: a próxima resolução começa do zero.
+     * Público para os benchmarks, que medem a resolução a frio.
+     */
+    public void clearWarmStarts() {
+        lpWarmStarts.set(LpWarmStarts.EMPTY);
+    }
+
+    // Testes: versão do catálogo das bases guardadas e quantos componentes têm base
+    long lpWarmStartVersion() {
+        return lpWarmStarts.get().version();
+    }
+
+    int lpWarmStartComponents() {
+        return lpWarmStarts.get().byComponent().size();
+    }
+
+    // Versão da fotografia dona da matriz, ou -1 para cenários e fotografias já substituídas;
+    // sem catálogo (benchmarks) toda matriz conta como da versão 0
+    private long warmStartVersion(RecipeMatrix matrix) {
+        if (catalog == null) {
+            return 0;
+        }
+        long version = catalog.versionOf(matrix);
+        return version > 0 ? version : -1;
+    }
+
+    /**
+     * Modo "mip": otimização inteira exata por branch-and-bound paralelo.
+     * Arredondar a relaxação linear perde margem; aqui as quantidades já saem inteiras.
+     * A busca respeita os limites de nós e de tempo e reporta o gap de otimalidade.
+     */
+    public IntegerProductionResult calculateIntegerProduction() {
+        return calculateIntegerProduction(catalog.current().getMatrix(), 0, new PhaseTimings());
+    }
+
+    /**
+     * Modo "mip" sobre a matriz informada, com orçamento de tempo e o tempo de cada fase (build, solve, round).
+     *
+     * @param timeBudgetMs limite de tempo da busca; 0 usa {@code optimizer.mip.time-limit-ms}.
+     *                     O teto de cada rota (síncrona ou job) é aplicado por quem chama.
+     */
+    public IntegerProductionResult calculateIntegerProduction(RecipeMatrix matrix, long timeBudgetMs,
+            PhaseTimings timings) {
+        return calculateIntegerProduction(matrix, timeBudgetMs, timings, SolveListener.NONE);
+    }
+
+    /**
+     * Modo "mip" acompanhado por um {@link SolveListener}: recebe cada incumbente e pode
+     * cancelar a busca, que então devolve a melhor solução encontrada até ali.
+     *
+     * Cada componente do catálogo tem a sua própria árvore de busca (o limite de nós vale por
+     * componente), depois do mesmo presolve do modo lp; todas rodam em paralelo até o mesmo
+     * prazo e as soluções são somadas.
+     */
+    public IntegerProductionResult calculateIntegerProduction(RecipeMatrix matrix, long timeBudgetMs,
+            PhaseTimings timings, SolveListener listener) {
+        return recorded("mip", matrix, () -> integerProgramming(matrix, timeBudgetMs, timings, listener),
+                IntegerProductionResult::getPlan);
+    }
+
+    private IntegerProductionResult integerProgramming(RecipeMatrix matrix, long timeBudgetMs, PhaseTimings timings,
+            SolveListener listener) {
+        long timeLimitMs = timeBudgetMs > 0 ? timeBudgetMs : mipTimeLimitMs;
+        Presolve presolve = matrix.presolve();
+        List<RecipeMatrix.Component> components = presolve.getMatrix().components();
+        List<PackingLp> lps = timings.time("build",
+                () -> perComponent(components.size(), i -> components.get(i).matrix().toPackingLp()));
+        MipSolution solution = timings.time("solve", () -> {
+            if (components.size() == 1 && presolve.getMatrix() == matrix) {
+                return mipSolver.solve(lps.get(0), optimizerPool, mipNodeLimit, timeLimitMs, listener);
+            }
+            long start = System.nanoTime();
+            long deadline = start + timeLimitMs * 1_000_000L;
+            List<int[]> columns = columns(presolve, components);
+            ComponentIncumbents incumbents = new ComponentIncumbents(matrix.products(), columns, listener);
+            List<MipSolution> parts = perComponent(components.size(), i -> mipSolver.solve(lps.get(i), optimizerPool,
+                    mipNodeLimit, Math.max(0, (deadline - System.nanoTime()) / 1_000_000L), incumbents.listener(i)));
+            return MipSolution.merge(matrix.products(), parts, columns, System.nanoTime() - start);
+        });
+
+        double[] quantities = new double[solution.getX().length];
+        for (int j = 0; j < quantities.length; j++) {
+            quantities[j] = solution.getX(j);
+        }
+        return new IntegerProductionResult(timings.time("round", () -> toIntegerProduction(matrix, quantities)),
+                solution);
+    }
+
+    /**
+     * Executa um motor dentro de um {@link OptimizationRunEvent} (JFR). Sem gravação ativa, o
+     * custo é uma consulta a isEnabled(); a versão do catálogo só é procurada se o evento for gravado.
+     */
+    private <T> T recorded(String strategy, RecipeMatrix matrix, Supplier<T> run, Function<T, ProductionPlan> plan) {
+        OptimizationRunEvent event = new OptimizationRunEvent();
+        if (!event.isEnabled()) {
+            return run.get();
+        }
+        event.begin();
+        T result = null;
+        try {
+            result = run.get();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.strategy = strategy;
+                event.catalogVersion = catalog != null ? catalog.versionOf(matrix) : 0;
+                event.products = matrix.products();
+                event.materials = matrix.materials();
+                event.succeeded = result != null;
+                if (result != null) {
+                    ProductionPlan produced = plan.apply(result);
+                    event.unitsProduced = produced.getTotalUnits();
+                    event.totalProfit = produced.getTotalProfit();
                 }
+                event.commit();
             }
+        }
+    }
+
+    /**
+     * O que o presolve dos modos lp e mip tira do catálogo: tamanho antes e depois, produtos
+     * removidos (com o motivo) e insumos sem uso. Sai da matriz da fotografia, sem resolver nada.
+     */
+    public PresolveReportDTO describePresolve(CatalogSnapshot snapshot) {
+        RecipeMatrix matrix = snapshot.getMatrix();
+        Presolve presolve = matrix.presolve();
+        List<RemovedProductDTO> removedProducts = new ArrayList<>(presolve.getRemovedProducts());
+        for (int p = 0; p < matrix.products(); p++) {
+            Presolve.Reason reason = presolve.getReason(p);
+            if (reason == null) {
+                continue;
+            }
+            Product product = snapshot.findProduct(matrix.productId(p)).orElseThrow();
+            int dominant = presolve.getDominatedBy(p);
+            removedProducts.add(RemovedProductDTO.builder()
+                    .id(product.getId())
+                    .code(product.getCode())
+                    .name(product.getName())
+                    .reason(reason.name())
+                    .dominatedBy(dominant >= 0 ? matrix.productId(dominant) : null)
+                    .build());
+        }
+        boolean[] kept = new boolean[matrix.materials()];
+        for (int m : presolve.getMaterials()) {
+            kept[m] = true;
+        }
+        List<Long> removedMaterialIds = new ArrayList<>(presolve.getRemovedMaterials());
+        for (int m = 0; m < matrix.materials(); m++) {
+            if (!kept[m]) {
+                removedMaterialIds.add(matrix.materialId(m));
+            }
+        }
+        return PresolveReportDTO.builder()
+                .catalogVersion(snapshot.getVersion())
+                .productsBefore(matrix.products())
+                .productsAfter(presolve.getMatrix().products())
+                .materialsBefore(matrix.materials())
+                .materialsAfter(presolve.getMatrix().materials())
+                .nonZerosBefore(matrix.nonZeros())
+                .nonZerosAfter(presolve.getMatrix().nonZeros())
+                .removedProducts(removedProducts)
+                .removedMaterialIds(removedMaterialIds)
+                .build();
+    }
 
-            if (count > 0) {
-                suggestedProduction.put(product.getName(), count);
+    // Índice, na matriz de quem chamou, de cada produto de cada componente da matriz reduzida
+    private static List<int[]> columns(Presolve presolve, List<RecipeMatrix.Component> components) {
+        int[] kept = presolve.getProducts();
+        List<int[]> columns = new ArrayList<>(components.size());
+        for (RecipeMatrix.Component component : components) {
+            int[] products = component.products();
+            int[] original = new int[products.length];
+            for (int k = 0; k < products.length; k++) {
+                original[k] = kept[products[k]];
             }
+            columns.add(original);
         }
+        return columns;
+    }
 
+    @PreDestroy
+    void shutdownOptimizerPool() {
+        optimizerPool.shutdownNow();
+    }
+
+    // Uma tarefa por componente no pool do otimizador, na ordem dos componentes; com um só, roda nesta thread
+    private <T> List<T> perComponent(int count, IntFunction<T> task) {
+        if (count == 1) {
+            return List.of(task.apply(0));
+        }
+        return inOptimizerPool(count, task);
+    }
+
+    /**
+     * Roda tarefas independentes no pool do otimizador, com os resultados na ordem dos índices.
+     * Os motores chamados de dentro de uma tarefa (ex.: um cenário de um lote) usam o mesmo
+     * pool: o join de um thread do pool executa as tarefas da fila em vez de bloquear, então
+     * o lote e os componentes e subárvores de cada motor dividem os mesmos threads.
+     */
+    public <T> List<T> inOptimizerPool(int count, IntFunction<T> task) {
+        return optimizerPool.submit(() -> IntStream.range(0, count).parallel().mapToObj(task).toList()).join();
+    }
+
+    /**
+     * Converte quantidades calculadas em ponto flutuante no resultado final:
+     * arredonda para baixo validando contra o estoque exato (na ordem de lucro, o mesmo
+     * critério do guloso) e completa as sobras de forma gulosa.
+     */
+    private ProductionPlan toIntegerProduction(RecipeMatrix matrix, double[] quantities) {
+        long[] stock = matrix.stockCopy();
+        long[] units = new long[matrix.products()];
+        for (int p = 0; p < matrix.products(); p++) {
+            units[p] = Math.min((long) Math.floor(quantities[p] + ROUNDING_TOL), matrix.maxUnits(p, stock));
+            if (units[p] > 0) {
+                matrix.debit(p, units[p], stock);
+            } else {
+                units[p] = 0;
+            }
+        }
+
+        // Preenche o estoque que sobrou com o guloso
+        for (int p = 0; p < matrix.products() && matrix.profit(p) > 0; p++) {
+            long extra = Math.min(matrix.maxUnits(p, stock), Integer.MAX_VALUE - units[p]);
+            matrix.debit(p, extra, stock);
+            units[p] += extra;
+        }
+        return toPlan(matrix, units, stock);
+    }
+
+    // stock: o que sobrou depois de debitar units (a passada do próprio motor)
+    private static ProductionPlan toPlan(RecipeMatrix matrix, long[] units, long[] stock) {
+        double totalProfit = 0.0;
+        for (int p = 0; p < matrix.products(); p++) {
+            totalProfit += units[p] * matrix.profit(p);
+        }
+        return new ProductionPlan(matrix, units, stock, totalProfit);
+    }
+
+    /**
+     * Plano de uma solução vinda de fora dos motores (ex.: incumbente do branch-and-bound):
+     * debita as unidades uma vez para saber o estoque que sobra.
+     */
+    static ProductionPlan toPlan(RecipeMatrix matrix, long[] units) {
+        long[] stock = matrix.stockCopy();
+        for (int p = 0; p < matrix.products(); p++) {
+            matrix.debit(p, units[p], stock);
+        }
+        return toPlan(matrix, units, stock);
+    }
+
+    /**
+     * Fronteira da API: Nome do Produto -> Quantidade, na ordem de lucro, só com quantidades positivas.
+     */
+    static Map<String, Integer> toProductionMap(RecipeMatrix matrix, long[] units) {
+        Map<String, Integer> suggestedProduction = new LinkedHashMap<>();
+        for (int p = 0; p < matrix.products(); p++) {
+            if (units[p] > 0) {
+                suggestedProduction.merge(matrix.name(p), (int) units[p], Integer::sum);
+            }
+        }
         return suggestedProduction;
     }
 
-    // --- MÉTODO AUXILIAR PARA CALCULAR O LUCRO ---
-    private BigDecimal calculateProfit(Product product) {
-        BigDecimal totalCost = BigDecimal.ZERO;
-        
-        // Soma o custo de todos os ingredientes (Quantidade * Preço Unitário do Insumo)
-        for (ProductComposition comp : product.getCompositions()) {
-            BigDecimal qty = comp.getQuantityNeeded();
-            BigDecimal unitCost = comp.getRawMaterial().getUnitCost();
-            
-            BigDecimal costForThisMaterial = qty.multiply(unitCost);
-            totalCost = totalCost.add(costForThisMaterial);
+    /**
+     * Repassa ao listener de quem chamou as incumbentes de cada componente como uma solução do
+     * catálogo inteiro: a melhor de cada componente até agora.
+     */
+    private static final class ComponentIncumbents {
+
+        private final SolveListener target;
+        private final List<int[]> columns;
+        private final long[] x;
+        private final double[] objective;
+
+        ComponentIncumbents(int products, List<int[]> columns, SolveListener target) {
+            this.target = target;
+            this.columns = columns;
+            this.x = new long[products];
+            this.objective = new double[columns.size()];
+        }
+
+        SolveListener listener(int component) {
+            if (target == SolveListener.NONE) {
+                return SolveListener.NONE;
+            }
+            return new SolveListener() {
+                @Override
+                public boolean isCancelled() {
+                    return target.isCancelled();
+                }
+
+                @Override
+                public void onIncumbent(long[] local, double value) {
+                    publish(component, local, value);
+                }
+            };
+        }
+
+        private synchronized void publish(int component, long[] local, double value) {
+            int[] products = columns.get(component);
+            for (int k = 0; k < products.length; k++) {
+                x[products[k]] = local[k];
+            }
+            objective[component] = value;
+            double total = 0.0;
+            for (double part : objective) {
+                total += part;
+            }
+            target.onIncumbent(x.clone(), total);
+        }
+    }
+
+    /**
+     * Bases do modo lp guardadas para a versão {@code version} do catálogo.
+     */
+    private record LpWarmStarts(long version, Map<Long, LpWarmStart> byComponent) {
+
+        static final LpWarmStarts EMPTY = new LpWarmStarts(0, Map.of());
+
+        /**
+         * Junta as bases de uma resolução da versão informada: as dos componentes resolvidos
+         * substituem as guardadas e as outras continuam. Uma versão mais antiga que a guardada
+         * não muda nada; numa mais nova saem as bases de componentes cujo insumo chave não
+         * existe mais na matriz.
+         */
+        LpWarmStarts merge(long solvedVersion, Map<Long, LpWarmStart> solved, RecipeMatrix matrix) {
+            if (solvedVersion < version) {
+                return this;
+            }
+            Map<Long, LpWarmStart> merged = new HashMap<>();
+            if (solvedVersion == version) {
+                merged.putAll(byComponent);
+            } else if (!byComponent.isEmpty()) {
+                Set<Long> materialIds = new HashSet<>();
+                for (int m = 0; m < matrix.materials(); m++) {
+                    materialIds.add(matrix.materialId(m));
+                }
+                byComponent.forEach((key, start) -> {
+                    if (materialIds.contains(key)) {
+                        merged.put(key, start);
+                    }
+                });
+            }
+            merged.putAll(solved);
+            return new LpWarmStarts(solvedVersion, Map.copyOf(merged));
         }
-        
-        // Lucro = Valor de Venda - Custo Total
-        return product.getSaleValue().subtract(totalCost);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,177 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.MaterialConsumptionDTO;
+import com.example.industrialoptimizer.dto.ProductionOrderDTO;
+import com.example.industrialoptimizer.dto.TargetPlanDTO;
+import com.example.industrialoptimizer.model.ProductionOrder;
+import com.example.industrialoptimizer.model.ProductionOrderMaterial;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.repository.ProductionOrderRepository;
+import com.example.industrialoptimizer.repository.RawMaterialRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * ProductionOrderService: transforma um plano em baixa de estoque, tudo ou nada.
+ *
+ * - O consumo vem da fotografia do catálogo (receitas explodidas do {@link RequirementsIndex}),
+ *   o mesmo que /api/requirements informa para o plano.
+ * - O estoque vem do banco, numa transação: os insumos do plano são travados com
+ *   SELECT ... FOR UPDATE em ordem de id, conferidos e debitados. Se faltar qualquer insumo
+ *   nada é debitado (409). Ordens com insumos em comum esperam uma pela outra, sempre na mesma
+ *   ordem de travas (sem deadlock); ordens sem insumo em comum não esperam.
+ * - Cada débito incrementa a versão do insumo (@Version): o PUT de um insumo traz a versão que
+ *   o cliente leu, e uma edição feita sobre o estoque de antes da baixa volta 409 em vez de
+ *   sobrescrevê-la.
+ * - Depois do commit o estoque debitado é publicado na fotografia atual
+ *   ({@link CatalogSnapshotService#publishStock}), sem reler o catálogo: o /suggest passa a ver
+ *   o estoque novo assim que a ordem volta, e ordens sobre insumos diferentes não esperam uma
+ *   releitura compartilhada. A publicação acontece fora da transação, com a conexão da baixa
+ *   já devolvida ao pool.
+ */
+@Slf4j
+@Service
+public class ProductionOrderService {
+
+    private final RawMaterialRepository materialRepository;
+    private final ProductionOrderRepository orderRepository;
+    private final CatalogSnapshotService catalog;
+    private final TransactionTemplate transaction;
+
+    @Value("${optimizer.orders.max-lines:10000}")
+    private int maxLines = 10_000;
+
+    public ProductionOrderService(RawMaterialRepository materialRepository, ProductionOrderRepository orderRepository,
+            CatalogSnapshotService catalog, PlatformTransactionManager transactionManager) {
+        this.materialRepository = materialRepository;
+        this.orderRepository = orderRepository;
+        this.catalog = catalog;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @throws ResponseStatusException 400 para plano inválido (como em /api/requirements) ou sem
+     *                                 unidades; 409 se algum insumo não tem estoque suficiente
+     */
+    public ProductionOrderDTO create(TargetPlanDTO plan) {
+        String name = plan.getName() != null ? plan.getName() : "#1";
+        if (plan.getQuantities().size() > maxLines) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Ordem com " + plan.getQuantities().size() + " linhas (máximo " + maxLines + ")");
+        }
+        CatalogSnapshot snapshot = catalog.current();
+        RequirementsIndex index = snapshot.getRequirementsIndex();
+        long[] required = new long[index.materials()];
+        RequirementsService.accumulate(snapshot, index, plan.getQuantities(), name, required);
+
+        Map<Long, Long> quantities = new TreeMap<>();
+        plan.getQuantities().forEach((productId, units) -> {
+            if (units > 0) {
+                quantities.put(productId, units);
+            }
+        });
+        if (quantities.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ordem " + name + ": nenhuma unidade a produzir");
+        }
+        Map<Long, BigDecimal> consumption = new TreeMap<>();
+        for (int m = 0; m < required.length; m++) {
+            if (required[m] > 0) {
+                consumption.put(index.materialId(m), BigDecimal.valueOf(required[m], RecipeMatrix.SCALE));
+            }
+        }
+
+        ProductionOrder order = new ProductionOrder();
+        order.setName(plan.getName());
+        order.setCatalogVersion(snapshot.getVersion());
+        order.setQuantities(quantities);
+        Debit debit = transaction.execute(status -> debit(name, order, consumption));
+        ProductionOrder saved = debit.order();
+        log.info("Production order {} ({}): {} products, {} materials debited", saved.getId(), name,
+                quantities.size(), consumption.size());
+        catalog.publishStock("ProductionOrder", saved.getId(), "CREATE", debit.materials());
+        return toDTO(saved, snapshot);
+    }
+
+    // Trava, confere e debita os insumos (em ordem de id) e grava a ordem, na transação atual
+    private Debit debit(String name, ProductionOrder order, Map<Long, BigDecimal> consumption) {
+        List<RawMaterial> locked = consumption.isEmpty() ? List.of()
+                : materialRepository.findAllByIdForUpdate(consumption.keySet());
+        if (locked.size() < consumption.size()) {
+            List<Long> missing = new ArrayList<>(consumption.keySet());
+            locked.forEach(material -> missing.remove(material.getId()));
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Ordem " + name + ": insumos excluídos do catálogo " + missing);
+        }
+        List<String> shortfalls = new ArrayList<>();
+        for (RawMaterial material : locked) {
+            BigDecimal missing = consumption.get(material.getId()).subtract(material.getStockQuantity());
+            if (missing.signum() > 0) {
+                shortfalls.add(material.getCode() + " (faltam " + missing.toPlainString() + ")");
+            }
+        }
+        if (!shortfalls.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Ordem " + name + ": estoque insuficiente de " + String.join(", ", shortfalls));
+        }
+        for (RawMaterial material : locked) {
+            BigDecimal consumed = consumption.get(material.getId());
+            // Entidade gerenciada: o UPDATE (com a versão) sai no flush do commit
+            material.setStockQuantity(material.getStockQuantity().subtract(consumed));
+            order.getMaterials().add(new ProductionOrderMaterial(material.getId(), consumed,
+                    material.getStockQuantity()));
+        }
+        ProductionOrder saved = orderRepository.save(order);
+        // O flush do commit incrementa a versão de cada entidade, que a fotografia compara depois
+        return new Debit(saved, locked);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductionOrderDTO getById(Long id) {
+        return orderRepository.findById(id)
+                .map(order -> toDTO(order, catalog.current()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Production order not found: " + id));
+    }
+
+    // Código, nome e unidade vêm da fotografia (vazios se o insumo foi excluído depois da ordem)
+    private static ProductionOrderDTO toDTO(ProductionOrder order, CatalogSnapshot snapshot) {
+        List<MaterialConsumptionDTO> materials = new ArrayList<>(order.getMaterials().size());
+        for (ProductionOrderMaterial line : order.getMaterials()) {
+            Optional<RawMaterial> material = snapshot.findRawMaterial(line.getRawMaterialId());
+            materials.add(MaterialConsumptionDTO.builder()
+                    .id(line.getRawMaterialId())
+                    .code(material.map(RawMaterial::getCode).orElse(null))
+                    .name(material.map(RawMaterial::getName).orElse(null))
+                    .unitMeasure(material.map(RawMaterial::getUnitMeasure).orElse(null))
+                    .stockQuantity(line.getRemainingStock().add(line.getQuantity()))
+                    .consumed(line.getQuantity())
+                    .remaining(line.getRemainingStock())
+                    .build());
+        }
+        return ProductionOrderDTO.builder()
+                .id(order.getId())
+                .name(order.getName())
+                .catalogVersion(order.getCatalogVersion())
+                .createdAt(order.getCreatedAt())
+                .quantities(new TreeMap<>(order.getQuantities()))
+                .materials(materials)
+                .build();
+    }
+
+    private record Debit(ProductionOrder order, List<RawMaterial> materials) {
+    }
+}
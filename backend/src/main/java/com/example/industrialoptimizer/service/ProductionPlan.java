@@ -0,0 +1,92 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Plano calculado por um motor sobre uma {@link RecipeMatrix}.
+ *
+ * - Unidades de cada produto e estoque que sobra de cada insumo, pelos índices da matriz (o
+ *   estoque restante é o da própria passada de débito do motor; nada é recalculado)
+ * - Lucro total, somado produto a produto com o lucro unitário da matriz usada no cálculo
+ *   (o que importa nos cenários what-if, em que custos e preços mudam)
+ * - A produção sugerida no formato antigo (Nome do Produto -> Quantidade)
+ *
+ * Quando o motor conhece um limite superior para o lucro inteiro (o valor da relaxação linear
+ * no modo lp), ele vem em {@link #getBound()}; NaN quando não há.
+ *
+ * Os arrays não são copiados: quem cria o plano não deve mais alterá-los.
+ */
+public class ProductionPlan {
+
+    private final RecipeMatrix matrix;
+    private final long[] units;
+    private final long[] remainingStock;
+    private final Map<String, Integer> production;
+    private final double totalProfit;
+    private final double bound;
+
+    public ProductionPlan(RecipeMatrix matrix, long[] units, long[] remainingStock, double totalProfit) {
+        this(matrix, units, remainingStock, totalProfit, Double.NaN);
+    }
+
+    public ProductionPlan(RecipeMatrix matrix, long[] units, long[] remainingStock, double totalProfit,
+            double bound) {
+        this.matrix = matrix;
+        this.units = units;
+        this.remainingStock = remainingStock;
+        this.production = Collections.unmodifiableMap(ProductionOptimizerService.toProductionMap(matrix, units));
+        this.totalProfit = totalProfit;
+        this.bound = bound;
+    }
+
+    /**
+     * O mesmo plano com um limite superior conhecido.
+     */
+    public ProductionPlan withBound(double bound) {
+        return new ProductionPlan(matrix, units, remainingStock, totalProfit, bound);
+    }
+
+    public RecipeMatrix getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * Unidades do produto (índice da matriz).
+     */
+    public long getUnits(int product) {
+        return units[product];
+    }
+
+    /**
+     * Soma das unidades de todos os produtos.
+     */
+    public long getTotalUnits() {
+        long total = 0;
+        for (long productUnits : units) {
+            total += productUnits;
+        }
+        return total;
+    }
+
+    /**
+     * Estoque que sobra do insumo (índice da matriz), escalado por {@link RecipeMatrix#UNIT}.
+     */
+    public long getRemainingStock(int material) {
+        return remainingStock[material];
+    }
+
+    public Map<String, Integer> getProduction() {
+        return production;
+    }
+
+    public double getTotalProfit() {
+        return totalProfit;
+    }
+
+    public double getBound() {
+        return bound;
+    }
+}
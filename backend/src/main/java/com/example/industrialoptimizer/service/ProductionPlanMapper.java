@@ -0,0 +1,95 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.MaterialConsumptionDTO;
+import com.example.industrialoptimizer.dto.PlannedProductDTO;
+import com.example.industrialoptimizer.dto.ProductionResultDTO;
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.optimizer.MipSolution;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ProductionPlanMapper: {@link ProductionPlan} -> DTOs da API, com código e nome vindos da
+ * fotografia do catálogo.
+ *
+ * Nada é otimizado de novo: as quantidades e o estoque restante são os do plano (a passada de
+ * débito do motor); o consumo é estoque - restante, um insumo por vez.
+ */
+public final class ProductionPlanMapper {
+
+    private ProductionPlanMapper() {
+    }
+
+    public static ProductionResultDTO toDTO(CatalogSnapshot snapshot, OptimizationResult result) {
+        ProductionPlan plan = result.getPlan();
+        MipSolution solution = result.getIntegerSolution();
+        return ProductionResultDTO.builder()
+                .catalogVersion(snapshot.getVersion())
+                .strategy(result.getStrategy())
+                .totalProfit(money(plan.getTotalProfit()))
+                .optimalityGap(solution != null ? solution.getGap() : null)
+                .bestBound(solution != null ? solution.getBestBound() : null)
+                .products(toProducts(snapshot, plan))
+                .materials(toMaterials(snapshot, plan))
+                .build();
+    }
+
+    /**
+     * Produtos com quantidade positiva, na ordem da matriz (lucro unitário decrescente).
+     */
+    public static List<PlannedProductDTO> toProducts(CatalogSnapshot snapshot, ProductionPlan plan) {
+        RecipeMatrix matrix = plan.getMatrix();
+        List<PlannedProductDTO> products = new ArrayList<>();
+        for (int p = 0; p < matrix.products(); p++) {
+            long units = plan.getUnits(p);
+            if (units <= 0) {
+                continue;
+            }
+            Product product = snapshot.findProduct(matrix.productId(p)).orElseThrow();
+            products.add(PlannedProductDTO.builder()
+                    .id(product.getId())
+                    .code(product.getCode())
+                    .name(product.getName())
+                    .quantity(units)
+                    .unitProfit(money(matrix.profit(p)))
+                    .totalProfit(money(units * matrix.profit(p)))
+                    .build());
+        }
+        return products;
+    }
+
+    /**
+     * Todos os insumos da matriz, com o estoque do cálculo (o do cenário, nos what-if).
+     */
+    public static List<MaterialConsumptionDTO> toMaterials(CatalogSnapshot snapshot, ProductionPlan plan) {
+        RecipeMatrix matrix = plan.getMatrix();
+        List<MaterialConsumptionDTO> materials = new ArrayList<>(matrix.materials());
+        for (int m = 0; m < matrix.materials(); m++) {
+            RawMaterial material = snapshot.findRawMaterial(matrix.materialId(m)).orElseThrow();
+            long remaining = plan.getRemainingStock(m);
+            materials.add(MaterialConsumptionDTO.builder()
+                    .id(material.getId())
+                    .code(material.getCode())
+                    .name(material.getName())
+                    .unitMeasure(material.getUnitMeasure())
+                    .stockQuantity(quantity(matrix.stock(m)))
+                    .consumed(quantity(matrix.stock(m) - remaining))
+                    .remaining(quantity(remaining))
+                    .build());
+        }
+        return materials;
+    }
+
+    private static BigDecimal quantity(long fixed) {
+        return BigDecimal.valueOf(fixed, RecipeMatrix.SCALE);
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -7,6 +7,7 @@ import com.example.industrialoptimizer.repository.ProductCompositionRepository;
 import com.example.industrialoptimizer.repository.RawMaterialRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
@@ -19,15 +20,19 @@ public class RawMaterialService {
 
     private final RawMaterialRepository repository;
     private final ProductCompositionRepository productCompositionRepository;
+    private final CatalogSnapshotService catalog;
 
     public RawMaterialService(RawMaterialRepository repository,
-            ProductCompositionRepository productCompositionRepository) {
+            ProductCompositionRepository productCompositionRepository,
+            CatalogSnapshotService catalog) {
         this.repository = repository;
         this.productCompositionRepository = productCompositionRepository;
+        this.catalog = catalog;
     }
 
+    // Leitura servida pela fotografia do catálogo (sem consulta ao banco)
     public List<RawMaterial> getAll() {
-        return repository.findAll();
+        return catalog.current().getRawMaterials();
     }
 
     public List<RawMaterial> getAllRawMaterials() {
@@ -40,7 +45,10 @@ public class RawMaterialService {
     }
 
     public RawMaterial save(RawMaterial material) {
-        return repository.save(material);
+        String operation = material.getId() == null ? "CREATE" : "UPDATE";
+        RawMaterial saved = repository.save(material);
+        catalog.refreshAfterCommit("RawMaterial", saved.getId(), operation);
+        return saved;
     }
 
     public RawMaterial createRawMaterial(RawMaterialDTO rawMaterialDTO) {
@@ -56,23 +64,35 @@ public class RawMaterialService {
 
     public RawMaterial update(Long id, RawMaterial material) {
         RawMaterial existing = getById(id);
+        checkVersion(existing, material.getVersion());
         existing.setCode(material.getCode());
         existing.setName(material.getName());
         existing.setStockQuantity(material.getStockQuantity());
         existing.setUnitMeasure(material.getUnitMeasure());
         existing.setUnitCost(material.getUnitCost());
-        return repository.save(existing);
+        return save(existing);
     }
 
     public RawMaterial updateRawMaterial(Long id, RawMaterialDTO rawMaterialDTO) {
         log.info("Updating raw material: {}", id);
         RawMaterial existing = getById(id);
+        checkVersion(existing, rawMaterialDTO.getVersion());
         existing.setCode(rawMaterialDTO.getCode());
         existing.setName(rawMaterialDTO.getName());
         existing.setStockQuantity(rawMaterialDTO.getStockQuantity());
         existing.setUnitMeasure(rawMaterialDTO.getUnitMeasure());
         existing.setUnitCost(rawMaterialDTO.getUnitCost());
-        return repository.save(existing);
+        return save(existing);
+    }
+
+    // Se o PUT traz a versão que o cliente leu e uma ordem de produção (ou outra edição) mudou o
+    // insumo desde então, o estoque enviado está velho e sobrescreveria a baixa -> 409. Uma
+    // mudança entre esta checagem e o save é pega pelo @Version no merge. Sem versão (clientes
+    // anteriores ao campo), a última escrita vence, como antes
+    private static void checkVersion(RawMaterial existing, Long expected) {
+        if (expected != null && !expected.equals(existing.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(RawMaterial.class, existing.getId());
+        }
     }
 
     public void delete(Long id) {
@@ -80,6 +100,7 @@ public class RawMaterialService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Raw material not found: " + id);
         }
         repository.deleteById(id);
+        catalog.refreshAfterCommit("RawMaterial", id, "DELETE");
     }
 
     @Transactional
@@ -106,6 +127,7 @@ public class RawMaterialService {
 
         log.info("Raw material {} has no references. Proceeding with deletion.", rawMaterial.getCode());
         repository.deleteById(rawMaterialId);
+        catalog.refreshAfterCommit("RawMaterial", rawMaterialId, "DELETE");
         log.info("Raw material {} deleted successfully.", rawMaterial.getCode());
     }
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RequirementsIndex: receitas explodidas de todos os produtos que podem ser produzidos
+ * (inclusive submontagens não vendáveis), em CSR e ponto fixo, indexadas pelo id do produto.
+ * É o caminho inverso da {@link RecipeMatrix}: dada a quantidade de cada produto, quanto de
+ * cada insumo é preciso.
+ *
+ * O consumo por unidade é arredondado para cima em {@link RecipeMatrix#SCALE} casas, como na
+ * matriz do otimizador: o necessário calculado aqui é o mesmo que os motores debitariam.
+ * Cada linha também guarda o valor de venda e o custo dos insumos da estrutura explodida
+ * (avaliação de planos). Montado uma vez por versão do catálogo
+ * ({@link CatalogSnapshot#getRequirementsIndex()}).
+ */
+public final class RequirementsIndex {
+
+    private final Map<Long, Integer> rowOf;
+    private final long[] materialIds;
+    private final long[] stock;
+    private final int[] recipeStart;
+    private final int[] materialIndex;
+    private final long[] quantity;
+    private final BigDecimal[] saleValue;
+    private final BigDecimal[] unitCost;
+
+    private RequirementsIndex(Map<Long, Integer> rowOf, long[] materialIds, long[] stock, int[] recipeStart,
+            int[] materialIndex, long[] quantity, BigDecimal[] saleValue, BigDecimal[] unitCost) {
+        this.rowOf = rowOf;
+        this.materialIds = materialIds;
+        this.stock = stock;
+        this.recipeStart = recipeStart;
+        this.materialIndex = materialIndex;
+        this.quantity = quantity;
+        this.saleValue = saleValue;
+        this.unitCost = unitCost;
+    }
+
+    static RequirementsIndex of(List<Product> products, List<RawMaterial> materials, BillOfMaterials bom) {
+        Map<Long, Integer> indexOf = new HashMap<>();
+        long[] materialIds = new long[materials.size()];
+        long[] stock = new long[materials.size()];
+        for (RawMaterial material : materials) {
+            int index = indexOf.size();
+            indexOf.put(material.getId(), index);
+            materialIds[index] = material.getId();
+            stock[index] = CatalogCompiler.toFixed(material.getStockQuantity(), RoundingMode.FLOOR);
+        }
+
+        Map<Long, Integer> rowOf = new HashMap<>();
+        int[] recipeStart = new int[products.size() + 1];
+        int[] materialIndex = new int[16];
+        long[] quantity = new long[16];
+        BigDecimal[] saleValue = new BigDecimal[products.size()];
+        BigDecimal[] unitCost = new BigDecimal[products.size()];
+        int nnz = 0;
+        for (Product product : products) {
+            Map<Long, BigDecimal> recipe = bom.getRequirements(product.getId()).orElse(null);
+            if (recipe == null) {
+                continue;
+            }
+            if (nnz + recipe.size() > materialIndex.length) {
+                int capacity = Math.max(materialIndex.length * 2, nnz + recipe.size());
+                materialIndex = Arrays.copyOf(materialIndex, capacity);
+                quantity = Arrays.copyOf(quantity, capacity);
+            }
+            for (Map.Entry<Long, BigDecimal> line : recipe.entrySet()) {
+                materialIndex[nnz] = indexOf.get(line.getKey());
+                quantity[nnz] = CatalogCompiler.toFixed(line.getValue(), RoundingMode.CEILING);
+                nnz++;
+            }
+            int row = rowOf.size();
+            rowOf.put(product.getId(), row);
+            recipeStart[row + 1] = nnz;
+            saleValue[row] = product.getSaleValue();
+            unitCost[row] = bom.getUnitCost(product.getId()).orElseThrow();
+        }
+        int rows = rowOf.size();
+        return new RequirementsIndex(rowOf, materialIds, stock, Arrays.copyOf(recipeStart, rows + 1),
+                Arrays.copyOf(materialIndex, nnz), Arrays.copyOf(quantity, nnz), Arrays.copyOf(saleValue, rows),
+                Arrays.copyOf(unitCost, rows));
+    }
+
+    /**
+     * Mesmo índice com outro estoque (mesma ordem de insumos, escalado por
+     * {@link RecipeMatrix#UNIT}); as receitas são compartilhadas.
+     */
+    RequirementsIndex withStock(long[] newStock) {
+        if (newStock.length != stock.length) {
+            throw new IllegalArgumentException("Estoque com " + newStock.length + " insumos, esperado " + stock.length);
+        }
+        return new RequirementsIndex(rowOf, materialIds, newStock.clone(), recipeStart, materialIndex, quantity,
+                saleValue, unitCost);
+    }
+
+    /**
+     * Linha do produto, ou -1 se ele não existe ou não pode ser produzido.
+     */
+    public int row(Long productId) {
+        Integer row = rowOf.get(productId);
+        return row != null ? row : -1;
+    }
+
+    public int materials() {
+        return stock.length;
+    }
+
+    public long materialId(int material) {
+        return materialIds[material];
+    }
+
+    /**
+     * Estoque do insumo, escalado por {@link RecipeMatrix#UNIT} (arredondado para baixo).
+     */
+    public long stock(int material) {
+        return stock[material];
+    }
+
+    public BigDecimal saleValue(int row) {
+        return saleValue[row];
+    }
+
+    /**
+     * Custo dos insumos de uma unidade (Σ quantidade · custo unitário, submontagens incluídas).
+     */
+    public BigDecimal unitCost(int row) {
+        return unitCost[row];
+    }
+
+    /**
+     * Soma em {@code required} (por índice de insumo, escalado) o consumo de {@code units}
+     * unidades do produto da linha informada.
+     *
+     * @throws ArithmeticException se o total não couber em um long
+     */
+    public void accumulate(int row, long units, long[] required) {
+        for (int k = recipeStart[row]; k < recipeStart[row + 1]; k++) {
+            required[materialIndex[k]] = Math.addExact(required[materialIndex[k]],
+                    Math.multiplyExact(quantity[k], units));
+        }
+    }
+
+    /**
+     * Como {@link #accumulate(int, long, long[])}, anotando em {@code touched} os insumos que
+     * saíram de zero: quem avalia muitos planos percorre e zera só esses, em vez do vetor inteiro.
+     *
+     * @return a nova quantidade de entradas em {@code touched}
+     */
+    public int accumulate(int row, long units, long[] required, int[] touched, int touchedCount) {
+        if (units == 0) {
+            return touchedCount;
+        }
+        for (int k = recipeStart[row]; k < recipeStart[row + 1]; k++) {
+            int m = materialIndex[k];
+            if (required[m] == 0) {
+                touched[touchedCount++] = m;
+            }
+            required[m] = Math.addExact(required[m], Math.multiplyExact(quantity[k], units));
+        }
+        return touchedCount;
+    }
+}
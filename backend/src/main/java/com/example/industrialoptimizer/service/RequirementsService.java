@@ -0,0 +1,120 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.MaterialRequirementDTO;
+import com.example.industrialoptimizer.dto.PlanRequirementsDTO;
+import com.example.industrialoptimizer.dto.TargetPlanDTO;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RequirementsService: o inverso do /suggest (MRP). Dadas as unidades-alvo de cada produto,
+ * quanto de cada insumo é preciso e quanto falta no estoque.
+ *
+ * - Todos os planos de um lote usam a mesma fotografia do catálogo.
+ * - Cada plano é uma passada pelo {@link RequirementsIndex} da fotografia: para cada linha, a
+ *   receita já explodida (submontagens incluídas) é somada em um vetor de ponto fixo; nenhuma
+ *   receita é relida nem explodida de novo.
+ */
+@Service
+public class RequirementsService {
+
+    @Value("${optimizer.requirements.max-lines:100000}")
+    private int maxLines = 100_000;
+
+    /**
+     * @throws ResponseStatusException 400 para lote grande demais, produto desconhecido (ou que
+     *                                 não pode ser produzido) ou quantidade negativa
+     */
+    public List<PlanRequirementsDTO> calculate(CatalogSnapshot snapshot, List<TargetPlanDTO> plans) {
+        long lines = plans.stream().mapToLong(plan -> plan.getQuantities().size()).sum();
+        if (lines > maxLines) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Lote com " + lines + " linhas (máximo " + maxLines + ")");
+        }
+        RequirementsIndex index = snapshot.getRequirementsIndex();
+        List<PlanRequirementsDTO> results = new ArrayList<>(plans.size());
+        long[] required = new long[index.materials()];
+        for (int i = 0; i < plans.size(); i++) {
+            TargetPlanDTO plan = plans.get(i);
+            String name = plan.getName() != null ? plan.getName() : "#" + (i + 1);
+            Arrays.fill(required, 0);
+            accumulate(snapshot, index, plan.getQuantities(), name, required);
+            results.add(toDTO(snapshot, index, name, required));
+        }
+        return results;
+    }
+
+    // Também usado pela ProductionOrderService: a ordem debita exatamente o que o plano pede aqui
+    static void accumulate(CatalogSnapshot snapshot, RequirementsIndex index, Map<Long, Long> quantities,
+            String name, long[] required) {
+        for (Map.Entry<Long, Long> line : quantities.entrySet()) {
+            Long units = line.getValue();
+            if (units == null || units < 0) {
+                throw invalid(name, "quantidade inválida para o produto " + line.getKey());
+            }
+            int row = index.row(line.getKey());
+            if (row < 0) {
+                throw invalid(name, snapshot.findProduct(line.getKey()).isPresent()
+                        ? "o produto " + line.getKey() + " não pode ser produzido (estrutura com ciclo ou item inexistente)"
+                        : "produto desconhecido: " + line.getKey());
+            }
+            try {
+                index.accumulate(row, units, required);
+            } catch (ArithmeticException e) {
+                throw invalid(name, "quantidades grandes demais");
+            }
+        }
+    }
+
+    private static PlanRequirementsDTO toDTO(CatalogSnapshot snapshot, RequirementsIndex index, String name,
+            long[] required) {
+        List<MaterialRequirementDTO> materials = new ArrayList<>();
+        BigDecimal totalCost = BigDecimal.ZERO;
+        boolean feasible = true;
+        for (int m = 0; m < required.length; m++) {
+            if (required[m] == 0) {
+                continue;
+            }
+            RawMaterial material = snapshot.findRawMaterial(index.materialId(m)).orElseThrow();
+            BigDecimal quantity = BigDecimal.valueOf(required[m], RecipeMatrix.SCALE);
+            BigDecimal cost = quantity.multiply(material.getUnitCost()).setScale(2, RoundingMode.HALF_UP);
+            // Falta contra o estoque na mesma escala (arredondado para baixo, como no otimizador)
+            long missing = required[m] - index.stock(m);
+            feasible &= missing <= 0;
+            totalCost = totalCost.add(cost);
+            materials.add(MaterialRequirementDTO.builder()
+                    .id(material.getId())
+                    .code(material.getCode())
+                    .name(material.getName())
+                    .unitMeasure(material.getUnitMeasure())
+                    .stockQuantity(material.getStockQuantity())
+                    .required(quantity)
+                    .shortfall(BigDecimal.valueOf(Math.max(0, missing), RecipeMatrix.SCALE))
+                    .cost(cost)
+                    .build());
+        }
+        materials.sort(Comparator.comparing(MaterialRequirementDTO::getId));
+        return PlanRequirementsDTO.builder()
+                .name(name)
+                .feasible(feasible)
+                .totalCost(totalCost)
+                .materials(materials)
+                .build();
+    }
+
+    private static ResponseStatusException invalid(String plan, String reason) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Plano " + plan + ": " + reason);
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.ScenarioDTO;
+import com.example.industrialoptimizer.dto.ScenarioResultDTO;
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.optimizer.MipSolution;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.service.strategy.OptimizationStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ScenarioService: avalia cenários what-if ("+200 tábuas", "aço 20% mais caro") sem gravar
+ * nada no banco.
+ *
+ * - Todos os cenários de um lote usam a mesma fotografia imutável do catálogo.
+ * - Cada cenário é uma {@link RecipeMatrix#withOverlay sobreposição} da matriz: as receitas
+ *   são compartilhadas e só o estoque e os lucros alterados são novos.
+ * - Os cenários são independentes e rodam em paralelo no pool do otimizador
+ *   ({@link ProductionOptimizerService#inOptimizerPool}), o mesmo dos componentes e do
+ *   branch-and-bound de cada motor: um lote usa um thread por núcleo no total, sem um pool
+ *   esperando pelo outro. O resultado mantém a ordem do pedido.
+ */
+@Service
+public class ScenarioService {
+
+    private final ProductionOptimizerService optimizer;
+
+    @Value("${optimizer.scenarios.max-batch:5000}")
+    private int maxBatch = 5_000;
+
+    public ScenarioService(ProductionOptimizerService optimizer) {
+        this.optimizer = optimizer;
+    }
+
+    /**
+     * @param timeBudgetMs orçamento de tempo de cada cenário
+     * @throws ResponseStatusException 400 para lote grande demais, id desconhecido ou valor negativo
+     */
+    public List<ScenarioResultDTO> evaluate(CatalogSnapshot snapshot, OptimizationStrategy engine,
+            long timeBudgetMs, List<ScenarioDTO> scenarios) {
+        if (scenarios.size() > maxBatch) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Lote com " + scenarios.size() + " cenários (máximo " + maxBatch + ")");
+        }
+        Base base = new Base(snapshot);
+        return optimizer.inOptimizerPool(scenarios.size(),
+                i -> evaluate(base, engine, timeBudgetMs, scenarios.get(i), i));
+    }
+
+    private ScenarioResultDTO evaluate(Base base, OptimizationStrategy engine, long timeBudgetMs,
+            ScenarioDTO scenario, int position) {
+        String name = scenario.getName() != null ? scenario.getName() : "#" + (position + 1);
+        RecipeMatrix matrix = base.matrix.withOverlay(stock(base, scenario, name), profit(base, scenario, name));
+        OptimizationResult result = engine.optimize(matrix, timeBudgetMs);
+
+        MipSolution solution = result.getIntegerSolution();
+        return ScenarioResultDTO.builder()
+                .name(name)
+                .production(result.getProduction())
+                .totalProfit(BigDecimal.valueOf(result.getTotalProfit()).setScale(2, RoundingMode.HALF_UP))
+                .optimalityGap(solution != null ? solution.getGap() : null)
+                .build();
+    }
+
+    // Estoque do cenário, ou null quando ele não mexe em estoque
+    private long[] stock(Base base, ScenarioDTO scenario, String name) {
+        if (isEmpty(scenario.getStock()) && isEmpty(scenario.getStockDelta())) {
+            return null;
+        }
+        long[] stock = base.matrix.stockCopy();
+        if (scenario.getStock() != null) {
+            scenario.getStock().forEach((id, value) ->
+                    stock[base.material(id, name)] = CatalogCompiler.toFixed(nonNegative(value, name), RoundingMode.FLOOR));
+        }
+        if (scenario.getStockDelta() != null) {
+            scenario.getStockDelta().forEach((id, delta) -> {
+                if (delta == null) {
+                    throw invalid(name, "valores não podem ser vazios");
+                }
+                int m = base.material(id, name);
+                stock[m] = Math.max(0, stock[m] + CatalogCompiler.toFixed(delta, RoundingMode.FLOOR));
+            });
+        }
+        return stock;
+    }
+
+    // Lucro unitário de cada produto com os custos e preços do cenário, ou null quando ele não os altera
+    private double[] profit(Base base, ScenarioDTO scenario, String name) {
+        if (isEmpty(scenario.getUnitCost()) && isEmpty(scenario.getUnitCostFactor())
+                && isEmpty(scenario.getSalePrice())) {
+            return null;
+        }
+        RecipeMatrix matrix = base.matrix;
+        double[] profit = new double[matrix.products()];
+        for (int p = 0; p < profit.length; p++) {
+            profit[p] = matrix.profit(p);
+        }
+
+        if (!isEmpty(scenario.getUnitCost()) || !isEmpty(scenario.getUnitCostFactor())) {
+            BigDecimal[] cost = base.unitCost.clone();
+            if (scenario.getUnitCost() != null) {
+                scenario.getUnitCost().forEach((id, value) -> cost[base.material(id, name)] = nonNegative(value, name));
+            }
+            if (scenario.getUnitCostFactor() != null) {
+                scenario.getUnitCostFactor().forEach((id, factor) -> {
+                    int m = base.material(id, name);
+                    cost[m] = cost[m].multiply(nonNegative(factor, name));
+                });
+            }
+            double[] costDelta = new double[cost.length];
+            for (int m = 0; m < cost.length; m++) {
+                costDelta[m] = cost[m].subtract(base.unitCost[m]).doubleValue();
+            }
+            // Lucro = venda - Σ consumo · custo: só muda pela diferença de custo dos insumos da receita
+            for (int p = 0; p < profit.length; p++) {
+                for (int k = matrix.recipeStart(p); k < matrix.recipeEnd(p); k++) {
+                    double delta = costDelta[matrix.materialIndex(k)];
+                    if (delta != 0.0) {
+                        profit[p] -= (double) matrix.quantity(k) / RecipeMatrix.UNIT * delta;
+                    }
+                }
+            }
+        }
+
+        if (scenario.getSalePrice() != null) {
+            scenario.getSalePrice().forEach((id, price) -> {
+                Integer p = base.productIndex.get(id);
+                if (p == null) {
+                    throw invalid(name, "produto desconhecido ou sem receita válida: " + id);
+                }
+                profit[p] += nonNegative(price, name).subtract(base.salePrice[p]).doubleValue();
+            });
+        }
+        return profit;
+    }
+
+    private static boolean isEmpty(Map<?, ?> overrides) {
+        return overrides == null || overrides.isEmpty();
+    }
+
+    private static BigDecimal nonNegative(BigDecimal value, String scenario) {
+        if (value == null || value.signum() < 0) {
+            throw invalid(scenario, "valores não podem ser negativos nem vazios");
+        }
+        return value;
+    }
+
+    private static ResponseStatusException invalid(String scenario, String reason) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cenário " + scenario + ": " + reason);
+    }
+
+    /**
+     * Dados do catálogo compartilhados por todos os cenários de um lote (somente leitura).
+     */
+    private static final class Base {
+
+        private final RecipeMatrix matrix;
+        private final Map<Long, Integer> materialIndex = new HashMap<>();
+        private final Map<Long, Integer> productIndex = new HashMap<>();
+        private final BigDecimal[] unitCost;
+        private final BigDecimal[] salePrice;
+
+        Base(CatalogSnapshot snapshot) {
+            this.matrix = snapshot.getMatrix();
+            this.unitCost = new BigDecimal[matrix.materials()];
+            for (int m = 0; m < matrix.materials(); m++) {
+                materialIndex.put(matrix.materialId(m), m);
+                unitCost[m] = snapshot.findRawMaterial(matrix.materialId(m))
+                        .map(RawMaterial::getUnitCost)
+                        .orElse(BigDecimal.ZERO);
+            }
+            this.salePrice = new BigDecimal[matrix.products()];
+            for (int p = 0; p < matrix.products(); p++) {
+                productIndex.put(matrix.productId(p), p);
+                salePrice[p] = snapshot.findProduct(matrix.productId(p))
+                        .map(Product::getSaleValue)
+                        .orElse(BigDecimal.ZERO);
+            }
+        }
+
+        int material(Long id, String scenario) {
+            Integer m = materialIndex.get(id);
+            if (m == null) {
+                throw invalid(scenario, "insumo desconhecido: " + id);
+            }
+            return m;
+        }
+    }
+}
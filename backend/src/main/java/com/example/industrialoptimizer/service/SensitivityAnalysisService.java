@@ -0,0 +1,140 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.MaterialSensitivityDTO;
+import com.example.industrialoptimizer.dto.ProductSensitivityDTO;
+import com.example.industrialoptimizer.dto.SensitivityReportDTO;
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.optimizer.LpSensitivity;
+import com.example.industrialoptimizer.optimizer.LpSolution;
+import com.example.industrialoptimizer.optimizer.PackingLp;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.optimizer.RevisedSimplexSolver;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * SensitivityAnalysisService: preços-sombra e faixas de sensibilidade do plano contínuo.
+ *
+ * - Uma única resolução do simplex ({@link RevisedSimplexSolver#analyze}); as faixas saem da
+ *   base ótima final, sem re-resolver por insumo ou produto.
+ * - O relatório fica guardado até a próxima versão do catálogo: o dashboard pode consultá-lo
+ *   a cada atualização sem refazer a conta.
+ * - O cálculo ocupa uma vaga do backlog do otimizador ({@link OptimizationResultCache#runUncached}).
+ */
+@Service
+public class SensitivityAnalysisService {
+
+    private static final double BINDING_TOL = 1e-6;
+
+    private final RevisedSimplexSolver simplexSolver = new RevisedSimplexSolver();
+    private final AtomicReference<SensitivityReportDTO> latest = new AtomicReference<>();
+    private final OptimizationResultCache backlog;
+
+    public SensitivityAnalysisService(OptimizationResultCache backlog) {
+        this.backlog = backlog;
+    }
+
+    public SensitivityReportDTO analyze(CatalogSnapshot snapshot) {
+        SensitivityReportDTO cached = latest.get();
+        if (cached != null && cached.getCatalogVersion() == snapshot.getVersion()) {
+            return cached;
+        }
+        SensitivityReportDTO report = backlog.runUncached(() -> report(snapshot));
+        // Só substitui por uma versão mais nova (requisições atrasadas não voltam no tempo)
+        latest.accumulateAndGet(report, (current, next) ->
+                current == null || next.getCatalogVersion() > current.getCatalogVersion() ? next : current);
+        return report;
+    }
+
+    SensitivityReportDTO report(CatalogSnapshot snapshot) {
+        RecipeMatrix matrix = snapshot.getMatrix();
+        PackingLp lp = matrix.toContinuousPackingLp();
+        LpSensitivity sensitivity = simplexSolver.analyze(lp);
+        LpSolution solution = sensitivity.getSolution();
+
+        double[] consumed = new double[matrix.materials()];
+        for (int p = 0; p < matrix.products(); p++) {
+            for (int k = matrix.recipeStart(p); k < matrix.recipeEnd(p); k++) {
+                consumed[matrix.materialIndex(k)] += (double) matrix.quantity(k) / RecipeMatrix.UNIT * solution.getX(p);
+            }
+        }
+
+        List<MaterialSensitivityDTO> materials = new ArrayList<>(matrix.materials());
+        for (int m = 0; m < matrix.materials(); m++) {
+            RawMaterial material = snapshot.findRawMaterial(matrix.materialId(m)).orElseThrow();
+            BigDecimal stock = material.getStockQuantity();
+            BigDecimal cost = material.getUnitCost();
+            double slack = Math.max(0.0, lp.rhs(m) - consumed[m]);
+            materials.add(MaterialSensitivityDTO.builder()
+                    .id(material.getId())
+                    .code(material.getCode())
+                    .name(material.getName())
+                    .stockQuantity(stock)
+                    .consumed(decimal(consumed[m], RecipeMatrix.SCALE, RoundingMode.HALF_UP))
+                    .slack(decimal(slack, RecipeMatrix.SCALE, RoundingMode.HALF_UP))
+                    .binding(slack <= BINDING_TOL * Math.max(1.0, lp.rhs(m)))
+                    .shadowPrice(decimal(solution.getDuals()[m], 2, RoundingMode.HALF_UP))
+                    .stockMin(lower(stock, sensitivity.getRhsDecrease(m), RecipeMatrix.SCALE))
+                    .stockMax(upper(stock, sensitivity.getRhsIncrease(m), RecipeMatrix.SCALE))
+                    .unitCost(cost)
+                    .unitCostMin(lower(cost, sensitivity.getRowCostDecrease(m), 2))
+                    .unitCostMax(upper(cost, sensitivity.getRowCostIncrease(m), 2))
+                    .build());
+        }
+
+        List<ProductSensitivityDTO> products = new ArrayList<>(matrix.products());
+        for (int p = 0; p < matrix.products(); p++) {
+            Product product = snapshot.findProduct(matrix.productId(p)).orElseThrow();
+            BigDecimal saleValue = product.getSaleValue();
+            products.add(ProductSensitivityDTO.builder()
+                    .id(product.getId())
+                    .code(product.getCode())
+                    .name(product.getName())
+                    .quantity(decimal(solution.getX(p), RecipeMatrix.SCALE, RoundingMode.HALF_UP))
+                    .reducedCost(decimal(solution.getReducedCosts()[p], 2, RoundingMode.HALF_UP))
+                    .saleValue(saleValue)
+                    .saleValueMin(lower(saleValue, sensitivity.getObjectiveDecrease(p), 2))
+                    .saleValueMax(upper(saleValue, sensitivity.getObjectiveIncrease(p), 2))
+                    .build());
+        }
+
+        return SensitivityReportDTO.builder()
+                .catalogVersion(snapshot.getVersion())
+                .status(solution.getStatus().name())
+                .totalProfit(decimal(solution.getObjective(), 2, RoundingMode.HALF_UP))
+                .materials(materials)
+                .products(products)
+                .build();
+    }
+
+    // Limites arredondados para dentro da faixa; valores negativos não fazem sentido (estoque, custo, preço)
+    private static BigDecimal lower(BigDecimal value, double decrease, int scale) {
+        if (Double.isNaN(decrease)) {
+            return null;
+        }
+        if (Double.isInfinite(decrease)) {
+            return BigDecimal.ZERO.setScale(scale);
+        }
+        return value.subtract(BigDecimal.valueOf(decrease)).max(BigDecimal.ZERO).setScale(scale, RoundingMode.CEILING);
+    }
+
+    private static BigDecimal upper(BigDecimal value, double increase, int scale) {
+        if (Double.isNaN(increase) || Double.isInfinite(increase)) {
+            return null;
+        }
+        return value.add(BigDecimal.valueOf(increase)).setScale(scale, RoundingMode.FLOOR);
+    }
+
+    private static BigDecimal decimal(double value, int scale, RoundingMode rounding) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return null;
+        }
+        return BigDecimal.valueOf(value).setScale(scale, rounding);
+    }
+}
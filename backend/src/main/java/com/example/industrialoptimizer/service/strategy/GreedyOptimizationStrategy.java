@@ -0,0 +1,32 @@
+package com.example.industrialoptimizer.service.strategy;
+
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.service.OptimizationResult;
+import com.example.industrialoptimizer.service.PhaseTimings;
+import com.example.industrialoptimizer.service.ProductionOptimizerService;
+import org.springframework.stereotype.Component;
+
+/**
+ * "greedy": alocação gulosa em bloco por maior lucro unitário. Uma única passada pelo
+ * catálogo; indicada para atualizações frequentes do dashboard.
+ */
+@Component
+public class GreedyOptimizationStrategy implements OptimizationStrategy {
+
+    private final ProductionOptimizerService optimizerService;
+
+    public GreedyOptimizationStrategy(ProductionOptimizerService optimizerService) {
+        this.optimizerService = optimizerService;
+    }
+
+    @Override
+    public String getName() {
+        return "greedy";
+    }
+
+    @Override
+    public OptimizationResult optimize(RecipeMatrix matrix, long timeBudgetMs) {
+        PhaseTimings timings = new PhaseTimings();
+        return new OptimizationResult(getName(), optimizerService.planOptimalProduction(matrix, timings), timings);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.industrialoptimizer.service.strategy;
+
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.optimizer.SolveListener;
+import com.example.industrialoptimizer.service.IntegerProductionResult;
+import com.example.industrialoptimizer.service.OptimizationResult;
+import com.example.industrialoptimizer.service.PhaseTimings;
+import com.example.industrialoptimizer.service.ProductionOptimizerService;
+import org.springframework.stereotype.Component;
+
+/**
+ * "mip": branch-and-bound paralelo com quantidades inteiras. O orçamento de tempo
+ * limita a busca; nos jobs assíncronos a incumbente é publicada a cada melhora.
+ */
+@Component
+public class IntegerProgrammingOptimizationStrategy implements OptimizationStrategy {
+
+    private final ProductionOptimizerService optimizerService;
+
+    public IntegerProgrammingOptimizationStrategy(ProductionOptimizerService optimizerService) {
+        this.optimizerService = optimizerService;
+    }
+
+    @Override
+    public String getName() {
+        return "mip";
+    }
+
+    @Override
+    public OptimizationResult optimize(RecipeMatrix matrix, long timeBudgetMs) {
+        return optimize(matrix, timeBudgetMs, SolveListener.NONE);
+    }
+
+    @Override
+    public OptimizationResult optimize(RecipeMatrix matrix, long timeBudgetMs, SolveListener listener) {
+        PhaseTimings timings = new PhaseTimings();
+        IntegerProductionResult result = optimizerService.calculateIntegerProduction(matrix, timeBudgetMs, timings,
+                listener);
+        return new OptimizationResult(getName(), result.getPlan(), timings, result.getSolution());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.industrialoptimizer.service.strategy;
+
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.service.OptimizationResult;
+import com.example.industrialoptimizer.service.PhaseTimings;
+import com.example.industrialoptimizer.service.ProductionOptimizerService;
+import org.springframework.stereotype.Component;
+
+/**
+ * "lp": relaxação linear (simplex revisado) arredondada e completada pelo guloso.
+ */
+@Component
+public class LinearProgrammingOptimizationStrategy implements OptimizationStrategy {
+
+    private final ProductionOptimizerService optimizerService;
+
+    public LinearProgrammingOptimizationStrategy(ProductionOptimizerService optimizerService) {
+        this.optimizerService = optimizerService;
+    }
+
+    @Override
+    public String getName() {
+        return "lp";
+    }
+
+    @Override
+    public OptimizationResult optimize(RecipeMatrix matrix, long timeBudgetMs) {
+        PhaseTimings timings = new PhaseTimings();
+        return new OptimizationResult(getName(),
+                optimizerService.planLinearProgrammingProduction(matrix, timings), timings);
+    }
+}
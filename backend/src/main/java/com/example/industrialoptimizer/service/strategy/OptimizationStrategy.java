@@ -0,0 +1,43 @@
+package com.example.industrialoptimizer.service.strategy;
+
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.optimizer.SolveListener;
+import com.example.industrialoptimizer.service.OptimizationResult;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * OptimizationStrategy: um motor de sugestão de produção.
+ *
+ * As implementações são beans do Spring e são escolhidas por nome em
+ * {@code /api/products/suggest?strategy=...} (ver {@link OptimizationStrategyRegistry}).
+ * Para adicionar um motor basta criar um novo {@code @Component} com um nome único.
+ */
+public interface OptimizationStrategy {
+
+    /**
+     * Nome usado no parâmetro {@code strategy} (ex.: "greedy", "lp", "mip").
+     */
+    String getName();
+
+    /**
+     * Calcula a produção sugerida.
+     *
+     * @param matrix       catálogo compilado (normalmente o da fotografia atual)
+     * @param timeBudgetMs tempo máximo desejado em milissegundos, ou 0 para usar o padrão
+     *                     do motor. Motores que terminam em tempo previsível podem ignorá-lo.
+     */
+    OptimizationResult optimize(RecipeMatrix matrix, long timeBudgetMs);
+
+    /**
+     * Variante acompanhada, usada pelos jobs assíncronos: motores de longa duração informam
+     * cada melhor solução ao {@code listener} e param quando ele é cancelado. Motores rápidos
+     * apenas verificam o cancelamento antes de começar.
+     */
+    default OptimizationResult optimize(RecipeMatrix matrix, long timeBudgetMs, SolveListener listener) {
+        if (listener.isCancelled()) {
+            throw new CancellationException("Otimização cancelada");
+        }
+        return optimize(matrix, timeBudgetMs);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.industrialoptimizer.service.strategy;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * OptimizationStrategyRegistry: localiza pelo nome os motores registrados como beans.
+ */
+@Component
+public class OptimizationStrategyRegistry {
+
+    private final Map<String, OptimizationStrategy> strategies = new TreeMap<>();
+
+    public OptimizationStrategyRegistry(List<OptimizationStrategy> strategies) {
+        for (OptimizationStrategy strategy : strategies) {
+            OptimizationStrategy previous = this.strategies.put(strategy.getName(), strategy);
+            if (previous != null) {
+                throw new IllegalStateException("Estratégia de otimização duplicada: " + strategy.getName());
+            }
+        }
+    }
+
+    /**
+     * @throws ResponseStatusException 400 quando o nome não corresponde a nenhum motor
+     */
+    public OptimizationStrategy get(String name) {
+        OptimizationStrategy strategy = strategies.get(name);
+        if (strategy == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Estratégia de otimização inválida: " + name + " (use " + String.join(", ", getNames()) + ")");
+        }
+        return strategy;
+    }
+
+    public List<String> getNames() {
+        return List.copyOf(strategies.keySet());
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.industrialoptimizer.optimizer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@DisplayName("Branch and Bound Solver Test Suite")
+class BranchAndBoundSolverTest {
+
+    private final BranchAndBoundSolver solver = new BranchAndBoundSolver();
+
+    @Test
+    @DisplayName("Should beat LP rounding when the integer optimum uses a different product")
+    void testIntegerOptimumDiffersFromRounding() {
+        // Estoque 10: A consome 6 e lucra 7; B consome 5 e lucra 5.5.
+        // LP = (A=1, B=0.8) -> arredondado 7. Ótimo inteiro = 2 x B = 11.
+        PackingLp.Builder builder = PackingLp.builder(new double[] { 10 });
+        builder.addColumn(7, 10.0 / 6, new int[] { 0 }, new double[] { 6 });
+        builder.addColumn(5.5, 2, new int[] { 0 }, new double[] { 5 });
+
+        MipSolution solution = solver.solve(builder.build(), ForkJoinPool.commonPool(), 1_000, 5_000);
+
+        assertTrue(solution.isOptimal(), "Search should complete");
+        assertEquals(11.0, solution.getObjective(), 1e-9);
+        assertArrayEquals(new long[] { 0, 2 }, solution.getX());
+        assertEquals(0.0, solution.getGap(), 1e-12, "Complete search proves optimality");
+    }
+
+    @Test
+    @DisplayName("Should match brute-force enumeration on random small catalogs")
+    void testMatchesBruteForce() {
+        Random random = new Random(11);
+        for (int round = 0; round < 30; round++) {
+            PackingLp lp = RevisedSimplexSolverTest.randomCatalog(random, 4, 3, 3);
+            PackingLp small = shrink(lp, 12);
+
+            MipSolution solution = solver.solve(small, ForkJoinPool.commonPool(), 10_000, 5_000);
+
+            assertTrue(solution.isOptimal(), "Round " + round + " should complete");
+            assertEquals(bruteForce(small), solution.getObjective(), 1e-6, "Round " + round);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop at the node limit with a feasible plan and a non-negative gap")
+    void testNodeLimitReportsGap() {
+        PackingLp lp = RevisedSimplexSolverTest.randomCatalog(new Random(3), 60, 20, 4);
+
+        MipSolution solution = solver.solve(lp, ForkJoinPool.commonPool(), 3, 5_000);
+
+        assertEquals(MipSolution.Status.LIMIT_REACHED, solution.getStatus());
+        assertTrue(solution.getNodes() >= 3, "Should count the nodes it tried");
+        assertTrue(solution.getBestBound() >= solution.getObjective() - 1e-6, "Bound must dominate incumbent");
+        assertTrue(solution.getGap() >= 0.0 && solution.getGap() <= 1.0, "Gap within [0, 1]");
+        assertFeasible(lp, solution.getX());
+    }
+
+    @Test
+    @DisplayName("Parallel search should reach the same optimum as a single thread")
+    void testParallelMatchesSingleThread() {
+        PackingLp lp = shrink(RevisedSimplexSolverTest.randomCatalog(new Random(5), 30, 8, 3), 40);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool parallel = new ForkJoinPool(cores);
+        try {
+            MipSolution sequential = solver.solve(lp, single, 200_000, 20_000);
+            MipSolution concurrent = solver.solve(lp, parallel, 200_000, 20_000);
+
+            assertTrue(sequential.isOptimal() && concurrent.isOptimal(), "Both searches should complete");
+            assertEquals(sequential.getObjective(), concurrent.getObjective(), 1e-6);
+            assertFeasible(lp, concurrent.getX());
+            log.info("B&B speedup with {} threads: {}x ({} nodes in {} ms vs {} nodes in {} ms)", cores,
+                    String.format("%.2f", (double) sequential.getElapsedNanos() / concurrent.getElapsedNanos()),
+                    sequential.getNodes(), sequential.getElapsedNanos() / 1_000_000,
+                    concurrent.getNodes(), concurrent.getElapsedNanos() / 1_000_000);
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private void assertFeasible(PackingLp lp, long[] x) {
+        double[] used = new double[lp.rows()];
+        for (int j = 0; j < lp.cols(); j++) {
+            assertTrue(x[j] >= 0, "Quantities are non-negative");
+            lp.addColumn(used, j, x[j]);
+        }
+        for (int i = 0; i < lp.rows(); i++) {
+            assertTrue(used[i] <= lp.rhs(i) + 1e-6, "Row " + i + " within stock");
+        }
+    }
+
+    /**
+     * Rescales stock so that every product fits at most {@code maxUnits} times,
+     * keeping brute force enumeration cheap.
+     */
+    private PackingLp shrink(PackingLp lp, int maxUnits) {
+        double[] rhs = new double[lp.rows()];
+        for (int i = 0; i < lp.rows(); i++) {
+            rhs[i] = lp.rhs(i);
+        }
+        double factor = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < lp.cols(); j++) {
+            if (lp.upper(j) > 0) {
+                factor = Math.min(factor, maxUnits / lp.upper(j));
+            }
+        }
+        PackingLp.Builder builder = PackingLp.builder(rhs);
+        for (int j = 0; j < lp.cols(); j++) {
+            int size = lp.colEnd(j) - lp.colStart(j);
+            int[] rows = new int[size];
+            double[] values = new double[size];
+            double upper = Double.POSITIVE_INFINITY;
+            for (int k = 0; k < size; k++) {
+                rows[k] = lp.rowIndex(lp.colStart(j) + k);
+                values[k] = lp.value(lp.colStart(j) + k) / Math.min(1.0, factor);
+                upper = Math.min(upper, rhs[rows[k]] / values[k]);
+            }
+            builder.addColumn(lp.objective(j), upper, rows, values);
+        }
+        return builder.build();
+    }
+
+    private double bruteForce(PackingLp lp) {
+        return enumerate(lp, 0, new long[lp.cols()]);
+    }
+
+    private double enumerate(PackingLp lp, int col, long[] x) {
+        if (col == lp.cols()) {
+            double[] used = new double[lp.rows()];
+            double profit = 0.0;
+            for (int j = 0; j < lp.cols(); j++) {
+                lp.addColumn(used, j, x[j]);
+                profit += lp.objective(j) * x[j];
+            }
+            for (int i = 0; i < lp.rows(); i++) {
+                if (used[i] > lp.rhs(i) + 1e-9) {
+                    return Double.NEGATIVE_INFINITY;
+                }
+            }
+            return profit;
+        }
+        double best = Double.NEGATIVE_INFINITY;
+        for (long units = 0; units <= (long) Math.floor(lp.upper(col) + 1e-6); units++) {
+            x[col] = units;
+            best = Math.max(best, enumerate(lp, col + 1, x));
+        }
+        x[col] = 0;
+        return best;
+    }
+}
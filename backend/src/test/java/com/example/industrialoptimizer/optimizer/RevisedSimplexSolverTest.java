@@ -0,0 +1,316 @@
+package com.example.industrialoptimizer.optimizer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@DisplayName("Revised Simplex Solver Test Suite")
+class RevisedSimplexSolverTest {
+
+    private final RevisedSimplexSolver solver = new RevisedSimplexSolver();
+
+    @Test
+    @DisplayName("Should find the textbook optimum with an active upper bound")
+    void testSmallBoundedProblem() {
+        // max 3x + 2y  s.a.  x + y <= 4,  x + 3y <= 9,  0 <= x <= 3
+        PackingLp.Builder builder = PackingLp.builder(new double[] { 4, 9 });
+        builder.addColumn(3, 3, new int[] { 0, 1 }, new double[] { 1, 1 });
+        builder.addColumn(2, Double.POSITIVE_INFINITY, new int[] { 0, 1 }, new double[] { 1, 3 });
+
+        LpSolution solution = solver.solve(builder.build());
+
+        assertTrue(solution.isOptimal(), "Should reach optimality");
+        assertEquals(11.0, solution.getObjective(), 1e-9);
+        assertEquals(3.0, solution.getX(0), 1e-9);
+        assertEquals(1.0, solution.getX(1), 1e-9);
+        assertEquals(2.0, solution.getDuals()[0], 1e-9, "Shadow price of the binding row");
+        assertEquals(0.0, solution.getDuals()[1], 1e-9, "Slack row has zero shadow price");
+    }
+
+    @Test
+    @DisplayName("Should detect infeasible lower bounds without iterating")
+    void testInfeasibleLowerBounds() {
+        PackingLp.Builder builder = PackingLp.builder(new double[] { 10 });
+        builder.addColumn(5, 10, new int[] { 0 }, new double[] { 2 });
+        PackingLp lp = builder.build();
+
+        LpSolution solution = solver.solve(lp, new double[] { 6 }, null);
+
+        assertEquals(LpSolution.Status.INFEASIBLE, solution.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should solve a 5k products x 2k materials catalog to proven optimality")
+    void testLargeSparseCatalog() {
+        PackingLp lp = randomCatalog(new Random(7), 5_000, 2_000, 6);
+
+        solver.solve(randomCatalog(new Random(8), 5_000, 2_000, 6)); // aquecimento do JIT
+        long start = System.nanoTime();
+        LpSolution solution = solver.solve(lp);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Solved {}x{} in {} ms ({} iterations), objective {}",
+                lp.cols(), lp.rows(), elapsedMs, solution.getIterations(), solution.getObjective());
+
+        assertTrue(solution.isOptimal(), "Should reach optimality");
+        assertOptimal(lp, solution);
+    }
+
+    @Test
+    @DisplayName("Should report textbook sensitivity ranges for the final basis")
+    void testSmallProblemSensitivity() {
+        // Mesmo problema do teste acima: x no limite superior, y básico, linha 1 com folga
+        PackingLp.Builder builder = PackingLp.builder(new double[] { 4, 9 });
+        builder.addColumn(3, 3, new int[] { 0, 1 }, new double[] { 1, 1 });
+        builder.addColumn(2, Double.POSITIVE_INFINITY, new int[] { 0, 1 }, new double[] { 1, 3 });
+
+        LpSensitivity sensitivity = solver.analyze(builder.build());
+
+        assertTrue(sensitivity.getSolution().isOptimal());
+        assertEquals(11.0, sensitivity.getSolution().getObjective(), 1e-9);
+        // 3 <= b0 <= 5 mantém y = b0 - 3 >= 0 e a folga da linha 1 >= 0
+        assertEquals(1.0, sensitivity.getRhsDecrease(0), 1e-9);
+        assertEquals(1.0, sensitivity.getRhsIncrease(0), 1e-9);
+        assertEquals(3.0, sensitivity.getRhsDecrease(1), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, sensitivity.getRhsIncrease(1));
+        // x fica no limite enquanto c_x >= c_y; y fica na base enquanto 0 <= c_y <= c_x
+        assertEquals(1.0, sensitivity.getObjectiveDecrease(0), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, sensitivity.getObjectiveIncrease(0));
+        assertEquals(2.0, sensitivity.getObjectiveDecrease(1), 1e-9);
+        assertEquals(1.0, sensitivity.getObjectiveIncrease(1), 1e-9);
+        // Custo da linha 0 tira t de cada lucro: o plano só muda quando o lucro de y zera (t = 2)
+        assertEquals(Double.POSITIVE_INFINITY, sensitivity.getRowCostDecrease(0));
+        assertEquals(2.0, sensitivity.getRowCostIncrease(0), 1e-9);
+        // Custo da linha 1 tira (t, 3t): -1/2 <= t <= 2/3
+        assertEquals(0.5, sensitivity.getRowCostDecrease(1), 1e-9);
+        assertEquals(2.0 / 3.0, sensitivity.getRowCostIncrease(1), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Sensitivity ranges should agree with re-solving perturbed problems")
+    void testSensitivityMatchesPerturbedSolves() {
+        Random random = new Random(17);
+        for (int round = 0; round < 20; round++) {
+            PackingLp lp = randomCatalog(random, 40, 12, 3);
+            LpSensitivity sensitivity = solver.analyze(lp);
+            LpSolution base = sensitivity.getSolution();
+            assertTrue(base.isOptimal());
+            double[] x = base.getX();
+
+            for (int i = 0; i < lp.rows(); i++) {
+                // Dentro da faixa o lucro varia linearmente com o preço-sombra
+                double delta = within(sensitivity.getRhsIncrease(i), lp.rhs(i));
+                double[] rhs = rhsCopy(lp);
+                rhs[i] += delta;
+                assertEquals(base.getObjective() + base.getDuals()[i] * delta,
+                        solver.solve(copy(lp, rhs, profitCopy(lp))).getObjective(), 1e-6 * Math.max(1.0, base.getObjective()),
+                        "round " + round + ", rhs +" + i);
+                delta = within(sensitivity.getRhsDecrease(i), lp.rhs(i));
+                rhs = rhsCopy(lp);
+                rhs[i] -= delta;
+                assertEquals(base.getObjective() - base.getDuals()[i] * delta,
+                        solver.solve(copy(lp, rhs, profitCopy(lp))).getObjective(), 1e-6 * Math.max(1.0, base.getObjective()),
+                        "round " + round + ", rhs -" + i);
+
+                // Dentro da faixa de custo o mesmo plano continua ótimo
+                for (double t : new double[] { within(sensitivity.getRowCostIncrease(i), 10.0),
+                        -within(sensitivity.getRowCostDecrease(i), 10.0) }) {
+                    PackingLp priced = copy(lp, rhsCopy(lp), profitWithRowCost(lp, i, t));
+                    assertEquals(objective(priced, x), solver.solve(priced).getObjective(),
+                            1e-6 * Math.max(1.0, base.getObjective()), "round " + round + ", cost " + i + " " + t);
+                }
+            }
+            for (int j = 0; j < lp.cols(); j++) {
+                for (double t : new double[] { within(sensitivity.getObjectiveIncrease(j), 10.0),
+                        -within(sensitivity.getObjectiveDecrease(j), lp.objective(j)) }) {
+                    double[] profit = profitCopy(lp);
+                    profit[j] += t;
+                    PackingLp priced = copy(lp, rhsCopy(lp), profit);
+                    assertEquals(objective(priced, x), solver.solve(priced).getObjective(),
+                            1e-6 * Math.max(1.0, base.getObjective()), "round " + round + ", profit " + j + " " + t);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Warm start should re-solve small stock and profit changes in a fraction of the cold pivots")
+    void testWarmStartAfterSmallChanges() {
+        PackingLp base = randomCatalog(new Random(21), 5_000, 2_000, 6);
+        LpSolution previous = solver.solve(base);
+        assertTrue(previous.isOptimal());
+
+        Random random = new Random(22);
+        for (int changes : new int[] { 1, 10, 100 }) {
+            double[] rhs = rhsCopy(base);
+            double[] profit = profitCopy(base);
+            for (int c = 0; c < changes; c++) {
+                int i = random.nextInt(rhs.length);
+                rhs[i] *= 0.5 + random.nextDouble();
+                profit[random.nextInt(profit.length)] *= 0.8 + 0.4 * random.nextDouble();
+            }
+            PackingLp changed = copy(base, rhs, profit);
+
+            long start = System.nanoTime();
+            LpSolution cold = solver.solve(changed);
+            long coldMs = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            LpSolution warm = solver.solve(changed, previous.getBasis());
+            long warmMs = (System.nanoTime() - start) / 1_000_000;
+            log.info("{} stock + {} profit changes: cold {} ms ({} iterations), warm {} ms ({} iterations)",
+                    changes, changes, coldMs, cold.getIterations(), warmMs, warm.getIterations());
+
+            assertTrue(warm.isOptimal(), "Warm start should reach optimality");
+            assertOptimal(changed, warm);
+            assertEquals(cold.getObjective(), warm.getObjective(), 1e-6 * Math.max(1.0, cold.getObjective()));
+            assertTrue(warm.getIterations() * 4 < cold.getIterations(),
+                    "Pivots should follow the size of the change, not of the catalog");
+        }
+    }
+
+    @Test
+    @DisplayName("Warm start should survive a renumbered basis and fall back on unusable ones")
+    void testWarmStartWithRemappedBasis() {
+        // Mesmo problema com as colunas em ordem inversa
+        PackingLp lp = randomCatalog(new Random(31), 200, 60, 4);
+        LpSolution solution = solver.solve(lp);
+        int n = lp.cols();
+        int[] columnMap = new int[n];
+        int[] rowMap = new int[lp.rows()];
+        PackingLp.Builder builder = PackingLp.builder(rhsCopy(lp));
+        for (int j = n - 1; j >= 0; j--) {
+            int size = lp.colEnd(j) - lp.colStart(j);
+            int[] rows = new int[size];
+            double[] values = new double[size];
+            for (int k = 0; k < size; k++) {
+                rows[k] = lp.rowIndex(lp.colStart(j) + k);
+                values[k] = lp.value(lp.colStart(j) + k);
+            }
+            columnMap[j] = builder.addColumn(lp.objective(j), lp.upper(j), rows, values);
+        }
+        for (int i = 0; i < rowMap.length; i++) {
+            rowMap[i] = i;
+        }
+        PackingLp reversed = builder.build();
+
+        LpSolution warm = solver.solve(reversed, solution.getBasis().remap(columnMap, rowMap));
+        assertTrue(warm.isOptimal());
+        assertEquals(0, warm.getIterations(), "The remapped optimal basis needs no pivot");
+        assertEquals(solution.getObjective(), warm.getObjective(), 1e-6 * Math.max(1.0, solution.getObjective()));
+
+        // Base de outro problema (índices fora do intervalo são descartados)
+        LpSolution foreign = solver.solve(lp, solver.solve(randomCatalog(new Random(32), 500, 90, 4)).getBasis());
+        assertTrue(foreign.isOptimal());
+        assertEquals(solution.getObjective(), foreign.getObjective(), 1e-6 * Math.max(1.0, solution.getObjective()));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * Verifies primal feasibility, dual feasibility and strong duality:
+     * c·x = b·y + Σ u_j·max(0, d_j).
+     */
+    private void assertOptimal(PackingLp lp, LpSolution solution) {
+        double[] x = solution.getX();
+        double[] y = solution.getDuals();
+        double[] d = solution.getReducedCosts();
+
+        double[] used = new double[lp.rows()];
+        for (int j = 0; j < lp.cols(); j++) {
+            assertTrue(x[j] >= -1e-7 && x[j] <= lp.upper(j) + 1e-7, "x within bounds");
+            lp.addColumn(used, j, x[j]);
+        }
+        double dualObjective = 0.0;
+        for (int i = 0; i < lp.rows(); i++) {
+            assertTrue(used[i] <= lp.rhs(i) + 1e-6, "Row " + i + " within stock");
+            assertTrue(y[i] >= -1e-7, "Shadow prices are non-negative");
+            dualObjective += lp.rhs(i) * y[i];
+        }
+        for (int j = 0; j < lp.cols(); j++) {
+            dualObjective += lp.upper(j) * Math.max(0.0, d[j]);
+        }
+        assertEquals(dualObjective, solution.getObjective(), 1e-6 * Math.max(1.0, solution.getObjective()),
+                "Primal and dual objectives must match");
+    }
+
+    // 90% da variação permitida (limitada quando a faixa é infinita)
+    private static double within(double allowed, double cap) {
+        return 0.9 * Math.min(allowed, cap);
+    }
+
+    private static double[] rhsCopy(PackingLp lp) {
+        double[] rhs = new double[lp.rows()];
+        for (int i = 0; i < rhs.length; i++) {
+            rhs[i] = lp.rhs(i);
+        }
+        return rhs;
+    }
+
+    private static double objective(PackingLp lp, double[] x) {
+        double total = 0.0;
+        for (int j = 0; j < lp.cols(); j++) {
+            total += lp.objective(j) * x[j];
+        }
+        return total;
+    }
+
+    private static double[] profitCopy(PackingLp lp) {
+        double[] profit = new double[lp.cols()];
+        for (int j = 0; j < profit.length; j++) {
+            profit[j] = lp.objective(j);
+        }
+        return profit;
+    }
+
+    // Lucros com o insumo da linha mais caro em cost por unidade consumida
+    private static double[] profitWithRowCost(PackingLp lp, int row, double cost) {
+        double[] profit = profitCopy(lp);
+        for (int k = lp.rowStart(row); k < lp.rowEnd(row); k++) {
+            profit[lp.colIndex(k)] -= cost * lp.rowValue(k);
+        }
+        return profit;
+    }
+
+    private static PackingLp copy(PackingLp lp, double[] rhs, double[] profit) {
+        PackingLp.Builder builder = PackingLp.builder(rhs);
+        for (int j = 0; j < lp.cols(); j++) {
+            int size = lp.colEnd(j) - lp.colStart(j);
+            int[] rows = new int[size];
+            double[] values = new double[size];
+            for (int k = 0; k < size; k++) {
+                rows[k] = lp.rowIndex(lp.colStart(j) + k);
+                values[k] = lp.value(lp.colStart(j) + k);
+            }
+            builder.addColumn(profit[j], lp.upper(j), rows, values);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Random packing problem: each product consumes a few materials with
+     * quantities in DECIMAL(15,3) resolution.
+     */
+    static PackingLp randomCatalog(Random random, int products, int materials, int maxRecipe) {
+        double[] stock = new double[materials];
+        for (int i = 0; i < materials; i++) {
+            stock[i] = random.nextInt(10_000_000) / 1000.0;
+        }
+        PackingLp.Builder builder = PackingLp.builder(stock);
+        for (int j = 0; j < products; j++) {
+            int size = 1 + random.nextInt(maxRecipe);
+            int[] rows = random.ints(0, materials).distinct().limit(size).toArray();
+            double[] values = new double[size];
+            double upper = Double.POSITIVE_INFINITY;
+            for (int k = 0; k < size; k++) {
+                values[k] = (1 + random.nextInt(10_000)) / 1000.0;
+                upper = Math.min(upper, stock[rows[k]] / values[k]);
+            }
+            builder.addColumn(1 + random.nextInt(100_000) / 100.0, upper, rows, values);
+        }
+        return builder.build();
+    }
+}
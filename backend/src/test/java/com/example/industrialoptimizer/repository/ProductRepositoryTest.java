@@ -0,0 +1,114 @@
+package com.example.industrialoptimizer.repository;
+
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComposition;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement-count tests for the optimizer's catalog read path.
+ * Runs against the H2 schema and seed from ../database.
+ */
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Product Repository Catalog Loading Test Suite")
+class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Catalog load should issue the same number of statements as the catalog grows")
+    void testStatementCountIsConstant() {
+        long seedStatements = countStatements(productRepository::findAllWithCompositions);
+        long seedNPlusOne = countStatements(productRepository::findAll);
+
+        addProducts(50, 3);
+
+        long grownStatements = countStatements(productRepository::findAllWithCompositions);
+        long grownNPlusOne = countStatements(productRepository::findAll);
+
+        log.info("Catalog load statements: fetch join {} -> {}, findAll {} -> {}",
+                seedStatements, grownStatements, seedNPlusOne, grownNPlusOne);
+        assertEquals(2, seedStatements, "One query for products/compositions/materials, one for stock");
+        assertEquals(seedStatements, grownStatements, "Statement count must not depend on catalog size");
+        assertTrue(grownNPlusOne >= seedNPlusOne + 50, "findAll() path is N+1 (sanity check)");
+    }
+
+    @Test
+    @DisplayName("Fetch join should return each product once with its full recipe")
+    void testFetchJoinDoesNotDuplicateProducts() {
+        addProducts(5, 4);
+        entityManager.clear();
+
+        List<Product> products = productRepository.findAllWithCompositions();
+
+        assertEquals(productRepository.count(), products.size(), "No duplicated products from the join");
+        Product added = products.get(products.size() - 1);
+        assertEquals(4, added.getCompositions().size());
+        assertNotNull(added.getCompositions().get(0).getRawMaterial().getStockQuantity());
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * Loads the catalog the way the optimizer reads it (every recipe line and its raw
+     * material, plus the stock list) from an empty persistence context.
+     */
+    private long countStatements(Supplier<List<Product>> loader) {
+        entityManager.clear();
+        statistics.clear();
+
+        for (Product product : loader.get()) {
+            for (ProductComposition composition : product.getCompositions()) {
+                composition.getRawMaterial().getUnitCost();
+            }
+        }
+        rawMaterialRepository.findAll();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addProducts(int count, int recipeSize) {
+        List<Long> materials = jdbcTemplate.queryForList("SELECT id FROM raw_materials ORDER BY id", Long.class);
+        for (int i = 0; i < count; i++) {
+            String code = "BULK-" + i;
+            jdbcTemplate.update("INSERT INTO products (code, name, sale_value) VALUES (?, ?, ?)",
+                    code, "Bulk Product " + i, 100 + i);
+            Long productId = jdbcTemplate.queryForObject("SELECT id FROM products WHERE code = ?", Long.class, code);
+            for (int k = 0; k < recipeSize; k++) {
+                jdbcTemplate.update(
+                        "INSERT INTO product_compositions (product_id, raw_material_id, quantity_needed) VALUES (?, ?, ?)",
+                        productId, materials.get((i + k) % materials.size()), 1.5);
+            }
+        }
+    }
+}
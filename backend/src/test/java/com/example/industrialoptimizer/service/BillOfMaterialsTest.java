@@ -0,0 +1,152 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.ProductComponentDTO;
+import com.example.industrialoptimizer.dto.ProductCompositionDTO;
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComponent;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.example.industrialoptimizer.service.TestCatalogs.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bill of Materials Test Suite")
+class BillOfMaterialsTest {
+
+    @Test
+    @DisplayName("A shared sub-assembly should be exploded into every product that uses it")
+    void testSharedSubAssembly() {
+        RawMaterial fabric = material(1L, "FABRIC", "4.00", "100.000");
+        RawMaterial foam = material(2L, "FOAM", "10.00", "100.000");
+        RawMaterial wood = material(3L, "WOOD", "20.00", "100.000");
+        Product cushion = product(1L, "CUSHION", "90.00", false);
+        compose(cushion, fabric, "1.000");
+        compose(cushion, foam, "0.500");
+        Product chair = product(2L, "CHAIR", "200.00", true);
+        compose(chair, wood, "2.000");
+        Product sofa = product(3L, "SOFA", "500.00", true);
+        compose(sofa, fabric, "3.000");
+        List<ProductComponent> components = List.of(component(chair, cushion, "2.000"),
+                component(sofa, cushion, "2.000"));
+
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, List.of(cushion, chair, sofa), List.of(fabric, foam, wood),
+                components);
+        BillOfMaterials bom = snapshot.getBillOfMaterials();
+
+        assertEquals(List.of(1L, 2L, 3L), bom.getTopologicalOrder());
+        assertEquals(0, new BigDecimal("2").compareTo(bom.getRequirements(2L).orElseThrow().get(1L)));
+        assertEquals(0, BigDecimal.ONE.compareTo(bom.getRequirements(2L).orElseThrow().get(2L)));
+        assertEquals(0, new BigDecimal("5").compareTo(bom.getRequirements(3L).orElseThrow().get(1L)));
+        // Almofada: 4 + 5 = 9; cadeira: 40 de madeira + 2 almofadas
+        assertEquals(0, new BigDecimal("9").compareTo(bom.getUnitCost(1L).orElseThrow()));
+        assertEquals(0, new BigDecimal("58").compareTo(bom.getUnitCost(2L).orElseThrow()));
+
+        List<ProductCompositionDTO> flattened = snapshot.getFlattenedCompositions(2L);
+        assertEquals(List.of(1L, 2L, 3L), flattened.stream().map(ProductCompositionDTO::getRawMaterialId).toList());
+        assertEquals(new BigDecimal("2.000"), flattened.get(0).getQuantityNeeded());
+        List<ProductComponentDTO> direct = snapshot.getComponents(2L);
+        assertEquals(1, direct.size());
+        assertEquals("CUSHION", direct.get(0).getComponentCode());
+        assertEquals(0, new BigDecimal("18").compareTo(direct.get(0).getTotalCost()));
+
+        // A almofada não é vendável: só cadeira e sofá entram na matriz, com o lucro da estrutura toda
+        RecipeMatrix matrix = snapshot.getMatrix();
+        assertEquals(2, matrix.products());
+        assertEquals(2L, matrix.productId(1));
+        assertEquals(200.0 - 58.0, matrix.profit(1), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Products in a component cycle, and the products that use them, should be left out of the matrix")
+    void testCycleIsDetected() {
+        RawMaterial wood = material(1L, "WOOD", "1.00", "100.000");
+        Product a = product(1L, "A", "10.00", true);
+        Product b = product(2L, "B", "10.00", true);
+        Product top = product(3L, "TOP", "10.00", true);
+        Product plain = product(4L, "PLAIN", "10.00", true);
+        compose(a, wood, "1.000");
+        compose(plain, wood, "1.000");
+        List<ProductComponent> components = List.of(component(a, b, "1.000"), component(b, a, "1.000"),
+                component(top, a, "1.000"));
+
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, List.of(a, b, top, plain), List.of(wood), components);
+        BillOfMaterials bom = snapshot.getBillOfMaterials();
+
+        assertEquals(Set.of(1L, 2L, 3L), bom.getCyclicProducts());
+        assertEquals(List.of(4L), bom.getTopologicalOrder());
+        assertTrue(bom.getRequirements(3L).isEmpty());
+        assertTrue(snapshot.getFlattenedCompositions(3L).isEmpty());
+        assertEquals(1, snapshot.getMatrix().products());
+        assertEquals(4L, snapshot.getMatrix().productId(0));
+        assertTrue(bom.dependsOn(3L, 2L));
+        assertFalse(bom.dependsOn(4L, 1L));
+    }
+
+    @Test
+    @DisplayName("A diamond ladder with 2^40 paths should be exploded once per edge")
+    void testDiamondLadderIsMemoized() {
+        RawMaterial steel = material(1L, "STEEL", "0.50", "1000.000");
+        int levels = 40;
+        // Nível i tem dois produtos; cada um usa os dois do nível anterior: 2^i caminhos até o fundo
+        List<Product> products = new ArrayList<>();
+        List<ProductComponent> components = new ArrayList<>();
+        for (int level = 0; level <= levels; level++) {
+            for (int side = 0; side < 2; side++) {
+                Product product = product(2L * level + side + 1, "P" + level + "_" + side, "10.00", level == levels);
+                if (level == 0) {
+                    compose(product, steel, "1.000");
+                } else {
+                    components.add(component(product, products.get(2 * (level - 1)), "1.000"));
+                    components.add(component(product, products.get(2 * (level - 1) + 1), "1.000"));
+                }
+                products.add(product);
+            }
+        }
+
+        BillOfMaterials bom = assertTimeout(Duration.ofSeconds(5),
+                () -> BillOfMaterials.of(products, List.of(steel), components));
+
+        Map<Long, BigDecimal> top = bom.getRequirements(2L * levels + 1).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(2).pow(levels).compareTo(top.get(1L)));
+        assertEquals(0, BigDecimal.valueOf(2).pow(levels).multiply(new BigDecimal("0.50"))
+                .compareTo(bom.getUnitCost(2L * levels + 1).orElseThrow()));
+        assertEquals(products.size(), bom.getTopologicalOrder().size());
+        assertTrue(bom.dependsOn(2L * levels + 1, 1L));
+    }
+
+    @Test
+    @DisplayName("A deep chain of tiny quantities should never be exploded into a zero consumption")
+    void testTinyQuantitiesDoNotRoundToZero() {
+        RawMaterial glue = material(1L, "GLUE", "1.00", "10.000");
+        List<Product> products = new ArrayList<>();
+        List<ProductComponent> components = new ArrayList<>();
+        // Cada nível usa 0,001 do anterior: no quarto nível são 10^-12 de cola por unidade
+        for (int level = 0; level <= 4; level++) {
+            Product product = product(level + 1L, "L" + level, "10.00", level == 4);
+            if (level == 0) {
+                compose(product, glue, "0.001");
+            } else {
+                components.add(component(product, products.get(level - 1), "0.001"));
+            }
+            products.add(product);
+        }
+
+        CatalogSnapshot snapshot = assertDoesNotThrow(() -> CatalogSnapshot.of(1, products, List.of(glue), components));
+
+        BigDecimal top = snapshot.getBillOfMaterials().getRequirements(5L).orElseThrow().get(1L);
+        assertTrue(top.signum() > 0);
+        assertEquals(0, new BigDecimal("0.000000001").compareTo(top));
+        // Na matriz (3 casas, para cima) o produto consome 0,001 e entra normalmente
+        assertEquals(1, snapshot.getMatrix().products());
+        assertEquals(5L, snapshot.getMatrix().productId(0));
+    }
+}
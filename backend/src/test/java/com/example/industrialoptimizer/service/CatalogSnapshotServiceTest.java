@@ -0,0 +1,232 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComposition;
+import com.example.industrialoptimizer.model.ProductCompositionKey;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.repository.ProductRepository;
+import com.example.industrialoptimizer.repository.RawMaterialRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Slf4j
+@DisplayName("Catalog Snapshot Service Test Suite")
+class CatalogSnapshotServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RawMaterialRepository rawMaterialRepository;
+
+    private CatalogSnapshotService catalogSnapshotService;
+
+    private RawMaterial wood;
+    private Product table;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        catalogSnapshotService = new CatalogSnapshotService(productRepository, rawMaterialRepository);
+
+        wood = new RawMaterial();
+        wood.setId(1L);
+        wood.setCode("WOOD");
+        wood.setName("Wood");
+        wood.setStockQuantity(new BigDecimal("10.000"));
+        wood.setUnitMeasure("UNIT");
+        wood.setUnitCost(new BigDecimal("5.00"));
+
+        table = new Product();
+        table.setId(1L);
+        table.setCode("TABLE");
+        table.setName("Table");
+        table.setSaleValue(new BigDecimal("100.00"));
+        ProductComposition composition = new ProductComposition();
+        composition.setId(new ProductCompositionKey(1L, 1L));
+        composition.setProduct(table);
+        composition.setRawMaterial(wood);
+        composition.setQuantityNeeded(new BigDecimal("2.000"));
+        table.setCompositions(new ArrayList<>(List.of(composition)));
+
+        when(productRepository.findAllWithCompositions()).thenAnswer(invocation -> new ArrayList<>(List.of(table)));
+        when(rawMaterialRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(List.of(wood)));
+    }
+
+    @Test
+    @DisplayName("Reads should be served from the snapshot without touching the repositories")
+    void testReadsAreServedFromSnapshot() {
+        CatalogSnapshot first = catalogSnapshotService.current();
+        CatalogSnapshot second = catalogSnapshotService.current();
+
+        assertSame(first, second);
+        assertEquals(1, first.getVersion());
+        assertEquals("Table", first.findProduct(1L).orElseThrow().getName());
+        assertEquals(new BigDecimal("10.000"), first.findRawMaterial(1L).orElseThrow().getStockQuantity());
+        assertEquals(new BigDecimal("10.00000"), first.getCompositions(1L).get(0).getTotalCost());
+        assertTrue(first.getCompositions(99L).isEmpty());
+        verify(productRepository, times(1)).findAllWithCompositions();
+        verify(rawMaterialRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("A refresh should publish a new version and leave the previous snapshot untouched")
+    void testRefreshIsCopyOnWrite() {
+        CatalogSnapshot before = catalogSnapshotService.current();
+
+        wood.setStockQuantity(new BigDecimal("4.000"));
+        table.setName("Renamed Table");
+        CatalogSnapshot after = catalogSnapshotService.refresh();
+
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertSame(after, catalogSnapshotService.current());
+        assertEquals("Table", before.findProduct(1L).orElseThrow().getName(), "Old snapshot must not change");
+        assertEquals(new BigDecimal("10.000"), before.getRawMaterials().get(0).getStockQuantity());
+        assertEquals(10_000L, before.getMatrix().stock(0));
+        assertEquals("Renamed Table", after.findProduct(1L).orElseThrow().getName());
+        assertEquals(4_000L, after.getMatrix().stock(0));
+        assertThrows(UnsupportedOperationException.class, () -> after.getProducts().add(new Product()));
+    }
+
+    @Test
+    @DisplayName("A slow rebuild must never replace a newer snapshot")
+    void testSlowRebuildDoesNotOverwriteNewerSnapshot() throws Exception {
+        catalogSnapshotService.current();
+        CountDownLatch slowRebuildStarted = new CountDownLatch(1);
+        CountDownLatch newerPublished = new CountDownLatch(1);
+        when(rawMaterialRepository.findAll())
+                .thenAnswer(invocation -> {
+                    // Primeira reconstrução (versão 2): espera a versão 3 ser publicada
+                    slowRebuildStarted.countDown();
+                    newerPublished.await();
+                    return new ArrayList<>(List.of(wood));
+                })
+                .thenAnswer(invocation -> new ArrayList<>(List.of(wood)));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<CatalogSnapshot> slow = executor.submit(catalogSnapshotService::refresh);
+            slowRebuildStarted.await();
+            CatalogSnapshot newer = catalogSnapshotService.refresh();
+            newerPublished.countDown();
+
+            assertEquals(3, newer.getVersion());
+            assertSame(newer, slow.get(), "Slow rebuild should return the newer snapshot");
+            assertEquals(3, catalogSnapshotService.current().getVersion());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Writes committed during a rebuild should share a single rebuild started after them")
+    void testConcurrentWritesShareOneRebuild() throws Exception {
+        catalogSnapshotService.current();
+        CountDownLatch firstRebuildStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstRebuild = new CountDownLatch(1);
+        when(rawMaterialRepository.findAll())
+                .thenAnswer(invocation -> {
+                    firstRebuildStarted.countDown();
+                    releaseFirstRebuild.await();
+                    return new ArrayList<>(List.of(wood));
+                })
+                .thenAnswer(invocation -> new ArrayList<>(List.of(wood)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            writes.add(executor.submit(() -> catalogSnapshotService.refreshAfterCommit("RawMaterial", 1L, "UPDATE")));
+            firstRebuildStarted.await();
+            // Cinco escritas confirmadas enquanto a primeira releitura ainda lê o estoque antigo
+            wood.setStockQuantity(new BigDecimal("3.000"));
+            for (int i = 0; i < 5; i++) {
+                writes.add(executor.submit(() -> catalogSnapshotService.refreshAfterCommit("RawMaterial", 1L, "UPDATE")));
+            }
+            Thread.sleep(200);
+            releaseFirstRebuild.countDown();
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(rawMaterialRepository, times(3)).findAll();
+        assertEquals(3, catalogSnapshotService.current().getVersion());
+        assertEquals(3_000L, catalogSnapshotService.current().getMatrix().stock(0));
+    }
+
+    @Test
+    @DisplayName("Debited stock should be published without a rebuild and survive a slower rebuild")
+    void testPublishedStockSurvivesSlowRebuild() throws Exception {
+        wood.setVersion(0L);
+        CatalogSnapshot before = catalogSnapshotService.current();
+        before.getRequirementsIndex();
+        CountDownLatch slowRebuildStarted = new CountDownLatch(1);
+        CountDownLatch releaseRebuild = new CountDownLatch(1);
+        RawMaterial readBeforeDebit = material(new BigDecimal("10.000"), 0L);
+        when(rawMaterialRepository.findAll())
+                .thenAnswer(invocation -> {
+                    // Reconstrução (versão 2) que leu o estoque de antes da baixa
+                    slowRebuildStarted.countDown();
+                    releaseRebuild.await();
+                    return new ArrayList<>(List.of(readBeforeDebit));
+                });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<CatalogSnapshot> slow = executor.submit(catalogSnapshotService::refresh);
+            slowRebuildStarted.await();
+
+            // Baixa confirmada: publicada sem esperar a reconstrução em andamento
+            CatalogSnapshot debited = catalogSnapshotService.publishStock("ProductionOrder", 1L, "CREATE",
+                    List.of(material(new BigDecimal("6.000"), 1L)));
+            assertEquals(3, debited.getVersion());
+            assertEquals(1, debited.getBaseVersion());
+            assertSame(debited, catalogSnapshotService.current());
+            assertEquals(6_000L, debited.getMatrix().stock(0));
+            assertEquals(6_000L, debited.getRequirementsIndex().stock(0));
+            assertEquals(new BigDecimal("6.000"), debited.findRawMaterial(1L).orElseThrow().getStockQuantity());
+            assertSame(before.getBillOfMaterials(), debited.getBillOfMaterials());
+            assertEquals(10_000L, before.getMatrix().stock(0), "Old snapshot must not change");
+
+            releaseRebuild.countDown();
+            CatalogSnapshot rebuilt = slow.get();
+            assertSame(rebuilt, catalogSnapshotService.current());
+            assertEquals(4, rebuilt.getVersion());
+            assertEquals(2, rebuilt.getBaseVersion());
+            assertEquals(6_000L, rebuilt.getMatrix().stock(0), "The rebuild must keep the newer debited stock");
+        } finally {
+            releaseRebuild.countDown();
+            executor.shutdownNow();
+        }
+        verify(rawMaterialRepository, times(2)).findAll();
+    }
+
+    private RawMaterial material(BigDecimal stock, Long version) {
+        RawMaterial material = new RawMaterial();
+        material.setId(wood.getId());
+        material.setCode(wood.getCode());
+        material.setName(wood.getName());
+        material.setStockQuantity(stock);
+        material.setUnitMeasure(wood.getUnitMeasure());
+        material.setUnitCost(wood.getUnitCost());
+        material.setVersion(version);
+        return material;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.OptimizationJobDTO;
+import com.example.industrialoptimizer.exception.OptimizerBusyException;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.optimizer.SolveListener;
+import com.example.industrialoptimizer.repository.ProductRepository;
+import com.example.industrialoptimizer.repository.RawMaterialRepository;
+import com.example.industrialoptimizer.service.strategy.OptimizationStrategy;
+import com.example.industrialoptimizer.service.strategy.OptimizationStrategyRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Optimization Job Service Test Suite")
+class OptimizationJobServiceTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private OptimizationJobService jobs;
+
+    @BeforeEach
+    void setUp() {
+        CatalogSnapshotService catalog = new CatalogSnapshotService(mock(ProductRepository.class),
+                mock(RawMaterialRepository.class));
+        OptimizationStrategyRegistry registry = new OptimizationStrategyRegistry(List.of(new Quick(), new Anytime()));
+        jobs = new OptimizationJobService(registry, catalog, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobs.shutdown();
+    }
+
+    @Test
+    @DisplayName("A submitted job should run in the background and keep its result")
+    void testJobSucceeds() throws Exception {
+        OptimizationJob job = jobs.submit("quick", 0);
+
+        awaitFinished(job);
+
+        assertEquals(OptimizationJob.Status.SUCCEEDED, job.getStatus());
+        assertEquals(1L, job.getCatalogVersion());
+        OptimizationJobDTO dto = OptimizationJobService.toDTO(job);
+        assertEquals(Map.of("A", 1), dto.getProduction());
+        assertFalse(dto.getBestSoFar());
+        assertSame(job, jobs.find(job.getId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("A running job should expose its best-so-far solution and stop when cancelled")
+    void testCancelKeepsBestSoFar() throws Exception {
+        OptimizationJob job = jobs.submit("anytime", 0);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(OptimizationJob.Status.RUNNING, job.getStatus());
+        OptimizationJobDTO running = OptimizationJobService.toDTO(job);
+        assertTrue(running.getBestSoFar());
+        assertEquals(42.0, running.getObjective());
+
+        jobs.cancel(job.getId());
+        awaitFinished(job);
+
+        assertEquals(OptimizationJob.Status.CANCELLED, job.getStatus());
+        assertNotNull(job.getResult(), "The engine stopped cooperatively and returned its solution");
+    }
+
+    @Test
+    @DisplayName("Submissions beyond the active limit should be rejected and finished jobs bounded")
+    void testBackpressureAndBoundedStore() throws Exception {
+        OptimizationJob first = jobs.submit("anytime", 0);
+        OptimizationJob second = jobs.submit("anytime", 0);
+
+        assertThrows(OptimizerBusyException.class, () -> jobs.submit("quick", 0));
+
+        jobs.cancel(first.getId());
+        jobs.cancel(second.getId());
+        awaitFinished(first);
+        awaitFinished(second);
+        OptimizationJob third = jobs.submit("quick", 0);
+        awaitFinished(third);
+
+        // Cabem dois jobs terminados: o mais antigo é descartado
+        assertTrue(jobs.find(first.getId()).isEmpty());
+        assertTrue(jobs.find(third.getId()).isPresent());
+        assertEquals(new OptimizationJobService.Stats(0, 2, 2, 2), jobs.getStats());
+    }
+
+    private static void awaitFinished(OptimizationJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!job.getStatus().isFinished()) {
+            assertTrue(System.nanoTime() < deadline, "Job did not finish in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private static final class Quick implements OptimizationStrategy {
+
+        @Override
+        public String getName() {
+            return "quick";
+        }
+
+        @Override
+        public OptimizationResult optimize(RecipeMatrix matrix, long timeBudgetMs) {
+            return new OptimizationResult(getName(), plan("A", 1), new PhaseTimings());
+        }
+    }
+
+    /**
+     * Publica uma incumbente e trabalha até ser cancelado, como o branch-and-bound.
+     */
+    private final class Anytime implements OptimizationStrategy {
+
+        @Override
+        public String getName() {
+            return "anytime";
+        }
+
+        @Override
+        public OptimizationResult optimize(RecipeMatrix matrix, long timeBudgetMs) {
+            return optimize(matrix, timeBudgetMs, SolveListener.NONE);
+        }
+
+        @Override
+        public OptimizationResult optimize(RecipeMatrix matrix, long timeBudgetMs, SolveListener listener) {
+            listener.onIncumbent(new long[matrix.products()], 42.0);
+            started.countDown();
+            while (!listener.isCancelled()) {
+                LockSupport.parkNanos(1_000_000);
+            }
+            return new OptimizationResult(getName(),
+                    new ProductionPlan(matrix, new long[matrix.products()], matrix.stockCopy(), 0.0),
+                    new PhaseTimings());
+        }
+    }
+
+    // Plano de um produto só, com as unidades informadas
+    private static ProductionPlan plan(String name, long units) {
+        RecipeMatrix.Builder builder = RecipeMatrix.builder(new long[] {1L}, new long[] {0L});
+        builder.addProduct(1L, name, 1.0, new int[] {0}, new long[] {RecipeMatrix.UNIT});
+        return new ProductionPlan(builder.build(), new long[] {units}, new long[] {0L}, units);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.exception.OptimizerBusyException;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Optimization Result Cache Test Suite")
+class OptimizationResultCacheTest {
+
+    @Test
+    @DisplayName("A repeated request on the same catalog version should be a hit")
+    void testRepeatedRequestIsHit() {
+        OptimizationResultCache cache = new OptimizationResultCache(4);
+        AtomicInteger computations = new AtomicInteger();
+
+        OptimizationResultCache.Lookup first = cache.getOrCompute(1, "greedy", 0, () -> result(computations));
+        OptimizationResultCache.Lookup second = cache.getOrCompute(1, "greedy", 0, () -> result(computations));
+        OptimizationResultCache.Lookup otherBudget = cache.getOrCompute(1, "greedy", 100, () -> result(computations));
+
+        assertFalse(first.hit());
+        assertTrue(second.hit());
+        assertSame(first.result(), second.result());
+        assertFalse(otherBudget.hit(), "Parameters are part of the key");
+        assertEquals(2, computations.get());
+        assertEquals(new OptimizationResultCache.Stats(2, 4, 0, 1, 2, 0, 0, 0, 0), cache.getStats());
+    }
+
+    @Test
+    @DisplayName("A new catalog version should invalidate plans computed on older versions")
+    void testNewVersionInvalidatesOlderEntries() {
+        OptimizationResultCache cache = new OptimizationResultCache(4);
+        AtomicInteger computations = new AtomicInteger();
+        cache.getOrCompute(1, "greedy", 0, () -> result(computations));
+        cache.getOrCompute(1, "lp", 0, () -> result(computations));
+
+        OptimizationResultCache.Lookup afterMutation = cache.getOrCompute(2, "greedy", 0, () -> result(computations));
+        // Requisição atrasada que ainda usava a versão 1: calcula, mas não volta ao cache
+        cache.getOrCompute(1, "mip", 0, () -> result(computations));
+
+        assertFalse(afterMutation.hit());
+        OptimizationResultCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.size());
+        assertEquals(2, stats.invalidations());
+        assertEquals(4, computations.get());
+    }
+
+    @Test
+    @DisplayName("The least recently used entry should be evicted when the cache is full")
+    void testLeastRecentlyUsedIsEvicted() {
+        OptimizationResultCache cache = new OptimizationResultCache(2);
+        AtomicInteger computations = new AtomicInteger();
+        cache.getOrCompute(1, "greedy", 0, () -> result(computations));
+        cache.getOrCompute(1, "lp", 0, () -> result(computations));
+        cache.getOrCompute(1, "greedy", 0, () -> result(computations)); // greedy passa a ser o mais recente
+        cache.getOrCompute(1, "mip", 0, () -> result(computations));    // descarta lp
+
+        assertTrue(cache.getOrCompute(1, "greedy", 0, () -> result(computations)).hit());
+        assertFalse(cache.getOrCompute(1, "lp", 0, () -> result(computations)).hit());
+        assertEquals(2, cache.getStats().evictions());
+        assertEquals(2, cache.getStats().size());
+    }
+
+    @Test
+    @DisplayName("Concurrent identical requests should share one in-flight computation")
+    void testConcurrentRequestsAreCoalesced() throws Exception {
+        OptimizationResultCache cache = new OptimizationResultCache(4);
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int clients = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<OptimizationResultCache.Lookup>> lookups = new ArrayList<>();
+            lookups.add(executor.submit(() -> cache.getOrCompute(1, "mip", 0, () -> {
+                computing.countDown();
+                await(release);
+                return result(computations);
+            })));
+            computing.await();
+            for (int i = 1; i < clients; i++) {
+                lookups.add(executor.submit(() -> cache.getOrCompute(1, "mip", 0, () -> result(computations))));
+            }
+            // Todos os seguidores já estão esperando o líder
+            while (cache.getStats().coalesced() < clients - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            OptimizationResult shared = lookups.get(0).get().result();
+            for (Future<OptimizationResultCache.Lookup> lookup : lookups.subList(1, clients)) {
+                assertSame(shared, lookup.get().result());
+                assertEquals(OptimizationResultCache.Source.COALESCED, lookup.get().source());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, computations.get(), "Only the first request should compute");
+        assertEquals(1, cache.getStats().misses());
+    }
+
+    @Test
+    @DisplayName("A full backlog should reject new work with 503 and Retry-After")
+    void testFullBacklogIsRejected() throws Exception {
+        OptimizationResultCache cache = new OptimizationResultCache(4, 1, 0, 7);
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<OptimizationResultCache.Lookup> busy = executor.submit(() -> cache.getOrCompute(1, "mip", 0, () -> {
+                computing.countDown();
+                await(release);
+                return result(new AtomicInteger());
+            }));
+            computing.await();
+
+            OptimizerBusyException rejected = assertThrows(OptimizerBusyException.class,
+                    () -> cache.getOrCompute(1, "lp", 0, () -> result(new AtomicInteger())));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+            assertEquals("7", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+            release.countDown();
+            busy.get();
+            assertFalse(cache.getOrCompute(1, "lp", 0, () -> result(new AtomicInteger())).hit(),
+                    "Capacity is released once the running computation ends");
+            assertEquals(1, cache.getStats().rejected());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A failed computation should reach every waiting request and not be cached")
+    void testFailureIsNotCached() {
+        OptimizationResultCache cache = new OptimizationResultCache(4);
+
+        assertThrows(IllegalStateException.class, () -> cache.getOrCompute(1, "lp", 0, () -> {
+            throw new IllegalStateException("solver failed");
+        }));
+
+        assertFalse(cache.getOrCompute(1, "lp", 0, () -> result(new AtomicInteger())).hit());
+        assertEquals(0, cache.getStats().inFlight());
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private OptimizationResult result(AtomicInteger computations) {
+        computations.incrementAndGet();
+        return new OptimizationResult("test", plan("TABLE", computations.get()), new PhaseTimings());
+    }
+
+    // Plano de um produto só, com as unidades informadas
+    private static ProductionPlan plan(String name, long units) {
+        RecipeMatrix.Builder builder = RecipeMatrix.builder(new long[] {1L}, new long[] {0L});
+        builder.addProduct(1L, name, 1.0, new int[] {0}, new long[] {RecipeMatrix.UNIT});
+        return new ProductionPlan(builder.build(), new long[] {units}, new long[] {0L}, units);
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.OptimizationProgressDTO;
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComposition;
+import com.example.industrialoptimizer.model.ProductCompositionKey;
+import com.example.industrialoptimizer.model.RawMaterial;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Optimization Stream Service Test Suite")
+class OptimizationStreamServiceTest {
+
+    private final ProductionOptimizerService optimizer = new ProductionOptimizerService(null);
+
+    private final OptimizationStreamService streams = new OptimizationStreamService(optimizer,
+            new OptimizationResultCache(4), 5_000, 60_000);
+
+    @AfterEach
+    void tearDown() {
+        streams.shutdown();
+        optimizer.shutdownOptimizerPool();
+    }
+
+    @Test
+    @DisplayName("Should stream the greedy plan first, then only better plans, ending at the MIP optimum")
+    void testStreamImprovesUntilOptimal() {
+        for (int seed = 0; seed < 10; seed++) {
+            CatalogSnapshot snapshot = randomCatalog(new Random(seed));
+            List<OptimizationProgressDTO> plans = new ArrayList<>();
+
+            OptimizationProgressDTO done = streams.run(snapshot, 10_000, () -> false, plans::add);
+
+            // O primeiro plano é o guloso, ainda sem limite superior
+            assertFalse(plans.isEmpty());
+            assertEquals("greedy", plans.get(0).getStrategy());
+            assertEquals(1, plans.get(0).getSequence());
+            assertNull(plans.get(0).getBestBound());
+            assertEquals(optimizer.planOptimalProduction(snapshot.getMatrix(), new PhaseTimings()).getTotalProfit(),
+                    plans.get(0).getTotalProfit(), 1e-9);
+            for (int i = 1; i < plans.size(); i++) {
+                assertEquals(i + 1, plans.get(i).getSequence());
+                assertTrue(plans.get(i).getTotalProfit() > plans.get(i - 1).getTotalProfit(),
+                        "Seed " + seed + ": only strictly better plans should be streamed");
+                assertTrue(plans.get(i).getBestBound() >= plans.get(i).getTotalProfit() - 1e-6);
+            }
+
+            IntegerProductionResult mip = optimizer.calculateIntegerProduction(snapshot.getMatrix(), 10_000,
+                    new PhaseTimings());
+            OptimizationProgressDTO last = plans.get(plans.size() - 1);
+            assertEquals("OPTIMAL", done.getStatus(), "Seed " + seed);
+            assertEquals(last.getSequence(), done.getSequence());
+            assertEquals(last.getProducts(), done.getProducts());
+            assertEquals(last.getMaterials(), done.getMaterials());
+            assertEquals(mip.getPlan().getTotalProfit(), done.getTotalProfit(), 1e-6, "Seed " + seed);
+            assertEquals(0.0, done.getOptimalityGap(), 1e-9);
+            assertEquals(1L, done.getCatalogVersion());
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop the search and report CANCELLED once the client disconnects")
+    void testClientDisconnectCancelsTheStream() {
+        CatalogSnapshot snapshot = randomCatalog(new Random(3));
+        AtomicBoolean closed = new AtomicBoolean();
+        List<OptimizationProgressDTO> plans = new ArrayList<>();
+
+        // O cliente desconecta assim que recebe o primeiro plano
+        OptimizationProgressDTO done = streams.run(snapshot, 10_000, closed::get, plan -> {
+            plans.add(plan);
+            closed.set(true);
+        });
+
+        assertEquals(1, plans.size());
+        assertEquals("greedy", plans.get(0).getStrategy());
+        assertEquals("CANCELLED", done.getStatus());
+        assertEquals(plans.get(0).getProducts(), done.getProducts());
+    }
+
+    @Test
+    @DisplayName("Should reject a time budget outside the configured range")
+    void testRejectsInvalidTimeBudget() {
+        CatalogSnapshot snapshot = randomCatalog(new Random(1));
+
+        ResponseStatusException tooLong = assertThrows(ResponseStatusException.class,
+                () -> streams.open(snapshot, 60_001));
+        ResponseStatusException negative = assertThrows(ResponseStatusException.class,
+                () -> streams.open(snapshot, -1));
+
+        assertEquals(HttpStatus.BAD_REQUEST, tooLong.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, negative.getStatusCode());
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * Reproducible catalog: 6 materials shared by 15 products with 1 to 3 recipe lines.
+     */
+    private static CatalogSnapshot randomCatalog(Random random) {
+        List<RawMaterial> materials = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            RawMaterial material = new RawMaterial();
+            material.setId(id);
+            material.setCode("RM-" + id);
+            material.setName("Material " + id);
+            material.setUnitMeasure("UNIT");
+            material.setStockQuantity(BigDecimal.valueOf(random.nextInt(100_000), 3));
+            material.setUnitCost(BigDecimal.valueOf(100 + random.nextInt(2_000), 2));
+            materials.add(material);
+        }
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 15; id++) {
+            Product product = new Product();
+            product.setId(id);
+            product.setCode("PRD-" + id);
+            product.setName("Product " + id);
+            product.setSaleValue(BigDecimal.valueOf(5_000 + random.nextInt(50_000), 2));
+            List<ProductComposition> recipe = new ArrayList<>();
+            for (int line = 1 + random.nextInt(3); line > 0; line--) {
+                RawMaterial material = materials.get(random.nextInt(materials.size()));
+                if (recipe.stream().anyMatch(c -> c.getRawMaterial() == material)) {
+                    continue;
+                }
+                ProductComposition composition = new ProductComposition();
+                ProductCompositionKey key = new ProductCompositionKey();
+                key.setProductId(id);
+                key.setRawMaterialId(material.getId());
+                composition.setId(key);
+                composition.setProduct(product);
+                composition.setRawMaterial(material);
+                composition.setQuantityNeeded(BigDecimal.valueOf(1 + random.nextInt(20_000), 3));
+                recipe.add(composition);
+            }
+            product.setCompositions(recipe);
+            products.add(product);
+        }
+        return CatalogSnapshot.of(1, products, materials);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComposition;
+import com.example.industrialoptimizer.model.ProductCompositionKey;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.repository.ProductRepository;
+import com.example.industrialoptimizer.repository.RawMaterialRepository;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Optimizer Flight Recorder Events Test Suite")
+class OptimizerEventsTest {
+
+    @TempDir
+    private Path dir;
+
+    private CatalogSnapshotService catalog;
+    private ProductionOptimizerService optimizer;
+
+    @BeforeEach
+    void setUp() {
+        RawMaterial wood = new RawMaterial();
+        wood.setId(1L);
+        wood.setCode("WOOD");
+        wood.setName("Wood");
+        wood.setStockQuantity(new BigDecimal("10.000"));
+        wood.setUnitMeasure("UNIT");
+        wood.setUnitCost(new BigDecimal("5.00"));
+
+        Product table = new Product();
+        table.setId(1L);
+        table.setCode("TABLE");
+        table.setName("Table");
+        table.setSaleValue(new BigDecimal("100.00"));
+        ProductComposition composition = new ProductComposition();
+        composition.setId(new ProductCompositionKey(1L, 1L));
+        composition.setProduct(table);
+        composition.setRawMaterial(wood);
+        composition.setQuantityNeeded(new BigDecimal("2.000"));
+        table.setCompositions(new ArrayList<>(List.of(composition)));
+
+        ProductRepository products = mock(ProductRepository.class);
+        RawMaterialRepository materials = mock(RawMaterialRepository.class);
+        when(products.findAllWithCompositions()).thenReturn(List.of(table));
+        when(materials.findAll()).thenReturn(List.of(wood));
+        catalog = new CatalogSnapshotService(products, materials);
+        optimizer = new ProductionOptimizerService(catalog);
+    }
+
+    @Test
+    @DisplayName("The bundled JFC should record optimizer runs with strategy, sizes, units and catalog version")
+    void testRecordsOptimizationRuns() throws Exception {
+        CatalogSnapshot snapshot = catalog.current();
+        RecipeMatrix whatIf = snapshot.getMatrix().withOverlay(new long[] {20_000}, null);
+
+        List<RecordedEvent> events = record(() -> {
+            optimizer.planOptimalProduction(snapshot.getMatrix(), new PhaseTimings());
+            optimizer.calculateIntegerProduction(snapshot.getMatrix(), 1_000, new PhaseTimings());
+            optimizer.planLinearProgrammingProduction(whatIf, new PhaseTimings());
+        }, OptimizationRunEvent.NAME);
+
+        assertEquals(List.of("greedy", "mip", "lp"), events.stream().map(e -> e.getString("strategy")).toList());
+        RecordedEvent greedy = events.get(0);
+        assertEquals(snapshot.getVersion(), greedy.getLong("catalogVersion"));
+        assertEquals(1, greedy.getInt("products"));
+        assertEquals(1, greedy.getInt("materials"));
+        assertEquals(5, greedy.getLong("unitsProduced"));
+        assertEquals(450.0, greedy.getDouble("totalProfit"), 1e-9);
+        assertTrue(greedy.getBoolean("succeeded"));
+        assertNull(greedy.getStackTrace());
+        assertEquals(5, events.get(1).getLong("unitsProduced"));
+        // Matriz de cenário: não é a da fotografia
+        assertEquals(0, events.get(2).getLong("catalogVersion"));
+        assertEquals(10, events.get(2).getLong("unitsProduced"));
+    }
+
+    @Test
+    @DisplayName("A catalog write should record the entity and the version bump once the new snapshot is published")
+    void testRecordsCatalogMutations() throws Exception {
+        long before = catalog.current().getVersion();
+
+        List<RecordedEvent> events = record(() -> {
+            catalog.refreshAfterCommit("RawMaterial", 1L, "UPDATE");
+            catalog.refreshAfterCommit("ProductComposition", "1:1", "DELETE");
+        }, CatalogMutationEvent.NAME);
+
+        assertEquals(2, events.size());
+        RecordedEvent update = events.get(0);
+        assertEquals("RawMaterial", update.getString("entityType"));
+        assertEquals("1", update.getString("entityId"));
+        assertEquals("UPDATE", update.getString("operation"));
+        assertEquals(before, update.getLong("previousVersion"));
+        assertEquals(before + 1, update.getLong("newVersion"));
+        assertEquals("1:1", events.get(1).getString("entityId"));
+        assertEquals(before + 2, events.get(1).getLong("newVersion"));
+    }
+
+    // Grava com o perfil empacotado e devolve, em ordem, os eventos do tipo informado
+    private List<RecordedEvent> record(Runnable work, String eventName) throws Exception {
+        Configuration settings;
+        try (Reader jfc = new InputStreamReader(getClass().getResourceAsStream("/jfr/industrial-optimizer.jfc"),
+                StandardCharsets.UTF_8)) {
+            settings = Configuration.create(jfc);
+        }
+        Path file = dir.resolve("optimizer.jfr");
+        try (Recording recording = new Recording(settings)) {
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .toList();
+    }
+}
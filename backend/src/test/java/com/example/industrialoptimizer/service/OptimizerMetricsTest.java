@@ -0,0 +1,162 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Meters of the optimization pipeline, against the H2 schema and seed from ../database.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DisplayName("Optimizer Metrics Test Suite")
+class OptimizerMetricsTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private CatalogSnapshotService catalog;
+
+    @Autowired
+    private OptimizationResultCache resultCache;
+
+    @Test
+    @DisplayName("A computed /suggest should record its phases and counters; a cached one only serialization")
+    void testSuggestRecordsPhasesAndCounters() throws Exception {
+        CatalogSnapshot snapshot = catalog.refresh();
+        double products = count("optimizer.products.considered", "lp");
+        double units = count("optimizer.units.produced", "lp");
+        long solves = phase("lp", "solve").map(Timer::count).orElse(0L);
+        long serializations = phase("lp", "serialize").map(Timer::count).orElse(0L);
+
+        mvc.perform(get("/api/products/suggest?strategy=lp")).andExpect(status().isOk());
+        mvc.perform(get("/api/products/suggest?strategy=lp")).andExpect(status().isOk());
+
+        // Um cálculo (o segundo pedido vem do cache) e duas respostas montadas
+        assertEquals(solves + 1, phase("lp", "solve").orElseThrow().count());
+        assertEquals(solves + 1, phase("lp", "build").orElseThrow().count());
+        assertEquals(serializations + 2, phase("lp", "serialize").orElseThrow().count());
+        assertTrue(phase("lp", "solve").orElseThrow().totalTime(TimeUnit.NANOSECONDS) > 0);
+
+        OptimizationResult result = resultCache.getOrCompute(snapshot.getVersion(), "lp", 0, () -> {
+            throw new AssertionError("should be cached");
+        }).result();
+        long planned = 0;
+        for (int p = 0; p < snapshot.getMatrix().products(); p++) {
+            planned += result.getPlan().getUnits(p);
+        }
+        assertTrue(planned > 0);
+        assertEquals(products + snapshot.getMatrix().products(), count("optimizer.products.considered", "lp"));
+        assertEquals(units + planned, count("optimizer.units.produced", "lp"));
+    }
+
+    @Test
+    @DisplayName("A catalog refresh should time the database read and the snapshot compilation")
+    void testCatalogRefreshRecordsLoadPhases() {
+        long reads = catalogPhase("read").count();
+        long compiles = catalogPhase("compile").count();
+
+        catalog.refresh();
+
+        assertEquals(reads + 1, catalogPhase("read").count());
+        assertEquals(compiles + 1, catalogPhase("compile").count());
+    }
+
+    @Test
+    @DisplayName("Gauges should follow the result cache and the job queue")
+    void testGaugesFollowCacheAndJobs() throws Exception {
+        CatalogSnapshot snapshot = catalog.refresh();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        double misses = registry.get("optimizer.cache.requests").tag("result", "miss").functionCounter().count();
+
+        Thread computing = Thread.ofVirtual().start(() -> resultCache.getOrCompute(snapshot.getVersion(), "gauge", 0,
+                () -> {
+                    started.countDown();
+                    await(release);
+                    RecipeMatrix matrix = snapshot.getMatrix();
+                    return new OptimizationResult("gauge",
+                            new ProductionPlan(matrix, new long[matrix.products()], matrix.stockCopy(), 0.0),
+                            new PhaseTimings());
+                }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.get("optimizer.cache.in.flight").gauge().value());
+        release.countDown();
+        computing.join();
+
+        assertEquals(0.0, registry.get("optimizer.cache.in.flight").gauge().value());
+        assertEquals(resultCache.getStats().size(), registry.get("optimizer.cache.size").gauge().value());
+        assertEquals(misses + 1,
+                registry.get("optimizer.cache.requests").tag("result", "miss").functionCounter().count());
+        assertEquals(0.0, registry.get("optimizer.jobs.active").gauge().value());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("optimizer_cache_size ")))
+                .andExpect(content().string(containsString("optimizer_jobs_active ")))
+                .andExpect(content().string(containsString("optimizer_cache_requests_total{result=\"miss\"}")))
+                .andExpect(content().string(containsString(
+                        "optimizer_catalog_phase_seconds_bucket{phase=\"compile\"")));
+    }
+
+    @Test
+    @DisplayName("The Prometheus endpoint should expose phase histograms per strategy")
+    void testPrometheusExposesPhaseHistograms() throws Exception {
+        mvc.perform(get("/api/products/suggest?strategy=greedy")).andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "optimizer_phase_seconds_bucket{phase=\"solve\",strategy=\"greedy\",le=")))
+                .andExpect(content().string(containsString(
+                        "optimizer_phase_seconds_count{phase=\"serialize\",strategy=\"greedy\"}")))
+                .andExpect(content().string(containsString("optimizer_units_produced_total{strategy=\"greedy\"}")))
+                .andExpect(content().string(containsString(
+                        "optimizer_products_considered_total{strategy=\"greedy\"}")));
+    }
+
+    private Optional<Timer> phase(String strategy, String phase) {
+        return Optional.ofNullable(registry.find("optimizer.phase")
+                .tags("strategy", strategy, "phase", phase).timer());
+    }
+
+    private Timer catalogPhase(String phase) {
+        return registry.get("optimizer.catalog.phase").tag("phase", phase).timer();
+    }
+
+    private double count(String name, String strategy) {
+        Counter counter = registry.find(name).tag("strategy", strategy).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
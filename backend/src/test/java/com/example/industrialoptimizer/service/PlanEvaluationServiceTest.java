@@ -0,0 +1,103 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.MaterialRequirementDTO;
+import com.example.industrialoptimizer.dto.PlanEvaluationDTO;
+import com.example.industrialoptimizer.dto.TargetPlanDTO;
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.RawMaterial;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.industrialoptimizer.service.TestCatalogs.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Plan Evaluation Test Suite")
+class PlanEvaluationServiceTest {
+
+    private final PlanEvaluationService service = new PlanEvaluationService(2);
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        RawMaterial fabric = material(1L, "FABRIC", "4.00", "10.000");
+        RawMaterial wood = material(2L, "WOOD", "20.00", "5.000");
+        RawMaterial glue = material(3L, "GLUE", "1.00", "100.000");
+        Product cushion = product(1L, "CUSHION", "30.00", false);
+        compose(cushion, fabric, "1.500");
+        Product chair = product(2L, "CHAIR", "150.00", true);
+        compose(chair, wood, "2.000");
+        compose(chair, glue, "0.100");
+        snapshot = CatalogSnapshot.of(1, List.of(cushion, chair), List.of(fabric, wood, glue),
+                List.of(component(2L, 1L, "2.000")));
+    }
+
+    @Test
+    @DisplayName("Each plan should report feasibility, the violated materials, cost, revenue and profit")
+    void testFeasibilityAndProfit() {
+        List<PlanEvaluationDTO> results = service.evaluate(snapshot, List.of(
+                plan("fits", Map.of(2L, 2L)),
+                plan("too big", Map.of(2L, 4L))), 1);
+
+        // 2 cadeiras: 4 madeiras, 0,2 de cola e 4 almofadas (6 de tecido); custo 2 × 52,10
+        PlanEvaluationDTO fits = results.get(0);
+        assertTrue(fits.isFeasible());
+        assertEquals(0, fits.getViolationCount());
+        assertEquals(new BigDecimal("104.20"), fits.getTotalCost());
+        assertEquals(new BigDecimal("300.00"), fits.getTotalRevenue());
+        assertEquals(new BigDecimal("195.80"), fits.getTotalProfit());
+
+        // 4 cadeiras: faltam 2 de tecido e 3 de madeira; só o primeiro violado é listado
+        PlanEvaluationDTO tooBig = results.get(1);
+        assertFalse(tooBig.isFeasible());
+        assertEquals(2, tooBig.getViolationCount());
+        assertEquals(1, tooBig.getViolations().size());
+        MaterialRequirementDTO first = tooBig.getViolations().get(0);
+        assertEquals(1L, first.getId());
+        assertEquals(new BigDecimal("12.000"), first.getRequired());
+        assertEquals(new BigDecimal("2.000"), first.getShortfall());
+        assertEquals(new BigDecimal("208.40"), tooBig.getTotalCost());
+    }
+
+    @Test
+    @DisplayName("An invalid plan should be reported in place without failing the rest of the batch")
+    void testInvalidPlanDoesNotFailTheBatch() {
+        List<PlanEvaluationDTO> results = service.evaluate(snapshot, List.of(
+                plan("unknown", Map.of(42L, 1L)),
+                plan(null, Map.of(2L, 1L)),
+                plan("negative", Map.of(2L, -1L))), 3);
+
+        assertNotNull(results.get(0).getError());
+        assertFalse(results.get(0).isFeasible());
+        assertNull(results.get(1).getError());
+        assertEquals("#2", results.get(1).getName());
+        assertTrue(results.get(1).isFeasible());
+        assertNotNull(results.get(2).getError());
+    }
+
+    @Test
+    @DisplayName("A parallel batch should keep the request order and match plans evaluated one at a time")
+    void testParallelBatchMatchesSingleEvaluations() {
+        List<TargetPlanDTO> plans = new ArrayList<>();
+        for (int i = 0; i < PlanEvaluationService.CHUNK * 5 + 17; i++) {
+            plans.add(plan("p" + i, Map.of(2L, (long) (i % 5), 1L, (long) (i % 3))));
+        }
+
+        List<PlanEvaluationDTO> batch = service.evaluate(snapshot, plans, 3);
+
+        assertEquals(plans.size(), batch.size());
+        for (int i = 0; i < plans.size(); i++) {
+            assertEquals(service.evaluate(snapshot, List.of(plans.get(i)), 3).get(0), batch.get(i), "plan " + i);
+        }
+    }
+
+    private static TargetPlanDTO plan(String name, Map<Long, Long> quantities) {
+        return TargetPlanDTO.builder().name(name).quantities(quantities).build();
+    }
+}
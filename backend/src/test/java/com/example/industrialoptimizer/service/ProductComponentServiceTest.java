@@ -0,0 +1,87 @@
+package com.example.industrialoptimizer.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sub-assemblies against the H2 schema and seed from ../database (the seat cushion, product 7,
+ * is a non-sellable component of the chair and the armchair). Own in-memory database: the writes
+ * here must not leak into the other Spring test contexts.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "spring.datasource.url=jdbc:h2:mem:components"})
+@AutoConfigureMockMvc
+@DisplayName("Product Component Test Suite")
+class ProductComponentServiceTest {
+
+    private static final long CHAIR = 2L;
+    private static final long FRAME = 6L;
+    private static final long CUSHION = 7L;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private CatalogSnapshotService catalog;
+
+    @Test
+    @DisplayName("The seed cushion should be exploded into the chair recipe and kept out of the optimizer")
+    void testSeedSubAssembly() throws Exception {
+        mvc.perform(get("/api/product-components?productId=" + CHAIR))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].componentCode").value("SUB-CUSHION-01"))
+                .andExpect(jsonPath("$[0].componentUnitCost").value(47.5));
+
+        // Aço e parafusos da própria receita; tecido e espuma das duas almofadas
+        mvc.perform(get("/api/product-compositions/flattened?productId=" + CHAIR))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].rawMaterialId").value(contains(3, 6, 7, 8)))
+                .andExpect(jsonPath("$[2].quantityNeeded").value(2.0))
+                .andExpect(jsonPath("$[3].quantityNeeded").value(1.0));
+
+        CatalogSnapshot snapshot = catalog.current();
+        for (int j = 0; j < snapshot.getMatrix().products(); j++) {
+            assertNotEquals(CUSHION, snapshot.getMatrix().productId(j));
+        }
+    }
+
+    @Test
+    @DisplayName("Writes should reject cycles and the deletion of a product still used as a component")
+    void testWritesGuardTheStructure() throws Exception {
+        mvc.perform(post("/api/product-components").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"productId\": " + CUSHION + ", \"componentId\": " + CHAIR + ", \"quantityNeeded\": 1}"))
+                .andExpect(status().isConflict());
+        mvc.perform(post("/api/product-components").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"productId\": " + CUSHION + ", \"componentId\": " + CUSHION + ", \"quantityNeeded\": 1}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(delete("/api/products/" + CUSHION)).andExpect(status().isConflict());
+
+        long before = catalog.current().getVersion();
+        mvc.perform(post("/api/product-components").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"productId\": " + FRAME + ", \"componentId\": " + CUSHION + ", \"quantityNeeded\": 1}"))
+                .andExpect(status().isCreated());
+        try {
+            assertTrue(catalog.current().getVersion() > before);
+            assertTrue(catalog.current().getBillOfMaterials().dependsOn(FRAME, CUSHION));
+            mvc.perform(get("/api/product-compositions/flattened?productId=" + FRAME))
+                    .andExpect(jsonPath("$[*].rawMaterialId").value(contains(2, 5, 7, 8)));
+        } finally {
+            mvc.perform(delete("/api/product-components/" + FRAME + "/" + CUSHION)).andExpect(status().isNoContent());
+        }
+        assertFalse(catalog.current().getBillOfMaterials().dependsOn(FRAME, CUSHION));
+    }
+}
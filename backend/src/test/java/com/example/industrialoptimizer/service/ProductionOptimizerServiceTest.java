@@ -1,21 +1,31 @@
 package com.example.industrialoptimizer.service;
 
+import com.example.industrialoptimizer.dto.MaterialConsumptionDTO;
+import com.example.industrialoptimizer.dto.PlannedProductDTO;
+import com.example.industrialoptimizer.dto.PresolveReportDTO;
+import com.example.industrialoptimizer.dto.ProductionResultDTO;
+import com.example.industrialoptimizer.dto.RemovedProductDTO;
 import com.example.industrialoptimizer.model.Product;
 import com.example.industrialoptimizer.model.ProductComposition;
 import com.example.industrialoptimizer.model.ProductCompositionKey;
 import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.optimizer.BranchAndBoundSolver;
+import com.example.industrialoptimizer.optimizer.MipSolution;
+import com.example.industrialoptimizer.optimizer.Presolve;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.optimizer.RevisedSimplexSolver;
 import com.example.industrialoptimizer.repository.ProductRepository;
 import com.example.industrialoptimizer.repository.RawMaterialRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,13 +40,17 @@ class ProductionOptimizerServiceTest {
     @Mock
     private RawMaterialRepository rawMaterialRepository;
 
-    @InjectMocks
+    private CatalogSnapshotService catalogSnapshotService;
+
     private ProductionOptimizerService productionOptimizerService;
 
     @BeforeEach
     void setUp() {
         log.info("Initializing test fixtures");
         MockitoAnnotations.openMocks(this);
+        // O catálogo é lido dos repositórios (mocks) na primeira otimização de cada teste
+        catalogSnapshotService = new CatalogSnapshotService(productRepository, rawMaterialRepository);
+        productionOptimizerService = new ProductionOptimizerService(catalogSnapshotService);
     }
 
     // Abundance Scenario
@@ -58,7 +72,7 @@ class ProductionOptimizerServiceTest {
         productOne.setCompositions(new ArrayList<>(List.of(compOne)));
         productTwo.setCompositions(new ArrayList<>(List.of(compTwo)));
 
-        when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(productOne, productTwo)));
+        when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(productOne, productTwo)));
         when(rawMaterialRepository.findAll()).thenReturn(new ArrayList<>(List.of(materialA, materialB)));
 
         // Act
@@ -89,7 +103,7 @@ class ProductionOptimizerServiceTest {
         ProductComposition compOne = createComposition(productOne, materialA, new BigDecimal("5"));
         productOne.setCompositions(new ArrayList<>(List.of(compOne)));
 
-        when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(productOne)));
+        when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(productOne)));
         when(rawMaterialRepository.findAll()).thenReturn(new ArrayList<>(List.of(materialA, materialB)));
 
         // Act
@@ -121,7 +135,7 @@ class ProductionOptimizerServiceTest {
         ProductComposition compB = createComposition(productB, commonMaterial, new BigDecimal("10"));
         productB.setCompositions(new ArrayList<>(List.of(compB)));
 
-        when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(productA, productB)));
+        when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(productA, productB)));
         when(rawMaterialRepository.findAll()).thenReturn(new ArrayList<>(List.of(commonMaterial)));
 
         // Act
@@ -150,7 +164,7 @@ class ProductionOptimizerServiceTest {
         ProductComposition compA = createComposition(productA, materialA, new BigDecimal("3"));
         productA.setCompositions(new ArrayList<>(List.of(compA)));
 
-        when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(productA)));
+        when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(productA)));
         when(rawMaterialRepository.findAll()).thenReturn(new ArrayList<>(List.of(materialA)));
 
         // Act
@@ -185,7 +199,7 @@ class ProductionOptimizerServiceTest {
 
         productComplex.setCompositions(new ArrayList<>(List.of(compA, compB, compC)));
 
-        when(productRepository.findAll()).thenReturn(new ArrayList<>(List.of(productComplex)));
+        when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(productComplex)));
         when(rawMaterialRepository.findAll()).thenReturn(new ArrayList<>(List.of(materialA, materialB, materialC)));
 
         // Act
@@ -199,8 +213,609 @@ class ProductionOptimizerServiceTest {
         log.info("Composite Materials Scenario passed: Production blocked due to missing material");
     }
 
+    // Large Stock
+    @Test
+    @DisplayName("Should compute large quantities in one pass instead of unit by unit")
+    void testLargeStockScenario() {
+        log.info("Starting Large Stock Scenario test");
+
+        // Arrange: 1.000.000 de unidades de estoque consumidas 0.001 por peça = 1 bilhão de peças
+        RawMaterial materialA = createRawMaterial(1L, "MATERIAL_A", new BigDecimal("1000000.000"));
+
+        Product productA = createProduct(1L, "PRODUCT_A", new BigDecimal("500"));
+        ProductComposition compA = createComposition(productA, materialA, new BigDecimal("0.001"));
+        productA.setCompositions(new ArrayList<>(List.of(compA)));
+
+        when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(productA)));
+        when(rawMaterialRepository.findAll()).thenReturn(new ArrayList<>(List.of(materialA)));
+
+        // Act
+        Map<String, Integer> result = productionOptimizerService.calculateOptimalProduction();
+
+        // Assert
+        assertEquals(1_000_000_000, result.get("PRODUCT_A"), "Should suggest 1.000.000 ÷ 0.001 units");
+
+        log.info("Large Stock Scenario passed: {}", result);
+    }
+
+    // Empty Recipe
+    @Test
+    @DisplayName("Should skip products without a limiting raw material instead of looping forever")
+    void testEmptyRecipeScenario() {
+        log.info("Starting Empty Recipe Scenario test");
+
+        // Arrange
+        RawMaterial materialA = createRawMaterial(1L, "MATERIAL_A", new BigDecimal("10"));
+
+        Product emptyProduct = createProduct(1L, "EMPTY_PRODUCT", new BigDecimal("900"));
+        Product productA = createProduct(2L, "PRODUCT_A", new BigDecimal("500"));
+        ProductComposition compA = createComposition(productA, materialA, new BigDecimal("2"));
+        productA.setCompositions(new ArrayList<>(List.of(compA)));
+
+        when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(List.of(emptyProduct, productA)));
+        when(rawMaterialRepository.findAll()).thenReturn(new ArrayList<>(List.of(materialA)));
+
+        // Act
+        Map<String, Integer> result = productionOptimizerService.calculateOptimalProduction();
+
+        // Assert
+        assertFalse(result.containsKey("EMPTY_PRODUCT"), "Product without recipe should not be suggested");
+        assertEquals(5, result.get("PRODUCT_A"), "Should suggest 10 ÷ 2 = 5 units");
+
+        log.info("Empty Recipe Scenario passed: {}", result);
+    }
+
+    // Equivalence with the unit-by-unit greedy
+    @Test
+    @DisplayName("Should match the unit-by-unit greedy allocation on random shared-material catalogs")
+    void testMatchesUnitByUnitGreedy() {
+        log.info("Starting Unit-by-Unit Equivalence test");
+
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            // Arrange
+            List<RawMaterial> materials = new ArrayList<>();
+            for (long m = 1; m <= 4; m++) {
+                BigDecimal stock = BigDecimal.valueOf(random.nextInt(200_000), 3);
+                materials.add(createRawMaterial(m, "MATERIAL_" + m, stock));
+            }
+
+            List<Product> products = new ArrayList<>();
+            for (long p = 1; p <= 5; p++) {
+                Product product = createProduct(p, "PRODUCT_" + p, BigDecimal.valueOf(100 + random.nextInt(900)));
+                List<ProductComposition> compositions = new ArrayList<>();
+                for (RawMaterial material : materials) {
+                    if (random.nextBoolean()) {
+                        BigDecimal needed = BigDecimal.valueOf(1 + random.nextInt(20_000), 3);
+                        compositions.add(createComposition(product, material, needed));
+                    }
+                }
+                if (compositions.isEmpty()) {
+                    compositions.add(createComposition(product, materials.get(0), BigDecimal.ONE));
+                }
+                product.setCompositions(compositions);
+                products.add(product);
+            }
+
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(products));
+            when(rawMaterialRepository.findAll()).thenReturn(new ArrayList<>(materials));
+            catalogSnapshotService.refresh();
+
+            // Act
+            Map<String, Integer> result = productionOptimizerService.calculateOptimalProduction();
+
+            // Assert: mesma prioridade do serviço (lucro decrescente, ordenação estável)
+            List<Product> ordered = new ArrayList<>(products);
+            ordered.sort(Comparator.comparing(this::profitOf).reversed());
+            assertEquals(unitByUnitGreedy(ordered, materials), result, "Round " + round + " should match");
+        }
+
+        log.info("Unit-by-Unit Equivalence test passed");
+    }
+
+    // Competing Products (Linear Programming mode)
+    @Test
+    @DisplayName("LP mode should beat the greedy when products compete for the same raw material")
+    void testLinearProgrammingBeatsGreedy() {
+        log.info("Starting Competing Products Scenario test");
+
+        // Arrange: CHAIR tem maior lucro unitário, mas consome muita espuma;
+        // STOOL lucra menos por unidade e gasta 1/4 da espuma.
+        RawMaterial foam = createRawMaterial(1L, "FOAM", new BigDecimal("12"));
+        foam.setUnitCost(BigDecimal.ZERO);
+
+        Product chair = createProduct(1L, "CHAIR", new BigDecimal("100"));
+        chair.setCompositions(new ArrayList<>(List.of(createComposition(chair, foam, new BigDecimal("4")))));
+        Product stool = createProduct(2L, "STOOL", new BigDecimal("40"));
+        stool.setCompositions(new ArrayList<>(List.of(createComposition(stool, foam, new BigDecimal("1")))));
+
+        when(productRepository.findAllWithCompositions()).thenAnswer(invocation -> new ArrayList<>(List.of(chair, stool)));
+        when(rawMaterialRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(List.of(foam)));
+
+        // Act
+        Map<String, Integer> greedy = productionOptimizerService.calculateOptimalProduction();
+        Map<String, Integer> lp = productionOptimizerService.calculateLinearProgrammingProduction();
+
+        // Assert: guloso = 3 cadeiras (R$ 300); LP = 12 banquinhos (R$ 480)
+        assertEquals(Map.of("CHAIR", 3), greedy);
+        assertEquals(Map.of("STOOL", 12), lp);
+
+        log.info("Competing Products Scenario passed: greedy={}, lp={}", greedy, lp);
+    }
+
+    // Integer Optimum (MIP mode)
+    @Test
+    @DisplayName("MIP mode should find the integer optimum that LP rounding misses")
+    void testIntegerProductionBeatsRounding() {
+        log.info("Starting Integer Optimum Scenario test");
+
+        // Arrange: LP = 1 TABLE + 0.8 SHELF; arredondado = 1 TABLE (R$ 7).
+        // O ótimo inteiro é 2 SHELF (R$ 11).
+        RawMaterial wood = createRawMaterial(1L, "WOOD", new BigDecimal("10"));
+        wood.setUnitCost(BigDecimal.ZERO);
+
+        Product table = createProduct(1L, "TABLE", new BigDecimal("7"));
+        table.setCompositions(new ArrayList<>(List.of(createComposition(table, wood, new BigDecimal("6")))));
+        Product shelf = createProduct(2L, "SHELF", new BigDecimal("5.5"));
+        shelf.setCompositions(new ArrayList<>(List.of(createComposition(shelf, wood, new BigDecimal("5")))));
+
+        when(productRepository.findAllWithCompositions()).thenAnswer(invocation -> new ArrayList<>(List.of(table, shelf)));
+        when(rawMaterialRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(List.of(wood)));
+
+        // Act
+        Map<String, Integer> lp = productionOptimizerService.calculateLinearProgrammingProduction();
+        IntegerProductionResult mip = productionOptimizerService.calculateIntegerProduction();
+
+        // Assert
+        assertEquals(Map.of("TABLE", 1), lp);
+        assertEquals(Map.of("SHELF", 2), mip.getProduction());
+        assertTrue(mip.getSolution().isOptimal(), "Search should prove optimality");
+        assertEquals(0.0, mip.getSolution().getGap(), 1e-12);
+
+        log.info("Integer Optimum Scenario passed: lp={}, mip={}", lp, mip.getProduction());
+    }
+
+    // Warm Start (LP mode across catalog versions)
+    @Test
+    @DisplayName("LP mode warm-started from the previous catalog version should match a cold solve")
+    void testLinearProgrammingWarmStartAcrossVersions() {
+        log.info("Starting LP Warm Start test");
+
+        Random random = new Random(13);
+        List<RawMaterial> materials = new ArrayList<>();
+        for (long m = 1; m <= 12; m++) {
+            RawMaterial material = createRawMaterial(m, "MATERIAL_" + m, BigDecimal.valueOf(random.nextInt(500_000), 3));
+            material.setUnitCost(BigDecimal.valueOf(random.nextInt(1_000), 2));
+            materials.add(material);
+        }
+        List<Product> products = new ArrayList<>();
+        for (long p = 1; p <= 40; p++) {
+            products.add(randomProduct(random, p, materials));
+        }
+
+        for (int version = 0; version < 30; version++) {
+            // Arrange: a cada versão, ajustes de estoque e custo, às vezes um produto a mais ou a menos
+            RawMaterial adjusted = materials.get(random.nextInt(materials.size()));
+            adjusted.setStockQuantity(BigDecimal.valueOf(random.nextInt(500_000), 3));
+            if (version % 3 == 0) {
+                materials.get(random.nextInt(materials.size())).setUnitCost(BigDecimal.valueOf(random.nextInt(1_000), 2));
+            }
+            if (version % 5 == 0) {
+                products.remove(random.nextInt(products.size()));
+            } else if (version % 7 == 0) {
+                products.add(randomProduct(random, 100 + version, materials));
+            }
+            when(productRepository.findAllWithCompositions()).thenReturn(new ArrayList<>(products));
+            when(rawMaterialRepository.findAll()).thenReturn(new ArrayList<>(materials));
+            RecipeMatrix matrix = catalogSnapshotService.refresh().getMatrix();
+
+            // Act: o mesmo serviço guarda a base da versão anterior; um serviço novo resolve do zero
+            ProductionPlan warm = productionOptimizerService.planLinearProgrammingProduction(matrix, new PhaseTimings());
+            ProductionPlan cold = new ProductionOptimizerService(catalogSnapshotService)
+                    .planLinearProgrammingProduction(matrix, new PhaseTimings());
+
+            // Assert
+            assertEquals(cold.getProduction(), warm.getProduction(), "Version " + version + " should match");
+            assertEquals(cold.getTotalProfit(), warm.getTotalProfit(), 1e-6, "Version " + version + " should match");
+            assertEquals(catalogSnapshotService.current().getVersion(), productionOptimizerService.lpWarmStartVersion());
+        }
+
+        log.info("LP Warm Start test passed");
+    }
+
+    @Test
+    @DisplayName("Scenario and stale-version LP runs should not replace the warm starts of the current catalog")
+    void testLinearProgrammingWarmStartsFollowCurrentCatalog() {
+        log.info("Starting LP Warm Start ownership test");
+
+        // Arrange: duas famílias independentes (dois componentes)
+        RawMaterial wood = createRawMaterial(1L, "WOOD", new BigDecimal("10"));
+        RawMaterial steel = createRawMaterial(2L, "STEEL", new BigDecimal("10"));
+        Product table = createProduct(1L, "TABLE", new BigDecimal("100"));
+        Product rack = createProduct(2L, "RACK", new BigDecimal("80"));
+        table.setCompositions(new ArrayList<>(List.of(createComposition(table, wood, new BigDecimal("2")))));
+        rack.setCompositions(new ArrayList<>(List.of(createComposition(rack, steel, new BigDecimal("3")))));
+        when(productRepository.findAllWithCompositions()).thenAnswer(invocation -> new ArrayList<>(List.of(table, rack)));
+        when(rawMaterialRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(List.of(wood, steel)));
+        RecipeMatrix first = catalogSnapshotService.current().getMatrix();
+
+        // Act & Assert: a fotografia atual guarda a base de cada componente
+        productionOptimizerService.planLinearProgrammingProduction(first, new PhaseTimings());
+        assertEquals(1, productionOptimizerService.lpWarmStartVersion());
+        assertEquals(2, productionOptimizerService.lpWarmStartComponents());
+
+        // Um cenário (estoque sobreposto) resolve, mas não troca as bases da fotografia
+        productionOptimizerService.planLinearProgrammingProduction(
+                first.withOverlay(new long[] {1_000L, 1_000L}, null), new PhaseTimings());
+        assertEquals(1, productionOptimizerService.lpWarmStartVersion());
+
+        // A versão nova guarda as suas; uma resolução da versão antiga que chega depois não as apaga
+        steel.setStockQuantity(new BigDecimal("4"));
+        RecipeMatrix second = catalogSnapshotService.refresh().getMatrix();
+        productionOptimizerService.planLinearProgrammingProduction(second, new PhaseTimings());
+        productionOptimizerService.planLinearProgrammingProduction(first, new PhaseTimings());
+        assertEquals(2, productionOptimizerService.lpWarmStartVersion());
+        assertEquals(2, productionOptimizerService.lpWarmStartComponents());
+
+        log.info("LP Warm Start ownership test passed");
+    }
+
+    // Independent Families (connected components)
+    @Test
+    @DisplayName("Independent product families should be solved separately and match the monolithic solve")
+    void testComponentsMatchMonolithicSolve() {
+        log.info("Starting Independent Families test");
+
+        // Arrange: 4 famílias (ids 10·f + 1..), cada uma com um insumo comum a todos os seus produtos
+        Random random = new Random(29);
+        List<RawMaterial> materials = new ArrayList<>();
+        List<Product> products = new ArrayList<>();
+        for (int family = 0; family < 4; family++) {
+            List<RawMaterial> own = new ArrayList<>();
+            for (int m = 0; m < 4; m++) {
+                long id = 10L * family + m + 1;
+                RawMaterial material = createRawMaterial(id, "MATERIAL_" + id, BigDecimal.valueOf(random.nextInt(60_000), 3));
+                material.setUnitCost(BigDecimal.ZERO);
+                own.add(material);
+            }
+            materials.addAll(own);
+            for (int p = 0; p < 5; p++) {
+                long id = 10L * family + p + 1;
+                Product product = createProduct(id, "PRODUCT_" + id, BigDecimal.valueOf(100 + random.nextInt(900)));
+                List<ProductComposition> compositions = new ArrayList<>();
+                compositions.add(createComposition(product, own.get(0), BigDecimal.valueOf(1 + random.nextInt(5_000), 3)));
+                compositions.add(createComposition(product, own.get(1 + random.nextInt(3)),
+                        BigDecimal.valueOf(1 + random.nextInt(5_000), 3)));
+                product.setCompositions(compositions);
+                products.add(product);
+            }
+        }
+        Collections.shuffle(materials, random);
+        RecipeMatrix matrix = CatalogCompiler.compile(products, materials);
+
+        // Act
+        List<RecipeMatrix.Component> components = matrix.components();
+        IntegerProductionResult mip = productionOptimizerService.calculateIntegerProduction(matrix, 10_000,
+                new PhaseTimings());
+        MipSolution monolithic = new BranchAndBoundSolver().solve(matrix.toPackingLp(), ForkJoinPool.commonPool(),
+                100_000, 10_000);
+
+        // Assert: uma submatriz por família, cobrindo todos os produtos uma única vez
+        assertEquals(4, components.size());
+        assertEquals(matrix.products(), components.stream().mapToInt(c -> c.products().length).sum());
+        double lpSum = 0.0;
+        for (RecipeMatrix.Component component : components) {
+            long family = component.matrix().materialId(0) / 10;
+            for (int m = 0; m < component.matrix().materials(); m++) {
+                assertEquals(family, component.matrix().materialId(m) / 10, "Materials of one family only");
+            }
+            for (int k = 0; k < component.products().length; k++) {
+                assertEquals(matrix.productId(component.products()[k]), component.matrix().productId(k));
+                assertEquals(family, (component.matrix().productId(k) - 1) / 10, "Products of one family only");
+            }
+            lpSum += new RevisedSimplexSolver().solve(component.matrix().toPackingLp()).getObjective();
+        }
+        assertEquals(new RevisedSimplexSolver().solve(matrix.toPackingLp()).getObjective(), lpSum, 1e-6);
+
+        assertTrue(mip.getSolution().isOptimal() && monolithic.isOptimal(), "Both searches should finish");
+        assertEquals(monolithic.getObjective(), mip.getSolution().getObjective(), 1e-6);
+        assertEquals(monolithic.getObjective(), mip.getPlan().getTotalProfit(), 1e-6);
+
+        log.info("Independent Families test passed: {} components, mip profit {}", components.size(),
+                mip.getPlan().getTotalProfit());
+    }
+
+    // Phase Timings (strategy SPI)
+    @Test
+    @DisplayName("Presolve should drop empty, unprofitable, blocked and dominated products and unused materials")
+    void testPresolveRemovesProductsThatCannotBeOptimal() {
+        log.info("Starting Presolve Rules test");
+
+        // Arrange: custo unitário 10 em todos os insumos; C sem estoque; D só é usado por um produto sem lucro
+        RawMaterial materialA = createRawMaterial(1L, "MATERIAL_A", new BigDecimal("10"));
+        RawMaterial materialB = createRawMaterial(2L, "MATERIAL_B", new BigDecimal("10"));
+        RawMaterial materialC = createRawMaterial(3L, "MATERIAL_C", BigDecimal.ZERO);
+        RawMaterial materialD = createRawMaterial(4L, "MATERIAL_D", new BigDecimal("5"));
+
+        Product empty = createProduct(1L, "EMPTY", new BigDecimal("900"));
+        Product cheap = createProduct(2L, "CHEAP", new BigDecimal("5"));
+        cheap.setCompositions(List.of(createComposition(cheap, materialA, BigDecimal.ONE)));
+        Product blocked = createProduct(3L, "BLOCKED", new BigDecimal("500"));
+        blocked.setCompositions(List.of(createComposition(blocked, materialA, BigDecimal.ONE),
+                createComposition(blocked, materialC, BigDecimal.ONE)));
+        Product best = createProduct(4L, "BEST", new BigDecimal("100"));
+        best.setCompositions(List.of(createComposition(best, materialA, BigDecimal.ONE)));
+        // Mais A, mais B e menos lucro que BEST: cada unidade trocada por uma de BEST só melhora o plano
+        Product worse = createProduct(5L, "WORSE", new BigDecimal("90"));
+        worse.setCompositions(List.of(createComposition(worse, materialA, new BigDecimal("2")),
+                createComposition(worse, materialB, BigDecimal.ONE)));
+        Product other = createProduct(6L, "OTHER", new BigDecimal("100"));
+        other.setCompositions(List.of(createComposition(other, materialB, BigDecimal.ONE)));
+        Product loss = createProduct(7L, "LOSS", new BigDecimal("1"));
+        loss.setCompositions(List.of(createComposition(loss, materialD, BigDecimal.ONE)));
+
+        List<Product> products = List.of(empty, cheap, blocked, best, worse, other, loss);
+        List<RawMaterial> materials = List.of(materialA, materialB, materialC, materialD);
+        CatalogSnapshot snapshot = CatalogSnapshot.of(7, products, materials);
+
+        // Act
+        PresolveReportDTO report = productionOptimizerService.describePresolve(snapshot);
+        Map<String, Integer> lp = productionOptimizerService.planLinearProgrammingProduction(snapshot.getMatrix(),
+                new PhaseTimings()).getProduction();
+        IntegerProductionResult mip = productionOptimizerService.calculateIntegerProduction(snapshot.getMatrix(), 0,
+                new PhaseTimings());
+
+        // Assert
+        assertEquals(7L, report.getCatalogVersion());
+        assertEquals(7, report.getProductsBefore());
+        assertEquals(2, report.getProductsAfter(), "Only BEST and OTHER can be part of an optimal plan");
+        assertEquals(4, report.getMaterialsBefore());
+        assertEquals(2, report.getMaterialsAfter());
+        assertEquals(8, report.getNonZerosBefore());
+        assertEquals(2, report.getNonZerosAfter());
+        Map<Long, RemovedProductDTO> removed = new HashMap<>();
+        report.getRemovedProducts().forEach(p -> removed.put(p.getId(), p));
+        assertEquals(Set.of(1L, 2L, 3L, 5L, 7L), removed.keySet());
+        assertEquals("EMPTY_RECIPE", removed.get(1L).getReason());
+        assertEquals("UNPROFITABLE", removed.get(2L).getReason());
+        assertEquals("BLOCKED", removed.get(3L).getReason());
+        assertEquals("DOMINATED", removed.get(5L).getReason());
+        assertEquals(4L, removed.get(5L).getDominatedBy());
+        assertNull(removed.get(7L).getDominatedBy());
+        assertEquals(Set.of(3L, 4L), new HashSet<>(report.getRemovedMaterialIds()));
+
+        Map<String, Integer> expected = Map.of("BEST", 10, "OTHER", 10);
+        assertEquals(expected, lp);
+        assertEquals(expected, mip.getPlan().getProduction());
+        assertEquals(1_800.0, mip.getSolution().getObjective(), 1e-6);
+
+        log.info("Presolve Rules test passed: {}", report);
+    }
+
+    @Test
+    @DisplayName("Presolve should shrink large catalogs without changing the LP and MIP optimum")
+    void testPresolveKeepsTheOptimum() {
+        log.info("Starting Presolve Equivalence test");
+
+        // Arrange: catálogos pequenos para comparar com o branch-and-bound sem presolve
+        for (int seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            List<RawMaterial> materials = new ArrayList<>();
+            for (long id = 1; id <= 5; id++) {
+                materials.add(createRawMaterial(id, "MATERIAL_" + id,
+                        BigDecimal.valueOf(random.nextInt(8) == 0 ? 0 : random.nextInt(100_000), 3)));
+            }
+            List<Product> products = new ArrayList<>();
+            for (long id = 1; id <= 20; id++) {
+                products.add(randomProduct(random, id, materials));
+            }
+            RecipeMatrix matrix = CatalogCompiler.compile(products, materials);
+
+            // Act
+            IntegerProductionResult mip = productionOptimizerService.calculateIntegerProduction(matrix, 10_000,
+                    new PhaseTimings());
+            MipSolution full = new BranchAndBoundSolver().solve(matrix.toPackingLp(), ForkJoinPool.commonPool(),
+                    100_000, 10_000);
+            Presolve presolve = matrix.presolve();
+
+            // Assert
+            assertTrue(mip.getSolution().isOptimal() && full.isOptimal(), "Both searches should finish (seed " + seed + ")");
+            assertEquals(full.getObjective(), mip.getSolution().getObjective(), 1e-6, "seed " + seed);
+            assertEquals(full.getObjective(), mip.getPlan().getTotalProfit(), 1e-6, "seed " + seed);
+            // A relaxação linear só fica mais justa (os limites inteiros do dominante entram em jogo)
+            double fullBound = new RevisedSimplexSolver().solve(matrix.toPackingLp()).getObjective();
+            double reducedBound = new RevisedSimplexSolver().solve(presolve.getMatrix().toPackingLp()).getObjective();
+            assertTrue(reducedBound <= fullBound + 1e-6 && reducedBound >= full.getObjective() - 1e-6,
+                    "seed " + seed + ": " + full.getObjective() + " <= " + reducedBound + " <= " + fullBound);
+        }
+
+        // Arrange: catálogo grande gerado (lucros, estoques e receitas aleatórios)
+        Random random = new Random(41);
+        List<RawMaterial> materials = new ArrayList<>();
+        for (long id = 1; id <= 400; id++) {
+            materials.add(createRawMaterial(id, "MATERIAL_" + id,
+                    BigDecimal.valueOf(random.nextInt(20) == 0 ? 0 : random.nextInt(10_000_000), 3)));
+        }
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 4_000; id++) {
+            products.add(randomProduct(random, id, materials));
+        }
+        RecipeMatrix matrix = CatalogCompiler.compile(products, materials);
+
+        // Act
+        long start = System.nanoTime();
+        Presolve presolve = matrix.presolve();
+        long presolveNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        double fullObjective = new RevisedSimplexSolver().solve(matrix.toPackingLp()).getObjective();
+        long fullNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        double reducedObjective = new RevisedSimplexSolver().solve(presolve.getMatrix().toPackingLp()).getObjective();
+        long reducedNanos = System.nanoTime() - start;
+
+        // Assert
+        RecipeMatrix reduced = presolve.getMatrix();
+        assertTrue(reducedObjective <= fullObjective * (1 + 1e-9), "The relaxation can only get tighter");
+        assertTrue(reduced.products() < matrix.products() / 2,
+                "Expected more than half of the products to go, kept " + reduced.products());
+        assertTrue(reduced.nonZeros() < matrix.nonZeros() / 2);
+        for (int k = 0; k < reduced.products(); k++) {
+            assertEquals(matrix.productId(presolve.getProducts()[k]), reduced.productId(k));
+        }
+
+        log.info("Presolve Equivalence test passed: products {} -> {}, materials {} -> {}, non-zeros {} -> {}; "
+                        + "presolve {} ms, lp {} ms -> {} ms, lp bound {} -> {}",
+                matrix.products(), reduced.products(), matrix.materials(), reduced.materials(), matrix.nonZeros(),
+                reduced.nonZeros(), presolveNanos / 1_000_000, fullNanos / 1_000_000, reducedNanos / 1_000_000,
+                fullObjective, reducedObjective);
+    }
+
+    @Test
+    @DisplayName("The structured result should keep products by id and match the stock consumed by their recipes")
+    void testStructuredResultMatchesRecipeConsumption() {
+        Random random = new Random(17);
+        List<RawMaterial> materials = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            materials.add(createRawMaterial(id, "MATERIAL_" + id, BigDecimal.valueOf(random.nextInt(60_000), 3)));
+        }
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 12; id++) {
+            products.add(randomProduct(random, id, materials));
+        }
+        // Dois produtos com o mesmo nome: no mapa por nome um esconderia o outro
+        Product first = createProduct(13L, "TWIN", new BigDecimal("900"));
+        first.setCompositions(new ArrayList<>(List.of(createComposition(first, materials.get(0), new BigDecimal("0.5")))));
+        Product second = createProduct(14L, "TWIN", new BigDecimal("800"));
+        second.setCompositions(new ArrayList<>(List.of(createComposition(second, materials.get(1), new BigDecimal("0.5")))));
+        products.add(first);
+        products.add(second);
+        materials.get(0).setStockQuantity(new BigDecimal("100"));
+        materials.get(1).setStockQuantity(new BigDecimal("100"));
+        CatalogSnapshot snapshot = CatalogSnapshot.of(1, products, materials);
+        RecipeMatrix matrix = snapshot.getMatrix();
+
+        List<OptimizationResult> results = List.of(
+                new OptimizationResult("greedy", productionOptimizerService.planOptimalProduction(matrix,
+                        new PhaseTimings()), new PhaseTimings()),
+                new OptimizationResult("lp", productionOptimizerService.planLinearProgrammingProduction(matrix,
+                        new PhaseTimings()), new PhaseTimings()),
+                new OptimizationResult("mip", productionOptimizerService.calculateIntegerProduction(matrix, 5_000,
+                        new PhaseTimings()).getPlan(), new PhaseTimings()));
+        for (OptimizationResult result : results) {
+            ProductionResultDTO dto = ProductionPlanMapper.toDTO(snapshot, result);
+
+            Map<Long, PlannedProductDTO> planned = new HashMap<>();
+            dto.getProducts().forEach(product -> planned.put(product.getId(), product));
+            assertEquals(dto.getProducts().size(), planned.size(), result.getStrategy());
+            assertTrue(planned.containsKey(13L) && planned.containsKey(14L),
+                    result.getStrategy() + ": both TWIN products should be planned");
+            assertEquals(result.getProduction().get("TWIN"),
+                    (int) (planned.get(13L).getQuantity() + planned.get(14L).getQuantity()));
+
+            // Consumo recalculado receita a receita, sem passar pelo motor
+            Map<Long, BigDecimal> consumed = new HashMap<>();
+            BigDecimal totalProfit = BigDecimal.ZERO;
+            for (Product product : products) {
+                PlannedProductDTO line = planned.get(product.getId());
+                if (line == null) {
+                    continue;
+                }
+                BigDecimal quantity = BigDecimal.valueOf(line.getQuantity());
+                product.getCompositions().forEach(c -> consumed.merge(c.getRawMaterial().getId(),
+                        c.getQuantityNeeded().multiply(quantity), BigDecimal::add));
+                assertEquals(0, line.getTotalProfit().compareTo(line.getUnitProfit().multiply(quantity)));
+                totalProfit = totalProfit.add(line.getTotalProfit());
+            }
+            assertEquals(totalProfit.doubleValue(), dto.getTotalProfit().doubleValue(), 0.05);
+            for (MaterialConsumptionDTO material : dto.getMaterials()) {
+                assertEquals(0, material.getStockQuantity().compareTo(material.getConsumed().add(material.getRemaining())));
+                assertEquals(0, consumed.getOrDefault(material.getId(), BigDecimal.ZERO).compareTo(material.getConsumed()),
+                        result.getStrategy() + ": material " + material.getId());
+                assertTrue(material.getRemaining().signum() >= 0);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Each engine should report the time spent in each of its phases")
+    void testPhaseTimingsAreRecorded() {
+        RawMaterial wood = createRawMaterial(1L, "WOOD", new BigDecimal("10"));
+        Product table = createProduct(1L, "TABLE", new BigDecimal("100"));
+        table.setCompositions(new ArrayList<>(List.of(createComposition(table, wood, new BigDecimal("2")))));
+
+        when(productRepository.findAllWithCompositions()).thenAnswer(invocation -> new ArrayList<>(List.of(table)));
+        when(rawMaterialRepository.findAll()).thenAnswer(invocation -> new ArrayList<>(List.of(wood)));
+
+        PhaseTimings greedy = new PhaseTimings();
+        PhaseTimings lp = new PhaseTimings();
+        PhaseTimings mip = new PhaseTimings();
+        RecipeMatrix matrix = catalogSnapshotService.current().getMatrix();
+        productionOptimizerService.calculateOptimalProduction(matrix, greedy);
+        productionOptimizerService.calculateLinearProgrammingProduction(matrix, lp);
+        IntegerProductionResult result = productionOptimizerService.calculateIntegerProduction(matrix, 50, mip);
+
+        assertEquals(List.of("solve"), List.copyOf(greedy.getNanos().keySet()));
+        assertEquals(List.of("build", "solve", "round"), List.copyOf(lp.getNanos().keySet()));
+        assertEquals(List.of("build", "solve", "round"), List.copyOf(mip.getNanos().keySet()));
+        assertEquals(Map.of("TABLE", 5), result.getProduction());
+        assertTrue(lp.getTotalNanos() > 0, "Phases should take measurable time");
+    }
+
     // ==================== HELPER METHODS ====================
 
+    /**
+     * Reference implementation: produces one unit at a time, in the given order,
+     * while every raw material of the recipe still has stock for it.
+     *
+     * @param products  products in priority order
+     * @param materials raw materials with their stock
+     * @return product name -> produced quantity
+     */
+    private Map<String, Integer> unitByUnitGreedy(List<Product> products, List<RawMaterial> materials) {
+        Map<Long, BigDecimal> stock = new HashMap<>();
+        materials.forEach(material -> stock.put(material.getId(), material.getStockQuantity()));
+
+        Map<String, Integer> produced = new LinkedHashMap<>();
+        for (Product product : products) {
+            int count = 0;
+            while (product.getCompositions().stream()
+                    .allMatch(c -> stock.get(c.getRawMaterial().getId()).compareTo(c.getQuantityNeeded()) >= 0)) {
+                product.getCompositions().forEach(c -> stock.merge(c.getRawMaterial().getId(),
+                        c.getQuantityNeeded(), BigDecimal::subtract));
+                count++;
+            }
+            if (count > 0) {
+                produced.put(product.getName(), count);
+            }
+        }
+        return produced;
+    }
+
+    /**
+     * Product consuming 1 to 3 distinct random materials.
+     */
+    private Product randomProduct(Random random, long id, List<RawMaterial> materials) {
+        Product product = createProduct(id, "PRODUCT_" + id, BigDecimal.valueOf(5_000 + random.nextInt(50_000), 2));
+        List<ProductComposition> compositions = new ArrayList<>();
+        for (int line = 1 + random.nextInt(3); line > 0; line--) {
+            RawMaterial material = materials.get(random.nextInt(materials.size()));
+            if (compositions.stream().noneMatch(c -> c.getRawMaterial() == material)) {
+                compositions.add(createComposition(product, material, BigDecimal.valueOf(1 + random.nextInt(20_000), 3)));
+            }
+        }
+        product.setCompositions(compositions);
+        return product;
+    }
+
+    /**
+     * Sale value minus the cost of every recipe line (quantity * unit cost).
+     */
+    private BigDecimal profitOf(Product product) {
+        return product.getCompositions().stream()
+                .map(c -> c.getQuantityNeeded().multiply(c.getRawMaterial().getUnitCost()))
+                .reduce(product.getSaleValue(), BigDecimal::subtract);
+    }
+
     /**
      * Creates a RawMaterial instance for testing purposes.
      *
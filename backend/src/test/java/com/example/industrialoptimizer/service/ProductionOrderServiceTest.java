@@ -0,0 +1,225 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.TargetPlanDTO;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.repository.RawMaterialRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Production orders against the H2 schema and seed from ../database. Own in-memory database:
+ * the stock debited here must not leak into the other Spring test contexts. Every test compares
+ * against the stock it reads first, so the order in which they run does not matter.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "spring.datasource.url=jdbc:h2:mem:orders"})
+@AutoConfigureMockMvc
+@DisplayName("Production Order Test Suite")
+class ProductionOrderServiceTest {
+
+    private static final long CHAIR = 2L;
+    private static final long SHELF = 3L;
+    private static final long FRAME = 6L;
+    private static final long PAINT = 5L;
+    private static final long FOAM = 8L;
+    // Cadeira explodida: aço, parafusos, tecido e espuma (das duas almofadas)
+    private static final Map<Long, BigDecimal> CHAIR_RECIPE = Map.of(3L, new BigDecimal("1.000"),
+            6L, new BigDecimal("8.000"), 7L, new BigDecimal("2.000"), FOAM, new BigDecimal("1.000"));
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ProductionOrderService orders;
+
+    @Autowired
+    private RawMaterialRepository materials;
+
+    @Autowired
+    private CatalogSnapshotService catalog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("An order should debit every exploded recipe line, or nothing when any material is short")
+    void testOrderDebitsAllOrNothing() throws Exception {
+        Map<Long, BigDecimal> before = stock();
+        CatalogSnapshot snapshotBefore = catalog.current();
+        RawMaterial staleFoam = materials.findById(FOAM).orElseThrow();
+        String staleEdit = materialJson(staleFoam, staleFoam.getVersion());
+
+        String location = mvc.perform(post("/api/production-orders").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"op-1\", \"quantities\": {\"" + CHAIR + "\": 2}}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.materials[*].id").value(contains(3, 6, 7, 8)))
+                .andExpect(jsonPath("$.materials[3].consumed").value(2.0))
+                .andReturn().getResponse().getHeader("Location");
+        mvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("op-1"))
+                .andExpect(jsonPath("$.materials[3].remaining").value(before.get(FOAM).doubleValue() - 2));
+
+        Map<Long, BigDecimal> after = stock();
+        CHAIR_RECIPE.forEach((id, quantity) -> assertEquals(0,
+                before.get(id).subtract(quantity.multiply(BigDecimal.TWO)).compareTo(after.get(id)), "material " + id));
+        // O estoque debitado entra na fotografia sem reler o catálogo
+        CatalogSnapshot snapshotAfter = catalog.current();
+        assertTrue(snapshotAfter.getVersion() > snapshotBefore.getVersion());
+        assertEquals(snapshotBefore.getBaseVersion(), snapshotAfter.getBaseVersion());
+        assertEquals(0, after.get(FOAM).compareTo(snapshotAfter.findRawMaterial(FOAM).orElseThrow().getStockQuantity()));
+        assertEquals(materials.findById(FOAM).orElseThrow().getVersion(),
+                snapshotAfter.findRawMaterial(FOAM).orElseThrow().getVersion());
+
+        // Uma edição feita sobre o estoque de antes da ordem não sobrescreve a baixa
+        mvc.perform(put("/api/raw-materials/" + FOAM).contentType(MediaType.APPLICATION_JSON).content(staleEdit))
+                .andExpect(status().isConflict());
+        assertEquals(after, stock());
+
+        mvc.perform(post("/api/production-orders").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantities\": {\"" + CHAIR + "\": 1000}}"))
+                .andExpect(status().isConflict())
+                .andExpect(header().doesNotExist("Location"));
+        assertEquals(after, stock());
+
+        // Com a versão atual a edição passa (e incrementa a versão)
+        RawMaterial currentFoam = materials.findById(FOAM).orElseThrow();
+        currentFoam.setStockQuantity(currentFoam.getStockQuantity().add(BigDecimal.ONE));
+        mvc.perform(put("/api/raw-materials/" + FOAM).contentType(MediaType.APPLICATION_JSON)
+                .content(materialJson(currentFoam, currentFoam.getVersion())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(currentFoam.getVersion() + 1));
+
+        // Sem versão (clientes antigos) a última escrita vence
+        currentFoam.setStockQuantity(currentFoam.getStockQuantity().add(BigDecimal.ONE));
+        mvc.perform(put("/api/raw-materials/" + FOAM).contentType(MediaType.APPLICATION_JSON)
+                .content(materialJson(currentFoam, null)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(currentFoam.getVersion() + 2));
+        assertEquals(0, currentFoam.getStockQuantity().compareTo(stock().get(FOAM)));
+    }
+
+    @Test
+    @DisplayName("Concurrent orders for the same materials should never oversell the stock")
+    void testConcurrentOrdersDoNotOversell() throws Exception {
+        Map<Long, BigDecimal> before = stock();
+        long capacity = CHAIR_RECIPE.entrySet().stream()
+                .mapToLong(line -> before.get(line.getKey()).divideToIntegralValue(line.getValue()).longValue())
+                .min().orElseThrow();
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService committers = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                futures.add(committers.submit(() -> {
+                    while (true) {
+                        try {
+                            orders.create(TargetPlanDTO.builder().quantities(Map.of(CHAIR, 1L)).build());
+                            created.incrementAndGet();
+                        } catch (ResponseStatusException e) {
+                            assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+                            rejected.incrementAndGet();
+                            return null;
+                        } catch (ConcurrencyFailureException e) {
+                            // Trava não obtida a tempo: nada foi debitado, tenta de novo
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            committers.shutdownNow();
+        }
+
+        assertEquals(capacity, created.get());
+        assertEquals(16, rejected.get());
+        Map<Long, BigDecimal> after = stock();
+        CHAIR_RECIPE.forEach((id, quantity) -> assertEquals(0, before.get(id)
+                .subtract(quantity.multiply(BigDecimal.valueOf(capacity))).compareTo(after.get(id)), "material " + id));
+        after.values().forEach(value -> assertTrue(value.signum() >= 0));
+    }
+
+    @Test
+    @DisplayName("A row lock should only hold back the orders that share the locked material")
+    void testDisjointOrdersDoNotWait() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            // Outra transação segura o verniz, que só o quadro usa
+            Future<?> holder = threads.submit(() -> transaction.executeWithoutResult(status -> {
+                materials.findAllByIdForUpdate(List.of(PAINT));
+                locked.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> orders.create(TargetPlanDTO.builder().quantities(Map.of(SHELF, 1L)).build()));
+
+            Future<?> frame = threads.submit(
+                    () -> orders.create(TargetPlanDTO.builder().quantities(Map.of(FRAME, 1L)).build()));
+            assertThrows(TimeoutException.class, () -> frame.get(300, TimeUnit.MILLISECONDS));
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+            frame.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            threads.shutdownNow();
+        }
+    }
+
+    private static String materialJson(RawMaterial material, Long version) {
+        return String.format("{\"code\":\"%s\",\"name\":\"%s\",\"stockQuantity\":%s,\"unitMeasure\":\"%s\","
+                + "\"unitCost\":%s%s}", material.getCode(), material.getName(),
+                material.getStockQuantity().toPlainString(), material.getUnitMeasure(),
+                material.getUnitCost().toPlainString(), version != null ? ",\"version\":" + version : "");
+    }
+
+    private Map<Long, BigDecimal> stock() {
+        Map<Long, BigDecimal> stock = new HashMap<>();
+        materials.findAll().forEach(material -> stock.put(material.getId(), material.getStockQuantity()));
+        return stock;
+    }
+}
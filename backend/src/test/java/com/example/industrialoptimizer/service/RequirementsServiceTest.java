@@ -0,0 +1,124 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.MaterialRequirementDTO;
+import com.example.industrialoptimizer.dto.PlanRequirementsDTO;
+import com.example.industrialoptimizer.dto.TargetPlanDTO;
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.RawMaterial;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.example.industrialoptimizer.service.TestCatalogs.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Material Requirements Test Suite")
+class RequirementsServiceTest {
+
+    private final RequirementsService service = new RequirementsService();
+
+    private RawMaterial fabric;
+    private RawMaterial wood;
+    private Product cushion;
+    private Product chair;
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        fabric = material(1L, "FABRIC", "4.00", "10.000");
+        wood = material(2L, "WOOD", "20.00", "50.000");
+        cushion = product(1L, "CUSHION", "100.00", false);
+        compose(cushion, fabric, "1.500");
+        chair = product(2L, "CHAIR", "100.00", true);
+        compose(chair, wood, "2.000");
+        snapshot = CatalogSnapshot.of(1, List.of(cushion, chair), List.of(fabric, wood),
+                List.of(component(2L, 1L, "2.000")));
+    }
+
+    @Test
+    @DisplayName("Each plan should get exploded requirements and shortfalls against the current stock")
+    void testRequirementsAndShortfalls() {
+        List<PlanRequirementsDTO> results = service.calculate(snapshot, List.of(
+                TargetPlanDTO.builder().name("small").quantities(Map.of(2L, 3L)).build(),
+                TargetPlanDTO.builder().quantities(Map.of(2L, 3L, 1L, 2L)).build()));
+
+        PlanRequirementsDTO small = results.get(0);
+        assertEquals("small", small.getName());
+        assertTrue(small.isFeasible());
+        // 3 cadeiras: 6 madeiras e 6 almofadas (9 de tecido)
+        assertEquals(List.of(1L, 2L), small.getMaterials().stream().map(MaterialRequirementDTO::getId).toList());
+        assertEquals(new BigDecimal("9.000"), small.getMaterials().get(0).getRequired());
+        assertEquals(new BigDecimal("0.000"), small.getMaterials().get(0).getShortfall());
+        assertEquals(new BigDecimal("6.000"), small.getMaterials().get(1).getRequired());
+        assertEquals(new BigDecimal("156.00"), small.getTotalCost());
+
+        // Mais 2 almofadas avulsas: 12 de tecido para 10 em estoque
+        PlanRequirementsDTO withSpares = results.get(1);
+        assertEquals("#2", withSpares.getName());
+        assertFalse(withSpares.isFeasible());
+        assertEquals(new BigDecimal("12.000"), withSpares.getMaterials().get(0).getRequired());
+        assertEquals(new BigDecimal("2.000"), withSpares.getMaterials().get(0).getShortfall());
+    }
+
+    @Test
+    @DisplayName("Unknown products, unproducible products and negative quantities should be rejected with 400")
+    void testInvalidLinesAreRejected() {
+        Product broken = product(3L, "BROKEN", "100.00", true);
+        CatalogSnapshot withBroken = CatalogSnapshot.of(2, List.of(cushion, chair, broken), List.of(fabric, wood),
+                List.of(component(3L, 99L, "1")));
+
+        for (Map<Long, Long> quantities : List.of(Map.of(42L, 1L), Map.of(3L, 1L), Map.of(2L, -1L))) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> service.calculate(
+                    withBroken, List.of(TargetPlanDTO.builder().name("bad").quantities(quantities).build())));
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        }
+    }
+
+    @Test
+    @DisplayName("A plan with thousands of lines should match the per-product BigDecimal sum")
+    void testLargePlanMatchesNaiveSum() {
+        Random random = new Random(7);
+        List<RawMaterial> materials = new ArrayList<>();
+        for (long m = 1; m <= 50; m++) {
+            materials.add(material(m, "M" + m, "1.00", "1000.000"));
+        }
+        List<Product> products = new ArrayList<>();
+        Map<Long, Long> quantities = new HashMap<>();
+        for (long p = 1; p <= 3_000; p++) {
+            Product product = product(p, "P" + p, "100.00", true);
+            for (int k = 0; k < 4; k++) {
+                RawMaterial material = materials.get(random.nextInt(materials.size()));
+                if (product.getCompositions().stream().noneMatch(c -> c.getRawMaterial() == material)) {
+                    compose(product, material, BigDecimal.valueOf(1 + random.nextInt(5000), 3).toPlainString());
+                }
+            }
+            products.add(product);
+            quantities.put(p, (long) random.nextInt(20));
+        }
+        CatalogSnapshot large = CatalogSnapshot.of(1, products, materials);
+
+        PlanRequirementsDTO result = service.calculate(large,
+                List.of(TargetPlanDTO.builder().quantities(quantities).build())).get(0);
+
+        Map<Long, BigDecimal> expected = new HashMap<>();
+        for (Product product : products) {
+            BigDecimal units = BigDecimal.valueOf(quantities.get(product.getId()));
+            product.getCompositions().forEach(c -> expected.merge(c.getRawMaterial().getId(),
+                    c.getQuantityNeeded().multiply(units), BigDecimal::add));
+        }
+        expected.values().removeIf(value -> value.signum() == 0);
+        assertEquals(expected.size(), result.getMaterials().size());
+        for (MaterialRequirementDTO line : result.getMaterials()) {
+            assertEquals(0, expected.get(line.getId()).compareTo(line.getRequired()), "material " + line.getId());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.ScenarioDTO;
+import com.example.industrialoptimizer.dto.ScenarioResultDTO;
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComposition;
+import com.example.industrialoptimizer.model.ProductCompositionKey;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.service.strategy.GreedyOptimizationStrategy;
+import com.example.industrialoptimizer.service.strategy.IntegerProgrammingOptimizationStrategy;
+import com.example.industrialoptimizer.service.strategy.LinearProgrammingOptimizationStrategy;
+import com.example.industrialoptimizer.service.strategy.OptimizationStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Scenario Service Test Suite")
+class ScenarioServiceTest {
+
+    // Dois threads: o lote e os componentes e subárvores de cada motor disputam o mesmo pool
+    private final ProductionOptimizerService optimizer = new ProductionOptimizerService(null, 2);
+
+    private final OptimizationStrategy greedy = new GreedyOptimizationStrategy(optimizer);
+
+    private final ScenarioService scenarios = new ScenarioService(optimizer);
+
+    @AfterEach
+    void tearDown() {
+        optimizer.shutdownOptimizerPool();
+    }
+
+    @Test
+    @DisplayName("An overlay scenario should match recompiling the modified catalog")
+    void testOverlayMatchesRecompiledCatalog() {
+        Random random = new Random(11);
+        for (int round = 0; round < 50; round++) {
+            long seed = random.nextLong();
+            Catalog base = Catalog.random(new Random(seed));
+            long material = 1 + random.nextInt(base.materials.size());
+            long pricier = 1 + random.nextInt(base.materials.size());
+            long product = base.products.get(random.nextInt(base.products.size())).getId();
+            ScenarioDTO scenario = ScenarioDTO.builder()
+                    .name("round " + round)
+                    .stockDelta(Map.of(material, new BigDecimal("200")))
+                    .unitCostFactor(Map.of(pricier, new BigDecimal("1.2")))
+                    .salePrice(Map.of(product, new BigDecimal("480.50")))
+                    .build();
+
+            ScenarioResultDTO result = scenarios.evaluate(base.snapshot(), greedy, 0, List.of(scenario)).get(0);
+
+            // Mesmo catálogo com as alterações gravadas nas entidades
+            Catalog modified = Catalog.random(new Random(seed));
+            RawMaterial stocked = modified.materials.get((int) material - 1);
+            stocked.setStockQuantity(stocked.getStockQuantity().add(new BigDecimal("200")));
+            RawMaterial expensive = modified.materials.get((int) pricier - 1);
+            expensive.setUnitCost(expensive.getUnitCost().multiply(new BigDecimal("1.2")));
+            modified.products.stream().filter(p -> p.getId() == product).findFirst().orElseThrow()
+                    .setSaleValue(new BigDecimal("480.50"));
+            ProductionPlan expected = optimizer.planOptimalProduction(
+                    CatalogCompiler.compile(modified.products, modified.materials), new PhaseTimings());
+
+            assertEquals(expected.getProduction(), result.getProduction(), "round " + round);
+            assertEquals(expected.getTotalProfit(), result.getTotalProfit().doubleValue(), 0.01, "round " + round);
+        }
+    }
+
+    @Test
+    @DisplayName("A parallel batch should return the same plans, in request order, as one-by-one evaluation")
+    void testParallelBatchMatchesSequential() {
+        Catalog catalog = Catalog.random(new Random(3));
+        CatalogSnapshot snapshot = catalog.snapshot();
+        Random random = new Random(5);
+        List<ScenarioDTO> batch = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            batch.add(ScenarioDTO.builder()
+                    .name("s" + i)
+                    .stock(Map.of(1L + random.nextInt(catalog.materials.size()), BigDecimal.valueOf(random.nextInt(500))))
+                    .unitCost(Map.of(1L + random.nextInt(catalog.materials.size()), BigDecimal.valueOf(random.nextInt(20))))
+                    .build());
+        }
+
+        List<ScenarioResultDTO> parallel = scenarios.evaluate(snapshot, greedy, 0, batch);
+
+        assertEquals(batch.size(), parallel.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(scenarios.evaluate(snapshot, greedy, 0, List.of(batch.get(i))).get(0), parallel.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("LP and MIP scenarios should share the optimizer pool with their engines and match one-by-one runs")
+    void testEnginesShareTheOptimizerPool() {
+        Catalog catalog = Catalog.random(new Random(7));
+        CatalogSnapshot snapshot = catalog.snapshot();
+        Random random = new Random(9);
+        List<ScenarioDTO> batch = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            batch.add(ScenarioDTO.builder()
+                    .name("s" + i)
+                    .stockDelta(Map.of(1L + random.nextInt(catalog.materials.size()), BigDecimal.valueOf(random.nextInt(200))))
+                    .build());
+        }
+
+        for (OptimizationStrategy engine : List.of(new LinearProgrammingOptimizationStrategy(optimizer),
+                new IntegerProgrammingOptimizationStrategy(optimizer))) {
+            List<ScenarioResultDTO> parallel = assertTimeoutPreemptively(Duration.ofSeconds(60),
+                    () -> scenarios.evaluate(snapshot, engine, 5_000, batch));
+
+            for (int i = 0; i < batch.size(); i++) {
+                assertEquals(scenarios.evaluate(snapshot, engine, 5_000, List.of(batch.get(i))).get(0).getProduction(),
+                        parallel.get(i).getProduction(), engine.getName() + " " + batch.get(i).getName());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A scenario referencing an unknown material should be rejected with 400")
+    void testUnknownMaterialIsRejected() {
+        CatalogSnapshot snapshot = Catalog.random(new Random(1)).snapshot();
+        ScenarioDTO scenario = ScenarioDTO.builder().name("typo").stockDelta(Map.of(999L, BigDecimal.TEN)).build();
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> scenarios.evaluate(snapshot, greedy, 0, List.of(scenario)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+        assertTrue(error.getReason().contains("typo"));
+    }
+
+    /**
+     * Catálogo aleatório reproduzível: ids densos a partir de 1, 1 a 3 insumos por receita.
+     */
+    private record Catalog(List<Product> products, List<RawMaterial> materials) {
+
+        static Catalog random(Random random) {
+            List<RawMaterial> materials = new ArrayList<>();
+            for (long id = 1; id <= 8; id++) {
+                RawMaterial material = new RawMaterial();
+                material.setId(id);
+                material.setCode("RM-" + id);
+                material.setName("Material " + id);
+                material.setUnitMeasure("UNIT");
+                material.setStockQuantity(BigDecimal.valueOf(random.nextInt(1_000_000), 3));
+                material.setUnitCost(BigDecimal.valueOf(100 + random.nextInt(2_000), 2));
+                materials.add(material);
+            }
+            List<Product> products = new ArrayList<>();
+            for (long id = 1; id <= 20; id++) {
+                Product product = new Product();
+                product.setId(id);
+                product.setCode("PRD-" + id);
+                product.setName("Product " + id);
+                product.setSaleValue(BigDecimal.valueOf(5_000 + random.nextInt(50_000), 2));
+                List<ProductComposition> recipe = new ArrayList<>();
+                int lines = 1 + random.nextInt(3);
+                for (int line = 0; line < lines; line++) {
+                    RawMaterial material = materials.get(random.nextInt(materials.size()));
+                    if (recipe.stream().anyMatch(c -> c.getRawMaterial() == material)) {
+                        continue;
+                    }
+                    ProductComposition composition = new ProductComposition();
+                    ProductCompositionKey key = new ProductCompositionKey();
+                    key.setProductId(id);
+                    key.setRawMaterialId(material.getId());
+                    composition.setId(key);
+                    composition.setProduct(product);
+                    composition.setRawMaterial(material);
+                    composition.setQuantityNeeded(BigDecimal.valueOf(1 + random.nextInt(20_000), 3));
+                    recipe.add(composition);
+                }
+                product.setCompositions(recipe);
+                products.add(product);
+            }
+            return new Catalog(products, materials);
+        }
+
+        CatalogSnapshot snapshot() {
+            return CatalogSnapshot.of(1, products, materials);
+        }
+    }
+}
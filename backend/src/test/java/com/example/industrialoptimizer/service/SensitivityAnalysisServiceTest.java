@@ -0,0 +1,105 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.dto.MaterialSensitivityDTO;
+import com.example.industrialoptimizer.dto.ProductSensitivityDTO;
+import com.example.industrialoptimizer.dto.SensitivityReportDTO;
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComposition;
+import com.example.industrialoptimizer.model.ProductCompositionKey;
+import com.example.industrialoptimizer.model.RawMaterial;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sensitivity Analysis Service Test Suite")
+class SensitivityAnalysisServiceTest {
+
+    private final SensitivityAnalysisService service = new SensitivityAnalysisService(new OptimizationResultCache(4));
+
+    @Test
+    @DisplayName("Should report the shadow price and ranges of a single bottleneck material")
+    void testSingleBottleneckReport() {
+        // Madeira: 10 em estoque a 1,00. Mesa usa 2 e vende a 10,00 (lucro 8); banco usa 1 e vende a 3,00 (lucro 2)
+        RawMaterial wood = material(1L, "10", "1.00");
+        Product table = product(1L, "10.00", wood, "2");
+        Product stool = product(2L, "3.00", wood, "1");
+
+        SensitivityReportDTO report = service.analyze(CatalogSnapshot.of(3, List.of(table, stool), List.of(wood)));
+
+        assertEquals(3L, report.getCatalogVersion());
+        assertEquals("OPTIMAL", report.getStatus());
+        assertEquals(new BigDecimal("40.00"), report.getTotalProfit());
+
+        MaterialSensitivityDTO material = report.getMaterials().get(0);
+        assertTrue(material.isBinding());
+        assertEquals(new BigDecimal("10.000"), material.getConsumed());
+        assertEquals(new BigDecimal("4.00"), material.getShadowPrice(), "Each extra unit makes half a table");
+        assertEquals(new BigDecimal("0.000"), material.getStockMin());
+        assertNull(material.getStockMax(), "More wood always goes into tables");
+        assertEquals(new BigDecimal("0.00"), material.getUnitCostMin());
+        assertEquals(new BigDecimal("5.00"), material.getUnitCostMax(), "At 5.00 the table stops paying off");
+
+        ProductSensitivityDTO tableRange = report.getProducts().stream()
+                .filter(p -> p.getId() == 1L).findFirst().orElseThrow();
+        assertEquals(new BigDecimal("5.000"), tableRange.getQuantity());
+        assertEquals(new BigDecimal("6.00"), tableRange.getSaleValueMin(), "Below 6.00 stools earn more per unit of wood");
+        assertNull(tableRange.getSaleValueMax());
+
+        ProductSensitivityDTO stoolRange = report.getProducts().stream()
+                .filter(p -> p.getId() == 2L).findFirst().orElseThrow();
+        assertEquals(new BigDecimal("0.000"), stoolRange.getQuantity());
+        assertEquals(new BigDecimal("-2.00"), stoolRange.getReducedCost());
+        assertEquals(new BigDecimal("0.00"), stoolRange.getSaleValueMin());
+        assertEquals(new BigDecimal("5.00"), stoolRange.getSaleValueMax());
+    }
+
+    @Test
+    @DisplayName("The report should be reused until the catalog version changes")
+    void testReportIsReusedPerCatalogVersion() {
+        RawMaterial wood = material(1L, "10", "1.00");
+        List<Product> products = List.of(product(1L, "10.00", wood, "2"));
+
+        SensitivityReportDTO first = service.analyze(CatalogSnapshot.of(1, products, List.of(wood)));
+        SensitivityReportDTO second = service.analyze(CatalogSnapshot.of(1, products, List.of(wood)));
+        SensitivityReportDTO newer = service.analyze(CatalogSnapshot.of(2, products, List.of(wood)));
+
+        assertSame(first, second);
+        assertNotSame(first, newer);
+        assertEquals(2L, newer.getCatalogVersion());
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private static RawMaterial material(Long id, String stock, String unitCost) {
+        RawMaterial material = new RawMaterial();
+        material.setId(id);
+        material.setCode("RM-" + id);
+        material.setName("Material " + id);
+        material.setUnitMeasure("UNIT");
+        material.setStockQuantity(new BigDecimal(stock));
+        material.setUnitCost(new BigDecimal(unitCost));
+        return material;
+    }
+
+    private static Product product(Long id, String saleValue, RawMaterial material, String quantity) {
+        Product product = new Product();
+        product.setId(id);
+        product.setCode("PRD-" + id);
+        product.setName("Product " + id);
+        product.setSaleValue(new BigDecimal(saleValue));
+        ProductComposition composition = new ProductComposition();
+        ProductCompositionKey key = new ProductCompositionKey();
+        key.setProductId(id);
+        key.setRawMaterialId(material.getId());
+        composition.setId(key);
+        composition.setProduct(product);
+        composition.setRawMaterial(material);
+        composition.setQuantityNeeded(new BigDecimal(quantity));
+        product.setCompositions(List.of(composition));
+        return product;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.industrialoptimizer.service;
+
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComponent;
+import com.example.industrialoptimizer.model.ProductComponentKey;
+import com.example.industrialoptimizer.model.ProductComposition;
+import com.example.industrialoptimizer.model.ProductCompositionKey;
+import com.example.industrialoptimizer.model.RawMaterial;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+/**
+ * Entidades de catálogo montadas à mão para os testes das fotografias (sem banco): insumos,
+ * produtos, receitas e linhas de subconjunto. O código também é o nome.
+ */
+final class TestCatalogs {
+
+    private TestCatalogs() {
+    }
+
+    static RawMaterial material(Long id, String code, String unitCost, String stock) {
+        RawMaterial material = new RawMaterial();
+        material.setId(id);
+        material.setCode(code);
+        material.setName(code);
+        material.setUnitMeasure("UNIT");
+        material.setUnitCost(new BigDecimal(unitCost));
+        material.setStockQuantity(new BigDecimal(stock));
+        return material;
+    }
+
+    static Product product(Long id, String code, String saleValue, boolean sellable) {
+        Product product = new Product();
+        product.setId(id);
+        product.setCode(code);
+        product.setName(code);
+        product.setSaleValue(new BigDecimal(saleValue));
+        product.setSellable(sellable);
+        product.setCompositions(new ArrayList<>());
+        return product;
+    }
+
+    static void compose(Product product, RawMaterial material, String quantity) {
+        ProductComposition composition = new ProductComposition();
+        composition.setId(new ProductCompositionKey(product.getId(), material.getId()));
+        composition.setProduct(product);
+        composition.setRawMaterial(material);
+        composition.setQuantityNeeded(new BigDecimal(quantity));
+        product.getCompositions().add(composition);
+    }
+
+    static ProductComponent component(Product product, Product component, String quantity) {
+        ProductComponent line = component(product.getId(), component.getId(), quantity);
+        line.setProduct(product);
+        line.setComponent(component);
+        return line;
+    }
+
+    // Só a chave, como vem do banco sem carregar as entidades; serve para apontar para ids que não existem
+    static ProductComponent component(Long productId, Long componentId, String quantity) {
+        ProductComponent line = new ProductComponent();
+        line.setId(new ProductComponentKey(productId, componentId));
+        line.setQuantityNeeded(new BigDecimal(quantity));
+        return line;
+    }
+}
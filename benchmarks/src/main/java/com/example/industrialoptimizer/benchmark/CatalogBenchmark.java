@@ -0,0 +1,59 @@
+package com.example.industrialoptimizer.benchmark;
+
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.service.ProductionOptimizerService;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base dos benchmarks dos motores: um catálogo do {@link CatalogGenerator} por combinação de
+ * parâmetros, compilado uma vez por trial. Cada subclasse define os tamanhos (products).
+ *
+ * Todo benchmark roda em vazão (ops/ms) e em amostragem de tempo (percentis p50..p99.99). A
+ * taxa de alocação sai com o profiler de GC: {@code java -jar target/benchmarks.jar -prof gc}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public abstract class CatalogBenchmark {
+
+    @Param({"4"})
+    private int materialsPerRecipe;
+
+    @Param({"20"})
+    private double stockDepth;
+
+    @Param({"0.9"})
+    private double sharingDensity;
+
+    @Param({"42"})
+    private long seed;
+
+    protected CatalogGenerator.Catalog catalog;
+    protected RecipeMatrix matrix;
+    protected ProductionOptimizerService optimizer;
+
+    protected abstract int products();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = CatalogGenerator.generate(seed, products(), materialsPerRecipe, stockDepth, sharingDensity);
+        matrix = catalog.snapshot(1).getMatrix();
+        // Os motores recebem a matriz: o serviço não precisa do catálogo do banco
+        optimizer = new ProductionOptimizerService(null);
+    }
+}
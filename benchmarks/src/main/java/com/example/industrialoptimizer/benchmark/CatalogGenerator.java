@@ -0,0 +1,151 @@
+package com.example.industrialoptimizer.benchmark;
+
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComposition;
+import com.example.industrialoptimizer.model.ProductCompositionKey;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.service.CatalogSnapshot;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * CatalogGenerator: catálogo sintético e reprodutível (mesma semente = mesmo catálogo) para os
+ * benchmarks, nas mesmas entidades que o CatalogSnapshotService lê do banco.
+ *
+ * Parâmetros:
+ * - products: quantidade de produtos (o seed.sql tem 6)
+ * - materialsPerRecipe: máximo de linhas por receita; cada receita tem de 1 a este número de
+ *   insumos distintos, sorteados entre todos
+ * - stockDepth: quantas unidades de um produto típico o estoque de cada insumo cobre, se só
+ *   ele consumisse o insumo (variação de 50% a 150%)
+ * - sharingDensity: em [0, 1). Com 0 cada linha de receita tem o seu insumo (nada é
+ *   disputado); com d, cada insumo aparece em média em 1 / (1 - d) receitas
+ *
+ * Quantidades de 0,001 a 20, custo unitário de R$ 1 a R$ 20 e preço de venda de 80% a 180% do
+ * custo da receita: cerca de 20% dos produtos dão prejuízo, como num catálogo real.
+ */
+public final class CatalogGenerator {
+
+    private CatalogGenerator() {
+    }
+
+    public static Catalog generate(long seed, int products, int materialsPerRecipe, double stockDepth,
+            double sharingDensity) {
+        if (products < 1 || materialsPerRecipe < 1) {
+            throw new IllegalArgumentException("products e materialsPerRecipe devem ser positivos");
+        }
+        if (stockDepth <= 0) {
+            throw new IllegalArgumentException("stockDepth deve ser positivo");
+        }
+        if (sharingDensity < 0 || sharingDensity >= 1) {
+            throw new IllegalArgumentException("sharingDensity deve estar em [0, 1)");
+        }
+        Random random = new Random(seed);
+        int materialCount = (int) Math.max(materialsPerRecipe,
+                Math.round((double) products * materialsPerRecipe * (1 - sharingDensity)));
+
+        List<RawMaterial> materials = new ArrayList<>(materialCount);
+        for (int i = 1; i <= materialCount; i++) {
+            RawMaterial material = new RawMaterial();
+            material.setId((long) i);
+            material.setCode(String.format("RM-%06d", i));
+            material.setName("Insumo " + i);
+            material.setUnitMeasure("UNIT");
+            material.setUnitCost(BigDecimal.valueOf(100 + random.nextInt(1_901), 2));
+            materials.add(material);
+        }
+
+        // Soma das quantidades e número de receitas de cada insumo (para o estoque)
+        long[] quantitySum = new long[materialCount];
+        int[] users = new int[materialCount];
+        int[] recipe = new int[materialsPerRecipe];
+        List<Product> catalog = new ArrayList<>(products);
+        for (int id = 1; id <= products; id++) {
+            Product product = new Product();
+            product.setId((long) id);
+            product.setCode(String.format("PRD-%06d", id));
+            product.setName("Produto " + id);
+
+            int lines = 1 + random.nextInt(materialsPerRecipe);
+            List<ProductComposition> compositions = new ArrayList<>(lines);
+            BigDecimal cost = BigDecimal.ZERO;
+            for (int line = 0; line < lines; line++) {
+                int index = distinctMaterial(random, materialCount, recipe, line);
+                recipe[line] = index;
+                RawMaterial material = materials.get(index);
+                long quantity = 1 + random.nextInt(20_000);
+                quantitySum[index] += quantity;
+                users[index]++;
+                compositions.add(composition(product, material, BigDecimal.valueOf(quantity, 3)));
+                cost = cost.add(BigDecimal.valueOf(quantity, 3).multiply(material.getUnitCost()));
+            }
+            BigDecimal margin = BigDecimal.valueOf(80 + random.nextInt(101), 2);
+            product.setSaleValue(cost.multiply(margin).setScale(2, RoundingMode.HALF_UP).max(new BigDecimal("0.01")));
+            product.setCompositions(compositions);
+            catalog.add(product);
+        }
+
+        for (int i = 0; i < materialCount; i++) {
+            double typical = users[i] == 0 ? 1_000 : (double) quantitySum[i] / users[i];
+            long stock = Math.round(stockDepth * typical * (0.5 + random.nextDouble()));
+            materials.get(i).setStockQuantity(BigDecimal.valueOf(stock, 3));
+        }
+        return new Catalog(catalog, materials);
+    }
+
+    // Insumo ainda fora das primeiras "used" linhas da receita
+    private static int distinctMaterial(Random random, int materialCount, int[] recipe, int used) {
+        while (true) {
+            int candidate = random.nextInt(materialCount);
+            boolean repeated = false;
+            for (int k = 0; k < used && !repeated; k++) {
+                repeated = recipe[k] == candidate;
+            }
+            if (!repeated) {
+                return candidate;
+            }
+        }
+    }
+
+    private static ProductComposition composition(Product product, RawMaterial material, BigDecimal quantity) {
+        ProductCompositionKey key = new ProductCompositionKey();
+        key.setProductId(product.getId());
+        key.setRawMaterialId(material.getId());
+        ProductComposition composition = new ProductComposition();
+        composition.setId(key);
+        composition.setProduct(product);
+        composition.setRawMaterial(material);
+        composition.setQuantityNeeded(quantity);
+        return composition;
+    }
+
+    /**
+     * Entidades geradas; {@link #snapshot(long)} compila a fotografia como o backend faz.
+     */
+    public static final class Catalog {
+
+        private final List<Product> products;
+        private final List<RawMaterial> materials;
+
+        Catalog(List<Product> products, List<RawMaterial> materials) {
+            this.products = List.copyOf(products);
+            this.materials = List.copyOf(materials);
+        }
+
+        public List<Product> getProducts() {
+            return products;
+        }
+
+        public List<RawMaterial> getMaterials() {
+            return materials;
+        }
+
+        public CatalogSnapshot snapshot(long version) {
+            return CatalogSnapshot.of(version, products, materials);
+        }
+    }
+}
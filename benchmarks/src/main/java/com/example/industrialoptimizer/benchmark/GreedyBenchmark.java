@@ -0,0 +1,34 @@
+package com.example.industrialoptimizer.benchmark;
+
+import com.example.industrialoptimizer.service.CatalogSnapshot;
+import com.example.industrialoptimizer.service.PhaseTimings;
+import com.example.industrialoptimizer.service.ProductionPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Caminho sem solver, do tamanho do seed.sql (6 produtos) até 100 mil produtos.
+ *
+ * - compile: fotografia do catálogo (cópia das entidades + RecipeMatrix), sem presolve
+ * - greedy: modo greedy
+ */
+public class GreedyBenchmark extends CatalogBenchmark {
+
+    @Param({"6", "1000", "10000", "100000"})
+    private int products;
+
+    @Override
+    protected int products() {
+        return products;
+    }
+
+    @Benchmark
+    public CatalogSnapshot compile() {
+        return catalog.snapshot(1);
+    }
+
+    @Benchmark
+    public ProductionPlan greedy() {
+        return optimizer.planOptimalProduction(matrix, new PhaseTimings());
+    }
+}
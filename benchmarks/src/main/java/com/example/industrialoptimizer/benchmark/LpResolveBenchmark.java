@@ -0,0 +1,76 @@
+package com.example.industrialoptimizer.benchmark;
+
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import com.example.industrialoptimizer.service.PhaseTimings;
+import com.example.industrialoptimizer.service.ProductionOptimizerService;
+import com.example.industrialoptimizer.service.ProductionPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Random;
+
+/**
+ * Modo lp depois de uma mudança de estoque, como um /suggest depois de uma baixa ou de um
+ * ajuste: antes de cada chamada, o estoque de stockChanges insumos sorteados passa a ser de
+ * 50% a 150% do estoque original do catálogo (os já alterados continuam alterados). O
+ * presolve e os componentes da matriz nova são calculados fora da medição.
+ *
+ * - warmResolve: o simplex recomeça da base ótima da chamada anterior, que difere desta em
+ *   no máximo stockChanges insumos
+ * - coldResolve: a mesma matriz resolvida do zero (bases esquecidas antes de cada chamada)
+ *
+ * A diferença entre os dois, para cada stockChanges, mostra que o custo do warm start
+ * acompanha o tamanho da mudança, não o do catálogo.
+ */
+public class LpResolveBenchmark extends CatalogBenchmark {
+
+    @Param({"1000", "10000"})
+    private int products;
+
+    @Param({"1", "10", "100"})
+    private int stockChanges;
+
+    private long[] originalStock;
+    private long[] stock;
+    private Random random;
+    private RecipeMatrix changed;
+    private ProductionOptimizerService cold;
+
+    @Override
+    protected int products() {
+        return products;
+    }
+
+    @Setup(Level.Trial)
+    public void setUpStock() {
+        originalStock = matrix.stockCopy();
+        stock = matrix.stockCopy();
+        random = new Random(11);
+        changed = matrix;
+        optimizer.planLinearProgrammingProduction(changed, new PhaseTimings());
+        cold = new ProductionOptimizerService(null);
+    }
+
+    @Setup(Level.Invocation)
+    public void changeStock() {
+        for (int i = 0; i < stockChanges; i++) {
+            int m = random.nextInt(stock.length);
+            stock[m] = (long) (originalStock[m] * (0.5 + random.nextDouble()));
+        }
+        changed = matrix.withOverlay(stock, null);
+        changed.presolve().getMatrix().components();
+        cold.clearWarmStarts();
+    }
+
+    @Benchmark
+    public ProductionPlan warmResolve() {
+        return optimizer.planLinearProgrammingProduction(changed, new PhaseTimings());
+    }
+
+    @Benchmark
+    public ProductionPlan coldResolve() {
+        return cold.planLinearProgrammingProduction(changed, new PhaseTimings());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.industrialoptimizer.benchmark;
+
+import com.example.industrialoptimizer.dto.PlanEvaluationDTO;
+import com.example.industrialoptimizer.dto.TargetPlanDTO;
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.service.CatalogSnapshot;
+import com.example.industrialoptimizer.service.PlanEvaluationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * POST /api/plans/evaluate sem o HTTP: um lote de {@value #PLANS} planos com até linesPerPlan
+ * produtos cada, avaliado num único thread. Com {@link OperationsPerInvocation} a vazão sai em
+ * planos/ms por núcleo (a meta é 10 planos/ms = 10 mil planos/s).
+ *
+ * - evaluate: viabilidade, insumos violados, custo, receita e lucro de cada plano
+ */
+public class PlanEvaluationBenchmark extends CatalogBenchmark {
+
+    static final int PLANS = 1_000;
+
+    @Param({"1000", "10000"})
+    private int products;
+
+    @Param({"10"})
+    private int linesPerPlan;
+
+    private CatalogSnapshot snapshot;
+    private List<TargetPlanDTO> plans;
+    private PlanEvaluationService service;
+
+    @Override
+    protected int products() {
+        return products;
+    }
+
+    @Setup(Level.Trial)
+    public void setUpPlans() {
+        snapshot = catalog.snapshot(1);
+        snapshot.getRequirementsIndex();
+        List<Product> catalogProducts = catalog.getProducts();
+        Random random = new Random(7);
+        plans = new ArrayList<>(PLANS);
+        for (int i = 0; i < PLANS; i++) {
+            Map<Long, Long> quantities = new HashMap<>();
+            for (int line = 0; line < linesPerPlan; line++) {
+                quantities.put(catalogProducts.get(random.nextInt(catalogProducts.size())).getId(),
+                        1L + random.nextInt(20));
+            }
+            plans.add(TargetPlanDTO.builder().name("plan-" + i).quantities(quantities).build());
+        }
+        service = new PlanEvaluationService(1);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PLANS)
+    public List<PlanEvaluationDTO> evaluate() {
+        return service.evaluate(snapshot, plans, 3);
+    }
+}
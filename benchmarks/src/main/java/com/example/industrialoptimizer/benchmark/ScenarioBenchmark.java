@@ -0,0 +1,81 @@
+package com.example.industrialoptimizer.benchmark;
+
+import com.example.industrialoptimizer.dto.ScenarioDTO;
+import com.example.industrialoptimizer.dto.ScenarioResultDTO;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.service.CatalogSnapshot;
+import com.example.industrialoptimizer.service.ProductionOptimizerService;
+import com.example.industrialoptimizer.service.ScenarioService;
+import com.example.industrialoptimizer.service.strategy.GreedyOptimizationStrategy;
+import com.example.industrialoptimizer.service.strategy.LinearProgrammingOptimizationStrategy;
+import com.example.industrialoptimizer.service.strategy.OptimizationStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * POST /api/scenarios sem o HTTP: um lote de {@value #SCENARIOS} cenários que mudam o estoque
+ * de um insumo sorteado, avaliado pelo motor engine num otimizador com parallelism threads.
+ * Com {@link OperationsPerInvocation} a vazão sai em cenários/ms.
+ *
+ * - batch: o lote inteiro; os cenários e os componentes de cada motor dividem o mesmo pool
+ *
+ * A vazão de parallelism = 2, 4 sobre a de parallelism = 1 é a escala do lote com os núcleos.
+ * Só faz sentido numa máquina com pelo menos esse número de núcleos livres.
+ */
+public class ScenarioBenchmark extends CatalogBenchmark {
+
+    static final int SCENARIOS = 100;
+
+    @Param({"1000"})
+    private int products;
+
+    @Param({"greedy", "lp"})
+    private String engine;
+
+    @Param({"1", "2", "4"})
+    private int parallelism;
+
+    private CatalogSnapshot snapshot;
+    private List<ScenarioDTO> scenarios;
+    private ProductionOptimizerService pooled;
+    private ScenarioService service;
+    private OptimizationStrategy strategy;
+
+    @Override
+    protected int products() {
+        return products;
+    }
+
+    @Setup(Level.Trial)
+    public void setUpScenarios() {
+        snapshot = catalog.snapshot(1);
+        List<RawMaterial> materials = catalog.getMaterials();
+        Random random = new Random(13);
+        scenarios = new ArrayList<>(SCENARIOS);
+        for (int i = 0; i < SCENARIOS; i++) {
+            RawMaterial material = materials.get(random.nextInt(materials.size()));
+            BigDecimal delta = material.getStockQuantity().multiply(BigDecimal.valueOf(random.nextInt(100) - 50, 2));
+            scenarios.add(ScenarioDTO.builder().name("s" + i).stockDelta(Map.of(material.getId(), delta)).build());
+        }
+        pooled = new ProductionOptimizerService(null, parallelism);
+        service = new ScenarioService(pooled);
+        strategy = "lp".equals(engine)
+                ? new LinearProgrammingOptimizationStrategy(pooled)
+                : new GreedyOptimizationStrategy(pooled);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCENARIOS)
+    public List<ScenarioResultDTO> batch() {
+        return service.evaluate(snapshot, strategy, 1_000, scenarios);
+    }
+}
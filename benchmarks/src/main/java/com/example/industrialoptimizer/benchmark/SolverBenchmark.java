@@ -0,0 +1,48 @@
+package com.example.industrialoptimizer.benchmark;
+
+import com.example.industrialoptimizer.service.IntegerProductionResult;
+import com.example.industrialoptimizer.service.PhaseTimings;
+import com.example.industrialoptimizer.service.ProductionPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Modos lp e mip, até 10 mil produtos: acima disso a primeira resolução do simplex (denso na
+ * base) leva minutos e um trial não termina. Tamanhos maiores com {@code -p products=...}.
+ *
+ * - linearProgramming: modo lp a frio. O presolve e os componentes ficam guardados na matriz,
+ *   mas as bases guardadas são esquecidas antes de cada chamada: o simplex sempre começa do
+ *   zero (resolver de novo a mesma matriz a partir da base ótima não custaria nenhum pivô). A
+ *   resolução depois de uma mudança de estoque está no {@link LpResolveBenchmark}
+ * - integerProgramming: modo mip com o orçamento mipTimeBudgetMs
+ */
+public class SolverBenchmark extends CatalogBenchmark {
+
+    @Param({"6", "1000", "10000"})
+    private int products;
+
+    @Param({"1000"})
+    private long mipTimeBudgetMs;
+
+    @Override
+    protected int products() {
+        return products;
+    }
+
+    @Setup(Level.Invocation)
+    public void forgetWarmStarts() {
+        optimizer.clearWarmStarts();
+    }
+
+    @Benchmark
+    public ProductionPlan linearProgramming() {
+        return optimizer.planLinearProgrammingProduction(matrix, new PhaseTimings());
+    }
+
+    @Benchmark
+    public IntegerProductionResult integerProgramming() {
+        return optimizer.calculateIntegerProduction(matrix, mipTimeBudgetMs, new PhaseTimings());
+    }
+}
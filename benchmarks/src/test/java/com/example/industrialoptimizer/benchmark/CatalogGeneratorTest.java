@@ -0,0 +1,84 @@
+package com.example.industrialoptimizer.benchmark;
+
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComposition;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.example.industrialoptimizer.optimizer.RecipeMatrix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Catalog Generator Test Suite")
+class CatalogGeneratorTest {
+
+    @Test
+    @DisplayName("The same seed should generate the same catalog")
+    void testSameSeedSameCatalog() {
+        CatalogGenerator.Catalog first = CatalogGenerator.generate(7, 500, 4, 20, 0.9);
+        CatalogGenerator.Catalog second = CatalogGenerator.generate(7, 500, 4, 20, 0.9);
+        CatalogGenerator.Catalog other = CatalogGenerator.generate(8, 500, 4, 20, 0.9);
+
+        assertEquals(describe(first), describe(second));
+        assertNotEquals(describe(first), describe(other));
+    }
+
+    @Test
+    @DisplayName("Recipes should have 1 to materialsPerRecipe distinct materials shared as configured")
+    void testRecipeShapeAndSharing() {
+        CatalogGenerator.Catalog catalog = CatalogGenerator.generate(3, 1_000, 4, 20, 0.9);
+
+        // 1000 produtos x 4 linhas x (1 - 0.9) = 400 insumos
+        assertEquals(1_000, catalog.getProducts().size());
+        assertEquals(400, catalog.getMaterials().size());
+        for (Product product : catalog.getProducts()) {
+            List<ProductComposition> recipe = product.getCompositions();
+            assertTrue(recipe.size() >= 1 && recipe.size() <= 4);
+            Set<Long> materials = new HashSet<>();
+            recipe.forEach(c -> assertTrue(materials.add(c.getRawMaterial().getId()), "Repeated material"));
+            assertTrue(product.getSaleValue().signum() > 0);
+        }
+        for (RawMaterial material : catalog.getMaterials()) {
+            assertTrue(material.getStockQuantity().signum() >= 0);
+        }
+
+        // Sem compartilhamento, cada linha de receita tem o seu insumo
+        assertEquals(4_000, CatalogGenerator.generate(3, 1_000, 4, 20, 0).getMaterials().size());
+    }
+
+    @Test
+    @DisplayName("The generated catalog should compile into a recipe matrix for the engines")
+    void testCompilesIntoRecipeMatrix() {
+        CatalogGenerator.Catalog catalog = CatalogGenerator.generate(1, 6, 4, 20, 0.5);
+
+        RecipeMatrix matrix = catalog.snapshot(1).getMatrix();
+
+        assertEquals(6, matrix.products());
+        assertEquals(catalog.getMaterials().size(), matrix.materials());
+        assertEquals(catalog.getProducts().stream().mapToInt(p -> p.getCompositions().size()).sum(), matrix.nonZeros());
+    }
+
+    @Test
+    @DisplayName("Should reject a sharing density outside [0, 1)")
+    void testRejectsInvalidSharingDensity() {
+        assertThrows(IllegalArgumentException.class, () -> CatalogGenerator.generate(1, 10, 4, 20, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> CatalogGenerator.generate(1, 10, 4, 20, -0.1));
+    }
+
+    private static String describe(CatalogGenerator.Catalog catalog) {
+        StringBuilder text = new StringBuilder();
+        catalog.getMaterials().forEach(m -> text.append(m.getId()).append(':').append(m.getStockQuantity())
+                .append('/').append(m.getUnitCost()).append(';'));
+        catalog.getProducts().forEach(p -> {
+            text.append(p.getId()).append('=').append(p.getSaleValue());
+            p.getCompositions().forEach(c -> text.append(',').append(c.getRawMaterial().getId())
+                    .append('x').append(c.getQuantityNeeded()));
+            text.append(';');
+        });
+        return text.toString();
+    }
+}
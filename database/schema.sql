@@ -5,7 +5,8 @@ CREATE TABLE raw_materials (
     name VARCHAR(100) NOT NULL,
     stock_quantity DECIMAL(15, 3) NOT NULL DEFAULT 0,
     unit_measure VARCHAR(10) NOT NULL,
-    unit_cost DECIMAL(15, 2) NOT NULL DEFAULT 0.00 -- Adicionado com correção de vírgula
+    unit_cost DECIMAL(15, 2) NOT NULL DEFAULT 0.00, -- Adicionado com correção de vírgula
+    version BIGINT NOT NULL DEFAULT 0 -- Versão otimista: cada baixa ou edição de estoque incrementa
 );
 
 -- 2. Tabela de Produtos (Products)
@@ -13,7 +14,8 @@ CREATE TABLE products (
     id SERIAL PRIMARY KEY,
     code VARCHAR(50) UNIQUE NOT NULL,
     name VARCHAR(100) NOT NULL,
-    sale_value DECIMAL(15, 2) NOT NULL DEFAULT 0.00
+    sale_value DECIMAL(15, 2) NOT NULL DEFAULT 0.00,
+    sellable BOOLEAN NOT NULL DEFAULT TRUE -- FALSE: submontagem, só entra na receita de outros produtos
 );
 
 -- 3. Tabela Associativa de Composição (Product Composition)
@@ -27,4 +29,46 @@ CREATE TABLE product_compositions (
     CONSTRAINT fk_material FOREIGN KEY (raw_material_id) REFERENCES raw_materials(id) ON DELETE CASCADE
 );
 
-CREATE INDEX idx_composition_product ON product_compositions(product_id);
\ No newline at end of file
+CREATE INDEX idx_composition_product ON product_compositions(product_id);
+
+-- 4. Submontagens (Product Components): um produto usado na receita de outro (estrutura multinível)
+CREATE TABLE product_components (
+    product_id INTEGER NOT NULL,
+    component_id INTEGER NOT NULL,
+    quantity_needed DECIMAL(15, 3) NOT NULL,
+
+    PRIMARY KEY (product_id, component_id),
+    CONSTRAINT fk_assembly FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+    CONSTRAINT fk_component FOREIGN KEY (component_id) REFERENCES products(id),
+    CONSTRAINT chk_component_not_self CHECK (product_id <> component_id)
+);
+
+CREATE INDEX idx_component_component ON product_components(component_id);
+
+-- 5. Ordens de produção: baixa de estoque confirmada de um plano. Guardam só os ids (sem FK para o
+-- catálogo): o histórico continua válido depois que um produto ou insumo é excluído
+CREATE TABLE production_orders (
+    id SERIAL PRIMARY KEY,
+    name VARCHAR(100),
+    catalog_version BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE production_order_lines (
+    order_id INTEGER NOT NULL,
+    product_id INTEGER NOT NULL,
+    quantity BIGINT NOT NULL,
+
+    PRIMARY KEY (order_id, product_id),
+    CONSTRAINT fk_order_line FOREIGN KEY (order_id) REFERENCES production_orders(id) ON DELETE CASCADE
+);
+
+CREATE TABLE production_order_materials (
+    order_id INTEGER NOT NULL,
+    raw_material_id INTEGER NOT NULL,
+    quantity DECIMAL(15, 3) NOT NULL,
+    remaining_stock DECIMAL(15, 3) NOT NULL,
+
+    PRIMARY KEY (order_id, raw_material_id),
+    CONSTRAINT fk_order_material FOREIGN KEY (order_id) REFERENCES production_orders(id) ON DELETE CASCADE
+);
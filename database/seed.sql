@@ -21,6 +21,10 @@ INSERT INTO products (code, name, sale_value) VALUES
 ('PROD-SOFA-01', 'Poltrona Individual', 950.00),
 ('PROD-FRAME-01', 'Quadro Decorativo', 120.00);
 
+-- Submontagem: não é vendida, entra na receita da Cadeira e da Poltrona
+INSERT INTO products (code, name, sale_value, sellable) VALUES
+('SUB-CUSHION-01', 'Almofada do Assento', 90.00, FALSE);
+
 -- Inserindo Composições (Product Composition - A "Receita")
 -- Mesa de Escritório: Usa muito Carvalho e Aço
 INSERT INTO product_compositions (product_id, raw_material_id, quantity_needed) VALUES
@@ -29,11 +33,9 @@ INSERT INTO product_compositions (product_id, raw_material_id, quantity_needed)
 (1, 6, 12.000), -- 12 Parafusos
 (1, 5, 0.500); -- 0.5L de Verniz
 
--- Cadeira Ergonômica: Disputa Aço e Tecido
+-- Cadeira Ergonômica: Disputa Aço e, pelas almofadas, Tecido e Espuma
 INSERT INTO product_compositions (product_id, raw_material_id, quantity_needed) VALUES
 (2, 3, 1.000), -- 1 Barra de Aço
-(2, 7, 2.000), -- 2m Tecido
-(2, 8, 1.000), -- 1m2 Espuma
 (2, 6, 8.000);  -- 8 Parafusos
 
 -- Estante de Livros: Usa MDF (mais barato)
@@ -50,11 +52,22 @@ INSERT INTO product_compositions (product_id, raw_material_id, quantity_needed)
 
 -- Poltrona: Disputa Espuma e Tecido com a Cadeira
 INSERT INTO product_compositions (product_id, raw_material_id, quantity_needed) VALUES
-(5, 7, 5.000), -- 5m Tecido
-(5, 8, 3.000), -- 3m2 Espuma
+(5, 7, 3.000), -- 3m Tecido (encosto e braços)
+(5, 8, 2.000), -- 2m2 Espuma
 (5, 1, 1.000);  -- 1 Tábua Carvalho (pés)
 
 -- Quadro: Usa restos de materiais
 INSERT INTO product_compositions (product_id, raw_material_id, quantity_needed) VALUES
 (6, 2, 0.500), -- 0.5 Placa MDF
-(6, 5, 0.100);  -- 0.1L Verniz
\ No newline at end of file
+(6, 5, 0.100);  -- 0.1L Verniz
+
+-- Almofada do Assento: 1m Tecido e 0.5m2 Espuma
+INSERT INTO product_compositions (product_id, raw_material_id, quantity_needed) VALUES
+(7, 7, 1.000),
+(7, 8, 0.500);
+
+-- Submontagens: 2 almofadas na Cadeira e na Poltrona
+-- (a receita explodida é a mesma de antes: Cadeira 2m Tecido e 1m2 Espuma; Poltrona 5m e 3m2)
+INSERT INTO product_components (product_id, component_id, quantity_needed) VALUES
+(2, 7, 2.000),
+(5, 7, 2.000);
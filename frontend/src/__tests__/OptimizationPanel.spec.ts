@@ -7,8 +7,7 @@ vi.mock('../api/client', () => {
   const api = {
     getMaterials: vi.fn(),
     getProducts: vi.fn(),
-    getOptimization: vi.fn(),
-    getComposition: vi.fn(),
+    streamOptimization: vi.fn(),
   };
   return { api };
 });
@@ -23,14 +22,22 @@ const mockProducts = [
   { id: 1, name: 'Mesa de Escritório Luxo', saleValue: 1200.0 },
 ];
 
-function createDeferred<T>() {
-  let resolve!: (value: T) => void;
-  let reject!: (reason?: unknown) => void;
-  const promise = new Promise<T>((res, rej) => {
-    resolve = res;
-    reject = rej;
-  });
-  return { promise, resolve, reject };
+// Plano no formato do stream: produtos por id e consumo de cada insumo
+const mockPlan = {
+  sequence: 1,
+  strategy: 'greedy',
+  totalProfit: 1200,
+  products: [{ id: 1, name: 'Mesa de Escritório Luxo', quantity: 1, unitProfit: 1200, totalProfit: 1200 }],
+  materials: [{ id: 1, name: 'Tábua de Carvalho', stockQuantity: 50, consumed: 4, remaining: 46 }],
+};
+
+// Stream que entrega os eventos na hora: um plano guloso e o evento final com o mesmo plano
+function streamPlans(plan: typeof mockPlan) {
+  return (_budget: number, handlers: any) => {
+    handlers.onPlan(plan);
+    handlers.onDone({ ...plan, status: 'OPTIMAL' });
+    return () => {};
+  };
 }
 
 describe('OptimizationPanel (DashboardView)', () => {
@@ -38,23 +45,16 @@ describe('OptimizationPanel (DashboardView)', () => {
     vi.resetAllMocks();
     (api.getMaterials as any).mockResolvedValue(mockMaterials);
     (api.getProducts as any).mockResolvedValue(mockProducts);
-    (api.getComposition as any).mockResolvedValue([
-      {
-        productId: 1,
-        rawMaterialId: 1,
-        rawMaterialName: 'Tábua de Carvalho',
-        rawMaterialUnitMeasure: 'unit',
-        rawMaterialUnitCost: 45,
-        quantityNeeded: 4,
-        totalCost: 180,
-      },
-    ]);
   });
 
-  // 1. Loading State: botão desabilita e mostra "Calculando..."
+  // 1. Loading State: botão desabilita e mostra "Calculando..." até o primeiro plano do stream
   it('desabilita o botão e mostra loading enquanto calcula', async () => {
-    const deferred = createDeferred<Record<string, number>>();
-    (api.getOptimization as any).mockReturnValue(deferred.promise);
+    // Guarda os handlers: o teste decide quando o primeiro plano chega
+    let handlers: any;
+    (api.streamOptimization as any).mockImplementation((_budget: number, h: any) => {
+      handlers = h;
+      return () => {};
+    });
 
     const wrapper = mount(DashboardView);
     await flushPromises();
@@ -64,11 +64,11 @@ describe('OptimizationPanel (DashboardView)', () => {
 
     await button.trigger('click');
 
-    // Enquanto a promise não é resolvida, deve estar em loading
+    // Enquanto o primeiro plano não chega, deve estar em loading
     expect(button.attributes('disabled')).toBeDefined();
     expect(button.text()).toContain('Calculando...');
 
-    deferred.resolve({ 'Mesa de Escritório Luxo': 1 });
+    handlers.onPlan(mockPlan);
     await flushPromises();
 
     expect(button.attributes('disabled')).toBeUndefined();
@@ -77,7 +77,7 @@ describe('OptimizationPanel (DashboardView)', () => {
 
   // 2. Currency Formatting: lucro total em BRL (ex: "R$ 1.200,00")
   it('renderiza o lucro total formatado em BRL', async () => {
-    (api.getOptimization as any).mockResolvedValue({ 'Mesa de Escritório Luxo': 1 });
+    (api.streamOptimization as any).mockImplementation(streamPlans(mockPlan));
 
     const wrapper = mount(DashboardView);
     await flushPromises();
@@ -93,7 +93,7 @@ describe('OptimizationPanel (DashboardView)', () => {
 
   // 3. Responsiveness: verifica classe Tailwind md:grid-cols-2 no container
   it('aplica classes responsivas no grid de produção', async () => {
-    (api.getOptimization as any).mockResolvedValue({ 'Mesa de Escritório Luxo': 1 });
+    (api.streamOptimization as any).mockImplementation(streamPlans(mockPlan));
 
     const wrapper = mount(DashboardView);
     await flushPromises();
@@ -105,7 +105,10 @@ describe('OptimizationPanel (DashboardView)', () => {
 
   // 4. Error Feedback: falha na API mostra mensagem clara
   it('exibe mensagem de erro quando a API de otimização falha', async () => {
-    (api.getOptimization as any).mockRejectedValue(new Error('500 Internal Server Error'));
+    (api.streamOptimization as any).mockImplementation((_budget: number, handlers: any) => {
+      handlers.onError(new Error('500 Internal Server Error'));
+      return () => {};
+    });
 
     const wrapper = mount(DashboardView);
     await flushPromises();
@@ -38,10 +38,46 @@ async function fetchWithMethod(path, method, body) {
   }
 }
 
+/**
+ * Server-Sent Events: cada evento "plan" chama onPlan; "done" chama onDone e fecha a conexão;
+ * falha do cálculo (evento "error" com dados) ou da conexão chama onError. Devolve a função
+ * que fecha o stream (o backend cancela a busca quando o cliente desconecta).
+ */
+function streamEvents(path, { onPlan, onDone, onError } = {}) {
+  const source = new EventSource(`${BASE_URL}${path}`);
+  let finished = false;
+  const close = () => {
+    finished = true;
+    source.close();
+  };
+  source.addEventListener('plan', (event) => onPlan?.(JSON.parse(event.data)));
+  source.addEventListener('done', (event) => {
+    close();
+    onDone?.(JSON.parse(event.data));
+  });
+  source.addEventListener('error', (event) => {
+    if (finished) return;
+    close();
+    let message = 'Conexão com o otimizador interrompida';
+    if (event.data) {
+      try {
+        message = JSON.parse(event.data).message || message;
+      } catch {
+        // mantém a mensagem genérica
+      }
+    }
+    onError?.(new Error(message));
+  });
+  return close;
+}
+
 export const api = {
   getMaterials: () => fetchJson('/api/raw-materials'),
   getProducts: () => fetchJson('/api/products'),
   getOptimization: () => fetchJson('/api/products/suggest'),
+  // Anytime: plano guloso na hora e planos melhores (lp, mip) até o orçamento de tempo
+  streamOptimization: (timeBudgetMs, handlers) =>
+    streamEvents(`/api/products/suggest/stream?timeBudgetMs=${timeBudgetMs}`, handlers),
   getProduct: (id) => fetchJson(`/api/products/${id}`),
   createProduct: (body) => fetchWithMethod('/api/products', 'POST', body),
   updateProduct: (id, body) => fetchWithMethod(`/api/products/${id}`, 'PUT', body),
@@ -0,0 +1,63 @@
+package com.example.industrialoptimizer.loadtest;
+
+import com.example.industrialoptimizer.benchmark.CatalogGenerator;
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.ProductComposition;
+import com.example.industrialoptimizer.model.RawMaterial;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Troca o catálogo do banco (o seed.sql) pelo catálogo gerado, com os mesmos ids, em lotes
+ * JDBC e numa única transação. As próximas inclusões continuam depois dos ids gerados.
+ */
+final class CatalogLoader {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private CatalogLoader() {
+    }
+
+    static void load(JdbcTemplate jdbc, TransactionTemplate transaction, CatalogGenerator.Catalog catalog) {
+        transaction.executeWithoutResult(status -> {
+            jdbc.update("DELETE FROM product_components");
+            jdbc.update("DELETE FROM product_compositions");
+            jdbc.update("DELETE FROM products");
+            jdbc.update("DELETE FROM raw_materials");
+
+            List<Object[]> materials = new ArrayList<>();
+            for (RawMaterial material : catalog.getMaterials()) {
+                materials.add(new Object[] {material.getId(), material.getCode(), material.getName(),
+                        material.getStockQuantity(), material.getUnitMeasure(), material.getUnitCost()});
+            }
+            batch(jdbc, "INSERT INTO raw_materials (id, code, name, stock_quantity, unit_measure, unit_cost) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", materials);
+
+            List<Object[]> products = new ArrayList<>();
+            List<Object[]> compositions = new ArrayList<>();
+            for (Product product : catalog.getProducts()) {
+                products.add(new Object[] {product.getId(), product.getCode(), product.getName(),
+                        product.getSaleValue()});
+                for (ProductComposition composition : product.getCompositions()) {
+                    compositions.add(new Object[] {product.getId(), composition.getRawMaterial().getId(),
+                            composition.getQuantityNeeded()});
+                }
+            }
+            batch(jdbc, "INSERT INTO products (id, code, name, sale_value) VALUES (?, ?, ?, ?)", products);
+            batch(jdbc, "INSERT INTO product_compositions (product_id, raw_material_id, quantity_needed) "
+                    + "VALUES (?, ?, ?)", compositions);
+
+            jdbc.execute("ALTER TABLE raw_materials ALTER COLUMN id RESTART WITH " + (materials.size() + 1));
+            jdbc.execute("ALTER TABLE products ALTER COLUMN id RESTART WITH " + (products.size() + 1));
+        });
+    }
+
+    private static void batch(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+}
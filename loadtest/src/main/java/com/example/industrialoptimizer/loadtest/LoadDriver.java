@@ -0,0 +1,229 @@
+package com.example.industrialoptimizer.loadtest;
+
+import com.example.industrialoptimizer.benchmark.CatalogGenerator;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.DataFormatException;
+
+/**
+ * LoadDriver: clientes HTTP em virtual threads, cada um sorteando operações pelo mix.
+ *
+ * Entram no relatório as requisições que deveriam sair entre o fim do aquecimento e o fim da
+ * medição, inclusive as que terminam depois (a medição espera por elas). As latências
+ * vão para um {@link Recorder} por operação (em microssegundos, seguro entre threads).
+ */
+final class LoadDriver {
+
+    // Até 1 hora, com 3 dígitos significativos
+    private static final long HIGHEST_LATENCY_MICROS = 3_600_000_000L;
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final String IO_ERROR = "IO_ERROR";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(5);
+
+    private final HttpClient http;
+    private final URI base;
+    private final CatalogGenerator.Catalog catalog;
+    private final LoadTestOptions options;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<Operation, Stats> stats = new ConcurrentHashMap<>();
+
+    LoadDriver(HttpClient http, URI base, CatalogGenerator.Catalog catalog, LoadTestOptions options) {
+        this.http = http;
+        this.base = base;
+        this.catalog = catalog;
+        this.options = options;
+        List<Operation> mixed = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        int sum = 0;
+        for (Map.Entry<String, Integer> entry : options.getMix().entrySet()) {
+            if (entry.getValue() > 0) {
+                sum += entry.getValue();
+                mixed.add(Operation.of(entry.getKey()));
+                weights.add(sum);
+            }
+        }
+        this.operations = mixed.toArray(Operation[]::new);
+        this.cumulativeWeights = weights.stream().mapToInt(Integer::intValue).toArray();
+        for (Operation operation : operations) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    /**
+     * Roda aquecimento + medição e devolve um relatório por operação (na ordem do mix).
+     */
+    List<LoadTestReport.OperationReport> run() {
+        long start = System.nanoTime();
+        long measureStart = start + options.getWarmupSeconds() * 1_000_000_000L;
+        long end = measureStart + options.getDurationSeconds() * 1_000_000_000L;
+        // Intervalo entre requisições de um mesmo cliente no modo com taxa fixa
+        long interval = options.getRate() > 0 ? (long) (options.getClients() * 1e9 / options.getRate()) : 0;
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < options.getClients(); client++) {
+                Random random = new Random(options.getSeed() * 31 + client);
+                // Clientes defasados dentro do intervalo, para não saírem todos juntos
+                long first = start + (interval > 0 ? (long) (random.nextDouble() * interval) : 0);
+                clients.execute(() -> client(random, first, interval, measureStart, end));
+            }
+        }
+
+        double seconds = options.getDurationSeconds();
+        List<LoadTestReport.OperationReport> reports = new ArrayList<>();
+        for (Operation operation : operations) {
+            reports.add(stats.get(operation).report(operation.getKey(), operation.getMethod(), operation.getPath(),
+                    seconds));
+        }
+        return reports;
+    }
+
+    /**
+     * Soma dos relatórios de todas as operações.
+     */
+    static LoadTestReport.OperationReport total(List<LoadTestReport.OperationReport> reports, double seconds) {
+        Histogram histogram = new Histogram(HIGHEST_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+        Map<String, Long> statuses = new TreeMap<>();
+        long errors = 0;
+        for (LoadTestReport.OperationReport report : reports) {
+            histogram.add(decode(report.getHistogram()));
+            report.getStatuses().forEach((status, count) -> statuses.merge(status, count, Long::sum));
+            errors += report.getErrors();
+        }
+        return report("total", null, null, histogram, statuses, errors, seconds);
+    }
+
+    static Histogram decode(String encoded) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Histograma inválido", e);
+        }
+    }
+
+    private void client(Random random, long first, long interval, long measureStart, long end) {
+        long intended = first;
+        while (true) {
+            long now = System.nanoTime();
+            if (interval > 0) {
+                if (intended >= end) {
+                    return;
+                }
+                // parkNanos pode voltar antes da hora
+                while (now < intended) {
+                    LockSupport.parkNanos(intended - now);
+                    now = System.nanoTime();
+                }
+            } else {
+                intended = now;
+            }
+            if (now >= end || Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            Operation operation = pick(random);
+            String status;
+            try {
+                HttpResponse<Void> response = http.send(operation.request(http, base, catalog, random)
+                        .timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.discarding());
+                status = Integer.toString(response.statusCode());
+            } catch (IOException e) {
+                status = IO_ERROR;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long done = System.nanoTime();
+            // Requisições lentas contam mesmo terminando depois do fim: o close() do executor espera
+            if (intended >= measureStart) {
+                stats.get(operation).record(status, (done - intended) / 1_000);
+            }
+            intended += interval;
+        }
+    }
+
+    private Operation pick(Random random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private static LoadTestReport.OperationReport report(String name, String method, String path,
+            Histogram histogram, Map<String, Long> statuses, long errors, double seconds) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        byte[] encoded = new byte[length];
+        buffer.flip();
+        buffer.get(encoded);
+        return LoadTestReport.OperationReport.builder()
+                .name(name)
+                .method(method)
+                .path(path)
+                .count(histogram.getTotalCount())
+                .errors(errors)
+                .throughput(histogram.getTotalCount() / seconds)
+                .statuses(statuses)
+                .latencyMs(LoadTestReport.Latency.builder()
+                        .min(millis(histogram.getMinValue()))
+                        .mean(histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / 1_000.0)
+                        .p50(millis(histogram.getValueAtPercentile(50)))
+                        .p90(millis(histogram.getValueAtPercentile(90)))
+                        .p99(millis(histogram.getValueAtPercentile(99)))
+                        .p999(millis(histogram.getValueAtPercentile(99.9)))
+                        .max(millis(histogram.getMaxValue()))
+                        .build())
+                .histogram(Base64.getEncoder().encodeToString(encoded))
+                .build();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    /**
+     * Latências e respostas por status de uma operação.
+     */
+    private static final class Stats {
+
+        private final Recorder latencies = new Recorder(HIGHEST_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+        private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+
+        void record(String status, long micros) {
+            latencies.recordValue(Math.min(Math.max(micros, 0), HIGHEST_LATENCY_MICROS));
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+            if (!status.startsWith("2")) {
+                errors.increment();
+            }
+        }
+
+        LoadTestReport.OperationReport report(String name, String method, String path, double seconds) {
+            Map<String, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return LoadDriver.report(name, method, path, latencies.getIntervalHistogram(), counts, errors.sum(),
+                    seconds);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.industrialoptimizer.loadtest;
+
+import com.example.industrialoptimizer.IndustrialOptimizerApplication;
+import com.example.industrialoptimizer.benchmark.CatalogGenerator;
+import com.example.industrialoptimizer.service.CatalogSnapshot;
+import com.example.industrialoptimizer.service.CatalogSnapshotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LoadTest: teste de carga HTTP de uma instância do backend.
+ *
+ * 1. Sobe a aplicação numa porta aleatória (H2 em memória, o mesmo schema.sql).
+ * 2. Troca o catálogo do seed.sql por um catálogo do CatalogGenerator e publica a fotografia.
+ * 3. Dispara o mix de operações a partir de clientes em virtual threads ({@link LoadDriver}).
+ * 4. Grava o relatório em JSON ({@link LoadTestReport}) e imprime um resumo.
+ *
+ * Opções em {@link LoadTestOptions}. Rode a partir do diretório loadtest (o schema é lido de
+ * ../database).
+ */
+@Slf4j
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LoadTestReport report = run(options);
+        Path output = write(report, options.getOutput() != null ? Path.of(options.getOutput()) : defaultOutput(report));
+        System.out.println(summary(report));
+        System.out.println("JSON: " + output.toAbsolutePath());
+    }
+
+    public static LoadTestReport run(LoadTestOptions options) {
+        CatalogGenerator.Catalog catalog = CatalogGenerator.generate(options.getSeed(), options.getProducts(),
+                options.getMaterialsPerRecipe(), options.getStockDepth(), options.getSharingDensity());
+
+        try (ConfigurableApplicationContext app = start(options)) {
+            CatalogLoader.load(app.getBean(JdbcTemplate.class),
+                    new TransactionTemplate(app.getBean(PlatformTransactionManager.class)), catalog);
+            CatalogSnapshot snapshot = app.getBean(CatalogSnapshotService.class).refresh();
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            log.info("Catálogo v{}: {} produtos, {} insumos; {} clientes por {} s (+{} s de aquecimento) em :{}",
+                    snapshot.getVersion(), catalog.getProducts().size(), catalog.getMaterials().size(),
+                    options.getClients(), options.getDurationSeconds(), options.getWarmupSeconds(), port);
+
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            Instant startedAt = Instant.now();
+            List<LoadTestReport.OperationReport> operations =
+                    new LoadDriver(http, URI.create("http://localhost:" + port), catalog, options).run();
+
+            return LoadTestReport.builder()
+                    .label(options.getLabel())
+                    .startedAt(startedAt)
+                    .options(options)
+                    .catalog(LoadTestReport.CatalogInfo.builder()
+                            .products(catalog.getProducts().size())
+                            .materials(catalog.getMaterials().size())
+                            .recipeLines(snapshot.getMatrix().nonZeros())
+                            .catalogVersion(snapshot.getVersion())
+                            .build())
+                    .measuredSeconds(options.getDurationSeconds())
+                    .total(LoadDriver.total(operations, options.getDurationSeconds()))
+                    .operations(operations)
+                    .build();
+        }
+    }
+
+    static Path write(LoadTestReport report, Path output) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        ObjectMapper json = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        json.writeValue(output.toFile(), report);
+        return output;
+    }
+
+    // Como argumentos de linha de comando: valem mais que o application.properties do backend
+    private static ConfigurableApplicationContext start(LoadTestOptions options) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.example.industrialoptimizer.loadtest", "INFO");
+        properties.putAll(options.getAppProperties());
+        return new SpringApplicationBuilder(IndustrialOptimizerApplication.class)
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+
+    private static Path defaultOutput(LoadTestReport report) {
+        String name = report.getLabel() != null ? report.getLabel()
+                : DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC).format(report.getStartedAt());
+        return Path.of("target", "loadtest", "loadtest-" + name + ".json");
+    }
+
+    private static String summary(LoadTestReport report) {
+        StringBuilder text = new StringBuilder(String.format("%n%-18s %9s %9s %9s %9s %9s %9s %7s%n",
+                "mix", "req", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "erros"));
+        for (LoadTestReport.OperationReport operation : report.getOperations()) {
+            text.append(line(operation));
+        }
+        return text.append(line(report.getTotal())).toString();
+    }
+
+    private static String line(LoadTestReport.OperationReport operation) {
+        LoadTestReport.Latency latency = operation.getLatencyMs();
+        return String.format("%-18s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n", operation.getName(),
+                operation.getCount(), operation.getThroughput(), latency.getP50(), latency.getP99(),
+                latency.getP999(), latency.getMax(), operation.getErrors());
+    }
+}
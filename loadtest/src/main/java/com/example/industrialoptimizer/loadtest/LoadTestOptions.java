@@ -0,0 +1,128 @@
+package com.example.industrialoptimizer.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opções do teste de carga, lidas de argumentos {@code --nome=valor}.
+ *
+ * - durationSeconds / warmupSeconds: medição e aquecimento (o aquecimento não entra no relatório)
+ * - clients: clientes simultâneos, um por virtual thread
+ * - rate: requisições por segundo somando todos os clientes; 0 = laço fechado (cada cliente
+ *   manda a próxima assim que recebe a resposta). Com rate a latência é medida a partir do
+ *   horário em que a requisição deveria ter saído (sem coordinated omission)
+ * - mix: pesos das operações ({@link Operation}), ex.: {@code products.get:30,suggest.lp:5}
+ * - products, materialsPerRecipe, stockDepth, sharingDensity, seed: catálogo do CatalogGenerator
+ * - label: identifica a execução no relatório (ex.: o commit)
+ * - output: arquivo JSON do relatório
+ * - {@code --app.<propriedade>=valor}: repassado à aplicação (ex.: {@code --app.spring.threads.virtual.enabled=true})
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadTestOptions {
+
+    public static final String DEFAULT_MIX = "products.list:5,products.get:25,materials.list:5,compositions.get:20,"
+            + "materials.update:5,suggest.greedy:25,suggest.lp:10,suggest.mip:5";
+
+    @Builder.Default
+    private int durationSeconds = 30;
+
+    @Builder.Default
+    private int warmupSeconds = 10;
+
+    @Builder.Default
+    private int clients = 64;
+
+    @Builder.Default
+    private double rate = 0;
+
+    @Builder.Default
+    private Map<String, Integer> mix = parseMix(DEFAULT_MIX);
+
+    @Builder.Default
+    private int products = 1_000;
+
+    @Builder.Default
+    private int materialsPerRecipe = 4;
+
+    @Builder.Default
+    private double stockDepth = 20;
+
+    @Builder.Default
+    private double sharingDensity = 0.9;
+
+    @Builder.Default
+    private long seed = 42;
+
+    private String label;
+
+    private String output;
+
+    @Builder.Default
+    private Map<String, String> appProperties = new LinkedHashMap<>();
+
+    public static LoadTestOptions parse(String... args) {
+        LoadTestOptions options = LoadTestOptions.builder().build();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Argumento inválido (use --nome=valor): " + arg);
+            }
+            String name = arg.substring(2, equals);
+            String value = arg.substring(equals + 1);
+            if (name.startsWith("app.")) {
+                options.appProperties.put(name.substring(4), value);
+                continue;
+            }
+            switch (name) {
+                case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "clients" -> options.clients = Integer.parseInt(value);
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "mix" -> options.mix = parseMix(value);
+                case "products" -> options.products = Integer.parseInt(value);
+                case "materialsPerRecipe" -> options.materialsPerRecipe = Integer.parseInt(value);
+                case "stockDepth" -> options.stockDepth = Double.parseDouble(value);
+                case "sharingDensity" -> options.sharingDensity = Double.parseDouble(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "label" -> options.label = value;
+                case "output" -> options.output = value;
+                default -> throw new IllegalArgumentException("Opção desconhecida: --" + name);
+            }
+        }
+        if (options.durationSeconds <= 0 || options.warmupSeconds < 0 || options.clients <= 0 || options.rate < 0) {
+            throw new IllegalArgumentException("duration e clients devem ser positivos; warmup e rate, >= 0");
+        }
+        return options;
+    }
+
+    /**
+     * "nome:peso,nome:peso" -> mapa na ordem informada; nomes de {@link Operation}.
+     */
+    public static Map<String, Integer> parseMix(String text) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : text.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida no mix (use nome:peso): " + entry);
+            }
+            Operation.of(parts[0]);
+            int weight = Integer.parseInt(parts[1]);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Peso negativo no mix: " + entry);
+            }
+            mix.put(parts[0], weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("O mix precisa de ao menos uma operação com peso positivo");
+        }
+        return mix;
+    }
+}
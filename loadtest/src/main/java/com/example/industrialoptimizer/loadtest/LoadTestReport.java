@@ -0,0 +1,103 @@
+package com.example.industrialoptimizer.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relatório de uma execução, gravado em JSON para comparar execuções entre commits.
+ *
+ * - operations: uma entrada por operação do mix; total soma todas
+ * - latencyMs: percentis do HdrHistogram (3 dígitos significativos)
+ * - histogram: o histograma inteiro, comprimido em base64
+ *   ({@code Histogram.decodeFromCompressedByteBuffer}), para somar execuções ou recalcular
+ *   outros percentis depois
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadTestReport {
+
+    private String label;
+
+    private Instant startedAt;
+
+    private LoadTestOptions options;
+
+    private CatalogInfo catalog;
+
+    private double measuredSeconds;
+
+    private OperationReport total;
+
+    private List<OperationReport> operations;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CatalogInfo {
+
+        private int products;
+
+        private int materials;
+
+        private int recipeLines;
+
+        private long catalogVersion;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OperationReport {
+
+        private String name;
+
+        private String method;
+
+        private String path;
+
+        private long count;
+
+        // Respostas fora de 2xx + falhas de conexão
+        private long errors;
+
+        private double throughput;
+
+        // Status HTTP -> respostas; "IO_ERROR" para falhas de conexão
+        private Map<String, Long> statuses;
+
+        private Latency latencyMs;
+
+        private String histogram;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Latency {
+
+        private double min;
+
+        private double mean;
+
+        private double p50;
+
+        private double p90;
+
+        private double p99;
+
+        private double p999;
+
+        private double max;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.industrialoptimizer.loadtest;
+
+import com.example.industrialoptimizer.benchmark.CatalogGenerator;
+import com.example.industrialoptimizer.model.Product;
+import com.example.industrialoptimizer.model.RawMaterial;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Operações do mix do teste de carga. Cada uma monta uma requisição sobre ids do catálogo
+ * gerado; o relatório agrupa as latências pelo nome da operação.
+ *
+ * materials.update troca o estoque de um insumo: lê a versão atual (GET) e grava com ela (PUT),
+ * como o formulário de edição. A aplicação relê o catálogo inteiro e o cache do /suggest perde a
+ * versão anterior, como numa baixa de estoque real. Duas edições simultâneas do mesmo insumo
+ * podem dar 409 (a segunda chegou com a versão velha).
+ *
+ * orders.create confirma uma ordem de produção de uma unidade de um produto: trava e debita os
+ * insumos da receita numa transação. Com muitos clientes mede a disputa pelas travas dos
+ * insumos compartilhados (sharingDensity); quando o estoque acaba as ordens voltam 409.
+ */
+public enum Operation {
+
+    PRODUCTS_LIST("products.list", "GET", "/api/products") {
+        @Override
+        HttpRequest.Builder request(HttpClient http, URI base, CatalogGenerator.Catalog catalog, Random random) {
+            return HttpRequest.newBuilder(base.resolve("/api/products")).GET();
+        }
+    },
+    PRODUCTS_GET("products.get", "GET", "/api/products/{id}") {
+        @Override
+        HttpRequest.Builder request(HttpClient http, URI base, CatalogGenerator.Catalog catalog, Random random) {
+            return HttpRequest.newBuilder(base.resolve("/api/products/" + anyProduct(catalog, random).getId())).GET();
+        }
+    },
+    MATERIALS_LIST("materials.list", "GET", "/api/raw-materials") {
+        @Override
+        HttpRequest.Builder request(HttpClient http, URI base, CatalogGenerator.Catalog catalog, Random random) {
+            return HttpRequest.newBuilder(base.resolve("/api/raw-materials")).GET();
+        }
+    },
+    COMPOSITIONS_GET("compositions.get", "GET", "/api/product-compositions?productId={id}") {
+        @Override
+        HttpRequest.Builder request(HttpClient http, URI base, CatalogGenerator.Catalog catalog, Random random) {
+            return HttpRequest.newBuilder(base.resolve("/api/product-compositions?productId="
+                    + anyProduct(catalog, random).getId())).GET();
+        }
+    },
+    MATERIALS_UPDATE("materials.update", "PUT", "/api/raw-materials/{id}") {
+        @Override
+        HttpRequest.Builder request(HttpClient http, URI base, CatalogGenerator.Catalog catalog, Random random)
+                throws IOException, InterruptedException {
+            List<RawMaterial> materials = catalog.getMaterials();
+            RawMaterial material = materials.get(random.nextInt(materials.size()));
+            // Como o formulário de edição: lê a versão atual e a devolve no PUT (sem ela, 400)
+            URI uri = base.resolve("/api/raw-materials/" + material.getId());
+            HttpResponse<String> current = http.send(HttpRequest.newBuilder(uri).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            long version = JSON.readTree(current.body()).path("version").asLong();
+            // Estoque entre 50% e 150% do gerado
+            BigDecimal stock = material.getStockQuantity()
+                    .multiply(BigDecimal.valueOf(50 + random.nextInt(101), 2))
+                    .setScale(3, RoundingMode.HALF_UP);
+            String body = String.format(
+                    "{\"code\":\"%s\",\"name\":\"%s\",\"stockQuantity\":%s,\"unitMeasure\":\"%s\",\"unitCost\":%s,"
+                            + "\"version\":%d}",
+                    material.getCode(), material.getName(), stock.toPlainString(), material.getUnitMeasure(),
+                    material.getUnitCost().toPlainString(), version);
+            return HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    ORDERS_CREATE("orders.create", "POST", "/api/production-orders") {
+        @Override
+        HttpRequest.Builder request(HttpClient http, URI base, CatalogGenerator.Catalog catalog, Random random) {
+            String body = "{\"quantities\":{\"" + anyProduct(catalog, random).getId() + "\":1}}";
+            return HttpRequest.newBuilder(base.resolve("/api/production-orders"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    SUGGEST_GREEDY("suggest.greedy", "GET", "/api/products/suggest?strategy=greedy") {
+        @Override
+        HttpRequest.Builder request(HttpClient http, URI base, CatalogGenerator.Catalog catalog, Random random) {
+            return HttpRequest.newBuilder(base.resolve("/api/products/suggest?strategy=greedy")).GET();
+        }
+    },
+    SUGGEST_LP("suggest.lp", "GET", "/api/products/suggest?strategy=lp") {
+        @Override
+        HttpRequest.Builder request(HttpClient http, URI base, CatalogGenerator.Catalog catalog, Random random) {
+            return HttpRequest.newBuilder(base.resolve("/api/products/suggest?strategy=lp")).GET();
+        }
+    },
+    SUGGEST_MIP("suggest.mip", "GET", "/api/products/suggest?strategy=mip") {
+        @Override
+        HttpRequest.Builder request(HttpClient http, URI base, CatalogGenerator.Catalog catalog, Random random) {
+            return HttpRequest.newBuilder(base.resolve("/api/products/suggest?strategy=mip")).GET();
+        }
+    },
+    SUGGEST_PLAN("suggest.plan", "GET", "/api/products/suggest/plan?strategy=lp") {
+        @Override
+        HttpRequest.Builder request(HttpClient http, URI base, CatalogGenerator.Catalog catalog, Random random) {
+            return HttpRequest.newBuilder(base.resolve("/api/products/suggest/plan?strategy=lp")).GET();
+        }
+    };
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final String key;
+    private final String method;
+    private final String path;
+
+    Operation(String key, String method, String path) {
+        this.key = key;
+        this.method = method;
+        this.path = path;
+    }
+
+    /**
+     * Monta a requisição medida. {@code http} serve às operações que precisam ler algo antes
+     * (o tempo dessa leitura entra na latência da operação).
+     */
+    abstract HttpRequest.Builder request(HttpClient http, URI base, CatalogGenerator.Catalog catalog, Random random)
+            throws IOException, InterruptedException;
+
+    public static Operation of(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Operação desconhecida: " + key);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    private static Product anyProduct(CatalogGenerator.Catalog catalog, Random random) {
+        List<Product> products = catalog.getProducts();
+        return products.get(random.nextInt(products.size()));
+    }
+}
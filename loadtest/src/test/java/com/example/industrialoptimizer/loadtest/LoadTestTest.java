@@ -0,0 +1,87 @@
+package com.example.industrialoptimizer.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Load Test Harness Test Suite")
+class LoadTestTest {
+
+    @Test
+    @DisplayName("Should boot the app with the generated catalog and report every operation of the mix")
+    void testShortRunReportsEveryOperation(@TempDir Path dir) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse("--duration=2", "--warmup=1", "--clients=4",
+                "--products=50", "--mix=products.get:3,compositions.get:2,materials.update:1,suggest.greedy:2",
+                "--label=test");
+
+        LoadTestReport report = LoadTest.run(options);
+
+        assertEquals(50, report.getCatalog().getProducts());
+        assertEquals(4, report.getOperations().size());
+        long count = 0;
+        for (LoadTestReport.OperationReport operation : report.getOperations()) {
+            assertTrue(operation.getCount() > 0, operation.getName() + " should have been called");
+            if (operation.getName().equals("materials.update")) {
+                // Edição com a versão lida: duas edições simultâneas do mesmo insumo dão 409 na segunda
+                assertTrue(Set.of("200", "409").containsAll(operation.getStatuses().keySet()),
+                        operation.getName() + ": " + operation.getStatuses());
+                assertTrue(operation.getStatuses().getOrDefault("200", 0L) > 0);
+            } else {
+                assertEquals(0, operation.getErrors(), operation.getName() + ": " + operation.getStatuses());
+                assertEquals(Map.of("200", operation.getCount()), operation.getStatuses());
+            }
+            assertTrue(operation.getLatencyMs().getP50() <= operation.getLatencyMs().getP99());
+            assertEquals(operation.getCount(), LoadDriver.decode(operation.getHistogram()).getTotalCount());
+            count += operation.getCount();
+        }
+        assertEquals(count, report.getTotal().getCount());
+        assertEquals(count / 2.0, report.getTotal().getThroughput(), 1e-9);
+
+        // O JSON é o formato de comparação entre execuções
+        Path output = LoadTest.write(report, dir.resolve("report.json"));
+        JsonNode json = new ObjectMapper().readTree(output.toFile());
+        assertEquals("test", json.get("label").asText());
+        assertEquals(count, json.get("total").get("count").asLong());
+        assertEquals("products.get", json.get("operations").get(0).get("name").asText());
+        assertTrue(json.get("operations").get(0).get("latencyMs").has("p999"));
+    }
+
+    @Test
+    @DisplayName("Concurrent production orders should all be committed while the stock lasts")
+    void testConcurrentOrders() throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse("--duration=2", "--warmup=1", "--clients=16",
+                "--products=50", "--stockDepth=100000", "--mix=orders.create:1", "--label=orders");
+
+        LoadTestReport report = LoadTest.run(options);
+
+        LoadTestReport.OperationReport orders = report.getOperations().get(0);
+        assertEquals("orders.create", orders.getName());
+        assertTrue(orders.getCount() > 0);
+        assertEquals(Map.of("201", orders.getCount()), orders.getStatuses());
+    }
+
+    @Test
+    @DisplayName("Should parse options, pass app.* properties through and reject unknown operations")
+    void testParsesOptions() {
+        LoadTestOptions options = LoadTestOptions.parse("--clients=8", "--rate=200", "--mix=suggest.lp:1",
+                "--app.spring.threads.virtual.enabled=true");
+
+        assertEquals(8, options.getClients());
+        assertEquals(200.0, options.getRate());
+        assertEquals(Map.of("suggest.lp", 1), options.getMix());
+        assertEquals(Map.of("spring.threads.virtual.enabled", "true"), options.getAppProperties());
+        assertEquals(30, options.getDurationSeconds());
+
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--mix=suggest.unknown:1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--threads=4"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--mix=products.get:0"));
+    }
+}